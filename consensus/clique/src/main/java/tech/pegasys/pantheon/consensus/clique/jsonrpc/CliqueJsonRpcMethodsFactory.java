@@ -20,10 +20,8 @@ import tech.pegasys.pantheon.consensus.clique.jsonrpc.methods.CliqueGetSignersAt
 import tech.pegasys.pantheon.consensus.clique.jsonrpc.methods.CliqueProposals;
 import tech.pegasys.pantheon.consensus.clique.jsonrpc.methods.Discard;
 import tech.pegasys.pantheon.consensus.clique.jsonrpc.methods.Propose;
-import tech.pegasys.pantheon.consensus.common.EpochManager;
 import tech.pegasys.pantheon.consensus.common.VoteProposer;
 import tech.pegasys.pantheon.consensus.common.VoteTallyCache;
-import tech.pegasys.pantheon.consensus.common.VoteTallyUpdater;
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
@@ -57,8 +55,7 @@ public class CliqueJsonRpcMethodsFactory implements JsonRpcMethodFactory {
         new BlockchainQueries(blockchain, worldStateArchive);
     final VoteProposer voteProposer = context.getConsensusState().getVoteProposer();
     final JsonRpcParameter jsonRpcParameter = new JsonRpcParameter();
-    // Must create our own voteTallyCache as using this would pollute the main voteTallyCache
-    final VoteTallyCache voteTallyCache = createVoteTallyCache(context, blockchain);
+    final VoteTallyCache voteTallyCache = context.getConsensusState().getVoteTallyCache();
 
     final CliqueGetSigners cliqueGetSigners =
         new CliqueGetSigners(blockchainQueries, voteTallyCache, jsonRpcParameter);
@@ -78,13 +75,4 @@ public class CliqueJsonRpcMethodsFactory implements JsonRpcMethodFactory {
     rpcMethods.put(cliqueGetSignerMetrics.getName(), cliqueGetSignerMetrics);
     return rpcMethods;
   }
-
-  private VoteTallyCache createVoteTallyCache(
-      final ProtocolContext<CliqueContext> context, final MutableBlockchain blockchain) {
-    final EpochManager epochManager = context.getConsensusState().getEpochManager();
-    final VoteTallyUpdater voteTallyUpdater =
-        new VoteTallyUpdater(epochManager, new CliqueBlockInterface());
-    return new VoteTallyCache(
-        blockchain, voteTallyUpdater, epochManager, new CliqueBlockInterface());
-  }
 }
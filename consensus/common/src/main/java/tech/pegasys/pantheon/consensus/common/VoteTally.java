@@ -13,6 +13,8 @@
 package tech.pegasys.pantheon.consensus.common;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -22,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import com.google.common.collect.Maps;
@@ -127,4 +130,70 @@ public class VoteTally implements ValidatorProvider {
     return new VoteTally(
         new TreeSet<>(this.currentValidators), addVotesBySubject, removeVotesBySubject);
   }
+
+  /**
+   * Writes the validators and outstanding votes of this tally, so that it can be restored with
+   * {@link #readFrom(RLPInput)}.
+   *
+   * @param out The output to write to.
+   */
+  public void writeTo(final RLPOutput out) {
+    out.startList();
+    out.writeList(currentValidators, (validator, rlp) -> rlp.writeBytesValue(validator));
+    writeVotes(out, addVotesBySubject);
+    writeVotes(out, removeVotesBySubject);
+    out.endList();
+  }
+
+  private static void writeVotes(
+      final RLPOutput out, final Map<Address, Set<Address>> votesBySubject) {
+    out.writeList(
+        new TreeMap<>(votesBySubject).entrySet(),
+        (votes, rlp) -> {
+          rlp.startList();
+          rlp.writeBytesValue(votes.getKey());
+          rlp.writeList(new TreeSet<>(votes.getValue()), (voter, v) -> v.writeBytesValue(voter));
+          rlp.endList();
+        });
+  }
+
+  /**
+   * Reads a tally written by {@link #writeTo(RLPOutput)}.
+   *
+   * @param in The input to read from.
+   * @return The tally read.
+   */
+  public static VoteTally readFrom(final RLPInput in) {
+    in.enterList();
+    final Collection<Address> validators = in.readList(Address::readFrom);
+    final Map<Address, Set<Address>> addVotesBySubject = readVotes(in);
+    final Map<Address, Set<Address>> removeVotesBySubject = readVotes(in);
+    in.leaveList();
+    return new VoteTally(validators, addVotesBySubject, removeVotesBySubject);
+  }
+
+  private static Map<Address, Set<Address>> readVotes(final RLPInput in) {
+    final Map<Address, Set<Address>> votesBySubject = new HashMap<>();
+    in.enterList();
+    while (!in.isEndOfCurrentList()) {
+      in.enterList();
+      final Address subject = Address.readFrom(in);
+      votesBySubject.put(subject, new HashSet<>(in.readList(Address::readFrom)));
+      in.leaveList();
+    }
+    in.leaveList();
+    return votesBySubject;
+  }
+
+  /** @return The number of addresses held by this tally, as validators, subjects or voters. */
+  int countAddresses() {
+    int count = currentValidators.size();
+    for (final Set<Address> voters : addVotesBySubject.values()) {
+      count += 1 + voters.size();
+    }
+    for (final Set<Address> voters : removeVotesBySubject.values()) {
+      count += 1 + voters.size();
+    }
+    return count;
+  }
 }
@@ -28,28 +28,43 @@ import com.google.common.cache.CacheBuilder;
 
 public class VoteTallyCache {
 
+  static final long CACHE_SIZE_BYTES = 16L * 1024 * 1024;
+  // Tallies after every CHECKPOINT_INTERVAL-th block are persisted, bounding how far back
+  // headers must be read to rebuild a tally which isn't cached.
+  static final long CHECKPOINT_INTERVAL = 1_000;
+  // An address held in a sorted or hash set, including the bytes it wraps.
+  private static final int BYTES_PER_ADDRESS = 128;
+  private static final int ENTRY_OVERHEAD_BYTES = 256;
+
   private final Blockchain blockchain;
   private final EpochManager epochManager;
   private final VoteTallyUpdater voteTallyUpdater;
+  private final VoteTallyCheckpointStorage checkpointStorage;
 
   private final Cache<Hash, VoteTally> voteTallyCache =
-      CacheBuilder.newBuilder().maximumSize(100).build();
+      CacheBuilder.newBuilder()
+          .maximumWeight(CACHE_SIZE_BYTES)
+          .weigher(VoteTallyCache::weigh)
+          .build();
   private BlockInterface blockInterface;
 
   public VoteTallyCache(
       final Blockchain blockchain,
       final VoteTallyUpdater voteTallyUpdater,
       final EpochManager epochManager,
-      final BlockInterface blockInterface) {
+      final BlockInterface blockInterface,
+      final VoteTallyCheckpointStorage checkpointStorage) {
 
     checkNotNull(blockchain);
     checkNotNull(voteTallyUpdater);
     checkNotNull(epochManager);
     checkNotNull(blockInterface);
+    checkNotNull(checkpointStorage);
     this.blockchain = blockchain;
     this.voteTallyUpdater = voteTallyUpdater;
     this.epochManager = epochManager;
     this.blockInterface = blockInterface;
+    this.checkpointStorage = checkpointStorage;
   }
 
   public VoteTally getVoteTallyAtHead() {
@@ -58,9 +73,9 @@ public class VoteTallyCache {
 
   /**
    * Determines the VoteTally for a given block header, by back-tracing the blockchain to a
-   * previously cached value or epoch block. Then appyling votes in each intermediate header such
-   * that representative state can be provided. This function assumes the vote cast in {@code
-   * header} is applied, thus the voteTally returned contains the group of validators who are
+   * previously cached value, checkpoint or epoch block. Then appyling votes in each intermediate
+   * header such that representative state can be provided. This function assumes the vote cast in
+   * {@code header} is applied, thus the voteTally returned contains the group of validators who are
    * permitted to partake in the next block's creation.
    *
    * @param header the header of the block after which the VoteTally is to be returned
@@ -103,7 +118,18 @@ public class VoteTallyCache {
       return new VoteTally(blockInterface.validatorsInBlock(header));
     }
 
-    return voteTallyCache.getIfPresent(header.getParentHash());
+    final VoteTally cached = voteTallyCache.getIfPresent(header.getParentHash());
+    if (cached != null || !isCheckpoint(header.getNumber() - 1)) {
+      return cached;
+    }
+    return checkpointStorage.get(header.getParentHash()).orElse(null);
+  }
+
+  private boolean isCheckpoint(final long blockNumber) {
+    // Epoch blocks hold their validators, so don't need a checkpoint.
+    return blockNumber > 0
+        && blockNumber % CHECKPOINT_INTERVAL == 0
+        && !epochManager.isEpochBlock(blockNumber);
   }
 
   private VoteTally constructMissingCacheEntries(
@@ -112,8 +138,16 @@ public class VoteTallyCache {
     while (!headers.isEmpty()) {
       final BlockHeader h = headers.pop();
       voteTallyUpdater.updateForBlock(h, mutableVoteTally);
-      voteTallyCache.put(h.getHash(), mutableVoteTally.copy());
+      final VoteTally voteTally = mutableVoteTally.copy();
+      voteTallyCache.put(h.getHash(), voteTally);
+      if (isCheckpoint(h.getNumber())) {
+        checkpointStorage.put(h.getHash(), voteTally);
+      }
     }
     return mutableVoteTally;
   }
+
+  private static int weigh(final Hash blockHash, final VoteTally voteTally) {
+    return ENTRY_OVERHEAD_BYTES + voteTally.countAddresses() * BYTES_PER_ADDRESS;
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stores the vote tallies following checkpoint blocks, so that the tally of a later block can be
+ * determined without replaying the votes of every block since the last epoch block.
+ *
+ * <p>Tallies are keyed by block hash, so checkpoints on chains which have been reorganised away
+ * are never used.
+ */
+public class VoteTallyCheckpointStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final BytesValue KEY_PREFIX = BytesValue.wrap("voteTally".getBytes(UTF_8));
+
+  private final KeyValueStorage storage;
+
+  public VoteTallyCheckpointStorage(final KeyValueStorage storage) {
+    this.storage = storage;
+  }
+
+  public Optional<VoteTally> get(final Hash blockHash) {
+    return storage
+        .get(key(blockHash))
+        .flatMap(
+            encoded -> {
+              try {
+                return Optional.of(VoteTally.readFrom(RLP.input(encoded)));
+              } catch (final RLPException e) {
+                LOG.warn("Ignoring invalid vote tally checkpoint for block {}", blockHash, e);
+                return Optional.empty();
+              }
+            });
+  }
+
+  public void put(final Hash blockHash, final VoteTally voteTally) {
+    final KeyValueStorage.Transaction transaction = storage.startTransaction();
+    transaction.put(key(blockHash), RLP.encode(voteTally::writeTo));
+    transaction.commit();
+  }
+
+  private static BytesValue key(final Hash blockHash) {
+    return BytesValue.wrap(KEY_PREFIX, blockHash);
+  }
+}
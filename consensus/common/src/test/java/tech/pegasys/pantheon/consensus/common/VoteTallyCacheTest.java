@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Arrays;
@@ -86,8 +87,7 @@ public class VoteTallyCacheTest {
   @Test
   public void parentBlockVoteTallysAreCachedWhenChildVoteTallyRequested() {
     final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
-    final VoteTallyCache cache =
-        new VoteTallyCache(blockChain, tallyUpdater, new EpochManager(30_000), blockInterface);
+    final VoteTallyCache cache = createVoteTallyCache(tallyUpdater, new EpochManager(30_000));
 
     // The votetallyUpdater should be invoked for the requested block, and all parents including
     // the epoch (genesis) block.
@@ -112,8 +112,7 @@ public class VoteTallyCacheTest {
   @Test
   public void exceptionThrownIfNoParentBlockExists() {
     final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
-    final VoteTallyCache cache =
-        new VoteTallyCache(blockChain, tallyUpdater, new EpochManager(30_000), blockInterface);
+    final VoteTallyCache cache = createVoteTallyCache(tallyUpdater, new EpochManager(30_000));
 
     final Block orphanBlock = createEmptyBlock(4, Hash.ZERO);
 
@@ -126,8 +125,7 @@ public class VoteTallyCacheTest {
   @Test
   public void walkBackStopsWhenACachedVoteTallyIsFound() {
     final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
-    final VoteTallyCache cache =
-        new VoteTallyCache(blockChain, tallyUpdater, new EpochManager(30_000), blockInterface);
+    final VoteTallyCache cache = createVoteTallyCache(tallyUpdater, new EpochManager(30_000));
 
     // Load the Cache up to block_2
     cache.getVoteTallyAfterBlock(block_2.getHeader());
@@ -146,6 +144,40 @@ public class VoteTallyCacheTest {
     assertThat(varArgs.getAllValues()).isEqualTo(Arrays.asList(block_3.getHeader()));
   }
 
+  @Test
+  public void walkBackStopsAtPersistedCheckpoint() {
+    final VoteTallyCheckpointStorage checkpointStorage =
+        new VoteTallyCheckpointStorage(new InMemoryKeyValueStorage());
+    Block parent = block_2;
+    for (long number = 3; number <= VoteTallyCache.CHECKPOINT_INTERVAL + 2; number++) {
+      parent = createEmptyBlock(number, parent.getHash());
+      blockChain.appendBlock(parent, Lists.emptyList());
+    }
+    final BlockHeader checkpointHeader =
+        blockChain.getBlockHeader(VoteTallyCache.CHECKPOINT_INTERVAL).get();
+
+    final EpochManager epochManager = new EpochManager(30_000);
+    final VoteTallyCache populatingCache =
+        new VoteTallyCache(
+            blockChain,
+            new VoteTallyUpdater(epochManager, blockInterface),
+            epochManager,
+            blockInterface,
+            checkpointStorage);
+    populatingCache.getVoteTallyAfterBlock(checkpointHeader);
+    assertThat(checkpointStorage.get(checkpointHeader.getHash())).isPresent();
+
+    // A new cache, as after a restart, only replays the votes after the checkpoint.
+    final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
+    final VoteTallyCache restartedCache =
+        new VoteTallyCache(
+            blockChain, tallyUpdater, epochManager, blockInterface, checkpointStorage);
+    final VoteTally voteTally = restartedCache.getVoteTallyAfterBlock(parent.getHeader());
+
+    assertThat(voteTally.getValidators()).containsExactlyElementsOf(validators);
+    verify(tallyUpdater, times(2)).updateForBlock(any(), any());
+  }
+
   // A bug was identified in VoteTallyCache whereby a vote cast in the next block *could* be applied
   // to the parent block (depending on cache creation ordering). This test ensure the problem is
   // resolved.
@@ -160,8 +192,7 @@ public class VoteTallyCacheTest {
     when(blockInterface.extractVoteFromHeader(block_2.getHeader()))
         .thenReturn(Optional.of(new ValidatorVote(DROP, validators.get(1), validators.get(2))));
 
-    final VoteTallyCache cache =
-        new VoteTallyCache(blockChain, tallyUpdater, epochManager, blockInterface);
+    final VoteTallyCache cache = createVoteTallyCache(tallyUpdater, epochManager);
 
     VoteTally voteTally = cache.getVoteTallyAfterBlock(block_1.getHeader());
     assertThat(voteTally.getValidators()).containsAll(validators);
@@ -173,4 +204,14 @@ public class VoteTallyCacheTest {
     voteTally = cache.getVoteTallyAfterBlock(block_1.getHeader());
     assertThat(voteTally.getValidators()).containsAll(validators);
   }
+
+  private VoteTallyCache createVoteTallyCache(
+      final VoteTallyUpdater tallyUpdater, final EpochManager epochManager) {
+    return new VoteTallyCache(
+        blockChain,
+        tallyUpdater,
+        epochManager,
+        blockInterface,
+        new VoteTallyCheckpointStorage(new InMemoryKeyValueStorage()));
+  }
 }
@@ -19,6 +19,7 @@ import static tech.pegasys.pantheon.consensus.common.VoteType.ADD;
 import static tech.pegasys.pantheon.consensus.common.VoteType.DROP;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 
 import org.junit.Test;
 
@@ -35,6 +36,25 @@ public class VoteTallyTest {
   private static final Address validator5 =
       Address.fromHexString("00497e92cdc0e0b963d752b2296acb87da828b24");
 
+  @Test
+  public void encodedTallyRetainsValidatorsAndOutstandingVotes() {
+    final VoteTally voteTally = fourValidators();
+    voteTally.addVote(new ValidatorVote(ADD, validator1, validator5));
+    voteTally.addVote(new ValidatorVote(ADD, validator2, validator5));
+    voteTally.addVote(new ValidatorVote(DROP, validator3, validator4));
+
+    final VoteTally decoded = VoteTally.readFrom(RLP.input(RLP.encode(voteTally::writeTo)));
+
+    assertThat(decoded.getValidators()).containsExactlyElementsOf(voteTally.getValidators());
+    assertThat(decoded.getOutstandingAddVotesFor(validator5))
+        .containsExactlyInAnyOrder(validator1, validator2);
+    assertThat(decoded.getOutstandingRemoveVotesFor(validator4)).containsExactly(validator3);
+
+    decoded.addVote(new ValidatorVote(ADD, validator3, validator5));
+    assertThat(decoded.getValidators())
+        .containsExactly(validator1, validator2, validator3, validator4, validator5);
+  }
+
   @Test
   public void validatorsAreNotAddedBeforeRequiredVoteCountReached() {
     final VoteTally voteTally = fourValidators();
@@ -64,7 +64,12 @@ public class IbftProtocolSchedule {
             difficultyCalculator -> ibftBlockHeaderValidator(secondsBetweenBlocks),
             difficultyCalculator -> ibftBlockHeaderValidator(secondsBetweenBlocks),
             MainnetBlockBodyValidator::new,
-            MainnetBlockValidator::new,
+            (blockHeaderValidator, blockBodyValidator, blockProcessor) ->
+                new MainnetBlockValidator<>(
+                    blockHeaderValidator,
+                    blockBodyValidator,
+                    blockProcessor,
+                    IbftBlockHashing::calculateHashOfIbftBlockOnChain),
             MainnetBlockImporter::new,
             (time, parent, protocolContext) -> BigInteger.ONE)
         .blockReward(Wei.ZERO)
@@ -17,6 +17,7 @@ import static java.util.Collections.singletonList;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Capability;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -27,6 +28,26 @@ import java.util.List;
 /** This allows for interoperability with Quorum, but shouldn't be used otherwise. */
 public class Istanbul64ProtocolManager extends EthProtocolManager {
 
+  public Istanbul64ProtocolManager(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final int networkId,
+      final boolean fastSyncEnabled,
+      final EthScheduler scheduler,
+      final EthProtocolConfiguration ethereumWireProtocolConfiguration,
+      final Clock clock,
+      final MetricsSystem metricsSystem) {
+    super(
+        blockchain,
+        worldStateArchive,
+        networkId,
+        fastSyncEnabled,
+        scheduler,
+        ethereumWireProtocolConfiguration,
+        clock,
+        metricsSystem);
+  }
+
   public Istanbul64ProtocolManager(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares keccak-256 hashing through a digest looked up from {@link MessageDigestFactory} on every
+ * call with the per-thread {@link Keccak256Digest} behind {@link Hash#keccak256(BytesValue)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Keccak256Benchmark {
+
+  @Param({"32", "64", "500"})
+  public int inputSize;
+
+  private BytesValue input;
+  private final MutableBytes32 output = MutableBytes32.create();
+
+  @Setup
+  public void prepare() {
+    final byte[] bytes = new byte[inputSize];
+    new Random(1).nextBytes(bytes);
+    input = BytesValue.wrap(bytes);
+  }
+
+  @Benchmark
+  public Bytes32 messageDigestFactory() throws NoSuchAlgorithmException {
+    final MessageDigest digest = MessageDigestFactory.create(Hash.KECCAK256_ALG);
+    input.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  @Benchmark
+  public Bytes32 keccak256() {
+    return Hash.keccak256(input);
+  }
+
+  @Benchmark
+  public MutableBytes32 keccak256IntoBytes32() {
+    Hash.keccak256(input, output);
+    return output;
+  }
+}
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.crypto;
 
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -28,6 +29,9 @@ public abstract class Hash {
   private static final String RIPEMD160 = "RIPEMD160";
   private static final String BLAKE2BF_ALG = "BLAKE2BF";
 
+  private static final ThreadLocal<Keccak256Digest> KECCAK256_DIGEST =
+      ThreadLocal.withInitial(Keccak256Digest::new);
+
   /**
    * Helper method to generate a digest using the provided algorithm.
    *
@@ -62,7 +66,43 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final BytesValue input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_ALG));
+    return Bytes32.wrap(keccak256Digest(input).digest());
+  }
+
+  /**
+   * Digest using keccak-256, writing the digest into a caller-provided value.
+   *
+   * @param input The input bytes to produce the digest for.
+   * @param output The value to write the digest to.
+   */
+  public static void keccak256(final BytesValue input, final MutableBytes32 output) {
+    keccak256Digest(input).digest(output);
+  }
+
+  /**
+   * Digest using keccak-256.
+   *
+   * @param input The array holding the input bytes to produce the digest for.
+   * @param offset The offset of the input bytes in {@code input}.
+   * @param length The number of input bytes.
+   * @return A digest.
+   */
+  public static Bytes32 keccak256(final byte[] input, final int offset, final int length) {
+    final Keccak256Digest digest = KECCAK256_DIGEST.get();
+    digest.reset();
+    digest.update(input, offset, length);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /**
+   * Feeds {@code input} to this thread's keccak-256 digest. Values wrapping arrays, NIO buffers or
+   * Netty buffers are absorbed in place, without copying.
+   */
+  private static Keccak256Digest keccak256Digest(final BytesValue input) {
+    final Keccak256Digest digest = KECCAK256_DIGEST.get();
+    digest.reset();
+    input.update(digest);
+    return digest;
   }
 
   /**
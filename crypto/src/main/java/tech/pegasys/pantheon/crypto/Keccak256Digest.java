@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * A Keccak-256 digest that absorbs input in place, whether it is held in an array range or a heap
+ * or direct {@link ByteBuffer}, and can squeeze its output into a caller-provided array or {@link
+ * MutableBytesValue}.
+ *
+ * <p>Unlike digests obtained through {@link MessageDigestFactory}, instances are not looked up from
+ * a JCA provider and hold no state other than the sponge, so they are cheap to keep per thread and
+ * reuse after each {@link #digest()}. Instances are not thread-safe.
+ */
+public final class Keccak256Digest extends MessageDigest {
+
+  public static final int DIGEST_LENGTH = 32;
+
+  private static final int RATE = 136;
+  private static final VarHandle LONG_LE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+  };
+
+  private final long[] state = new long[25];
+  // Number of bytes absorbed into the current block.
+  private int position;
+
+  public Keccak256Digest() {
+    super(Hash.KECCAK256_ALG);
+  }
+
+  /**
+   * Completes the hash computation, writing the digest into {@code destination} and resetting the
+   * digest.
+   *
+   * @param destination The value to write the 32-byte digest to.
+   */
+  public void digest(final MutableBytesValue destination) {
+    checkArgument(
+        destination.size() == DIGEST_LENGTH,
+        "Expected a %s bytes destination, got %s",
+        DIGEST_LENGTH,
+        destination.size());
+    pad();
+    for (int i = 0; i < DIGEST_LENGTH; i++) {
+      destination.set(i, (byte) (state[i >>> 3] >>> ((i & 7) << 3)));
+    }
+    engineReset();
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    state[position >>> 3] ^= (input & 0xFFL) << ((position & 7) << 3);
+    if (++position == RATE) {
+      permute(state);
+      position = 0;
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final byte[] input, final int offset, final int length) {
+    final int end = offset + length;
+    int i = offset;
+    while (i < end && (position & 7) != 0) {
+      engineUpdate(input[i++]);
+    }
+    while (end - i >= Long.BYTES) {
+      absorbLane((long) LONG_LE.get(input, i));
+      i += Long.BYTES;
+    }
+    while (i < end) {
+      engineUpdate(input[i++]);
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final ByteBuffer input) {
+    if (input.hasArray()) {
+      engineUpdate(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      input.position(input.limit());
+      return;
+    }
+    final boolean bigEndian = input.order() == ByteOrder.BIG_ENDIAN;
+    final int end = input.limit();
+    int i = input.position();
+    while (i < end && (position & 7) != 0) {
+      engineUpdate(input.get(i++));
+    }
+    while (end - i >= Long.BYTES) {
+      final long lane = input.getLong(i);
+      absorbLane(bigEndian ? Long.reverseBytes(lane) : lane);
+      i += Long.BYTES;
+    }
+    while (i < end) {
+      engineUpdate(input.get(i++));
+    }
+    input.position(end);
+  }
+
+  @Override
+  protected byte[] engineDigest() {
+    final byte[] digest = new byte[DIGEST_LENGTH];
+    squeeze(digest, 0);
+    return digest;
+  }
+
+  @Override
+  protected int engineDigest(final byte[] buf, final int offset, final int len)
+      throws DigestException {
+    if (len < DIGEST_LENGTH) {
+      throw new DigestException("Partial digests not returned");
+    }
+    if (buf.length - offset < DIGEST_LENGTH) {
+      throw new DigestException("Insufficient space in the output buffer to store the digest");
+    }
+    squeeze(buf, offset);
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineReset() {
+    Arrays.fill(state, 0L);
+    position = 0;
+  }
+
+  private void absorbLane(final long lane) {
+    state[position >>> 3] ^= lane;
+    position += Long.BYTES;
+    if (position == RATE) {
+      permute(state);
+      position = 0;
+    }
+  }
+
+  private void squeeze(final byte[] out, final int offset) {
+    pad();
+    for (int i = 0; i < DIGEST_LENGTH / Long.BYTES; i++) {
+      LONG_LE.set(out, offset + i * Long.BYTES, state[i]);
+    }
+    engineReset();
+  }
+
+  /** Applies the original Keccak padding (not the SHA-3 one) and permutes the final block. */
+  private void pad() {
+    state[position >>> 3] ^= 0x01L << ((position & 7) << 3);
+    state[(RATE - 1) >>> 3] ^= 0x80L << (((RATE - 1) & 7) << 3);
+    permute(state);
+  }
+
+  /** The Keccak-f[1600] permutation, with the state held in locals across the 24 rounds. */
+  private static void permute(final long[] state) {
+    long a00 = state[0], a01 = state[1], a02 = state[2], a03 = state[3], a04 = state[4];
+    long a05 = state[5], a06 = state[6], a07 = state[7], a08 = state[8], a09 = state[9];
+    long a10 = state[10], a11 = state[11], a12 = state[12], a13 = state[13], a14 = state[14];
+    long a15 = state[15], a16 = state[16], a17 = state[17], a18 = state[18], a19 = state[19];
+    long a20 = state[20], a21 = state[21], a22 = state[22], a23 = state[23], a24 = state[24];
+
+    for (int round = 0; round < 24; round++) {
+      // Theta
+      final long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+      final long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+      final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+      final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+      final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+
+      final long d0 = c4 ^ Long.rotateLeft(c1, 1);
+      final long d1 = c0 ^ Long.rotateLeft(c2, 1);
+      final long d2 = c1 ^ Long.rotateLeft(c3, 1);
+      final long d3 = c2 ^ Long.rotateLeft(c4, 1);
+      final long d4 = c3 ^ Long.rotateLeft(c0, 1);
+
+      a00 ^= d0;
+      a05 ^= d0;
+      a10 ^= d0;
+      a15 ^= d0;
+      a20 ^= d0;
+      a01 ^= d1;
+      a06 ^= d1;
+      a11 ^= d1;
+      a16 ^= d1;
+      a21 ^= d1;
+      a02 ^= d2;
+      a07 ^= d2;
+      a12 ^= d2;
+      a17 ^= d2;
+      a22 ^= d2;
+      a03 ^= d3;
+      a08 ^= d3;
+      a13 ^= d3;
+      a18 ^= d3;
+      a23 ^= d3;
+      a04 ^= d4;
+      a09 ^= d4;
+      a14 ^= d4;
+      a19 ^= d4;
+      a24 ^= d4;
+
+      // Rho and pi
+      final long t = a01;
+      a01 = Long.rotateLeft(a06, 44);
+      a06 = Long.rotateLeft(a09, 20);
+      a09 = Long.rotateLeft(a22, 61);
+      a22 = Long.rotateLeft(a14, 39);
+      a14 = Long.rotateLeft(a20, 18);
+      a20 = Long.rotateLeft(a02, 62);
+      a02 = Long.rotateLeft(a12, 43);
+      a12 = Long.rotateLeft(a13, 25);
+      a13 = Long.rotateLeft(a19, 8);
+      a19 = Long.rotateLeft(a23, 56);
+      a23 = Long.rotateLeft(a15, 41);
+      a15 = Long.rotateLeft(a04, 27);
+      a04 = Long.rotateLeft(a24, 14);
+      a24 = Long.rotateLeft(a21, 2);
+      a21 = Long.rotateLeft(a08, 55);
+      a08 = Long.rotateLeft(a16, 45);
+      a16 = Long.rotateLeft(a05, 36);
+      a05 = Long.rotateLeft(a03, 28);
+      a03 = Long.rotateLeft(a18, 21);
+      a18 = Long.rotateLeft(a17, 15);
+      a17 = Long.rotateLeft(a11, 10);
+      a11 = Long.rotateLeft(a07, 6);
+      a07 = Long.rotateLeft(a10, 3);
+      a10 = Long.rotateLeft(t, 1);
+
+      // Chi
+      long b0 = a00, b1 = a01, b2 = a02, b3 = a03, b4 = a04;
+      a00 = b0 ^ (~b1 & b2);
+      a01 = b1 ^ (~b2 & b3);
+      a02 = b2 ^ (~b3 & b4);
+      a03 = b3 ^ (~b4 & b0);
+      a04 = b4 ^ (~b0 & b1);
+      b0 = a05;
+      b1 = a06;
+      b2 = a07;
+      b3 = a08;
+      b4 = a09;
+      a05 = b0 ^ (~b1 & b2);
+      a06 = b1 ^ (~b2 & b3);
+      a07 = b2 ^ (~b3 & b4);
+      a08 = b3 ^ (~b4 & b0);
+      a09 = b4 ^ (~b0 & b1);
+      b0 = a10;
+      b1 = a11;
+      b2 = a12;
+      b3 = a13;
+      b4 = a14;
+      a10 = b0 ^ (~b1 & b2);
+      a11 = b1 ^ (~b2 & b3);
+      a12 = b2 ^ (~b3 & b4);
+      a13 = b3 ^ (~b4 & b0);
+      a14 = b4 ^ (~b0 & b1);
+      b0 = a15;
+      b1 = a16;
+      b2 = a17;
+      b3 = a18;
+      b4 = a19;
+      a15 = b0 ^ (~b1 & b2);
+      a16 = b1 ^ (~b2 & b3);
+      a17 = b2 ^ (~b3 & b4);
+      a18 = b3 ^ (~b4 & b0);
+      a19 = b4 ^ (~b0 & b1);
+      b0 = a20;
+      b1 = a21;
+      b2 = a22;
+      b3 = a23;
+      b4 = a24;
+      a20 = b0 ^ (~b1 & b2);
+      a21 = b1 ^ (~b2 & b3);
+      a22 = b2 ^ (~b3 & b4);
+      a23 = b3 ^ (~b4 & b0);
+      a24 = b4 ^ (~b0 & b1);
+
+      // Iota
+      a00 ^= ROUND_CONSTANTS[round];
+    }
+
+    state[0] = a00;
+    state[1] = a01;
+    state[2] = a02;
+    state[3] = a03;
+    state[4] = a04;
+    state[5] = a05;
+    state[6] = a06;
+    state[7] = a07;
+    state[8] = a08;
+    state[9] = a09;
+    state[10] = a10;
+    state[11] = a11;
+    state[12] = a12;
+    state[13] = a13;
+    state[14] = a14;
+    state[15] = a15;
+    state[16] = a16;
+    state[17] = a17;
+    state[18] = a18;
+    state[19] = a19;
+    state[20] = a20;
+    state[21] = a21;
+    state[22] = a22;
+    state[23] = a23;
+    state[24] = a24;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.junit.Test;
+
+public class Keccak256DigestTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void matchesBouncyCastleForAllLengthsAroundTheRate() {
+    final Keccak256Digest digest = new Keccak256Digest();
+    for (int length = 0; length <= 3 * 136 + 1; length++) {
+      final byte[] input = randomBytes(length);
+      assertThat(digest.digest(input)).isEqualTo(reference(input));
+    }
+  }
+
+  @Test
+  public void matchesBouncyCastleWhenUpdatedPiecewise() {
+    final Keccak256Digest digest = new Keccak256Digest();
+    for (int i = 0; i < 200; i++) {
+      final byte[] input = randomBytes(random.nextInt(600));
+      int offset = 0;
+      while (offset < input.length) {
+        final int length = Math.min(input.length - offset, random.nextInt(20));
+        if (length == 1) {
+          digest.update(input[offset]);
+        } else {
+          digest.update(input, offset, length);
+        }
+        offset += length;
+      }
+      assertThat(digest.digest()).isEqualTo(reference(input));
+    }
+  }
+
+  @Test
+  public void hashesDirectBuffersInBothByteOrders() {
+    final Keccak256Digest digest = new Keccak256Digest();
+    final byte[] input = randomBytes(500);
+    for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(input.length + 3).order(order);
+      buffer.position(3);
+      buffer.put(input);
+      buffer.position(3);
+      digest.update(buffer);
+      assertThat(digest.digest()).isEqualTo(reference(input));
+      assertThat(buffer.remaining()).isZero();
+    }
+  }
+
+  @Test
+  public void hashesWrappedValues() {
+    final byte[] input = randomBytes(100);
+    final byte[] expected = reference(input);
+
+    final ByteBuffer direct = ByteBuffer.allocateDirect(input.length + 7);
+    direct.position(7);
+    direct.put(input);
+    assertThat(Hash.keccak256(BytesValue.wrapBuffer(direct).slice(7)).extractArray())
+        .isEqualTo(expected);
+
+    final byte[] padded = new byte[input.length + 5];
+    System.arraycopy(input, 0, padded, 5, input.length);
+    assertThat(Hash.keccak256(padded, 5, input.length).extractArray()).isEqualTo(expected);
+    assertThat(Hash.keccak256(BytesValue.wrap(padded, 5, input.length)).extractArray())
+        .isEqualTo(expected);
+  }
+
+  @Test
+  public void writesIntoProvidedBytes32() {
+    final byte[] input = randomBytes(64);
+    final MutableBytes32 output = MutableBytes32.create();
+    Hash.keccak256(BytesValue.wrap(input), output);
+    assertThat(output.extractArray()).isEqualTo(reference(input));
+  }
+
+  private byte[] randomBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] reference(final byte[] input) {
+    final KeccakDigest digest = new KeccakDigest(256);
+    digest.update(input, 0, input.length);
+    final byte[] out = new byte[32];
+    digest.doFinal(out, 0);
+    return out;
+  }
+}
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.blockcreation;
 
+import tech.pegasys.pantheon.ethereum.BlockValidator.BlockProcessingOutputs;
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Block;
@@ -160,7 +161,17 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
 
       final BlockHeader blockHeader = createFinalBlockHeader(sealableBlockHeader);
 
-      return new Block(blockHeader, new BlockBody(transactionResults.getTransactions(), ommers));
+      final Block block =
+          new Block(blockHeader, new BlockBody(transactionResults.getTransactions(), ommers));
+
+      // Let validation of the created block, e.g. when it is imported, reuse its execution.
+      protocolSpec
+          .getBlockValidator()
+          .recordProcessingOutputs(
+              block,
+              new BlockProcessingOutputs(disposableWorldState, transactionResults.getReceipts()));
+
+      return block;
 
     } catch (final CancellationException ex) {
       LOG.trace("Attempt to create block was interrupted.");
@@ -204,7 +215,7 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
     final MutableWorldState worldState =
         protocolContext
             .getWorldStateArchive()
-            .getMutable(parentStateRoot)
+            .getMutableForBlockProcessing(parentStateRoot)
             .orElseThrow(
                 () -> {
                   LOG.info("Unable to create block because world state is not available");
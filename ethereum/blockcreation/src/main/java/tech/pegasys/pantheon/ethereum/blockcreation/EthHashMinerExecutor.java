@@ -21,6 +21,10 @@ import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHashSolver;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.Subscribers;
 
 import java.util.Optional;
@@ -29,6 +33,9 @@ import java.util.concurrent.ExecutorService;
 public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlockMiner> {
 
   private volatile Optional<Address> coinbase;
+  private final EthHasher ethHasher;
+  private final int solverThreads;
+  private final Counter hashCounter;
 
   public EthHashMinerExecutor(
       final ProtocolContext<Void> protocolContext,
@@ -37,6 +44,32 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
       final PendingTransactions pendingTransactions,
       final MiningParameters miningParams,
       final AbstractBlockScheduler blockScheduler) {
+    this(
+        protocolContext,
+        executorService,
+        protocolSchedule,
+        pendingTransactions,
+        miningParams,
+        blockScheduler,
+        new EthHasher.Light(),
+        1,
+        new NoOpMetricsSystem());
+  }
+
+  /**
+   * Creates an executor whose miners search nonces on {@code solverThreads} threads of {@code
+   * executorService}, using {@code ethHasher}.
+   */
+  public EthHashMinerExecutor(
+      final ProtocolContext<Void> protocolContext,
+      final ExecutorService executorService,
+      final ProtocolSchedule<Void> protocolSchedule,
+      final PendingTransactions pendingTransactions,
+      final MiningParameters miningParams,
+      final AbstractBlockScheduler blockScheduler,
+      final EthHasher ethHasher,
+      final int solverThreads,
+      final MetricsSystem metricsSystem) {
     super(
         protocolContext,
         executorService,
@@ -45,6 +78,13 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
         miningParams,
         blockScheduler);
     this.coinbase = miningParams.getCoinbase();
+    this.ethHasher = ethHasher;
+    this.solverThreads = solverThreads;
+    this.hashCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "miner_hashes_total",
+            "Total number of EthHash hashes computed by the miner");
   }
 
   @Override
@@ -54,7 +94,8 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
       throw new CoinbaseNotSetException("Unable to start mining without a coinbase.");
     } else {
       final EthHashSolver solver =
-          new EthHashSolver(new RandomNonceGenerator(), new EthHasher.Light());
+          new EthHashSolver(
+              new RandomNonceGenerator(), ethHasher, solverThreads, executorService, hashCounter);
       final EthHashBlockCreator blockCreator =
           new EthHashBlockCreator(
               coinbase.get(),
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decodes, hashes and re-encodes a mainnet-shaped block, comparing blocks decoded from RLP (which
+ * reuse their original encoding) with the same block built in memory (which must be encoded for
+ * every hash and write).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockRlpRoundTripBenchmark {
+
+  @Param({"50", "200"})
+  public int transactionCount;
+
+  @Param({"128"})
+  public int payloadSize;
+
+  private final MainnetBlockHeaderFunctions blockHeaderFunctions =
+      new MainnetBlockHeaderFunctions();
+  private Block block;
+  private BytesValue blockRlp;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Transaction> transactions = new ArrayList<>(transactionCount);
+    for (int i = 0; i < transactionCount; i++) {
+      transactions.add(gen.transaction(gen.bytesValue(payloadSize)));
+    }
+    block =
+        gen.block(
+            BlockDataGenerator.BlockOptions.create()
+                .addTransaction(transactions.toArray(new Transaction[0])));
+    blockRlp = block.toRlp();
+  }
+
+  @Benchmark
+  public BytesValue decodedBlock(final Blackhole blackhole) {
+    return hashAndEncode(Block.readFrom(RLP.input(blockRlp), blockHeaderFunctions), blackhole);
+  }
+
+  @Benchmark
+  public BytesValue builtBlock(final Blackhole blackhole) {
+    final BlockHeader header = block.getHeader();
+    final BlockBody body = block.getBody();
+    // Rebuild the header and transactions so neither has a memoized hash from an earlier run.
+    final List<Transaction> transactions = new ArrayList<>(body.getTransactions().size());
+    for (final Transaction transaction : body.getTransactions()) {
+      transactions.add(
+          new Transaction(
+              transaction.getNonce(),
+              transaction.getGasPrice(),
+              transaction.getGasLimit(),
+              transaction.getTo(),
+              transaction.getValue(),
+              transaction.getSignature(),
+              transaction.getPayload(),
+              transaction.getSender(),
+              transaction.getChainId()));
+    }
+    final BlockHeader rebuiltHeader =
+        BlockHeaderBuilder.fromHeader(header)
+            .blockHeaderFunctions(blockHeaderFunctions)
+            .buildBlockHeader();
+    return hashAndEncode(
+        new Block(rebuiltHeader, new BlockBody(transactions, body.getOmmers())), blackhole);
+  }
+
+  private static BytesValue hashAndEncode(final Block block, final Blackhole blackhole) {
+    blackhole.consume(block.getHash());
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      blackhole.consume(transaction.hash());
+    }
+    return block.toRlp();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.vm.operations.OperationBenchmarkHelper;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs a tight arithmetic loop through the interpreter, with and without an operation tracer
+ * installed. Run with {@code -prof gc} to report the bytes allocated per loop alongside the
+ * throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EVMLoopBenchmark {
+
+  // PUSH2 <iterations>
+  // JUMPDEST
+  // PUSH1 1 SWAP1 SUB            (counter - 1)
+  // DUP1 PUSH1 0x2a MUL POP      (arithmetic filler)
+  // DUP1 PUSH1 3 JUMPI           (loop while counter != 0)
+  // STOP
+  private static final String LOOP_BODY = "5b6001900380602a02508060035700";
+
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  @Param({"100", "10000"})
+  public int iterations;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM evm;
+  private Code code;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+    code = new Code(BytesValue.fromHexString(String.format("0x61%04x", iterations) + LOOP_BODY));
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public MessageFrame runLoopUntraced() throws Exception {
+    return runLoop(OperationTracer.NO_TRACING);
+  }
+
+  @Benchmark
+  public MessageFrame runLoopTraced() throws Exception {
+    return runLoop(PASS_THROUGH_TRACER);
+  }
+
+  private MessageFrame runLoop(final OperationTracer tracer) throws Exception {
+    final MessageFrame frame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .initialGas(Gas.of(10_000_000L))
+            .code(code)
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Applies and persists synthetic blocks which update the storage of many contracts, comparing
+ * sequential and parallel storage trie updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorldStatePersistBenchmark {
+
+  @Param({"10", "100", "500"})
+  public int contractCount;
+
+  @Param({"20"})
+  public int slotsPerContract;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private WorldStateStorage worldStateStorage;
+  private WorldStatePreimageStorage preimageStorage;
+  private StorageTrieExecutor storageTrieExecutor;
+  private Hash rootHash;
+  private long blockNumber;
+
+  @Setup
+  public void prepare() {
+    worldStateStorage = new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    preimageStorage = new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage());
+    storageTrieExecutor =
+        parallel ? StorageTrieExecutor.getDefault() : StorageTrieExecutor.sequential();
+    rootHash = Hash.EMPTY_TRIE_HASH;
+    // Give each contract some existing storage so updates need to load stored nodes
+    for (int i = 0; i < 10; i++) {
+      rootHash = applyBlock();
+    }
+  }
+
+  @Benchmark
+  public Hash persistBlock() {
+    return applyBlock();
+  }
+
+  private Hash applyBlock() {
+    blockNumber++;
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(
+            rootHash, worldStateStorage, preimageStorage, storageTrieExecutor);
+    final WorldUpdater updater = worldState.updater();
+    for (int contract = 0; contract < contractCount; contract++) {
+      final MutableAccount account = updater.getOrCreate(Address.fromHexString("0x" + contract));
+      account.setCode(BytesValue.of(1));
+      for (int slot = 0; slot < slotsPerContract; slot++) {
+        account.setStorageValue(
+            UInt256.of(blockNumber * slotsPerContract + slot), UInt256.of(blockNumber));
+      }
+    }
+    updater.commit();
+    worldState.persist();
+    return worldState.rootHash();
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.GenesisState;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.util.RawBlockIterator;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.testutil.BlockTestUtil;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Replays the blocks of the test blockchain through {@link MainnetBlockProcessor}, comparing block
+ * processing with and without the world state read cache. The cache hits and misses of each
+ * iteration are reported as auxiliary counters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorldStateReadCacheBenchmark {
+
+  @Param({"false", "true"})
+  public boolean readCache;
+
+  private MutableBlockchain blockchain;
+  private WorldStateArchive worldStateArchive;
+  private final List<Block> blocks = new ArrayList<>();
+  private final List<Hash> parentStateRoots = new ArrayList<>();
+  private final List<BlockProcessor> blockProcessors = new ArrayList<>();
+
+  @Setup
+  public void prepare() throws Exception {
+    final ProtocolSchedule<Void> protocolSchedule = MainnetProtocolSchedule.create();
+    final GenesisState genesisState =
+        GenesisState.fromJson(
+            Resources.toString(BlockTestUtil.getTestGenesisUrl(), Charsets.UTF_8),
+            protocolSchedule);
+    blockchain = createInMemoryBlockchain(genesisState.getBlock());
+    worldStateArchive = createInMemoryWorldStateArchive();
+    genesisState.writeStateTo(worldStateArchive.getMutable());
+    final ProtocolContext<Void> protocolContext =
+        new ProtocolContext<>(blockchain, worldStateArchive, null);
+
+    final BlockHeaderFunctions blockHeaderFunctions =
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+    try (final RawBlockIterator iterator =
+        new RawBlockIterator(
+            Path.of(BlockTestUtil.getTestBlockchainUrl().toURI()),
+            rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions))) {
+      while (iterator.hasNext()) {
+        final Block block = iterator.next();
+        if (block.getHeader().getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+          continue;
+        }
+        final long blockNumber = block.getHeader().getNumber();
+        final ProtocolSpec<Void> protocolSpec = protocolSchedule.getByBlockNumber(blockNumber);
+        if (!protocolSpec
+            .getBlockImporter()
+            .importBlock(protocolContext, block, HeaderValidationMode.FULL)) {
+          throw new IllegalStateException("Unable to import block " + blockNumber);
+        }
+        blocks.add(block);
+        parentStateRoots.add(
+            blockchain.getBlockHeader(block.getHeader().getParentHash()).get().getStateRoot());
+        blockProcessors.add(
+            new MainnetBlockProcessor(
+                protocolSpec.getTransactionProcessor(),
+                protocolSpec.getTransactionReceiptFactory(),
+                protocolSpec.getBlockReward(),
+                protocolSpec.getMiningBeneficiaryCalculator(),
+                protocolSpec.isSkipZeroBlockRewards(),
+                readCache));
+      }
+    }
+  }
+
+  @Benchmark
+  public int replayBlocks(final CacheReads cacheReads) {
+    int successful = 0;
+    for (int i = 0; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      final MutableWorldState worldState =
+          worldStateArchive.getMutable(parentStateRoots.get(i)).get();
+      if (blockProcessors.get(i).processBlock(blockchain, worldState, block).isSuccessful()) {
+        successful++;
+      }
+    }
+    return successful;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class CacheReads {
+    public long cacheHits;
+    public long cacheMisses;
+
+    @Setup(Level.Iteration)
+    public void registerCounters() {
+      cacheHits = 0;
+      cacheMisses = 0;
+      WorldStateReadCache.registerMetrics(
+          new NoOpMetricsSystem() {
+            @Override
+            public LabelledMetric<Counter> createLabelledCounter(
+                final MetricCategory category,
+                final String name,
+                final String help,
+                final String... labelNames) {
+              final Counter counter = name.endsWith("_hits_total") ? new Hits() : new Misses();
+              return labels -> counter;
+            }
+          });
+    }
+
+    private class Hits implements Counter {
+      @Override
+      public void inc() {
+        cacheHits++;
+      }
+
+      @Override
+      public void inc(final long amount) {
+        cacheHits += amount;
+      }
+    }
+
+    private class Misses implements Counter {
+      @Override
+      public void inc() {
+        cacheMisses++;
+      }
+
+      @Override
+      public void inc(final long amount) {
+        cacheMisses += amount;
+      }
+    }
+  }
+}
@@ -39,6 +39,15 @@ public interface BlockValidator<C> {
       final HeaderValidationMode headerValidationMode,
       final HeaderValidationMode ommerValidationMode);
 
+  /**
+   * Records the outputs of processing a block outside of this validator, such as while creating
+   * it, so that validating the block can reuse them instead of processing it again.
+   *
+   * @param block the processed block
+   * @param outputs the world state and receipts resulting from processing the block
+   */
+  default void recordProcessingOutputs(final Block block, final BlockProcessingOutputs outputs) {}
+
   boolean fastBlockValidation(
       final ProtocolContext<C> context,
       final Block block,
@@ -17,6 +17,7 @@ import static org.apache.logging.log4j.LogManager.getLogger;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockBodyValidator;
@@ -26,26 +27,67 @@ import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.logging.log4j.Logger;
 
 public class MainnetBlockValidator<C> implements BlockValidator<C> {
 
   private static final Logger LOG = getLogger();
 
+  private static final int PROCESSED_BLOCK_CACHE_SIZE = 4;
+
   private final BlockHeaderValidator<C> blockHeaderValidator;
 
   private final BlockBodyValidator<C> blockBodyValidator;
 
   private final BlockProcessor blockProcessor;
 
+  private final Optional<Function<BlockHeader, Hash>> processedBlockKey;
+
+  private final Cache<Hash, BlockProcessingOutputs> processedBlocks =
+      CacheBuilder.newBuilder().maximumSize(PROCESSED_BLOCK_CACHE_SIZE).build();
+
   public MainnetBlockValidator(
       final BlockHeaderValidator<C> blockHeaderValidator,
       final BlockBodyValidator<C> blockBodyValidator,
       final BlockProcessor blockProcessor) {
+    this(blockHeaderValidator, blockBodyValidator, blockProcessor, Optional.empty());
+  }
+
+  /**
+   * Creates a validator which keeps the outputs of the blocks it recently processed, so that a
+   * block which is validated several times, such as a consensus proposal which is later imported,
+   * is only executed once.
+   *
+   * <p>Outputs are looked up by {@code processedBlockKey}, which must identify everything that
+   * influences the execution of a block: blocks with the same key must have the same parent,
+   * transactions and execution environment.
+   *
+   * @param blockHeaderValidator validates the headers of blocks
+   * @param blockBodyValidator validates the bodies of blocks
+   * @param blockProcessor executes the transactions of blocks
+   * @param processedBlockKey identifies blocks which execute identically
+   */
+  public MainnetBlockValidator(
+      final BlockHeaderValidator<C> blockHeaderValidator,
+      final BlockBodyValidator<C> blockBodyValidator,
+      final BlockProcessor blockProcessor,
+      final Function<BlockHeader, Hash> processedBlockKey) {
+    this(blockHeaderValidator, blockBodyValidator, blockProcessor, Optional.of(processedBlockKey));
+  }
+
+  private MainnetBlockValidator(
+      final BlockHeaderValidator<C> blockHeaderValidator,
+      final BlockBodyValidator<C> blockBodyValidator,
+      final BlockProcessor blockProcessor,
+      final Optional<Function<BlockHeader, Hash>> processedBlockKey) {
     this.blockHeaderValidator = blockHeaderValidator;
     this.blockBodyValidator = blockBodyValidator;
     this.blockProcessor = blockProcessor;
+    this.processedBlockKey = processedBlockKey;
   }
 
   @Override
@@ -72,9 +114,37 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
       return Optional.empty();
     }
 
+    final Optional<Hash> key = processedBlockKey.map(keyFunction -> keyFunction.apply(header));
+    final Optional<BlockProcessingOutputs> processed =
+        key.map(processedBlocks::getIfPresent).or(() -> processBlock(context, block, parentHeader));
+    if (!processed.isPresent()) {
+      return Optional.empty();
+    }
+
+    final BlockProcessingOutputs outputs = processed.get();
+    if (!blockBodyValidator.validateBody(
+        context, block, outputs.receipts, outputs.worldState.rootHash(), ommerValidationMode)) {
+      return Optional.empty();
+    }
+
+    key.ifPresent(processedKey -> processedBlocks.put(processedKey, outputs));
+    return processed;
+  }
+
+  @Override
+  public void recordProcessingOutputs(final Block block, final BlockProcessingOutputs outputs) {
+    processedBlockKey.ifPresent(
+        keyFunction -> processedBlocks.put(keyFunction.apply(block.getHeader()), outputs));
+  }
+
+  private Optional<BlockProcessingOutputs> processBlock(
+      final ProtocolContext<C> context, final Block block, final BlockHeader parentHeader) {
+    final BlockHeader header = block.getHeader();
     final MutableBlockchain blockchain = context.getBlockchain();
     final Optional<MutableWorldState> maybeWorldState =
-        context.getWorldStateArchive().getMutable(parentHeader.getStateRoot());
+        context
+            .getWorldStateArchive()
+            .getMutableForBlockProcessing(parentHeader.getStateRoot());
     if (!maybeWorldState.isPresent()) {
       LOG.debug(
           "Unable to process block {} because parent world state {} is not available",
@@ -88,13 +158,7 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
       return Optional.empty();
     }
 
-    final List<TransactionReceipt> receipts = result.getReceipts();
-    if (!blockBodyValidator.validateBody(
-        context, block, receipts, worldState.rootHash(), ommerValidationMode)) {
-      return Optional.empty();
-    }
-
-    return Optional.of(new BlockProcessingOutputs(worldState, receipts));
+    return Optional.of(new BlockProcessingOutputs(worldState, result.getReceipts()));
   }
 
   @Override
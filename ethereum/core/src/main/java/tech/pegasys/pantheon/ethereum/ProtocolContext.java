@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.ethereum.chain.GenesisState;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.StorageTrieExecutor;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePreimageStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
@@ -52,6 +53,7 @@ public class ProtocolContext<C> {
       final GenesisState genesisState,
       final ProtocolSchedule<T> protocolSchedule,
       final MetricsSystem metricsSystem,
+      final StorageTrieExecutor storageTrieExecutor,
       final BiFunction<Blockchain, WorldStateArchive, T> consensusContextFactory) {
     final BlockchainStorage blockchainStorage =
         storageProvider.createBlockchainStorage(protocolSchedule);
@@ -63,7 +65,7 @@ public class ProtocolContext<C> {
         new DefaultMutableBlockchain(genesisState.getBlock(), blockchainStorage, metricsSystem);
 
     final WorldStateArchive worldStateArchive =
-        new WorldStateArchive(worldStateStorage, preimageStorage);
+        new WorldStateArchive(worldStateStorage, preimageStorage, storageTrieExecutor);
     genesisState.writeStateTo(worldStateArchive.getMutable());
 
     return new ProtocolContext<>(
@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Collection;
@@ -34,6 +35,18 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  Optional<BytesValue> getBlockHeaderRlp(Hash blockHash);
+
+  Optional<BytesValue> getBlockBodyRlp(Hash blockHash);
+
+  /**
+   * Returns the transaction receipts of a block as stored, which includes any revert reasons.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded list of receipts
+   */
+  Optional<BytesValue> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<UInt256> getTotalDifficulty(Hash blockHash);
@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.Subscribers;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -152,6 +153,28 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final long blockNumber) {
+    return blockchainStorage
+        .getBlockHash(blockNumber)
+        .flatMap(blockchainStorage::getBlockHeaderRlp);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getTransactionReceiptsRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
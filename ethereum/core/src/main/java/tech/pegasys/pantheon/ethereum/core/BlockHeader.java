@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.core;
 
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -37,6 +38,10 @@ public class BlockHeader extends SealableBlockHeader {
 
   private final Supplier<ParsedExtraData> parsedExtraData;
 
+  // The encoding the header was decoded from, which is reused when writing the header rather than
+  // encoding it again. Null for headers built in memory.
+  private final BytesValue rlp;
+
   public BlockHeader(
       final Hash parentHash,
       final Hash ommersHash,
@@ -54,6 +59,44 @@ public class BlockHeader extends SealableBlockHeader {
       final Hash mixHash,
       final long nonce,
       final BlockHeaderFunctions blockHeaderFunctions) {
+    this(
+        parentHash,
+        ommersHash,
+        coinbase,
+        stateRoot,
+        transactionsRoot,
+        receiptsRoot,
+        logsBloom,
+        difficulty,
+        number,
+        gasLimit,
+        gasUsed,
+        timestamp,
+        extraData,
+        mixHash,
+        nonce,
+        blockHeaderFunctions,
+        null);
+  }
+
+  private BlockHeader(
+      final Hash parentHash,
+      final Hash ommersHash,
+      final Address coinbase,
+      final Hash stateRoot,
+      final Hash transactionsRoot,
+      final Hash receiptsRoot,
+      final LogsBloomFilter logsBloom,
+      final UInt256 difficulty,
+      final long number,
+      final long gasLimit,
+      final long gasUsed,
+      final long timestamp,
+      final BytesValue extraData,
+      final Hash mixHash,
+      final long nonce,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final BytesValue rlp) {
     super(
         parentHash,
         ommersHash,
@@ -70,6 +113,7 @@ public class BlockHeader extends SealableBlockHeader {
         extraData);
     this.mixHash = mixHash;
     this.nonce = nonce;
+    this.rlp = rlp;
     this.hash = Suppliers.memoize(() -> blockHeaderFunctions.hash(this));
     this.parsedExtraData = Suppliers.memoize(() -> blockHeaderFunctions.parseExtraData(this));
   }
@@ -115,6 +159,10 @@ public class BlockHeader extends SealableBlockHeader {
    * @param out The RLP output to write to
    */
   public void writeTo(final RLPOutput out) {
+    if (rlp != null) {
+      out.writeRLPUnsafe(rlp);
+      return;
+    }
     out.startList();
 
     out.writeBytesValue(parentHash);
@@ -137,7 +185,8 @@ public class BlockHeader extends SealableBlockHeader {
   }
 
   public static BlockHeader readFrom(
-      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+      final RLPInput rlpInput, final BlockHeaderFunctions blockHeaderFunctions) {
+    final RLPInput input = rlpInput.readAsRlp();
     input.enterList();
     final BlockHeader blockHeader =
         new BlockHeader(
@@ -156,11 +205,28 @@ public class BlockHeader extends SealableBlockHeader {
             input.readBytesValue(),
             Hash.wrap(input.readBytes32()),
             input.readLong(),
-            blockHeaderFunctions);
+            blockHeaderFunctions,
+            input.raw().copy());
     input.leaveList();
     return blockHeader;
   }
 
+  /**
+   * Reads the block number from an RLP encoded block header without decoding the other fields.
+   *
+   * @param headerRlp The RLP encoded block header.
+   * @return The number of the block.
+   */
+  public static long readBlockNumber(final BytesValue headerRlp) {
+    final RLPInput input = RLP.input(headerRlp);
+    input.enterList();
+    // Parent hash, ommers hash, coinbase, state, transactions and receipts roots, bloom, difficulty
+    for (int i = 0; i < 8; i++) {
+      input.skipNext();
+    }
+    return input.readLongScalar();
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) {
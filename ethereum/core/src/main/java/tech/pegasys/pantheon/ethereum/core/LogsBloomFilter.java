@@ -97,13 +97,30 @@ public class LogsBloomFilter {
    */
   private void setBits(final BytesValue hashValue) {
     for (int counter = 0; counter < 6; counter += 2) {
-      final int setBloomBit =
-          ((hashValue.get(counter) & LEAST_SIGNIFICANT_THREE_BITS) << BITS_IN_BYTE)
-              + (hashValue.get(counter + 1) & LEAST_SIGNIFICANT_BYTE);
-      setBit(setBloomBit);
+      setBit(bloomBit(hashValue, counter));
     }
   }
 
+  private static int bloomBit(final BytesValue hashValue, final int counter) {
+    return ((hashValue.get(counter) & LEAST_SIGNIFICANT_THREE_BITS) << BITS_IN_BYTE)
+        + (hashValue.get(counter + 1) & LEAST_SIGNIFICANT_BYTE);
+  }
+
+  /**
+   * Returns the indexes of the bits that a log address or topic sets in a bloom filter.
+   *
+   * @param value The log address or topic.
+   * @return the indexes of the three bits set for {@code value}.
+   */
+  public static int[] bitIndexes(final BytesValue value) {
+    final BytesValue hashValue = keccak256(value);
+    final int[] indexes = new int[3];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = bloomBit(hashValue, 2 * i);
+    }
+    return indexes;
+  }
+
   @Override
   public final boolean equals(final Object obj) {
     if (obj == this) {
@@ -139,6 +156,27 @@ public class LogsBloomFilter {
     data.set(byteIndex, (byte) (data.get(byteIndex) | (1 << bitIndex)));
   }
 
+  public boolean isSet(final int index) {
+    final int byteIndex = BYTE_SIZE - 1 - index / 8;
+    final int bitIndex = index % 8;
+    return (data.get(byteIndex) & (1 << bitIndex)) != 0;
+  }
+
+  /**
+   * Checks whether a log address or topic could have been inserted into this filter.
+   *
+   * @param bitIndexes The bits set for the address or topic, as given by {@link #bitIndexes}.
+   * @return false if the value was definitely not inserted, otherwise true.
+   */
+  public boolean couldContain(final int[] bitIndexes) {
+    for (final int index : bitIndexes) {
+      if (!isSet(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void digest(final LogsBloomFilter other) {
     for (int i = 0; i < data.size(); ++i) {
       data.set(i, (byte) ((data.get(i) | other.data.get(i)) & 0xff));
@@ -21,6 +21,13 @@ public interface MutableWorldState extends WorldState, MutableWorldView {
    */
   MutableWorldState copy();
 
+  /**
+   * Keeps the accounts and storage values read from this world state in memory until the next call
+   * to {@link #persist()}, so that state shared by the transactions of a block is only decoded
+   * once. World states that don't cache reads ignore this.
+   */
+  default void enableReadCache() {}
+
   /** Persist accumulated changes to underlying storage. */
   void persist();
 }
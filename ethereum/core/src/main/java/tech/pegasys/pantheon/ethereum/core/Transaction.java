@@ -61,6 +61,10 @@ public class Transaction {
 
   private final Optional<BigInteger> chainId;
 
+  // The encoding the transaction was decoded from, which is reused when hashing and writing the
+  // transaction rather than encoding it again. Null for transactions built in memory.
+  private final BytesValue rlp;
+
   // Caches a "hash" of a portion of the transaction used for sender recovery.
   // Note that this hash does not include the transaction signature so it does not
   // fully identify the transaction (use the result of the {@code hash()} for that).
@@ -77,7 +81,8 @@ public class Transaction {
     return new Builder();
   }
 
-  public static Transaction readFrom(final RLPInput input) throws RLPException {
+  public static Transaction readFrom(final RLPInput rlpInput) throws RLPException {
+    final RLPInput input = rlpInput.readAsRlp();
     input.enterList();
 
     final Builder builder =
@@ -108,7 +113,7 @@ public class Transaction {
     input.leaveList();
 
     chainId.ifPresent(builder::chainId);
-    return builder.signature(signature).build();
+    return builder.signature(signature).rlp(input.raw().copy()).build();
   }
 
   /**
@@ -138,6 +143,20 @@ public class Transaction {
       final BytesValue payload,
       final Address sender,
       final Optional<BigInteger> chainId) {
+    this(nonce, gasPrice, gasLimit, to, value, signature, payload, sender, chainId, null);
+  }
+
+  private Transaction(
+      final long nonce,
+      final Wei gasPrice,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final SECP256K1.Signature signature,
+      final BytesValue payload,
+      final Address sender,
+      final Optional<BigInteger> chainId,
+      final BytesValue rlp) {
     this.nonce = nonce;
     this.gasPrice = gasPrice;
     this.gasLimit = gasLimit;
@@ -147,6 +166,7 @@ public class Transaction {
     this.payload = payload;
     this.sender = sender;
     this.chainId = chainId;
+    this.rlp = rlp;
   }
 
   /**
@@ -260,6 +280,10 @@ public class Transaction {
    * @param out the output to write the transaction to
    */
   public void writeTo(final RLPOutput out) {
+    if (rlp != null) {
+      out.writeRLPUnsafe(rlp);
+      return;
+    }
     out.startList();
 
     out.writeLongScalar(getNonce());
@@ -305,8 +329,7 @@ public class Transaction {
    */
   public Hash hash() {
     if (hash == null) {
-      final BytesValue rlp = RLP.encode(this::writeTo);
-      hash = Hash.hash(rlp);
+      hash = Hash.hash(rlp != null ? rlp : RLP.encode(this::writeTo));
     }
     return hash;
   }
@@ -432,6 +455,8 @@ public class Transaction {
 
     protected Optional<BigInteger> chainId = Optional.empty();
 
+    private BytesValue rlp;
+
     public Builder chainId(final BigInteger chainId) {
       this.chainId = Optional.of(chainId);
       return this;
@@ -477,6 +502,11 @@ public class Transaction {
       return this;
     }
 
+    private Builder rlp(final BytesValue rlp) {
+      this.rlp = rlp;
+      return this;
+    }
+
     public Transaction build() {
       return new Transaction(
           nonce,
@@ -487,7 +517,8 @@ public class Transaction {
           signature,
           payload,
           sender,
-          chainId);
+          chainId,
+          rlp);
     }
 
     public Transaction signAndBuild(final SECP256K1.KeyPair keys) {
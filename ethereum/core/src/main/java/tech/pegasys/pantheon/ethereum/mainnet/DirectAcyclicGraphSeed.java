@@ -14,24 +14,15 @@ package tech.pegasys.pantheon.ethereum.mainnet;
 
 import static tech.pegasys.pantheon.ethereum.mainnet.EthHash.EPOCH_LENGTH;
 
-import tech.pegasys.pantheon.crypto.Hash;
-import tech.pegasys.pantheon.crypto.MessageDigestFactory;
+import tech.pegasys.pantheon.crypto.Keccak256Digest;
 
 import java.security.DigestException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 public class DirectAcyclicGraphSeed {
 
   public static final ThreadLocal<MessageDigest> KECCAK_256 =
-      ThreadLocal.withInitial(
-          () -> {
-            try {
-              return MessageDigestFactory.create(Hash.KECCAK256_ALG);
-            } catch (final NoSuchAlgorithmException ex) {
-              throw new IllegalStateException(ex);
-            }
-          });
+      ThreadLocal.withInitial(Keccak256Digest::new);
 
   public static byte[] dagSeed(final long block) {
     final byte[] seed = new byte[32];
@@ -12,13 +12,61 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+/**
+ * Creates the EthHash caches used to compute hashes from, keeping the most recently used ones in
+ * memory.
+ *
+ * <p>Caches are also written to files in each added cache directory and read back instead of being
+ * generated again, both after a restart and after they were evicted from memory. Each node running
+ * in the process adds a directory under its own data directory, so nodes never share cache files.
+ * As the chain approaches the end of an epoch, the cache of the next epoch is prepared in the
+ * background so that hashing does not stall at the epoch boundary.
+ */
 public class EthHashCacheFactory {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final EthHashCacheFactory SHARED = new EthHashCacheFactory();
+
+  private static final String FILE_PREFIX = "cache-R1-";
+  private static final String TEMP_SUFFIX = ".tmp";
+  @VisibleForTesting static final int MAX_PERSISTED_CACHES = 8;
+  @VisibleForTesting static final long PRECOMPUTE_DISTANCE = EthHash.EPOCH_LENGTH / 4;
 
   public static class EthHashDescriptor {
     private final long datasetSize;
@@ -40,18 +88,202 @@ public class EthHashCacheFactory {
 
   Cache<Long, EthHashDescriptor> descriptorCache = CacheBuilder.newBuilder().maximumSize(5).build();
 
+  private final Map<Long, CompletableFuture<Void>> precomputing = new ConcurrentHashMap<>();
+  private final Set<Path> cacheDirectories = new CopyOnWriteArraySet<>();
+  private final Executor precomputeExecutor;
+
+  public EthHashCacheFactory() {
+    this(
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ethash-cache-%d").build()));
+  }
+
+  @VisibleForTesting
+  EthHashCacheFactory(final Executor precomputeExecutor) {
+    this.precomputeExecutor = precomputeExecutor;
+  }
+
+  /**
+   * Returns the factory shared by the hashers of this process, so that header validation and
+   * mining reuse the same caches.
+   *
+   * @return The shared factory.
+   */
+  public static EthHashCacheFactory shared() {
+    return SHARED;
+  }
+
+  /**
+   * Persists caches to, and loads them from, files in {@code directory} in addition to any other
+   * cache directories.
+   *
+   * @param directory The directory to keep cache files in.
+   */
+  public void addCacheDirectory(final Path directory) {
+    cacheDirectories.add(directory);
+  }
+
+  /**
+   * Stops persisting caches to {@code directory}, e.g. when the node owning it shuts down.
+   *
+   * @param directory The directory previously passed to {@link #addCacheDirectory(Path)}.
+   */
+  public void removeCacheDirectory(final Path directory) {
+    cacheDirectories.remove(directory);
+  }
+
   public EthHashDescriptor ethHashCacheFor(final long blockNumber) {
     final long epochIndex = EthHash.epoch(blockNumber);
+    if (blockNumber % EthHash.EPOCH_LENGTH >= EthHash.EPOCH_LENGTH - PRECOMPUTE_DISTANCE) {
+      precompute(epochIndex + 1);
+    }
+    return descriptorFor(epochIndex);
+  }
+
+  private CompletableFuture<Void> precompute(final long epochIndex) {
+    if (descriptorCache.getIfPresent(epochIndex) != null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<Void> precomputed = new CompletableFuture<>();
+    final CompletableFuture<Void> inProgress = precomputing.putIfAbsent(epochIndex, precomputed);
+    if (inProgress != null) {
+      return inProgress;
+    }
+    precomputeExecutor.execute(
+        () -> {
+          try {
+            descriptorFor(epochIndex);
+            precomputed.complete(null);
+          } catch (final RuntimeException e) {
+            LOG.warn("Failed to precompute the EthHash cache for epoch {}", epochIndex, e);
+            precomputed.completeExceptionally(e);
+          } finally {
+            precomputing.remove(epochIndex, precomputed);
+          }
+        });
+    return precomputed;
+  }
+
+  private EthHashDescriptor descriptorFor(final long epochIndex) {
     try {
-      return descriptorCache.get(epochIndex, () -> createHashCache(epochIndex, blockNumber));
+      return descriptorCache.get(epochIndex, () -> createHashCache(epochIndex));
     } catch (final ExecutionException ex) {
       throw new RuntimeException("Failed to create a suitable cache for EthHash calculations.", ex);
     }
   }
 
-  private EthHashDescriptor createHashCache(final long epochIndex, final long blockNumber) {
+  private EthHashDescriptor createHashCache(final long epochIndex) {
+    final int cacheSize = Ints.checkedCast(EthHash.cacheSize(epochIndex));
+    final List<Path> directories = new ArrayList<>(cacheDirectories);
     final int[] cache =
-        EthHash.mkCache(Ints.checkedCast(EthHash.cacheSize(epochIndex)), blockNumber);
+        directories.stream()
+            .map(dir -> load(dir, epochIndex, cacheSize))
+            .flatMap(Optional::stream)
+            .findFirst()
+            .orElseGet(() -> EthHash.mkCache(cacheSize, epochIndex * EthHash.EPOCH_LENGTH));
+    for (final Path directory : directories) {
+      if (!isStored(directory, epochIndex, cacheSize)) {
+        store(directory, epochIndex, cache);
+      }
+    }
     return new EthHashDescriptor(EthHash.datasetSize(epochIndex), cache);
   }
+
+  private static boolean isStored(
+      final Path directory, final long epochIndex, final int cacheSize) {
+    final Path file = directory.resolve(FILE_PREFIX + epochIndex);
+    try {
+      return Files.exists(file) && Files.size(file) == cacheSize;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  private static Optional<int[]> load(
+      final Path directory, final long epochIndex, final int cacheSize) {
+    final Path file = directory.resolve(FILE_PREFIX + epochIndex);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      if (Files.size(file) != cacheSize) {
+        LOG.warn("Discarding invalid EthHash cache {}", file);
+        Files.delete(file);
+        return Optional.empty();
+      }
+      final int[] cache = new int[cacheSize / Integer.BYTES];
+      try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final IntBuffer ints =
+            channel
+                .map(MapMode.READ_ONLY, 0, cacheSize)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+        ints.get(cache);
+      }
+      // Mark the cache as recently used so it outlives less recently used ones when pruning.
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      LOG.debug("Loaded EthHash cache for epoch {} from {}", epochIndex, file);
+      return Optional.of(cache);
+    } catch (final IOException e) {
+      LOG.warn("Unable to load EthHash cache {}", file, e);
+      return Optional.empty();
+    }
+  }
+
+  private static void store(final Path directory, final long epochIndex, final int[] cache) {
+    final Path file = directory.resolve(FILE_PREFIX + epochIndex);
+    final Path tempFile = directory.resolve(FILE_PREFIX + epochIndex + TEMP_SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      final ByteBuffer bytes =
+          ByteBuffer.allocate(cache.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      bytes.asIntBuffer().put(cache);
+      try (final FileChannel channel =
+          FileChannel.open(
+              tempFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        while (bytes.hasRemaining()) {
+          channel.write(bytes);
+        }
+        channel.force(false);
+      }
+      Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+      LOG.debug("Stored EthHash cache for epoch {} in {}", epochIndex, file);
+      pruneCaches(directory);
+    } catch (final IOException e) {
+      // The cache is still usable from memory, it will just have to be generated again later.
+      LOG.warn("Unable to store EthHash cache {}", file, e);
+      try {
+        Files.deleteIfExists(tempFile);
+      } catch (final IOException deleteError) {
+        LOG.debug("Unable to delete {}", tempFile, deleteError);
+      }
+    }
+  }
+
+  private static void pruneCaches(final Path directory) throws IOException {
+    final List<Path> files = new ArrayList<>();
+    try (final DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      for (final Path file : stream) {
+        if (!file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+          files.add(file);
+        }
+      }
+    }
+    if (files.size() <= MAX_PERSISTED_CACHES) {
+      return;
+    }
+    final Map<Path, FileTime> modified = new HashMap<>();
+    for (final Path file : files) {
+      modified.put(file, Files.getLastModifiedTime(file));
+    }
+    files.sort(Comparator.comparing(modified::get, Comparator.reverseOrder()));
+    for (final Path file : files.subList(MAX_PERSISTED_CACHES, files.size())) {
+      LOG.debug("Deleting least recently used EthHash cache {}", file);
+      Files.deleteIfExists(file);
+    }
+  }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Ints;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The full EthHash dataset of an epoch, held in a memory-mapped file so that it is generated once
+ * and reused across restarts.
+ *
+ * <p>The dataset is generated into a temporary file which is only moved into place once complete,
+ * so a dataset file that exists with the expected size is complete. Loading a dataset still checks
+ * its first and last items against the cache to catch files from another implementation or a
+ * corrupted disk.
+ */
+public final class EthHashDataset {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String FILE_PREFIX = "full-R1-";
+  private static final String TEMP_SUFFIX = ".tmp";
+  // Mappings are limited to 2GiB; items never straddle chunks as the chunk size is a multiple of
+  // the item size.
+  private static final int CHUNK_BYTES = 1 << 30;
+  private static final VarHandle LONG_LE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private final long epoch;
+  private final long size;
+  private final MappedByteBuffer[] chunks;
+
+  private EthHashDataset(final long epoch, final long size, final MappedByteBuffer[] chunks) {
+    this.epoch = epoch;
+    this.size = size;
+    this.chunks = chunks;
+  }
+
+  /**
+   * Maps the dataset of an epoch from {@code directory}, generating it from {@code cache} first if
+   * it does not exist yet.
+   *
+   * @param directory The directory holding dataset files.
+   * @param epoch The EthHash epoch.
+   * @param cache The EthHash cache of the epoch.
+   * @return The mapped dataset.
+   * @throws IOException If the dataset file could not be read or written.
+   */
+  public static EthHashDataset loadOrGenerate(
+      final Path directory, final long epoch, final int[] cache) throws IOException {
+    return loadOrGenerate(directory, epoch, EthHash.datasetSize(epoch), cache);
+  }
+
+  @VisibleForTesting
+  static EthHashDataset loadOrGenerate(
+      final Path directory, final long epoch, final long size, final int[] cache)
+      throws IOException {
+    final Path file = directory.resolve(FILE_PREFIX + epoch);
+    if (Files.exists(file)) {
+      if (Files.size(file) == size) {
+        final EthHashDataset dataset = map(file, epoch, size);
+        if (dataset.matches(cache)) {
+          LOG.debug("Loaded EthHash dataset for epoch {} from {}", epoch, file);
+          return dataset;
+        }
+      }
+      LOG.warn("Discarding invalid EthHash dataset {}", file);
+      Files.delete(file);
+    }
+    generate(directory, file, epoch, size, cache);
+    return map(file, epoch, size);
+  }
+
+  /**
+   * Deletes the dataset files in {@code directory} for epochs other than the ones given.
+   *
+   * @param directory The directory holding dataset files.
+   * @param retainedEpochs The epochs whose datasets must be kept.
+   */
+  public static void deleteOtherEpochs(final Path directory, final long... retainedEpochs) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (final DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      for (final Path file : files) {
+        final String name = file.getFileName().toString();
+        if (name.endsWith(TEMP_SUFFIX)) {
+          continue;
+        }
+        final long epoch;
+        try {
+          epoch = Long.parseLong(name.substring(FILE_PREFIX.length()));
+        } catch (final NumberFormatException e) {
+          continue;
+        }
+        if (Arrays.stream(retainedEpochs).noneMatch(retained -> retained == epoch)) {
+          LOG.debug("Deleting EthHash dataset {}", file);
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (final IOException e) {
+      LOG.warn("Failed to delete stale EthHash datasets in {}", directory, e);
+    }
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Copies a dataset item into a buffer.
+   *
+   * @param buffer At least 64 bytes long buffer to store the item in
+   * @param index Index of the dataset item
+   */
+  public void lookup(final byte[] buffer, final int index) {
+    final long offset = (long) index * EthHash.HASH_BYTES;
+    final MappedByteBuffer chunk = chunks[(int) (offset / CHUNK_BYTES)];
+    final int position = (int) (offset % CHUNK_BYTES);
+    for (int i = 0; i < EthHash.HASH_BYTES; i += Long.BYTES) {
+      LONG_LE.set(buffer, i, chunk.getLong(position + i));
+    }
+  }
+
+  private boolean matches(final int[] cache) {
+    final int lastItem = Ints.checkedCast(size / EthHash.HASH_BYTES) - 1;
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    for (final int index : new int[] {0, lastItem}) {
+      EthHash.calcDatasetItem(expected, cache, index);
+      lookup(actual, index);
+      if (!Arrays.equals(expected, actual)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void generate(
+      final Path directory, final Path file, final long epoch, final long size, final int[] cache)
+      throws IOException {
+    LOG.info("Generating EthHash dataset for epoch {} ({} bytes) in {}", epoch, size, directory);
+    Files.createDirectories(directory);
+    final Path tempFile = directory.resolve(FILE_PREFIX + epoch + TEMP_SUFFIX);
+    Files.deleteIfExists(tempFile);
+    try (final FileChannel channel =
+        FileChannel.open(
+            tempFile,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      final EthHashDataset dataset =
+          new EthHashDataset(epoch, size, map(channel, size, MapMode.READ_WRITE));
+      final ThreadLocal<byte[]> items =
+          ThreadLocal.withInitial(() -> new byte[EthHash.HASH_BYTES]);
+      IntStream.range(0, Ints.checkedCast(size / EthHash.HASH_BYTES))
+          .parallel()
+          .forEach(
+              index -> {
+                final byte[] item = items.get();
+                EthHash.calcDatasetItem(item, cache, index);
+                dataset.store(item, index);
+              });
+      for (final MappedByteBuffer chunk : dataset.chunks) {
+        chunk.force();
+      }
+    } catch (final IOException | RuntimeException e) {
+      Files.deleteIfExists(tempFile);
+      throw e;
+    }
+    Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    LOG.info("Generated EthHash dataset for epoch {}", epoch);
+  }
+
+  private void store(final byte[] item, final int index) {
+    final long offset = (long) index * EthHash.HASH_BYTES;
+    final MappedByteBuffer chunk = chunks[(int) (offset / CHUNK_BYTES)];
+    final int position = (int) (offset % CHUNK_BYTES);
+    for (int i = 0; i < EthHash.HASH_BYTES; i += Long.BYTES) {
+      chunk.putLong(position + i, (long) LONG_LE.get(item, i));
+    }
+  }
+
+  private static EthHashDataset map(final Path file, final long epoch, final long size)
+      throws IOException {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new EthHashDataset(epoch, size, map(channel, size, MapMode.READ_ONLY));
+    }
+  }
+
+  private static MappedByteBuffer[] map(
+      final FileChannel channel, final long size, final MapMode mode) throws IOException {
+    final MappedByteBuffer[] chunks =
+        new MappedByteBuffer[Ints.checkedCast((size + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+    for (int i = 0; i < chunks.length; i++) {
+      final long position = (long) i * CHUNK_BYTES;
+      chunks[i] = channel.map(mode, position, Math.min(CHUNK_BYTES, size - position));
+      chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return chunks;
+  }
+}
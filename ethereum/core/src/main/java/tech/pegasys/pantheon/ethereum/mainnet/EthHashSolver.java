@@ -12,18 +12,26 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class EthHashSolver {
 
@@ -68,16 +76,50 @@ public class EthHashSolver {
   }
 
   private final long NO_MINING_CONDUCTED = -1;
+  // Nonces are drawn from the shared generator in batches to keep solver threads from contending.
+  private static final int NONCE_BATCH_SIZE = 16;
 
   private final Iterable<Long> nonceGenerator;
   private final EthHasher ethHasher;
+  private final int threadCount;
+  private final Executor workerExecutor;
+  private final Counter hashCounter;
   private volatile long hashesPerSecond = NO_MINING_CONDUCTED;
 
   private volatile Optional<EthHashSolverJob> currentJob = Optional.empty();
 
   public EthHashSolver(final Iterable<Long> nonceGenerator, final EthHasher ethHasher) {
+    this(
+        nonceGenerator,
+        ethHasher,
+        1,
+        MoreExecutors.directExecutor(),
+        NoOpMetricsSystem.NO_OP_COUNTER);
+  }
+
+  /**
+   * Creates a solver that searches the nonces of {@code nonceGenerator} on {@code threadCount}
+   * threads: the thread calling {@link #solveFor(EthHashSolverJob)} and {@code threadCount - 1}
+   * threads from {@code workerExecutor}.
+   *
+   * @param nonceGenerator The nonces to try.
+   * @param ethHasher The hasher to test nonces with.
+   * @param threadCount The number of threads to search nonces on.
+   * @param workerExecutor The executor running the additional threads.
+   * @param hashCounter Counts the hashes computed.
+   */
+  public EthHashSolver(
+      final Iterable<Long> nonceGenerator,
+      final EthHasher ethHasher,
+      final int threadCount,
+      final Executor workerExecutor,
+      final Counter hashCounter) {
+    checkArgument(threadCount > 0, "Solver requires at least one thread");
     this.nonceGenerator = nonceGenerator;
     this.ethHasher = ethHasher;
+    this.threadCount = threadCount;
+    this.workerExecutor = workerExecutor;
+    this.hashCounter = hashCounter;
   }
 
   public EthHashSolution solveFor(final EthHashSolverJob job)
@@ -90,22 +132,62 @@ public class EthHashSolver {
   private void findValidNonce() {
     final Stopwatch operationTimer = Stopwatch.createStarted();
     final EthHashSolverJob job = currentJob.get();
-    long hashesExecuted = 0;
-    final byte[] hashBuffer = new byte[64];
-    for (final Long n : nonceGenerator) {
+    final Iterator<Long> nonces = nonceGenerator.iterator();
+    final AtomicLong hashesExecuted = new AtomicLong();
+
+    final CompletableFuture<?>[] workers = new CompletableFuture<?>[threadCount - 1];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] =
+          CompletableFuture.runAsync(
+              () -> searchNonces(job, nonces, hashesExecuted, operationTimer), workerExecutor);
+      workers[i].whenComplete(
+          (result, error) -> {
+            if (error != null) {
+              job.failed(error);
+            }
+          });
+    }
+    try {
+      searchNonces(job, nonces, hashesExecuted, operationTimer);
+    } catch (final RuntimeException e) {
+      job.failed(e);
+      throw e;
+    } finally {
+      // Workers stop as soon as the job is done or the nonces run out.
+      CompletableFuture.allOf(workers).exceptionally(error -> null).join();
+    }
+    job.failed(new IllegalStateException("No valid nonce found."));
+  }
 
-      if (job.isDone()) {
+  private void searchNonces(
+      final EthHashSolverJob job,
+      final Iterator<Long> nonces,
+      final AtomicLong hashesExecuted,
+      final Stopwatch operationTimer) {
+    final byte[] hashBuffer = new byte[64];
+    final long[] batch = new long[NONCE_BATCH_SIZE];
+    while (!job.isDone()) {
+      int batchSize = 0;
+      synchronized (nonces) {
+        while (batchSize < batch.length && nonces.hasNext()) {
+          batch[batchSize++] = nonces.next();
+        }
+      }
+      if (batchSize == 0) {
         return;
       }
 
-      final Optional<EthHashSolution> solution = testNonce(job.getInputs(), n, hashBuffer);
-      solution.ifPresent(job::solvedWith);
+      int hashes = 0;
+      while (hashes < batchSize && !job.isDone()) {
+        final Optional<EthHashSolution> solution =
+            testNonce(job.getInputs(), batch[hashes++], hashBuffer);
+        solution.ifPresent(job::solvedWith);
+      }
 
-      hashesExecuted++;
+      hashCounter.inc(hashes);
       final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
-      hashesPerSecond = (long) (hashesExecuted / operationDurationSeconds);
+      hashesPerSecond = (long) (hashesExecuted.addAndGet(hashes) / operationDurationSeconds);
     }
-    job.failed(new IllegalStateException("No valid nonce found."));
   }
 
   private Optional<EthHashSolution> testNonce(
@@ -12,6 +12,22 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public interface EthHasher {
 
   /**
@@ -24,7 +40,7 @@ public interface EthHasher {
 
   final class Light implements EthHasher {
 
-    private static final EthHashCacheFactory cacheFactory = new EthHashCacheFactory();
+    private static final EthHashCacheFactory cacheFactory = EthHashCacheFactory.shared();
 
     @Override
     public void hash(
@@ -35,4 +51,100 @@ public interface EthHasher {
       System.arraycopy(hash, 0, buffer, 0, hash.length);
     }
   }
+
+  /**
+   * Hashes against the full dataset of an epoch, memory-mapped from files in a directory.
+   *
+   * <p>Datasets are loaded or generated in the background. Until the dataset of the current epoch
+   * is ready, hashes are computed from the cache as {@link Light} does. Once it is ready, the
+   * dataset of the next epoch is generated ahead of time, and datasets of older epochs are deleted
+   * when the next epoch is reached. If a dataset can't be loaded or generated, hashes for its
+   * epoch are computed from the cache until generating it is retried a minute later.
+   */
+  final class Full implements EthHasher {
+    private static final Logger LOG = LogManager.getLogger();
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final EthHashCacheFactory cacheFactory = EthHashCacheFactory.shared();
+    private final Map<Long, CompletableFuture<EthHashDataset>> datasets =
+        new ConcurrentHashMap<>();
+    private final ExecutorService generator =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ethash-dataset-%d").build());
+    private final Path directory;
+    private volatile long currentEpoch = -1;
+
+    public Full(final Path directory) {
+      this.directory = directory;
+    }
+
+    @Override
+    public void hash(
+        final byte[] buffer, final long nonce, final long number, final byte[] headerHash) {
+      final Optional<EthHashDataset> dataset = datasetFor(EthHash.epoch(number));
+      final byte[] hash;
+      if (dataset.isPresent()) {
+        hash = EthHash.hashimotoFull(dataset.get(), headerHash, nonce);
+      } else {
+        final EthHashCacheFactory.EthHashDescriptor cache = cacheFactory.ethHashCacheFor(number);
+        hash = EthHash.hashimotoLight(cache.getDatasetSize(), cache.getCache(), headerHash, nonce);
+      }
+      System.arraycopy(hash, 0, buffer, 0, hash.length);
+    }
+
+    private Optional<EthHashDataset> datasetFor(final long epoch) {
+      if (epoch != currentEpoch) {
+        advanceTo(epoch);
+        if (epoch < currentEpoch) {
+          // Stale work, e.g. after a reorg; not worth generating a dataset for.
+          return Optional.empty();
+        }
+      }
+      final CompletableFuture<EthHashDataset> dataset =
+          datasets.computeIfAbsent(epoch, this::loadOrGenerate);
+      if (!dataset.isDone() || dataset.isCompletedExceptionally()) {
+        return Optional.empty();
+      }
+      datasets.computeIfAbsent(epoch + 1, this::loadOrGenerate);
+      return Optional.of(dataset.join());
+    }
+
+    private synchronized void advanceTo(final long epoch) {
+      if (epoch <= currentEpoch) {
+        return;
+      }
+      currentEpoch = epoch;
+      datasets.keySet().removeIf(datasetEpoch -> datasetEpoch < epoch);
+      generator.execute(() -> EthHashDataset.deleteOtherEpochs(directory, epoch, epoch + 1));
+    }
+
+    private CompletableFuture<EthHashDataset> loadOrGenerate(final long epoch) {
+      final CompletableFuture<EthHashDataset> dataset =
+          CompletableFuture.supplyAsync(
+              () -> {
+                final int[] cache =
+                    cacheFactory.ethHashCacheFor(epoch * EthHash.EPOCH_LENGTH).getCache();
+                try {
+                  return EthHashDataset.loadOrGenerate(directory, epoch, cache);
+                } catch (final IOException e) {
+                  LOG.error(
+                      "Unable to load or generate the EthHash dataset for epoch {}. Hashing from"
+                          + " the cache instead and retrying in {} seconds.",
+                      epoch,
+                      RETRY_DELAY.getSeconds(),
+                      e);
+                  throw new UncheckedIOException(e);
+                }
+              },
+              generator);
+      dataset.exceptionally(
+          error -> {
+            // Forget the failed dataset so that the next hash after the delay tries again.
+            CompletableFuture.delayedExecutor(RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> datasets.remove(epoch, dataset));
+            return null;
+          });
+      return dataset;
+    }
+  }
 }
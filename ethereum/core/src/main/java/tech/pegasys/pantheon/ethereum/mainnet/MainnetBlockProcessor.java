@@ -87,17 +87,40 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
   private final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private final boolean useReadCache;
+
   public MainnetBlockProcessor(
       final TransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
       final Wei blockReward,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
       final boolean skipZeroBlockRewards) {
+    this(
+        transactionProcessor,
+        transactionReceiptFactory,
+        blockReward,
+        miningBeneficiaryCalculator,
+        skipZeroBlockRewards,
+        true);
+  }
+
+  /**
+   * @param useReadCache whether accounts and storage read by one transaction are kept in memory for
+   *     the following transactions of the block, see {@link MutableWorldState#enableReadCache()}
+   */
+  public MainnetBlockProcessor(
+      final TransactionProcessor transactionProcessor,
+      final TransactionReceiptFactory transactionReceiptFactory,
+      final Wei blockReward,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final boolean skipZeroBlockRewards,
+      final boolean useReadCache) {
     this.transactionProcessor = transactionProcessor;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.blockReward = blockReward;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
     this.skipZeroBlockRewards = skipZeroBlockRewards;
+    this.useReadCache = useReadCache;
   }
 
   @Override
@@ -111,6 +134,9 @@ public class MainnetBlockProcessor implements BlockProcessor {
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
 
+    if (useReadCache) {
+      worldState.enableReadCache();
+    }
     for (final Transaction transaction : transactions) {
       final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
       if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.privacy.PrivateStateStorage;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePreimageStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 
 import java.io.Closeable;
 
@@ -32,4 +33,21 @@ public interface StorageProvider extends Closeable {
   PrivateTransactionStorage createPrivateTransactionStorage();
 
   PrivateStateStorage createPrivateStateStorage();
+
+  KeyValueStorage createPruningStorage();
+
+  /**
+   * Storage for data maintained by the consensus mechanism, such as vote tally checkpoints.
+   *
+   * @return the consensus storage.
+   */
+  KeyValueStorage createConsensusStorage();
+
+  /**
+   * World state can only be pruned when its storage holds nothing but world state, so that every
+   * key streamed from it is a trie node or contract code.
+   *
+   * @return true if the world state storage is kept separate from all other data.
+   */
+  boolean isWorldStateIterable();
 }
@@ -72,19 +72,34 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
-    return get(BLOCK_HEADER_PREFIX, blockHash)
+    return getBlockHeaderRlp(blockHash)
         .map(b -> BlockHeader.readFrom(RLP.input(b), blockHeaderFunctions));
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
-    return get(BLOCK_BODY_PREFIX, blockHash)
+    return getBlockBodyRlp(blockHash)
         .map(bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHeaderFunctions));
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
-    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
+    return getTransactionReceiptsRlp(blockHash).map(this::rlpDecodeTransactionReceipts);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash);
   }
 
   @Override
@@ -34,6 +34,9 @@ public class KeyValueStorageProvider implements StorageProvider {
   private final KeyValueStorage privateTransactionStorage;
   private final KeyValueStorage privateStateStorage;
   private final KeyValueStorage pruningStorage;
+  private final KeyValueStorage consensusStorage;
+  private final boolean isWorldStateIterable;
+  private final WorldStateNodeCache worldStateNodeCache;
 
   public KeyValueStorageProvider(
       final KeyValueStorage blockchainStorage,
@@ -41,13 +44,19 @@ public class KeyValueStorageProvider implements StorageProvider {
       final KeyValueStorage worldStatePreimageStorage,
       final KeyValueStorage privateTransactionStorage,
       final KeyValueStorage privateStateStorage,
-      final KeyValueStorage pruningStorage) {
+      final KeyValueStorage pruningStorage,
+      final KeyValueStorage consensusStorage,
+      final boolean isWorldStateIterable,
+      final WorldStateNodeCache worldStateNodeCache) {
     this.blockchainStorage = blockchainStorage;
     this.worldStateStorage = worldStateStorage;
     this.worldStatePreimageStorage = worldStatePreimageStorage;
     this.privateTransactionStorage = privateTransactionStorage;
     this.privateStateStorage = privateStateStorage;
     this.pruningStorage = pruningStorage;
+    this.consensusStorage = consensusStorage;
+    this.isWorldStateIterable = isWorldStateIterable;
+    this.worldStateNodeCache = worldStateNodeCache;
   }
 
   @Override
@@ -58,7 +67,7 @@ public class KeyValueStorageProvider implements StorageProvider {
 
   @Override
   public WorldStateStorage createWorldStateStorage() {
-    return new WorldStateKeyValueStorage(worldStateStorage);
+    return new WorldStateKeyValueStorage(worldStateStorage, worldStateNodeCache);
   }
 
   @Override
@@ -76,10 +85,21 @@ public class KeyValueStorageProvider implements StorageProvider {
     return new PrivateStateKeyValueStorage(privateStateStorage);
   }
 
+  @Override
   public KeyValueStorage createPruningStorage() {
     return pruningStorage;
   }
 
+  @Override
+  public KeyValueStorage createConsensusStorage() {
+    return consensusStorage;
+  }
+
+  @Override
+  public boolean isWorldStateIterable() {
+    return isWorldStateIterable;
+  }
+
   @Override
   public void close() throws IOException {
     blockchainStorage.close();
@@ -87,5 +107,6 @@ public class KeyValueStorageProvider implements StorageProvider {
     privateTransactionStorage.close();
     privateStateStorage.close();
     pruningStorage.close();
+    consensusStorage.close();
   }
 }
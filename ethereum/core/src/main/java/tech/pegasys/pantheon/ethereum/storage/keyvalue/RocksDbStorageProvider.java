@@ -38,7 +38,11 @@ public class RocksDbStorageProvider {
   public static StorageProvider create(
       final RocksDbConfiguration rocksDbConfiguration, final MetricsSystem metricsSystem)
       throws IOException {
-    return create(rocksDbConfiguration, metricsSystem, DEFAULT_WORLD_STATE_PREIMAGE_CACHE_SIZE);
+    return create(
+        rocksDbConfiguration,
+        metricsSystem,
+        DEFAULT_WORLD_STATE_PREIMAGE_CACHE_SIZE,
+        WorldStateNodeCache.DEFAULT_CACHE_SIZE_BYTES);
   }
 
   public static StorageProvider create(
@@ -46,31 +50,49 @@ public class RocksDbStorageProvider {
       final MetricsSystem metricsSystem,
       final long worldStatePreimageCacheSize)
       throws IOException {
+    return create(
+        rocksDbConfiguration,
+        metricsSystem,
+        worldStatePreimageCacheSize,
+        WorldStateNodeCache.DEFAULT_CACHE_SIZE_BYTES);
+  }
+
+  public static StorageProvider create(
+      final RocksDbConfiguration rocksDbConfiguration,
+      final MetricsSystem metricsSystem,
+      final long worldStatePreimageCacheSize,
+      final long worldStateNodeCacheSize)
+      throws IOException {
+    final WorldStateNodeCache worldStateNodeCache =
+        new WorldStateNodeCache(metricsSystem, worldStateNodeCacheSize);
     if (rocksDbConfiguration.useColumns()) {
       return createSegmentedProvider(
-          rocksDbConfiguration, metricsSystem, worldStatePreimageCacheSize);
+          rocksDbConfiguration, metricsSystem, worldStatePreimageCacheSize, worldStateNodeCache);
     } else {
       return createUnsegmentedProvider(
-          rocksDbConfiguration, metricsSystem, worldStatePreimageCacheSize);
+          rocksDbConfiguration, metricsSystem, worldStatePreimageCacheSize, worldStateNodeCache);
     }
   }
 
   private static StorageProvider createUnsegmentedProvider(
       final RocksDbConfiguration rocksDbConfiguration,
       final MetricsSystem metricsSystem,
-      final long worldStatePreimageCacheSize)
+      final long worldStatePreimageCacheSize,
+      final WorldStateNodeCache worldStateNodeCache)
       throws IOException {
     Files.createDirectories(rocksDbConfiguration.getDatabaseDir());
     final KeyValueStorage kv = RocksDbKeyValueStorage.create(rocksDbConfiguration, metricsSystem);
     final KeyValueStorage preimageKv =
         new LimitedInMemoryKeyValueStorage(worldStatePreimageCacheSize);
-    return new KeyValueStorageProvider(kv, kv, preimageKv, kv, kv, kv);
+    return new KeyValueStorageProvider(
+        kv, kv, preimageKv, kv, kv, kv, kv, false, worldStateNodeCache);
   }
 
   private static StorageProvider createSegmentedProvider(
       final RocksDbConfiguration rocksDbConfiguration,
       final MetricsSystem metricsSystem,
-      final long worldStatePreimageCacheSize)
+      final long worldStatePreimageCacheSize,
+      final WorldStateNodeCache worldStateNodeCache)
       throws IOException {
     LOG.info("Using RocksDB columns");
     Files.createDirectories(rocksDbConfiguration.getDatabaseDir());
@@ -86,7 +108,10 @@ public class RocksDbStorageProvider {
         preimageStorage,
         new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRIVATE_TRANSACTIONS, columnarStorage),
         new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRIVATE_STATE, columnarStorage),
-        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRUNING_STATE, columnarStorage));
+        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.PRUNING_STATE, columnarStorage),
+        new SegmentedKeyValueStorageAdapter<>(RocksDbSegment.CONSENSUS, columnarStorage),
+        true,
+        worldStateNodeCache);
   }
 
   private enum RocksDbSegment implements Segment {
@@ -94,7 +119,8 @@ public class RocksDbStorageProvider {
     WORLD_STATE((byte) 2),
     PRIVATE_TRANSACTIONS((byte) 3),
     PRIVATE_STATE((byte) 4),
-    PRUNING_STATE((byte) 5);
+    PRUNING_STATE((byte) 5),
+    CONSENSUS((byte) 6);
 
     private final byte[] id;
 
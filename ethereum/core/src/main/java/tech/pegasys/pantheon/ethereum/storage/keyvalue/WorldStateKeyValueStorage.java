@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
+import static java.util.Collections.singletonList;
+
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
@@ -21,17 +23,36 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   private final Subscribers<NodesAddedListener> nodeAddedListeners = Subscribers.create();
   private final KeyValueStorage keyValueStorage;
+  private final WorldStateNodeCache nodeCache;
+  private final ReentrantLock lock = new ReentrantLock();
+  // Incremented when a prune starts and again once it has invalidated the pruned nodes, so it is
+  // odd while a prune is in progress.
+  private final AtomicLong pruneGeneration = new AtomicLong();
+  private final WorldStateStorage blockProcessingView = new BlockProcessingView();
 
   public WorldStateKeyValueStorage(final KeyValueStorage keyValueStorage) {
+    this(keyValueStorage, WorldStateNodeCache.disabled());
+  }
+
+  public WorldStateKeyValueStorage(
+      final KeyValueStorage keyValueStorage, final WorldStateNodeCache nodeCache) {
     this.keyValueStorage = keyValueStorage;
+    this.nodeCache = nodeCache;
   }
 
   @Override
@@ -45,20 +66,32 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   @Override
   public Optional<BytesValue> getAccountStateTrieNode(final Bytes32 nodeHash) {
-    return getTrieNode(nodeHash);
+    return getTrieNode(nodeHash, false);
   }
 
   @Override
   public Optional<BytesValue> getAccountStorageTrieNode(final Bytes32 nodeHash) {
-    return getTrieNode(nodeHash);
+    return getTrieNode(nodeHash, false);
   }
 
-  private Optional<BytesValue> getTrieNode(final Bytes32 nodeHash) {
+  private Optional<BytesValue> getTrieNode(final Bytes32 nodeHash, final boolean fillCache) {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
-    } else {
-      return keyValueStorage.get(nodeHash);
     }
+    final Optional<BytesValue> cachedNode = nodeCache.get(nodeHash);
+    if (cachedNode.isPresent()) {
+      return cachedNode;
+    }
+    final long generation = pruneGeneration.get();
+    final Optional<BytesValue> node = keyValueStorage.get(nodeHash);
+    if (fillCache && node.isPresent() && generation % 2 == 0) {
+      nodeCache.put(nodeHash, node.get());
+      // A prune that started after the node was read may have invalidated the cache before the put
+      if (pruneGeneration.get() != generation) {
+        nodeCache.invalidate(singletonList(nodeHash));
+      }
+    }
+    return node;
   }
 
   @Override
@@ -68,7 +101,8 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     } else if (hash.equals(Hash.EMPTY)) {
       return Optional.of(BytesValue.EMPTY);
     } else {
-      return keyValueStorage.get(hash);
+      final Optional<BytesValue> cachedNode = nodeCache.get(hash);
+      return cachedNode.isPresent() ? cachedNode : keyValueStorage.get(hash);
     }
   }
 
@@ -79,12 +113,46 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   @Override
   public Updater updater() {
-    return new Updater(keyValueStorage.startTransaction(), nodeAddedListeners);
+    return new Updater(
+        lock, keyValueStorage.startTransaction(), nodeAddedListeners, nodeCache);
   }
 
+  /**
+   * Returns a view of this storage that adds the trie nodes it reads to the node cache. Reads made
+   * directly against this storage only use nodes that are already cached.
+   *
+   * @return a view of this storage for block processing
+   */
   @Override
-  public long prune(final Predicate<BytesValue> inUseCheck) {
-    return keyValueStorage.removeUnless(inUseCheck);
+  public WorldStateStorage blockProcessingView() {
+    return blockProcessingView;
+  }
+
+  @Override
+  public Stream<BytesValue> streamKeys() {
+    return keyValueStorage.streamKeys();
+  }
+
+  @Override
+  public long prune(final Collection<BytesValue> keys, final Predicate<BytesValue> inUseCheck) {
+    lock.lock();
+    pruneGeneration.incrementAndGet();
+    try {
+      final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+      final List<BytesValue> prunedKeys = new ArrayList<>();
+      for (final BytesValue key : keys) {
+        if (!inUseCheck.test(key)) {
+          transaction.remove(key);
+          prunedKeys.add(key);
+        }
+      }
+      transaction.commit();
+      nodeCache.invalidate(prunedKeys);
+      return prunedKeys.size();
+    } finally {
+      pruneGeneration.incrementAndGet();
+      lock.unlock();
+    }
   }
 
   @Override
@@ -97,17 +165,82 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     nodeAddedListeners.unsubscribe(id);
   }
 
+  private class BlockProcessingView implements WorldStateStorage {
+
+    @Override
+    public Optional<BytesValue> getCode(final Bytes32 codeHash) {
+      return WorldStateKeyValueStorage.this.getCode(codeHash);
+    }
+
+    @Override
+    public Optional<BytesValue> getAccountStateTrieNode(final Bytes32 nodeHash) {
+      return getTrieNode(nodeHash, true);
+    }
+
+    @Override
+    public Optional<BytesValue> getAccountStorageTrieNode(final Bytes32 nodeHash) {
+      return getTrieNode(nodeHash, true);
+    }
+
+    @Override
+    public Optional<BytesValue> getNodeData(final Bytes32 hash) {
+      return WorldStateKeyValueStorage.this.getNodeData(hash);
+    }
+
+    @Override
+    public boolean isWorldStateAvailable(final Bytes32 rootHash) {
+      return getAccountStateTrieNode(rootHash).isPresent();
+    }
+
+    @Override
+    public Updater updater() {
+      return WorldStateKeyValueStorage.this.updater();
+    }
+
+    @Override
+    public WorldStateStorage blockProcessingView() {
+      return this;
+    }
+
+    @Override
+    public Stream<BytesValue> streamKeys() {
+      return WorldStateKeyValueStorage.this.streamKeys();
+    }
+
+    @Override
+    public long prune(final Collection<BytesValue> keys, final Predicate<BytesValue> inUseCheck) {
+      return WorldStateKeyValueStorage.this.prune(keys, inUseCheck);
+    }
+
+    @Override
+    public long addNodeAddedListener(final NodesAddedListener listener) {
+      return WorldStateKeyValueStorage.this.addNodeAddedListener(listener);
+    }
+
+    @Override
+    public void removeNodeAddedListener(final long id) {
+      WorldStateKeyValueStorage.this.removeNodeAddedListener(id);
+    }
+  }
+
   public static class Updater implements WorldStateStorage.Updater {
 
+    private final Lock lock;
     private final KeyValueStorage.Transaction transaction;
     private final Subscribers<NodesAddedListener> nodeAddedListeners;
+    private final WorldStateNodeCache nodeCache;
     private final List<Bytes32> addedNodes = new ArrayList<>();
+    private final Map<Bytes32, BytesValue> addedTrieNodes = new HashMap<>();
 
     public Updater(
+        final Lock lock,
         final KeyValueStorage.Transaction transaction,
-        final Subscribers<NodesAddedListener> nodeAddedListeners) {
+        final Subscribers<NodesAddedListener> nodeAddedListeners,
+        final WorldStateNodeCache nodeCache) {
+      this.lock = lock;
       this.transaction = transaction;
       this.nodeAddedListeners = nodeAddedListeners;
+      this.nodeCache = nodeCache;
     }
 
     @Override
@@ -129,6 +262,7 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      addTrieNode(nodeHash, node);
       transaction.put(nodeHash, node);
       return this;
     }
@@ -140,14 +274,27 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      addTrieNode(nodeHash, node);
       transaction.put(nodeHash, node);
       return this;
     }
 
+    private void addTrieNode(final Bytes32 nodeHash, final BytesValue node) {
+      if (nodeCache.isEnabled()) {
+        addedTrieNodes.put(nodeHash, node);
+      }
+    }
+
     @Override
     public void commit() {
-      nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
-      transaction.commit();
+      lock.lock();
+      try {
+        nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
+        transaction.commit();
+      } finally {
+        lock.unlock();
+      }
+      nodeCache.putAll(addedTrieNodes);
     }
 
     @Override
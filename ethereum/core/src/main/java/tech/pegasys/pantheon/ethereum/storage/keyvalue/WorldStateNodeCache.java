@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Keeps recently used world state trie nodes in memory so that they can be shared between the
+ * world states of successive blocks. Other state reads use the cached nodes but don't add to them.
+ *
+ * <p>Nodes are keyed by their hash, so a cached node can never be stale. The cache is bounded by
+ * the approximate number of bytes held, evicting the least recently used nodes first.
+ */
+public class WorldStateNodeCache {
+  public static final long DEFAULT_CACHE_SIZE_BYTES = 64L * 1024 * 1024;
+  // Approximate memory used by each entry on top of the node itself: the key, the BytesValue
+  // wrappers and the cache's own bookkeeping
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  private final Optional<Cache<Bytes32, BytesValue>> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  public WorldStateNodeCache(final MetricsSystem metricsSystem, final long maxSizeBytes) {
+    checkArgument(maxSizeBytes >= 0, "Cache size must not be negative. %s", maxSizeBytes);
+    hitCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_node_cache_hits_total",
+            "Total number of world state trie nodes read from the node cache");
+    missCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_node_cache_misses_total",
+            "Total number of world state trie nodes not found in the node cache");
+    evictionCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_node_cache_evictions_total",
+            "Total number of world state trie nodes evicted from the node cache");
+    if (maxSizeBytes == 0) {
+      cache = Optional.empty();
+    } else {
+      cache =
+          Optional.of(
+              CacheBuilder.newBuilder()
+                  .maximumWeight(maxSizeBytes)
+                  .weigher(WorldStateNodeCache::weigh)
+                  .removalListener(this::onRemoval)
+                  .build());
+    }
+  }
+
+  public static WorldStateNodeCache disabled() {
+    return new WorldStateNodeCache(new NoOpMetricsSystem(), 0);
+  }
+
+  public boolean isEnabled() {
+    return cache.isPresent();
+  }
+
+  public Optional<BytesValue> get(final Bytes32 nodeHash) {
+    if (!cache.isPresent()) {
+      return Optional.empty();
+    }
+    final Optional<BytesValue> node = Optional.ofNullable(cache.get().getIfPresent(nodeHash));
+    if (node.isPresent()) {
+      hitCounter.inc();
+    } else {
+      missCounter.inc();
+    }
+    return node;
+  }
+
+  public void put(final Bytes32 nodeHash, final BytesValue node) {
+    cache.ifPresent(c -> c.put(nodeHash, node));
+  }
+
+  public void putAll(final Map<Bytes32, BytesValue> nodes) {
+    cache.ifPresent(c -> c.putAll(nodes));
+  }
+
+  public void invalidate(final Iterable<? extends BytesValue> nodeHashes) {
+    cache.ifPresent(c -> c.invalidateAll(nodeHashes));
+  }
+
+  private static int weigh(final Bytes32 nodeHash, final BytesValue node) {
+    return ENTRY_OVERHEAD_BYTES + node.size();
+  }
+
+  private void onRemoval(final RemovalNotification<Bytes32, BytesValue> notification) {
+    if (notification.wasEvicted()) {
+      evictionCounter.inc();
+    }
+  }
+}
@@ -26,8 +26,15 @@ public class Code {
   /** The bytes representing the code. */
   private final BytesValue bytes;
 
-  /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  /** Whether the decoded operations are kept, which only pays off for code that is run often. */
+  private final boolean retainOperations;
+
+  /**
+   * Used to cache the valid jump destinations and any decoded operations. Code may be shared
+   * between threads by the {@link CodeCache}, so the analysis is replaced as a whole rather than
+   * updated.
+   */
+  private volatile Analysis analysis;
 
   /**
    * Public constructor.
@@ -35,7 +42,16 @@ public class Code {
    * @param bytes The byte representation of the code.
    */
   public Code(final BytesValue bytes) {
+    this(bytes, false);
+  }
+
+  /**
+   * @param bytes The byte representation of the code.
+   * @param retainOperations whether to decode every operation once and keep them for later runs
+   */
+  Code(final BytesValue bytes, final boolean retainOperations) {
     this.bytes = bytes;
+    this.retainOperations = retainOperations;
   }
 
   public Code() {
@@ -83,25 +99,69 @@ public class Code {
     final int jumpDestination = destination.toInt();
     if (jumpDestination > getSize()) return false;
 
-    if (validJumpDestinations == null) {
-      // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
-      evm.forEachOperation(
-          this,
-          frame.getContractAccountVersion(),
-          (final Operation op, final Integer offset) -> {
-            if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
-            }
-          });
+    return getAnalysis(evm, frame.getContractAccountVersion())
+        .validJumpDestinations
+        .get(jumpDestination);
+  }
+
+  /**
+   * Returns the operation at the given offset, which must be within the code.
+   *
+   * @param evm the EVM executing this code
+   * @param contractAccountVersion the account version of the contract the code belongs to
+   * @param offset the offset of the operation
+   * @return the operation at the given offset
+   */
+  Operation getOperation(final EVM evm, final int contractAccountVersion, final int offset) {
+    if (!retainOperations) {
+      return evm.decodeOperation(bytes.get(offset), contractAccountVersion);
+    }
+    return getAnalysis(evm, contractAccountVersion).operations[offset];
+  }
+
+  private Analysis getAnalysis(final EVM evm, final int contractAccountVersion) {
+    Analysis current = analysis;
+    if (current == null || current.evm != evm || current.accountVersion != contractAccountVersion) {
+      current =
+          new Analysis(
+              evm,
+              contractAccountVersion,
+              retainOperations ? evm.decodeOperations(bytes, contractAccountVersion) : null);
+      analysis = current;
     }
-    return validJumpDestinations.get(jumpDestination);
+    return current;
   }
 
   public BytesValue getBytes() {
     return bytes;
   }
 
+  private class Analysis {
+    private final EVM evm;
+    private final int accountVersion;
+    // Null unless the operations are retained
+    private final Operation[] operations;
+    private final BitSet validJumpDestinations;
+
+    private Analysis(final EVM evm, final int accountVersion, final Operation[] operations) {
+      this.evm = evm;
+      this.accountVersion = accountVersion;
+      this.operations = operations;
+      this.validJumpDestinations = new BitSet(bytes.size());
+      int pc = 0;
+      while (pc < bytes.size()) {
+        final Operation operation =
+            operations != null
+                ? operations[pc]
+                : evm.decodeOperation(bytes.get(pc), accountVersion);
+        if (operation.getOpcode() == JumpDestOperation.OPCODE) {
+          validJumpDestinations.set(pc);
+        }
+        pc += operation.getOpSize();
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("bytes", bytes).toString();
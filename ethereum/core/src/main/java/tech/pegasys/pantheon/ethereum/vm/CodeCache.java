@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Shares analysed {@link Code} between message frames, so that the decoded operations and valid
+ * jump destinations of frequently used contracts are only computed once.
+ *
+ * <p>Code is keyed by its hash, so a cached entry can never be stale. The cache is shared by the
+ * whole process and bounded by the approximate memory used by each entry, evicting the least
+ * recently used code first.
+ *
+ * <p>Only deployed account code is cached. Init code of contract creations usually runs once, so
+ * caching it would only evict code that is called again.
+ */
+public class CodeCache {
+  public static final long DEFAULT_CACHE_SIZE_BYTES = 64L * 1024 * 1024;
+  // Analysed code holds the bytes, one operation reference per byte and the jump destination bitmap
+  private static final int BYTES_PER_CODE_BYTE = 8;
+  private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+  private static final CodeCache INSTANCE = new CodeCache(DEFAULT_CACHE_SIZE_BYTES);
+
+  private final Cache<Hash, Code> cache;
+  private volatile Counter hitCounter = NoOpMetricsSystem.NO_OP_COUNTER;
+  private volatile Counter missCounter = NoOpMetricsSystem.NO_OP_COUNTER;
+  private volatile Counter evictionCounter = NoOpMetricsSystem.NO_OP_COUNTER;
+
+  CodeCache(final long maxSizeBytes) {
+    checkArgument(maxSizeBytes > 0, "Cache size must be positive. %s", maxSizeBytes);
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .weigher(CodeCache::weigh)
+            .removalListener(
+                (final RemovalNotification<Hash, Code> removal) -> {
+                  if (removal.wasEvicted()) {
+                    evictionCounter.inc();
+                  }
+                })
+            .build();
+  }
+
+  public static CodeCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the code of an account, reusing previously analysed code with the same hash.
+   *
+   * @param account the account to get the code for, or null if the account does not exist
+   * @return the code of the account, which is empty if the account doesn't exist
+   */
+  public Code getCode(final Account account) {
+    if (account == null) {
+      return new Code();
+    }
+    final Hash codeHash = account.getCodeHash();
+    if (codeHash.equals(Hash.EMPTY)) {
+      return new Code();
+    }
+    // Only load the code itself if it isn't already cached.
+    final Code cached = cache.getIfPresent(codeHash);
+    if (cached != null) {
+      hitCounter.inc();
+      return cached;
+    }
+    missCounter.inc();
+    final Code code = new Code(account.getCode(), true);
+    cache.put(codeHash, code);
+    return code;
+  }
+
+  public void registerMetrics(final MetricsSystem metricsSystem) {
+    hitCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "evm_code_cache_hits_total",
+            "Total number of contract code lookups served by the code cache");
+    missCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "evm_code_cache_misses_total",
+            "Total number of contract code lookups which had to analyse the code");
+    evictionCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "evm_code_cache_evictions_total",
+            "Total number of contracts evicted from the code cache");
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  private static int weigh(final Hash codeHash, final Code code) {
+    return ENTRY_OVERHEAD_BYTES + code.getSize() * BYTES_PER_CODE_BYTE;
+  }
+}
@@ -27,14 +27,31 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 public class DebugOperationTracer implements OperationTracer {
 
   private final TraceOptions options;
   private final List<TraceFrame> traceFrames = new ArrayList<>();
+  private final Consumer<TraceFrame> frameConsumer;
 
   public DebugOperationTracer(final TraceOptions options) {
     this.options = options;
+    this.frameConsumer = traceFrames::add;
+  }
+
+  /**
+   * Creates a tracer which hands each frame to {@code frameConsumer} as soon as its operation has
+   * executed instead of retaining it, so memory use doesn't grow with the length of the trace.
+   * {@link #getTraceFrames()} is always empty for tracers created this way.
+   *
+   * @param options the trace options
+   * @param frameConsumer receives each frame in execution order
+   */
+  public DebugOperationTracer(
+      final TraceOptions options, final Consumer<TraceFrame> frameConsumer) {
+    this.options = options;
+    this.frameConsumer = frameConsumer;
   }
 
   @Override
@@ -57,7 +74,7 @@ public class DebugOperationTracer implements OperationTracer {
     } finally {
       final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame);
 
-      traceFrames.add(
+      frameConsumer.accept(
           new TraceFrame(
               pc,
               opcode,
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame.State;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltManager;
+import tech.pegasys.pantheon.ethereum.vm.operations.InvalidOperation;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.EnumSet;
@@ -62,8 +63,22 @@ public class EVM {
 
   private void executeNextOperation(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
-    frame.setCurrentOperation(
-        operationAtOffset(frame.getCode(), frame.getContractAccountVersion(), frame.getPC()));
+    final Operation operation =
+        operationAtOffset(frame.getCode(), frame.getContractAccountVersion(), frame.getPC());
+    frame.setCurrentOperation(operation);
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      // Fast path for the common case of an untraced operation which doesn't halt
+      final Gas cost = costIfExecutable(frame, operation);
+      if (cost != null) {
+        if (LOG.isTraceEnabled()) {
+          logState(frame, Optional.of(cost));
+        }
+        frame.decrementRemainingGas(cost);
+        operation.execute(frame);
+        incrementProgramCounter(frame);
+        return;
+      }
+    }
     evaluateExceptionalHaltReasons(frame);
     final Optional<Gas> currentGasCost = calculateGasCost(frame);
     operationTracer.traceExecution(
@@ -78,6 +93,36 @@ public class EVM {
         });
   }
 
+  /**
+   * Makes the same checks as {@link ExceptionalHaltManager#evaluateAll(MessageFrame, EVM)} and
+   * calculates the gas cost of the operation, without any allocation.
+   *
+   * @return the gas cost of the operation, or null if it may halt or its cost is unknown, in which
+   *     case the operation must be evaluated in full
+   */
+  private Gas costIfExecutable(final MessageFrame frame, final Operation operation) {
+    if (!frame.getExceptionalHaltReasons().isEmpty()
+        || operation.getOpcode() == InvalidOperation.OPCODE
+        || frame.stackSize() < operation.getStackItemsConsumed()
+        || frame.stackSize() + operation.getStackSizeChange() > frame.getMaxStackSize()) {
+      return null;
+    }
+    final Gas cost;
+    try {
+      cost = operation.cost(frame);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+    if (cost == null
+        || frame.getRemainingGas().compareTo(cost) < 0
+        || operation
+            .exceptionalHaltCondition(frame, frame.getExceptionalHaltReasons(), this)
+            .isPresent()) {
+      return null;
+    }
+    return cost;
+  }
+
   private void evaluateExceptionalHaltReasons(final MessageFrame frame) {
     final EnumSet<ExceptionalHaltReason> haltReasons =
         ExceptionalHaltManager.evaluateAll(frame, this);
@@ -140,12 +185,23 @@ public class EVM {
 
   private Operation operationAtOffset(
       final Code code, final int contractAccountVersion, final int offset) {
-    final BytesValue bytecode = code.getBytes();
     // If the length of the program code is shorter than the required offset, halt execution.
-    if (offset >= bytecode.size()) {
+    if (offset >= code.getSize()) {
       return operations.get(STOP_OPCODE, contractAccountVersion);
     }
 
-    return operations.getOrDefault(bytecode.get(offset), contractAccountVersion, invalidOperation);
+    return code.getOperation(this, contractAccountVersion, offset);
+  }
+
+  Operation[] decodeOperations(final BytesValue bytecode, final int contractAccountVersion) {
+    final Operation[] decoded = new Operation[bytecode.size()];
+    for (int i = 0; i < decoded.length; i++) {
+      decoded[i] = decodeOperation(bytecode.get(i), contractAccountVersion);
+    }
+    return decoded;
+  }
+
+  Operation decodeOperation(final byte opcode, final int contractAccountVersion) {
+    return operations.getOrDefault(opcode, contractAccountVersion, invalidOperation);
   }
 }
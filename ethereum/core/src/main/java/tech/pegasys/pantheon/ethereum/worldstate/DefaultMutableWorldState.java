@@ -33,11 +33,12 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Stream;
 
@@ -45,6 +46,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   private final WorldStateStorage worldStateStorage;
   private final WorldStatePreimageStorage preimageStorage;
+  private final StorageTrieExecutor storageTrieExecutor;
 
   private final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
   private final Map<Address, MerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
@@ -52,6 +54,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
   private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
   private final Map<Bytes32, UInt256> newStorageKeyPreimages = new HashMap<>();
   private final Map<Bytes32, Address> newAccountKeyPreimages = new HashMap<>();
+  // Only present between enableReadCache() and the next persist().
+  private WorldStateReadCache<AccountState> readCache;
 
   public DefaultMutableWorldState(
       final WorldStateStorage storage, final WorldStatePreimageStorage preimageStorage) {
@@ -62,9 +66,18 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final Bytes32 rootHash,
       final WorldStateStorage worldStateStorage,
       final WorldStatePreimageStorage preimageStorage) {
+    this(rootHash, worldStateStorage, preimageStorage, StorageTrieExecutor.getDefault());
+  }
+
+  public DefaultMutableWorldState(
+      final Bytes32 rootHash,
+      final WorldStateStorage worldStateStorage,
+      final WorldStatePreimageStorage preimageStorage,
+      final StorageTrieExecutor storageTrieExecutor) {
     this.worldStateStorage = worldStateStorage;
     this.accountStateTrie = newAccountStateTrie(rootHash);
     this.preimageStorage = preimageStorage;
+    this.storageTrieExecutor = storageTrieExecutor;
   }
 
   public DefaultMutableWorldState(final WorldState worldState) {
@@ -78,6 +91,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
     final DefaultMutableWorldState other = (DefaultMutableWorldState) worldState;
     this.worldStateStorage = other.worldStateStorage;
     this.preimageStorage = other.preimageStorage;
+    this.storageTrieExecutor = other.storageTrieExecutor;
     this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
   }
 
@@ -98,16 +112,35 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public MutableWorldState copy() {
-    return new DefaultMutableWorldState(rootHash(), worldStateStorage, preimageStorage);
+    return new DefaultMutableWorldState(
+        rootHash(), worldStateStorage, preimageStorage, storageTrieExecutor);
+  }
+
+  @Override
+  public void enableReadCache() {
+    if (readCache == null) {
+      readCache = new WorldStateReadCache<>();
+    }
   }
 
   @Override
   public Account get(final Address address) {
+    return getAccountState(address);
+  }
+
+  private AccountState getAccountState(final Address address) {
+    final Optional<AccountState> account =
+        readCache == null
+            ? loadAccountState(address)
+            : readCache.getAccount(address, this::loadAccountState);
+    return account.orElse(null);
+  }
+
+  private Optional<AccountState> loadAccountState(final Address address) {
     final Hash addressHash = Hash.hash(address);
     return accountStateTrie
-        .get(Hash.hash(address))
-        .map(bytes -> deserializeAccount(address, addressHash, bytes))
-        .orElse(null);
+        .get(addressHash)
+        .map(bytes -> deserializeAccount(address, addressHash, bytes));
   }
 
   private AccountState deserializeAccount(
@@ -117,17 +150,6 @@ public class DefaultMutableWorldState implements MutableWorldState {
     return new AccountState(address, addressHash, accountValue);
   }
 
-  private static BytesValue serializeAccount(
-      final long nonce,
-      final Wei balance,
-      final Hash storageRoot,
-      final Hash codeHash,
-      final int version) {
-    final StateTrieAccountValue accountValue =
-        new StateTrieAccountValue(nonce, balance, storageRoot, codeHash, version);
-    return RLP.encode(accountValue::writeTo);
-  }
-
   @Override
   public WorldUpdater updater() {
     return new Updater(this);
@@ -168,10 +190,12 @@ public class DefaultMutableWorldState implements MutableWorldState {
     for (final BytesValue code : updatedAccountCode.values()) {
       stateUpdater.putCode(code);
     }
-    // Commit account storage tries
-    for (final MerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
-        updatedStorageTries.values()) {
-      updatedStorage.commit(stateUpdater::putAccountStorageTrieNode);
+    // Commit account storage tries, which are independent of each other so can be done in parallel
+    final List<Map<Bytes32, BytesValue>> storageTrieNodes =
+        storageTrieExecutor.map(
+            updatedStorageTries.values(), DefaultMutableWorldState::collectStorageTrieNodes);
+    for (final Map<Bytes32, BytesValue> nodes : storageTrieNodes) {
+      nodes.forEach(stateUpdater::putAccountStorageTrieNode);
     }
     // Commit account updates
     accountStateTrie.commit(stateUpdater::putAccountStateTrieNode);
@@ -185,12 +209,20 @@ public class DefaultMutableWorldState implements MutableWorldState {
     updatedStorageTries.clear();
     updatedAccountCode.clear();
     newStorageKeyPreimages.clear();
+    readCache = null;
 
     // Push changes to underlying storage
     preimageUpdater.commit();
     stateUpdater.commit();
   }
 
+  private static Map<Bytes32, BytesValue> collectStorageTrieNodes(
+      final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie) {
+    final Map<Bytes32, BytesValue> nodes = new LinkedHashMap<>();
+    storageTrie.commit(nodes::put);
+    return nodes;
+  }
+
   private Optional<UInt256> getStorageTrieKeyPreimage(final Bytes32 trieKey) {
     return Optional.ofNullable(newStorageKeyPreimages.get(trieKey))
         .or(() -> preimageStorage.getStorageTrieKeyPreimage(trieKey));
@@ -287,6 +319,13 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     @Override
     public UInt256 getStorageValue(final UInt256 key) {
+      if (readCache != null) {
+        return readCache.getStorageValue(address, key, this::loadStorageValue);
+      }
+      return loadStorageValue(key);
+    }
+
+    private UInt256 loadStorageValue(final UInt256 key) {
       final Optional<BytesValue> val = storageTrie().get(Hash.hash(key.getBytes()));
       if (!val.isPresent()) {
         return UInt256.ZERO;
@@ -345,13 +384,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     @Override
     protected AccountState getForMutation(final Address address) {
-      final DefaultMutableWorldState wrapped = wrappedWorldView();
-      final Hash addressHash = Hash.hash(address);
-      return wrapped
-          .accountStateTrie
-          .get(addressHash)
-          .map(bytes -> wrapped.deserializeAccount(address, addressHash, bytes))
-          .orElse(null);
+      return wrappedWorldView().getAccountState(address);
     }
 
     @Override
@@ -374,8 +407,13 @@ public class DefaultMutableWorldState implements MutableWorldState {
         wrapped.accountStateTrie.remove(addressHash);
         wrapped.updatedStorageTries.remove(address);
         wrapped.updatedAccountCode.remove(address);
+        if (wrapped.readCache != null) {
+          wrapped.readCache.putAccount(address, Optional.empty());
+          wrapped.readCache.clearStorage(address);
+        }
       }
 
+      final List<AccountUpdate> accountUpdates = new ArrayList<>();
       for (final UpdateTrackingAccount<AccountState> updated : updatedAccounts()) {
         final AccountState origin = updated.getWrappedAccount();
 
@@ -387,43 +425,93 @@ public class DefaultMutableWorldState implements MutableWorldState {
         }
         // ...and storage in the account trie first.
         final boolean freshState = origin == null || updated.getStorageWasCleared();
-        Hash storageRoot = freshState ? Hash.EMPTY_TRIE_HASH : origin.getStorageRoot();
+        final Hash storageRoot = freshState ? Hash.EMPTY_TRIE_HASH : origin.getStorageRoot();
         if (freshState) {
           wrapped.updatedStorageTries.remove(updated.getAddress());
         }
-        final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
-        if (!updatedStorage.isEmpty()) {
-          // Apply any storage updates
+        final AccountUpdate accountUpdate =
+            new AccountUpdate(updated, codeHash, storageRoot, freshState);
+        accountUpdates.add(accountUpdate);
+        if (!updated.getUpdatedStorage().isEmpty()) {
           final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
               freshState
                   ? wrapped.newAccountStorageTrie(Hash.EMPTY_TRIE_HASH)
                   : origin.storageTrie();
           wrapped.updatedStorageTries.put(updated.getAddress(), storageTrie);
-          for (final Map.Entry<UInt256, UInt256> entry : updatedStorage.entrySet()) {
-            final UInt256 value = entry.getValue();
-            final Hash keyHash = Hash.hash(entry.getKey().getBytes());
-            if (value.isZero()) {
-              storageTrie.remove(keyHash);
-            } else {
-              wrapped.newStorageKeyPreimages.put(keyHash, entry.getKey());
-              storageTrie.put(keyHash, RLP.encode(out -> out.writeUInt256Scalar(entry.getValue())));
-            }
-          }
-          storageRoot = Hash.wrap(storageTrie.getRootHash());
+          accountUpdate.storageTrie = storageTrie;
+          // Apply any storage updates. This runs for every transaction so stays on this thread,
+          // leaving the storage tries to be committed in parallel by persist().
+          accountUpdate.applyStorageUpdates();
         }
+      }
 
+      for (final AccountUpdate accountUpdate : accountUpdates) {
+        final UpdateTrackingAccount<AccountState> updated = accountUpdate.account;
+        wrapped.newStorageKeyPreimages.putAll(accountUpdate.storageKeyPreimages);
         // Save address preimage
         wrapped.newAccountKeyPreimages.put(updated.getAddressHash(), updated.getAddress());
         // Lastly, save the new account.
-        final BytesValue account =
-            serializeAccount(
+        final StateTrieAccountValue accountValue =
+            new StateTrieAccountValue(
                 updated.getNonce(),
                 updated.getBalance(),
-                storageRoot,
-                codeHash,
+                accountUpdate.storageRoot,
+                accountUpdate.codeHash,
                 updated.getVersion());
 
-        wrapped.accountStateTrie.put(updated.getAddressHash(), account);
+        wrapped.accountStateTrie.put(updated.getAddressHash(), RLP.encode(accountValue::writeTo));
+        if (wrapped.readCache != null) {
+          updateReadCache(wrapped.readCache, accountUpdate, accountValue);
+        }
+      }
+    }
+
+    private void updateReadCache(
+        final WorldStateReadCache<AccountState> readCache,
+        final AccountUpdate accountUpdate,
+        final StateTrieAccountValue accountValue) {
+      final UpdateTrackingAccount<AccountState> updated = accountUpdate.account;
+      final Address address = updated.getAddress();
+      final AccountState account =
+          wrappedWorldView().new AccountState(address, updated.getAddressHash(), accountValue);
+      readCache.putAccount(address, Optional.of(account));
+      if (accountUpdate.freshState) {
+        readCache.clearStorage(address);
+      }
+      readCache.putStorageValues(address, updated.getUpdatedStorage());
+    }
+
+    private static class AccountUpdate {
+      private final UpdateTrackingAccount<AccountState> account;
+      private final Hash codeHash;
+      private final boolean freshState;
+      private final Map<Bytes32, UInt256> storageKeyPreimages = new HashMap<>();
+      private Hash storageRoot;
+      private MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
+
+      private AccountUpdate(
+          final UpdateTrackingAccount<AccountState> account,
+          final Hash codeHash,
+          final Hash storageRoot,
+          final boolean freshState) {
+        this.account = account;
+        this.codeHash = codeHash;
+        this.storageRoot = storageRoot;
+        this.freshState = freshState;
+      }
+
+      private void applyStorageUpdates() {
+        for (final Map.Entry<UInt256, UInt256> entry : account.getUpdatedStorage().entrySet()) {
+          final UInt256 value = entry.getValue();
+          final Hash keyHash = Hash.hash(entry.getKey().getBytes());
+          if (value.isZero()) {
+            storageTrie.remove(keyHash);
+          } else {
+            storageKeyPreimages.put(keyHash, entry.getKey());
+            storageTrie.put(keyHash, RLP.encode(out -> out.writeUInt256Scalar(value)));
+          }
+        }
+        storageRoot = Hash.wrap(storageTrie.getRootHash());
       }
     }
   }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.trie.Node;
+import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Removes world state nodes which are no longer reachable from recent state roots.
+ *
+ * <p>Marking records every node reachable from a chosen state root in the mark storage. Any node
+ * written to world state storage after {@link #prepare()} is also marked, so states built while the
+ * pruner is running are retained. Sweeping then removes every unmarked node in batches, limited to
+ * the configured sweep rate, so that block import is only ever held up by a single small batch.
+ */
+public class MarkSweepPruner {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final BytesValue IN_USE = BytesValue.of(1);
+  private static final int MARKS_PER_TRANSACTION = 1000;
+  private static final int MAX_SWEEP_BATCH_SIZE = 1000;
+
+  private final WorldStateStorage worldStateStorage;
+  private final KeyValueStorage markStorage;
+  private final int sweepRate;
+  private final Counter markedNodesCounter;
+  private final Counter sweptNodesCounter;
+  private final Counter reclaimedBytesCounter;
+  private final Object markLock = new Object();
+  private final Set<BytesValue> pendingMarks = ConcurrentHashMap.newKeySet();
+  private volatile long nodeAddedListenerId = -1;
+
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final KeyValueStorage markStorage,
+      final MetricsSystem metricsSystem,
+      final int sweepRate) {
+    this.worldStateStorage = worldStateStorage;
+    this.markStorage = markStorage;
+    this.sweepRate = sweepRate;
+
+    markedNodesCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.PRUNER,
+            "marked_nodes_total",
+            "Total number of world state nodes marked as in use");
+    sweptNodesCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.PRUNER,
+            "swept_nodes_total",
+            "Total number of unused world state nodes removed");
+    reclaimedBytesCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.PRUNER,
+            "reclaimed_bytes_total",
+            "Total size of the world state nodes removed");
+  }
+
+  /** Starts marking every node added to world state storage as in use. */
+  public void prepare() {
+    worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+    markStorage.clear();
+    pendingMarks.clear();
+    nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::markNewNodes);
+  }
+
+  /**
+   * Marks every node reachable from the given state root as in use.
+   *
+   * @param rootHash the state root to retain
+   * @throws CancellationException if the pruning thread is interrupted while marking
+   */
+  public void mark(final Hash rootHash) {
+    LOG.debug("Marking nodes reachable from state root {}", rootHash);
+    createStateTrie(rootHash).visitAll(this::markAccountStateNode);
+    flushPendingMarks();
+    LOG.debug("Completed marking nodes reachable from state root {}", rootHash);
+  }
+
+  public void sweep() {
+    LOG.debug("Sweeping unused world state nodes");
+    flushPendingMarks();
+    final int batchSize = Math.min(MAX_SWEEP_BATCH_SIZE, sweepRate);
+    final long sweepStartTime = System.currentTimeMillis();
+    final Map<BytesValue, Integer> candidateSizes = new LinkedHashMap<>();
+    long sweptNodes = 0;
+    try (final Stream<BytesValue> keys = worldStateStorage.streamKeys()) {
+      final Iterator<BytesValue> iterator = keys.iterator();
+      while (iterator.hasNext()) {
+        final BytesValue key = iterator.next();
+        if (!isMarked(key)) {
+          candidateSizes.put(key, nodeSize(key));
+        }
+        if (candidateSizes.size() >= batchSize || !iterator.hasNext()) {
+          sweptNodes += sweepBatch(candidateSizes);
+          candidateSizes.clear();
+          waitForSweepRate(sweptNodes, sweepStartTime);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.debug("Interrupted while sweeping unused world state nodes");
+      return;
+    } finally {
+      cleanup();
+    }
+    LOG.debug("Completed sweeping {} unused world state nodes", sweptNodes);
+  }
+
+  /** Stops marking new nodes and discards all marks. */
+  public void cleanup() {
+    worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+    pendingMarks.clear();
+    markStorage.clear();
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStateTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStateTrieNode, rootHash, b -> b, b -> b);
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStorageTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStorageTrieNode, rootHash, b -> b, b -> b);
+  }
+
+  private void markAccountStateNode(final Node<BytesValue> node) {
+    checkInterrupted();
+    markNode(node.getHash());
+    node.getValue().ifPresent(this::markAccountState);
+  }
+
+  private void markAccountState(final BytesValue encodedAccount) {
+    final StateTrieAccountValue accountValue =
+        StateTrieAccountValue.readFrom(RLP.input(encodedAccount));
+    if (!accountValue.getCodeHash().equals(Hash.EMPTY)) {
+      markNode(accountValue.getCodeHash());
+    }
+    if (!accountValue.getStorageRoot().equals(Hash.EMPTY_TRIE_HASH)) {
+      createStorageTrie(accountValue.getStorageRoot())
+          .visitAll(storageNode -> markNode(storageNode.getHash()));
+    }
+  }
+
+  private void checkInterrupted() {
+    if (Thread.currentThread().isInterrupted()) {
+      // Marking is only ever aborted by interrupting the pruning thread
+      throw new CancellationException("Interrupted while marking world state nodes");
+    }
+  }
+
+  private void markNode(final Bytes32 hash) {
+    markedNodesCounter.inc();
+    pendingMarks.add(hash);
+    if (pendingMarks.size() >= MARKS_PER_TRANSACTION) {
+      flushPendingMarks();
+    }
+  }
+
+  private void markNewNodes(final Collection<Bytes32> nodeHashes) {
+    markedNodesCounter.inc(nodeHashes.size());
+    pendingMarks.addAll(nodeHashes);
+    if (pendingMarks.size() >= MARKS_PER_TRANSACTION) {
+      flushPendingMarks();
+    }
+  }
+
+  private void flushPendingMarks() {
+    synchronized (markLock) {
+      final Set<BytesValue> flushedMarks = new HashSet<>(pendingMarks);
+      final KeyValueStorage.Transaction transaction = markStorage.startTransaction();
+      flushedMarks.forEach(node -> transaction.put(node, IN_USE));
+      transaction.commit();
+      // Only forget pending marks once they're visible in storage so isMarked never misses them
+      pendingMarks.removeAll(flushedMarks);
+    }
+  }
+
+  private boolean isMarked(final BytesValue key) {
+    return pendingMarks.contains(key) || markStorage.containsKey(key);
+  }
+
+  private int nodeSize(final BytesValue key) {
+    return worldStateStorage.getNodeData(Bytes32.wrap(key)).map(BytesValue::size).orElse(0);
+  }
+
+  private long sweepBatch(final Map<BytesValue, Integer> candidateSizes) {
+    if (candidateSizes.isEmpty()) {
+      return 0;
+    }
+    final long sweptNodes =
+        worldStateStorage.prune(candidateSizes.keySet(), key -> isInUse(key, candidateSizes));
+    sweptNodesCounter.inc(sweptNodes);
+    return sweptNodes;
+  }
+
+  private boolean isInUse(final BytesValue key, final Map<BytesValue, Integer> candidateSizes) {
+    // Marks may have been added since the candidates were selected so check again
+    if (isMarked(key)) {
+      return true;
+    }
+    reclaimedBytesCounter.inc(candidateSizes.get(key));
+    return false;
+  }
+
+  private void waitForSweepRate(final long sweptNodes, final long sweepStartTime)
+      throws InterruptedException {
+    final long minimumElapsedMillis = sweptNodes * 1000 / sweepRate;
+    final long elapsedMillis = System.currentTimeMillis() - sweepStartTime;
+    if (elapsedMillis < minimumElapsedMillis) {
+      Thread.sleep(minimumElapsedMillis - elapsedMillis);
+    }
+  }
+}
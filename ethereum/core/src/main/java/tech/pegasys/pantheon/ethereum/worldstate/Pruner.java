@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Drives a {@link MarkSweepPruner} from chain head updates.
+ *
+ * <p>Once a block has enough confirmations its state is marked. The sweep starts when the chain
+ * head is {@code blocksRetained} blocks past the marked block, so the states of all blocks from the
+ * marked block up to the chain head are retained.
+ */
+public class Pruner {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final MarkSweepPruner pruningStrategy;
+  private final Blockchain blockchain;
+  private final ExecutorService executorService;
+  private final long blocksRetained;
+  private final long blockConfirmations;
+  private final AtomicReference<PruningPhase> pruningPhase =
+      new AtomicReference<>(PruningPhase.IDLE);
+  private volatile long markBlockNumber = 0;
+  private volatile BlockHeader markedBlockHeader;
+  private long blockAddedObserverId;
+
+  public Pruner(
+      final MarkSweepPruner pruningStrategy,
+      final Blockchain blockchain,
+      final ExecutorService executorService,
+      final PruningConfiguration pruningConfiguration) {
+    this.pruningStrategy = pruningStrategy;
+    this.executorService = executorService;
+    this.blockchain = blockchain;
+    this.blocksRetained = pruningConfiguration.getBlocksRetained();
+    this.blockConfirmations = pruningConfiguration.getBlockConfirmations();
+  }
+
+  public void start() {
+    LOG.info("Starting world state pruner");
+    blockAddedObserverId = blockchain.observeBlockAdded((event, chain) -> handleNewBlock(event));
+  }
+
+  public void stop() {
+    LOG.info("Stopping world state pruner");
+    blockchain.removeObserver(blockAddedObserverId);
+    executorService.shutdownNow();
+    try {
+      executorService.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+
+    final long blockNumber = event.getBlock().getHeader().getNumber();
+    if (pruningPhase.compareAndSet(
+        PruningPhase.IDLE, PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING)) {
+      pruningStrategy.prepare();
+      markBlockNumber = blockNumber;
+    } else if (blockNumber >= markBlockNumber + blockConfirmations
+        && pruningPhase.compareAndSet(
+            PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING, PruningPhase.MARKING)) {
+      markedBlockHeader = blockchain.getBlockHeader(markBlockNumber).get();
+      execute(this::mark);
+    } else if (blockNumber >= markBlockNumber + blocksRetained
+        && pruningPhase.compareAndSet(PruningPhase.MARKING_COMPLETE, PruningPhase.SWEEPING)) {
+      if (blockchain.blockIsOnCanonicalChain(markedBlockHeader.getHash())) {
+        execute(this::sweep);
+      } else {
+        LOG.debug("Marked block {} is no longer canonical, restarting", markBlockNumber);
+        execute(this::abort);
+      }
+    }
+  }
+
+  private void mark() {
+    pruningStrategy.mark(markedBlockHeader.getStateRoot());
+    pruningPhase.compareAndSet(PruningPhase.MARKING, PruningPhase.MARKING_COMPLETE);
+  }
+
+  private void sweep() {
+    pruningStrategy.sweep();
+    pruningPhase.compareAndSet(PruningPhase.SWEEPING, PruningPhase.IDLE);
+  }
+
+  private void abort() {
+    pruningStrategy.cleanup();
+    pruningPhase.set(PruningPhase.IDLE);
+  }
+
+  private void execute(final Runnable action) {
+    executorService.execute(new PruningTask(action));
+  }
+
+  private class PruningTask implements Runnable {
+    private final Runnable action;
+
+    private PruningTask(final Runnable action) {
+      this.action = action;
+    }
+
+    @Override
+    public void run() {
+      try {
+        action.run();
+      } catch (final CancellationException e) {
+        LOG.debug("Pruning cancelled: {}", e.getMessage());
+        abort();
+      } catch (final Throwable t) {
+        LOG.error("Pruning failed", t);
+        abort();
+      }
+    }
+  }
+
+  private enum PruningPhase {
+    IDLE,
+    MARK_BLOCK_CONFIRMATIONS_AWAITING,
+    MARKING,
+    MARKING_COMPLETE,
+    SWEEPING;
+  }
+}
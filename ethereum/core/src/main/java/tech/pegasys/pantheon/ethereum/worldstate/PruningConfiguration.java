@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public class PruningConfiguration {
+  public static final int DEFAULT_BLOCKS_RETAINED = 1024;
+  public static final int DEFAULT_BLOCK_CONFIRMATIONS = 10;
+  public static final int DEFAULT_SWEEP_RATE = 10_000;
+
+  private final int blocksRetained;
+  private final int blockConfirmations;
+  private final int sweepRate;
+
+  /**
+   * @param blocksRetained the number of recent canonical states which are always kept
+   * @param blockConfirmations the number of blocks to wait before marking a state, so that
+   *     short-lived forks don't restart pruning
+   * @param sweepRate the maximum number of nodes removed per second while sweeping
+   */
+  public PruningConfiguration(
+      final int blocksRetained, final int blockConfirmations, final int sweepRate) {
+    checkArgument(
+        blockConfirmations >= 0, "blockConfirmations must be non-negative. %s", blockConfirmations);
+    checkArgument(
+        blocksRetained >= blockConfirmations,
+        "blocksRetained (%s) must be at least blockConfirmations (%s)",
+        blocksRetained,
+        blockConfirmations);
+    checkArgument(sweepRate > 0, "sweepRate must be positive. %s", sweepRate);
+    this.blocksRetained = blocksRetained;
+    this.blockConfirmations = blockConfirmations;
+    this.sweepRate = sweepRate;
+  }
+
+  public static PruningConfiguration getDefault() {
+    return new PruningConfiguration(
+        DEFAULT_BLOCKS_RETAINED, DEFAULT_BLOCK_CONFIRMATIONS, DEFAULT_SWEEP_RATE);
+  }
+
+  public int getBlocksRetained() {
+    return blocksRetained;
+  }
+
+  public int getBlockConfirmations() {
+    return blockConfirmations;
+  }
+
+  public int getSweepRate() {
+    return sweepRate;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+/**
+ * Runs work on independent account storage tries, such as committing them when world state is
+ * persisted, in parallel on a bounded fork-join pool. Each task must only touch its own storage
+ * trie.
+ */
+public class StorageTrieExecutor {
+  private static final int MAX_PARALLELISM = 8;
+  public static final int DEFAULT_PARALLELISM =
+      Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM);
+  // Forking has a cost, so only go parallel when there's enough independent work to pay for it
+  private static final int MIN_PARALLEL_TASKS = 2;
+
+  private static final StorageTrieExecutor SEQUENTIAL = new StorageTrieExecutor(Optional.empty());
+  private static final StorageTrieExecutor DEFAULT = create(DEFAULT_PARALLELISM);
+
+  private final Optional<ForkJoinPool> pool;
+
+  private StorageTrieExecutor(final Optional<ForkJoinPool> pool) {
+    this.pool = pool;
+  }
+
+  public static StorageTrieExecutor getDefault() {
+    return DEFAULT;
+  }
+
+  public static StorageTrieExecutor sequential() {
+    return SEQUENTIAL;
+  }
+
+  public static StorageTrieExecutor create(final int parallelism) {
+    checkArgument(parallelism > 0, "Parallelism must be positive. %s", parallelism);
+    if (parallelism == 1) {
+      return SEQUENTIAL;
+    }
+    return new StorageTrieExecutor(
+        Optional.of(
+            new ForkJoinPool(parallelism, StorageTrieExecutor::newWorkerThread, null, false)));
+  }
+
+  /**
+   * Applies the function to each item, returning the results in the same order as the items.
+   *
+   * @param items the items to process
+   * @param function the function to apply, which may be called concurrently for different items
+   * @param <T> the type of items
+   * @param <R> the type of results
+   * @return the result for each item
+   */
+  public <T, R> List<R> map(final Collection<T> items, final Function<T, R> function) {
+    if (!pool.isPresent() || items.size() < MIN_PARALLEL_TASKS) {
+      return items.stream().map(function).collect(toList());
+    }
+    final List<ForkJoinTask<R>> tasks =
+        items.stream().map(item -> pool.get().submit(() -> function.apply(item))).collect(toList());
+    return tasks.stream().map(ForkJoinTask::join).collect(toList());
+  }
+
+  public void shutdown() {
+    pool.ifPresent(ForkJoinPool::shutdown);
+  }
+
+  private static ForkJoinWorkerThread newWorkerThread(final ForkJoinPool pool) {
+    final ForkJoinWorkerThread thread =
+        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("StorageTrie-" + thread.getPoolIndex());
+    return thread;
+  }
+}
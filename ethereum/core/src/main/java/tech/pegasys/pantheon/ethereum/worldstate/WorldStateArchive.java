@@ -23,12 +23,21 @@ import java.util.Optional;
 public class WorldStateArchive {
   private final WorldStateStorage worldStateStorage;
   private final WorldStatePreimageStorage preimageStorage;
+  private final StorageTrieExecutor storageTrieExecutor;
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
   public WorldStateArchive(
       final WorldStateStorage worldStateStorage, final WorldStatePreimageStorage preimageStorage) {
+    this(worldStateStorage, preimageStorage, StorageTrieExecutor.getDefault());
+  }
+
+  public WorldStateArchive(
+      final WorldStateStorage worldStateStorage,
+      final WorldStatePreimageStorage preimageStorage,
+      final StorageTrieExecutor storageTrieExecutor) {
     this.worldStateStorage = worldStateStorage;
     this.preimageStorage = preimageStorage;
+    this.storageTrieExecutor = storageTrieExecutor;
   }
 
   public Optional<WorldState> get(final Hash rootHash) {
@@ -40,10 +49,27 @@ public class WorldStateArchive {
   }
 
   public Optional<MutableWorldState> getMutable(final Hash rootHash) {
-    if (!worldStateStorage.isWorldStateAvailable(rootHash)) {
+    return getMutable(rootHash, worldStateStorage);
+  }
+
+  /**
+   * Returns a mutable copy of the given state for processing a block on top of it. Unlike other
+   * world states, the trie nodes it reads are kept in the node cache for later blocks.
+   *
+   * @param rootHash the state root of the block's parent
+   * @return the world state, or empty if it isn't available
+   */
+  public Optional<MutableWorldState> getMutableForBlockProcessing(final Hash rootHash) {
+    return getMutable(rootHash, worldStateStorage.blockProcessingView());
+  }
+
+  private Optional<MutableWorldState> getMutable(
+      final Hash rootHash, final WorldStateStorage storage) {
+    if (!storage.isWorldStateAvailable(rootHash)) {
       return Optional.empty();
     }
-    return Optional.of(new DefaultMutableWorldState(rootHash, worldStateStorage, preimageStorage));
+    return Optional.of(
+        new DefaultMutableWorldState(rootHash, storage, preimageStorage, storageTrieExecutor));
   }
 
   public WorldState get() {
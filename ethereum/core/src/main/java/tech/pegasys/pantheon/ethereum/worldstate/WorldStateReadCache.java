@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Keeps the accounts and storage values read from a world state's tries, so that state used by
+ * several transactions of a block is only looked up and decoded once.
+ *
+ * <p>The owning world state writes every committed change through to the cache, so a cached value
+ * is never stale. Hit and miss counts are shared by all caches in the process and reported to the
+ * metrics system passed to {@link #registerMetrics(MetricsSystem)}.
+ */
+public class WorldStateReadCache<A extends Account> {
+
+  private static volatile Counter accountHits = NoOpMetricsSystem.NO_OP_COUNTER;
+  private static volatile Counter accountMisses = NoOpMetricsSystem.NO_OP_COUNTER;
+  private static volatile Counter storageHits = NoOpMetricsSystem.NO_OP_COUNTER;
+  private static volatile Counter storageMisses = NoOpMetricsSystem.NO_OP_COUNTER;
+
+  private final Map<Address, Optional<A>> accounts = new HashMap<>();
+  private final Map<Address, Map<UInt256, UInt256>> storage = new HashMap<>();
+
+  Optional<A> getAccount(final Address address, final Function<Address, Optional<A>> loader) {
+    final Optional<A> cached = accounts.get(address);
+    if (cached != null) {
+      accountHits.inc();
+      return cached;
+    }
+    accountMisses.inc();
+    final Optional<A> account = loader.apply(address);
+    accounts.put(address, account);
+    return account;
+  }
+
+  void putAccount(final Address address, final Optional<A> account) {
+    accounts.put(address, account);
+  }
+
+  UInt256 getStorageValue(
+      final Address address, final UInt256 key, final Function<UInt256, UInt256> loader) {
+    final Map<UInt256, UInt256> accountStorage =
+        storage.computeIfAbsent(address, a -> new HashMap<>());
+    final UInt256 cached = accountStorage.get(key);
+    if (cached != null) {
+      storageHits.inc();
+      return cached;
+    }
+    storageMisses.inc();
+    final UInt256 value = loader.apply(key);
+    accountStorage.put(key, value);
+    return value;
+  }
+
+  void putStorageValues(final Address address, final Map<UInt256, UInt256> values) {
+    if (!values.isEmpty()) {
+      storage.computeIfAbsent(address, a -> new HashMap<>()).putAll(values);
+    }
+  }
+
+  void clearStorage(final Address address) {
+    storage.remove(address);
+  }
+
+  public static void registerMetrics(final MetricsSystem metricsSystem) {
+    accountHits =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_read_cache_account_hits_total",
+            "Total number of account reads served by the block's world state read cache");
+    accountMisses =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_read_cache_account_misses_total",
+            "Total number of account reads which had to be decoded from the world state trie");
+    storageHits =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_read_cache_storage_hits_total",
+            "Total number of storage reads served by the block's world state read cache");
+    storageMisses =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "world_state_read_cache_storage_misses_total",
+            "Total number of storage reads which had to be decoded from a storage trie");
+  }
+}
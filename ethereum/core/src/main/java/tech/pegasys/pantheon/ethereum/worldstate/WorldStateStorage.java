@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public interface WorldStateStorage {
 
@@ -38,7 +39,35 @@ public interface WorldStateStorage {
 
   Updater updater();
 
-  long prune(Predicate<BytesValue> inUseCheck);
+  /**
+   * Returns a view of this storage for block processing, whose trie node reads may be kept in a
+   * cache for later blocks. Other reads, such as serving peers or RPC queries of older state,
+   * should use this storage directly so they don't displace the nodes block processing needs.
+   *
+   * @return a view of this storage for block processing
+   */
+  default WorldStateStorage blockProcessingView() {
+    return this;
+  }
+
+  /**
+   * Streams the keys of every trie node and contract code entry held in storage. The stream must be
+   * closed once it is no longer needed.
+   *
+   * @return A stream of all keys in world state storage.
+   */
+  Stream<BytesValue> streamKeys();
+
+  /**
+   * Removes each of the given keys that fails the in use check. The check and the removal are
+   * atomic with respect to {@link Updater#commit()}, so a node which is added again while pruning
+   * is in progress is never removed.
+   *
+   * @param keys the candidate keys to remove
+   * @param inUseCheck returns true for keys which must be retained
+   * @return the number of keys removed
+   */
+  long prune(Collection<BytesValue> keys, Predicate<BytesValue> inUseCheck);
 
   long addNodeAddedListener(NodesAddedListener listener);
 
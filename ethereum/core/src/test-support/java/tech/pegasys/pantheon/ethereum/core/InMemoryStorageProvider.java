@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePreimageStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 
 public class InMemoryStorageProvider implements StorageProvider {
 
@@ -86,6 +87,21 @@ public class InMemoryStorageProvider implements StorageProvider {
     return new PrivateStateKeyValueStorage(new InMemoryKeyValueStorage());
   }
 
+  @Override
+  public KeyValueStorage createPruningStorage() {
+    return new InMemoryKeyValueStorage();
+  }
+
+  @Override
+  public KeyValueStorage createConsensusStorage() {
+    return new InMemoryKeyValueStorage();
+  }
+
+  @Override
+  public boolean isWorldStateIterable() {
+    return true;
+  }
+
   @Override
   public void close() {}
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.BlockValidator.BlockProcessingOutputs;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockBodyValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MainnetBlockValidatorTest {
+
+  @SuppressWarnings("unchecked")
+  private final BlockHeaderValidator<Void> headerValidator = mock(BlockHeaderValidator.class);
+
+  @SuppressWarnings("unchecked")
+  private final BlockBodyValidator<Void> bodyValidator = mock(BlockBodyValidator.class);
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolContext<Void> context = mock(ProtocolContext.class);
+
+  private final BlockProcessor blockProcessor = mock(BlockProcessor.class);
+  private final MutableBlockchain blockchain = mock(MutableBlockchain.class);
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final MutableWorldState worldState = mock(MutableWorldState.class);
+  private final BlockProcessor.Result processingResult = mock(BlockProcessor.Result.class);
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block parent = gen.block();
+  private final Block block = gen.block(gen.nextBlockOptions(parent));
+
+  @Before
+  public void setUp() {
+    when(context.getBlockchain()).thenReturn(blockchain);
+    when(context.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(blockchain.getBlockHeader(parent.getHash())).thenReturn(Optional.of(parent.getHeader()));
+    when(worldStateArchive.getMutableForBlockProcessing(parent.getHeader().getStateRoot()))
+        .thenReturn(Optional.of(worldState));
+    when(headerValidator.validateHeader(any(), any(), any(), any())).thenReturn(true);
+    when(bodyValidator.validateBody(any(), any(), any(), any(), any())).thenReturn(true);
+    when(processingResult.isSuccessful()).thenReturn(true);
+    when(processingResult.getReceipts()).thenReturn(Collections.emptyList());
+    when(blockProcessor.processBlock(blockchain, worldState, block)).thenReturn(processingResult);
+  }
+
+  @Test
+  public void blockIsProcessedForEachValidationWithoutProcessedBlockKey() {
+    final BlockValidator<Void> validator =
+        new MainnetBlockValidator<>(headerValidator, bodyValidator, blockProcessor);
+
+    validate(validator);
+    validate(validator);
+
+    verify(blockProcessor, times(2)).processBlock(blockchain, worldState, block);
+  }
+
+  @Test
+  public void processedBlockIsReusedWithProcessedBlockKey() {
+    final BlockValidator<Void> validator =
+        new MainnetBlockValidator<>(
+            headerValidator, bodyValidator, blockProcessor, BlockHeader::getHash);
+
+    final Optional<BlockProcessingOutputs> first = validate(validator);
+    final Optional<BlockProcessingOutputs> second = validate(validator);
+
+    assertThat(first).isPresent();
+    assertThat(second).containsSame(first.get());
+    verify(blockProcessor, times(1)).processBlock(blockchain, worldState, block);
+    verify(headerValidator, times(2))
+        .validateHeader(eq(block.getHeader()), eq(parent.getHeader()), eq(context), any());
+    verify(bodyValidator, times(2)).validateBody(eq(context), eq(block), any(), any(), any());
+  }
+
+  @Test
+  public void recordedOutputsAreReused() {
+    final BlockValidator<Void> validator =
+        new MainnetBlockValidator<>(
+            headerValidator, bodyValidator, blockProcessor, BlockHeader::getHash);
+    final BlockProcessingOutputs outputs =
+        new BlockProcessingOutputs(mock(MutableWorldState.class), Collections.emptyList());
+
+    validator.recordProcessingOutputs(block, outputs);
+
+    assertThat(validate(validator)).containsSame(outputs);
+    verify(blockProcessor, never()).processBlock(any(), any(), any(Block.class));
+  }
+
+  @Test
+  public void processedBlockFailingBodyValidationIsNotReused() {
+    final BlockValidator<Void> validator =
+        new MainnetBlockValidator<>(
+            headerValidator, bodyValidator, blockProcessor, BlockHeader::getHash);
+    when(bodyValidator.validateBody(any(), any(), any(), any(), any())).thenReturn(false, true);
+
+    assertThat(validate(validator)).isEmpty();
+    assertThat(validate(validator)).isPresent();
+
+    verify(blockProcessor, times(2)).processBlock(blockchain, worldState, block);
+  }
+
+  @Test
+  public void headerIsValidatedWhenOutputsAreReused() {
+    final BlockValidator<Void> validator =
+        new MainnetBlockValidator<>(
+            headerValidator, bodyValidator, blockProcessor, BlockHeader::getHash);
+    validate(validator);
+    when(headerValidator.validateHeader(any(), any(), any(), any())).thenReturn(false);
+
+    assertThat(validate(validator)).isEmpty();
+  }
+
+  private Optional<BlockProcessingOutputs> validate(final BlockValidator<Void> validator) {
+    return validator.validateAndProcessBlock(
+        context, block, HeaderValidationMode.FULL, HeaderValidationMode.FULL);
+  }
+}
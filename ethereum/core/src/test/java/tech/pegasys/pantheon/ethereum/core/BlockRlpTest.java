@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class BlockRlpTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+
+  @Test
+  public void decodedBlockReencodesToOriginalRlp() {
+    final Block block = gen.block();
+    final BytesValue rlp = block.toRlp();
+
+    final Block decoded = Block.readFrom(RLP.input(rlp), new MainnetBlockHeaderFunctions());
+
+    assertThat(decoded).isEqualTo(block);
+    assertThat(decoded.toRlp()).isEqualTo(rlp);
+    assertThat(decoded.getHash()).isEqualTo(block.getHash());
+    assertThat(transactionHashes(decoded)).isEqualTo(transactionHashes(block));
+  }
+
+  @Test
+  public void itemsDecodedFromListWriteOnlyTheirOwnEncoding() {
+    final BlockHeader header = gen.header();
+    final Transaction transaction = gen.transaction();
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    header.writeTo(out);
+    transaction.writeTo(out);
+    out.writeLongScalar(42L);
+    out.endList();
+
+    final RLPInput input = RLP.input(out.encoded());
+    input.enterList();
+    final BlockHeader decodedHeader =
+        BlockHeader.readFrom(input, new MainnetBlockHeaderFunctions());
+    final Transaction decodedTransaction = Transaction.readFrom(input);
+    assertThat(input.readLongScalar()).isEqualTo(42L);
+    input.leaveList();
+
+    assertThat(RLP.encode(decodedHeader::writeTo)).isEqualTo(RLP.encode(header::writeTo));
+    assertThat(RLP.encode(decodedTransaction::writeTo))
+        .isEqualTo(RLP.encode(transaction::writeTo));
+    assertThat(decodedHeader.getHash()).isEqualTo(header.getHash());
+    assertThat(decodedTransaction.hash()).isEqualTo(transaction.hash());
+  }
+
+  private static List<Hash> transactionHashes(final Block block) {
+    return block.getBody().getTransactions().stream()
+        .map(Transaction::hash)
+        .collect(Collectors.toList());
+  }
+}
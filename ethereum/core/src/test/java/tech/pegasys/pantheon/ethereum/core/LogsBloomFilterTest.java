@@ -13,10 +13,13 @@
 package tech.pegasys.pantheon.ethereum.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -42,4 +45,21 @@ public class LogsBloomFilterTest {
             "0x00000000000000001000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000020000000000000000000800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000004000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000020000000000040000000000000000000000000000000000000000000000000000000"),
         bloom.getBytes());
   }
+
+  @Test
+  public void bitIndexesAreSetByInsertedLog() {
+    final Address address = Address.fromHexString("0x095e7baea6a6c7c4c2dfeb977efac326af552d87");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0x000000000000000000000000000000000000000000000000000000000000000a");
+    final LogsBloomFilter bloom = LogsBloomFilter.empty();
+    bloom.insertLog(new Log(address, BytesValue.EMPTY, Collections.singletonList(topic)));
+
+    assertTrue(bloom.couldContain(LogsBloomFilter.bitIndexes(address)));
+    assertTrue(bloom.couldContain(LogsBloomFilter.bitIndexes(topic)));
+    for (final int index : LogsBloomFilter.bitIndexes(address)) {
+      assertTrue(bloom.isSet(index));
+    }
+    assertFalse(LogsBloomFilter.empty().couldContain(LogsBloomFilter.bitIndexes(address)));
+  }
 }
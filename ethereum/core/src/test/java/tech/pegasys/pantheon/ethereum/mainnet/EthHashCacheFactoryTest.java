@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory.EthHashDescriptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashCacheFactoryTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void cacheIsPersistedAndReloaded() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final EthHashCacheFactory factory = new EthHashCacheFactory();
+    factory.addCacheDirectory(directory);
+
+    final EthHashDescriptor created = factory.ethHashCacheFor(1);
+    final Path file = directory.resolve("cache-R1-0");
+    assertThat(file).exists();
+    assertThat(Files.size(file)).isEqualTo(EthHash.cacheSize(0));
+
+    final EthHashCacheFactory restarted = new EthHashCacheFactory();
+    restarted.addCacheDirectory(directory);
+    final EthHashDescriptor loaded = restarted.ethHashCacheFor(1);
+
+    assertThat(loaded.getDatasetSize()).isEqualTo(created.getDatasetSize());
+    assertThat(loaded.getCache()).isEqualTo(created.getCache());
+  }
+
+  @Test
+  public void truncatedCacheIsRegenerated() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final Path file = directory.resolve("cache-R1-0");
+    Files.write(file, new byte[128]);
+
+    final EthHashCacheFactory factory = new EthHashCacheFactory();
+    factory.addCacheDirectory(directory);
+    final EthHashDescriptor descriptor = factory.ethHashCacheFor(1);
+
+    assertThat(descriptor.getCache()).isEqualTo(EthHash.mkCache((int) EthHash.cacheSize(0), 0));
+    assertThat(Files.size(file)).isEqualTo(EthHash.cacheSize(0));
+  }
+
+  @Test
+  public void nextEpochIsPrecomputedNearTheEpochBoundary() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final List<Runnable> precomputeTasks = new ArrayList<>();
+    final EthHashCacheFactory factory = new EthHashCacheFactory(precomputeTasks::add);
+    factory.addCacheDirectory(directory);
+
+    factory.ethHashCacheFor(EthHash.EPOCH_LENGTH - EthHashCacheFactory.PRECOMPUTE_DISTANCE - 1);
+    assertThat(precomputeTasks).isEmpty();
+
+    factory.ethHashCacheFor(EthHash.EPOCH_LENGTH - EthHashCacheFactory.PRECOMPUTE_DISTANCE);
+    factory.ethHashCacheFor(EthHash.EPOCH_LENGTH - EthHashCacheFactory.PRECOMPUTE_DISTANCE + 1);
+    assertThat(precomputeTasks).hasSize(1);
+    assertThat(factory.descriptorCache.getIfPresent(1L)).isNull();
+
+    precomputeTasks.get(0).run();
+
+    assertThat(factory.descriptorCache.getIfPresent(1L)).isNotNull();
+    assertThat(directory.resolve("cache-R1-1")).exists();
+  }
+
+  @Test
+  public void cacheIsPersistedInEveryCacheDirectory() throws Exception {
+    final Path first = folder.newFolder().toPath();
+    final Path second = folder.newFolder().toPath();
+    final EthHashCacheFactory factory = new EthHashCacheFactory();
+    factory.addCacheDirectory(first);
+    factory.addCacheDirectory(second);
+
+    factory.ethHashCacheFor(1);
+
+    assertThat(Files.size(first.resolve("cache-R1-0"))).isEqualTo(EthHash.cacheSize(0));
+    assertThat(Files.size(second.resolve("cache-R1-0"))).isEqualTo(EthHash.cacheSize(0));
+  }
+
+  @Test
+  public void removedCacheDirectoryIsNotWritten() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    final EthHashCacheFactory factory = new EthHashCacheFactory();
+    factory.addCacheDirectory(directory);
+    factory.removeCacheDirectory(directory);
+
+    factory.ethHashCacheFor(1);
+
+    assertThat(directory.resolve("cache-R1-0")).doesNotExist();
+  }
+
+  @Test
+  public void leastRecentlyUsedCachesArePruned() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    for (int epoch = 1; epoch <= EthHashCacheFactory.MAX_PERSISTED_CACHES; epoch++) {
+      final Path file = directory.resolve("cache-R1-" + epoch);
+      Files.write(file, new byte[0]);
+      Files.setLastModifiedTime(file, FileTime.fromMillis(epoch * 1000L));
+    }
+
+    final EthHashCacheFactory factory = new EthHashCacheFactory();
+    factory.addCacheDirectory(directory);
+    factory.ethHashCacheFor(1);
+
+    assertThat(directory.resolve("cache-R1-0")).exists();
+    assertThat(directory.resolve("cache-R1-1")).doesNotExist();
+    assertThat(directory.resolve("cache-R1-2")).exists();
+    try (final Stream<Path> files = Files.list(directory)) {
+      assertThat(files.count()).isEqualTo(EthHashCacheFactory.MAX_PERSISTED_CACHES);
+    }
+  }
+}
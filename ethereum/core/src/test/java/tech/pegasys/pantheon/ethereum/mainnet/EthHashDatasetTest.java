@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashDatasetTest {
+
+  // Small enough to generate quickly; hashimoto only requires a multiple of the mix size.
+  private static final long DATASET_SIZE = 128 * 1021;
+  private static final int[] CACHE = EthHash.mkCache(64 * 509, 0);
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void generatedItemsMatchItemsDerivedFromTheCache() throws Exception {
+    final EthHashDataset dataset =
+        EthHashDataset.loadOrGenerate(folder.getRoot().toPath(), 0, DATASET_SIZE, CACHE);
+
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    for (final int index : new int[] {0, 1, 1000, 2041}) {
+      EthHash.calcDatasetItem(expected, CACHE, index);
+      dataset.lookup(actual, index);
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void fullHashMatchesLightHash() throws Exception {
+    final EthHashDataset dataset =
+        EthHashDataset.loadOrGenerate(folder.getRoot().toPath(), 0, DATASET_SIZE, CACHE);
+    final byte[] header = new byte[32];
+    Arrays.fill(header, (byte) 7);
+
+    for (long nonce = 0; nonce < 10; nonce++) {
+      assertThat(EthHash.hashimotoFull(dataset, header, nonce))
+          .isEqualTo(EthHash.hashimotoLight(DATASET_SIZE, CACHE, header, nonce));
+    }
+  }
+
+  @Test
+  public void existingDatasetIsReused() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    EthHashDataset.loadOrGenerate(directory, 0, DATASET_SIZE, CACHE);
+    final Path file = directory.resolve("full-R1-0");
+    final FileTime generatedAt = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(file, generatedAt);
+
+    EthHashDataset.loadOrGenerate(directory, 0, DATASET_SIZE, CACHE);
+
+    assertThat(Files.getLastModifiedTime(file)).isEqualTo(generatedAt);
+  }
+
+  @Test
+  public void corruptDatasetIsRegenerated() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    Files.write(directory.resolve("full-R1-0"), new byte[(int) DATASET_SIZE]);
+
+    final EthHashDataset dataset =
+        EthHashDataset.loadOrGenerate(directory, 0, DATASET_SIZE, CACHE);
+
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    EthHash.calcDatasetItem(expected, CACHE, 0);
+    dataset.lookup(actual, 0);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void otherEpochsAreDeleted() throws Exception {
+    final Path directory = folder.getRoot().toPath();
+    for (int epoch = 0; epoch < 4; epoch++) {
+      Files.write(directory.resolve("full-R1-" + epoch), new byte[1]);
+    }
+
+    EthHashDataset.deleteOtherEpochs(directory, 2, 3);
+
+    assertThat(directory.resolve("full-R1-0")).doesNotExist();
+    assertThat(directory.resolve("full-R1-1")).doesNotExist();
+    assertThat(directory.resolve("full-R1-2")).exists();
+    assertThat(directory.resolve("full-R1-3")).exists();
+  }
+}
@@ -20,13 +20,19 @@ import static org.mockito.Mockito.mock;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHashSolver.EthHashSolverJob;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
@@ -125,4 +131,50 @@ public class EthHashSolverTest {
     soln = solver.solveFor(EthHashSolverJob.createFromInputs(secondInputs));
     assertThat(soln.getMixHash()).isEqualTo(expectedSecondOutput.getMixHash());
   }
+
+  @Test
+  public void searchesNoncesOnMultipleThreads() throws Exception {
+    final long solvingNonce = 7_777;
+    final List<Long> noncesToTry =
+        LongStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+    final EthHasher hasher = mock(EthHasher.class);
+    doAnswer(
+            invocation -> {
+              final byte[] buffer = invocation.getArgument(0);
+              final long nonce = invocation.getArgument(1);
+              buffer[32] = (byte) (nonce == solvingNonce ? 0 : 1);
+              return null;
+            })
+        .when(hasher)
+        .hash(any(), anyLong(), anyLong(), any());
+
+    final AtomicLong hashes = new AtomicLong();
+    final Counter hashCounter =
+        new Counter() {
+          @Override
+          public void inc() {
+            hashes.incrementAndGet();
+          }
+
+          @Override
+          public void inc(final long amount) {
+            hashes.addAndGet(amount);
+          }
+        };
+
+    final ExecutorService workers = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver = new EthHashSolver(noncesToTry, hasher, 4, workers, hashCounter);
+      final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ONE, new byte[0], 5);
+
+      final EthHashSolution solution = solver.solveFor(EthHashSolverJob.createFromInputs(inputs));
+
+      assertThat(solution.getNonce()).isEqualTo(solvingNonce);
+      assertThat(hashes.get()).isGreaterThan(0).isLessThanOrEqualTo(noncesToTry.size());
+      assertThat(solver.hashesPerSecond()).isPresent();
+    } finally {
+      workers.shutdownNow();
+    }
+  }
 }
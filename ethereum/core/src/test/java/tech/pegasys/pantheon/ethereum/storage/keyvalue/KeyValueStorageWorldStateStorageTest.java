@@ -12,15 +12,22 @@
  */
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage.Updater;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 
 public class KeyValueStorageWorldStateStorageTest {
@@ -186,6 +193,122 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void getAccountStateTrieNode_readsCommittedNodeFromCache() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final WorldStateKeyValueStorage storage = cachingStorage(keyValueStorage);
+    storage.updater().putAccountStateTrieNode(Hash.hash(bytes), bytes).commit();
+
+    keyValueStorage.clear();
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).contains(bytes);
+  }
+
+  @Test
+  public void getAccountStorageTrieNode_cachesNodeReadFromStorage() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    new WorldStateKeyValueStorage(keyValueStorage)
+        .updater()
+        .putAccountStorageTrieNode(Hash.hash(bytes), bytes)
+        .commit();
+    final WorldStateKeyValueStorage storage = cachingStorage(keyValueStorage);
+
+    assertThat(storage.blockProcessingView().getAccountStorageTrieNode(Hash.hash(bytes)))
+        .contains(bytes);
+    keyValueStorage.clear();
+
+    assertThat(storage.getAccountStorageTrieNode(Hash.hash(bytes))).contains(bytes);
+  }
+
+  @Test
+  public void getAccountStateTrieNode_doesNotCacheNodeReadOutsideBlockProcessing() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    new WorldStateKeyValueStorage(keyValueStorage)
+        .updater()
+        .putAccountStateTrieNode(Hash.hash(bytes), bytes)
+        .commit();
+    final WorldStateKeyValueStorage storage = cachingStorage(keyValueStorage);
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).contains(bytes);
+    keyValueStorage.clear();
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).isEmpty();
+  }
+
+  @Test
+  public void getNodeData_doesNotEvictNodesCachedByBlockProcessing() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final Updater updater = new WorldStateKeyValueStorage(keyValueStorage).updater();
+    updater.putAccountStateTrieNode(Hash.hash(bytes), bytes);
+    final List<Hash> otherNodeHashes = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final BytesValue otherNode = BytesValue.of(i, i + 1, i + 2);
+      updater.putAccountStateTrieNode(Hash.hash(otherNode), otherNode);
+      otherNodeHashes.add(Hash.hash(otherNode));
+    }
+    updater.commit();
+    // Only room for a handful of nodes
+    final WorldStateKeyValueStorage storage =
+        new WorldStateKeyValueStorage(
+            keyValueStorage, new WorldStateNodeCache(new NoOpMetricsSystem(), 1024));
+
+    assertThat(storage.blockProcessingView().getAccountStateTrieNode(Hash.hash(bytes)))
+        .contains(bytes);
+    // Serve every other node to a peer
+    otherNodeHashes.forEach(hash -> assertThat(storage.getNodeData(hash)).isPresent());
+    keyValueStorage.clear();
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).contains(bytes);
+  }
+
+  @Test
+  public void prune_removesNodeFromCache() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final WorldStateKeyValueStorage storage = cachingStorage(new InMemoryKeyValueStorage());
+    storage.updater().putAccountStateTrieNode(Hash.hash(bytes), bytes).commit();
+
+    final List<BytesValue> keys = singletonList(Hash.hash(bytes));
+    assertThat(storage.prune(keys, key -> false)).isEqualTo(1);
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).isEmpty();
+  }
+
+  @Test
+  public void prune_removesNodeReadDuringPruneFromCache() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final Hash hash = Hash.hash(bytes);
+    final AtomicReference<Runnable> duringRead = new AtomicReference<>(() -> {});
+    final InMemoryKeyValueStorage keyValueStorage =
+        new InMemoryKeyValueStorage() {
+          @Override
+          public Optional<BytesValue> get(final BytesValue key) {
+            final Optional<BytesValue> value = super.get(key);
+            duringRead.getAndSet(() -> {}).run();
+            return value;
+          }
+        };
+    new WorldStateKeyValueStorage(keyValueStorage)
+        .updater()
+        .putAccountStateTrieNode(hash, bytes)
+        .commit();
+    final WorldStateKeyValueStorage storage = cachingStorage(keyValueStorage);
+    duringRead.set(() -> storage.prune(singletonList(hash), key -> false));
+
+    // The node is read before the prune removes it but only added to the cache afterwards
+    assertThat(storage.blockProcessingView().getAccountStateTrieNode(hash)).contains(bytes);
+
+    assertThat(storage.getAccountStateTrieNode(hash)).isEmpty();
+  }
+
+  private WorldStateKeyValueStorage cachingStorage(final InMemoryKeyValueStorage keyValueStorage) {
+    return new WorldStateKeyValueStorage(
+        keyValueStorage, new WorldStateNodeCache(new NoOpMetricsSystem(), 1024 * 1024));
+  }
+
   private WorldStateKeyValueStorage emptyStorage() {
     return new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
   }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class CodeCacheTest {
+
+  // PUSH1 0x5b JUMPDEST STOP
+  private static final BytesValue CODE = BytesValue.fromHexString("0x605b5b00");
+
+  private final CodeCache codeCache = new CodeCache(1024 * 1024);
+
+  @Test
+  public void shouldReuseCodeForAccountsWithTheSameCodeHash() {
+    final Account first = account(CODE);
+    final Account second = account(CODE);
+
+    final Code code = codeCache.getCode(first);
+    assertThat(code.getBytes()).isEqualTo(CODE);
+    assertThat(codeCache.getCode(second)).isSameAs(code);
+    verify(second, never()).getCode();
+  }
+
+  @Test
+  public void shouldReturnEmptyCodeForMissingAccountsAndAccountsWithoutCode() {
+    assertThat(codeCache.getCode((Account) null).getBytes()).isEqualTo(BytesValue.EMPTY);
+    assertThat(codeCache.getCode(account(BytesValue.EMPTY)).getBytes())
+        .isEqualTo(BytesValue.EMPTY);
+    assertThat(codeCache.size()).isZero();
+  }
+
+  @Test
+  public void cachedCodeShouldOnlyAllowJumpsToJumpDestOperations() {
+    final EVM evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getContractAccountVersion()).thenReturn(Account.DEFAULT_VERSION);
+
+    final Code code = codeCache.getCode(account(CODE));
+    // The 0x5b at offset 1 is push data, not a JUMPDEST operation.
+    assertThat(code.isValidJumpDestination(evm, frame, UInt256.of(0))).isFalse();
+    assertThat(code.isValidJumpDestination(evm, frame, UInt256.of(1))).isFalse();
+    assertThat(code.isValidJumpDestination(evm, frame, UInt256.of(2))).isTrue();
+    assertThat(code.isValidJumpDestination(evm, frame, UInt256.of(3))).isFalse();
+    assertThat(code.isValidJumpDestination(evm, frame, UInt256.of(4))).isFalse();
+  }
+
+  @Test
+  public void uncachedCodeShouldMatchCachedCodeWithoutRetainingOperations() {
+    final EVM evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getContractAccountVersion()).thenReturn(Account.DEFAULT_VERSION);
+
+    final Code cached = codeCache.getCode(account(CODE));
+    final Code uncached = new Code(CODE);
+    for (int offset = 0; offset < CODE.size(); offset++) {
+      assertThat(uncached.getOperation(evm, Account.DEFAULT_VERSION, offset).getOpcode())
+          .isEqualTo(cached.getOperation(evm, Account.DEFAULT_VERSION, offset).getOpcode());
+      assertThat(uncached.isValidJumpDestination(evm, frame, UInt256.of(offset)))
+          .isEqualTo(cached.isValidJumpDestination(evm, frame, UInt256.of(offset)));
+    }
+  }
+
+  private Account account(final BytesValue code) {
+    final Account account = mock(Account.class);
+    when(account.getCodeHash()).thenReturn(Hash.hash(code));
+    when(account.getCode()).thenReturn(code);
+    return account;
+  }
+}
@@ -33,7 +33,9 @@ import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -172,6 +174,21 @@ public class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  public void shouldPassFramesToConsumerInsteadOfRetainingThem() throws Exception {
+    final List<TraceFrame> consumedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), consumedFrames::add);
+    final MessageFrame frame = validMessageFrame();
+
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+    frame.setPC(11);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+
+    assertThat(consumedFrames).extracting(TraceFrame::getPc).containsExactly(10, 11);
+    assertThat(tracer.getTraceFrames()).isEmpty();
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame, final Gas currentGasCost)
       throws Exception {
     return traceFrame(frame, currentGasCost, new TraceOptions(false, false, false));
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INSUFFICIENT_GAS;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INVALID_JUMP_DESTINATION;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.INVALID_OPERATION;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.NONE;
+import static tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason.TOO_MANY_STACK_ITEMS;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Runs the same code through the untraced fast path and the fully evaluated traced path, which
+ * must agree on gas, stack, output and halt reasons.
+ */
+@RunWith(Parameterized.class)
+public class EVMTest {
+
+  // Always takes the traced path, as only NO_TRACING itself is dispatched to the fast path
+  private static final OperationTracer TRACING =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  static Object[][] testData = {
+    // PUSH1 2 PUSH1 3 ADD PUSH1 4 MUL STOP
+    {"arithmetic", "0x600260030160040200", 100_000L, NONE},
+    // PUSH1 0 PUSH1 0 RETURN
+    {"return", "0x60006000f3", 100_000L, NONE},
+    // PUSH1 1 INVALID
+    {"designated invalid opcode", "0x6001fe", 100_000L, INVALID_OPERATION},
+    // PUSH1 1 followed by an opcode which isn't defined at all
+    {"undefined opcode", "0x60010c", 100_000L, INVALID_OPERATION},
+    // ADD
+    {"stack underflow", "0x01", 100_000L, INSUFFICIENT_STACK_ITEMS},
+    // JUMPDEST PUSH1 0 PUSH1 0 JUMP, growing the stack on every iteration
+    {"stack overflow", "0x5b6000600056", 1_000_000L, TOO_MANY_STACK_ITEMS},
+    // PUSH1 4 JUMP INVALID JUMPDEST PUSH1 1 STOP
+    {"valid jump", "0x600456fe5b600100", 100_000L, NONE},
+    // PUSH1 4 JUMP PUSH1 0x5b STOP, where the 0x5b is push data rather than a JUMPDEST
+    {"jump into push data", "0x600456605b00", 100_000L, INVALID_JUMP_DESTINATION},
+    // PUSH1 0xff JUMP
+    {"jump beyond code", "0x60ff56", 100_000L, INVALID_JUMP_DESTINATION},
+    // PUSH1 1 PUSH1 6 JUMPI INVALID JUMPDEST STOP, taking the conditional jump
+    {"valid conditional jump", "0x6001600657fe5b00", 100_000L, NONE},
+    // PUSH1 1 PUSH1 2 ADD, with only enough gas for the pushes
+    {"out of gas", "0x6001600201", 8L, INSUFFICIENT_GAS},
+    // PUSH1 0 PUSH2 0xffff MSTORE, which can't pay for the memory expansion
+    {"out of gas expanding memory", "0x600061ffff52", 1_000L, INSUFFICIENT_GAS},
+  };
+
+  private final EVM evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+  private final String code;
+  private final long gas;
+  private final ExceptionalHaltReason expectedHaltReason;
+
+  @Parameterized.Parameters(name = "{index}: {0}")
+  public static Iterable<Object[]> data() {
+    return Arrays.asList((Object[][]) testData);
+  }
+
+  public EVMTest(
+      final String name,
+      final String code,
+      final long gas,
+      final ExceptionalHaltReason expectedHaltReason) {
+    this.code = code;
+    this.gas = gas;
+    this.expectedHaltReason = expectedHaltReason;
+  }
+
+  @Test
+  public void untracedExecutionShouldMatchTracedExecution() {
+    final MessageFrame untraced = execute(OperationTracer.NO_TRACING);
+    final MessageFrame traced = execute(TRACING);
+
+    if (expectedHaltReason == NONE) {
+      assertThat(untraced.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+      assertThat(untraced.getExceptionalHaltReasons()).isEmpty();
+    } else {
+      assertThat(untraced.getState()).isEqualTo(MessageFrame.State.EXCEPTIONAL_HALT);
+      assertThat(untraced.getExceptionalHaltReasons()).contains(expectedHaltReason);
+    }
+    assertThat(untraced.getState()).isEqualTo(traced.getState());
+    assertThat(untraced.getExceptionalHaltReasons()).isEqualTo(traced.getExceptionalHaltReasons());
+    assertThat(untraced.getRemainingGas()).isEqualTo(traced.getRemainingGas());
+    assertThat(untraced.getPC()).isEqualTo(traced.getPC());
+    assertThat(untraced.getOutputData()).isEqualTo(traced.getOutputData());
+    assertThat(stackItems(untraced)).isEqualTo(stackItems(traced));
+  }
+
+  private MessageFrame execute(final OperationTracer operationTracer) {
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .code(new Code(BytesValue.fromHexString(code)))
+            .initialGas(Gas.of(gas))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    try {
+      evm.runToHalt(frame, operationTracer);
+    } catch (final ExceptionalHaltException e) {
+      // The halt is recorded in the frame
+    }
+    return frame;
+  }
+
+  private List<Bytes32> stackItems(final MessageFrame frame) {
+    final List<Bytes32> items = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      items.add(frame.getStackItem(i));
+    }
+    return items;
+  }
+}
@@ -661,4 +661,103 @@ public class DefaultMutableWorldStateTest {
     worldState.persist();
     assertThat(worldState.get(ADDRESS).storageEntriesFrom(Hash.ZERO, 10)).isEqualTo(finalEntries);
   }
+
+  @Test
+  public void parallelStorageTrieUpdatesMatchSequentialUpdates() {
+    final WorldStateKeyValueStorage sequentialStorage =
+        new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    final WorldStateKeyValueStorage parallelStorage =
+        new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    final MutableWorldState sequentialWorldState =
+        createEmpty(sequentialStorage, StorageTrieExecutor.sequential());
+    final MutableWorldState parallelWorldState =
+        createEmpty(parallelStorage, StorageTrieExecutor.create(4));
+
+    for (int round = 1; round <= 3; round++) {
+      updateContractStorage(sequentialWorldState, round);
+      updateContractStorage(parallelWorldState, round);
+      sequentialWorldState.persist();
+      parallelWorldState.persist();
+
+      assertEquals(sequentialWorldState.rootHash(), parallelWorldState.rootHash());
+    }
+    for (int i = 0; i < 20; i++) {
+      final Address address = Address.fromHexString("0x" + i);
+      assertEquals(
+          sequentialWorldState.get(address).getStorageValue(UInt256.of(i)),
+          parallelWorldState.get(address).getStorageValue(UInt256.of(i)));
+    }
+    assertThat(parallelStorage.isWorldStateAvailable(parallelWorldState.rootHash())).isTrue();
+  }
+
+  @Test
+  public void readCacheReflectsCommittedChanges() {
+    final MutableWorldState cachedWorldState = createEmpty();
+    final MutableWorldState worldState = createEmpty();
+    cachedWorldState.enableReadCache();
+
+    for (final MutableWorldState state : List.of(cachedWorldState, worldState)) {
+      WorldUpdater updater = state.updater();
+      MutableAccount account = updater.createAccount(ADDRESS);
+      account.setBalance(Wei.of(100000));
+      account.setStorageValue(UInt256.ONE, UInt256.of(2));
+      account.setStorageValue(UInt256.of(2), UInt256.of(5));
+      updater.commit();
+      assertEquals(Wei.of(100000), state.get(ADDRESS).getBalance());
+      assertEquals(UInt256.of(2), state.get(ADDRESS).getStorageValue(UInt256.ONE));
+
+      updater = state.updater();
+      account = updater.getMutable(ADDRESS);
+      account.setBalance(Wei.of(200000));
+      account.setStorageValue(UInt256.ONE, UInt256.of(3));
+      account.setStorageValue(UInt256.of(2), UInt256.ZERO);
+      updater.commit();
+      assertEquals(Wei.of(200000), state.get(ADDRESS).getBalance());
+      assertEquals(UInt256.of(3), state.get(ADDRESS).getStorageValue(UInt256.ONE));
+      assertEquals(UInt256.ZERO, state.get(ADDRESS).getStorageValue(UInt256.of(2)));
+
+      updater = state.updater();
+      updater.getMutable(ADDRESS).clearStorage();
+      updater.commit();
+      assertEquals(UInt256.ZERO, state.get(ADDRESS).getStorageValue(UInt256.ONE));
+
+      updater = state.updater();
+      updater.deleteAccount(ADDRESS);
+      updater.commit();
+      assertNull(state.get(ADDRESS));
+
+      updater = state.updater();
+      updater.createAccount(ADDRESS).setStorageValue(UInt256.of(2), UInt256.of(7));
+      updater.commit();
+      assertEquals(Wei.ZERO, state.get(ADDRESS).getBalance());
+      assertEquals(UInt256.ZERO, state.get(ADDRESS).getStorageValue(UInt256.ONE));
+      assertEquals(UInt256.of(7), state.get(ADDRESS).getStorageValue(UInt256.of(2)));
+    }
+    assertEquals(worldState.rootHash(), cachedWorldState.rootHash());
+
+    cachedWorldState.persist();
+    worldState.persist();
+    assertEquals(worldState.rootHash(), cachedWorldState.rootHash());
+  }
+
+  private static MutableWorldState createEmpty(
+      final WorldStateKeyValueStorage storage, final StorageTrieExecutor storageTrieExecutor) {
+    final WorldStatePreimageKeyValueStorage preimageStorage =
+        new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage());
+    return new DefaultMutableWorldState(
+        MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH, storage, preimageStorage, storageTrieExecutor);
+  }
+
+  private static void updateContractStorage(final MutableWorldState worldState, final int round) {
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < 20; i++) {
+      final MutableAccount account = updater.getOrCreate(Address.fromHexString("0x" + i));
+      account.setStorageValue(UInt256.of(i), UInt256.of(round));
+      account.setStorageValue(UInt256.of(round * 100 + i), UInt256.of(i));
+      if (round > 1) {
+        account.setStorageValue(UInt256.of((round - 1) * 100 + i), UInt256.ZERO);
+      }
+    }
+    updater.commit();
+  }
 }
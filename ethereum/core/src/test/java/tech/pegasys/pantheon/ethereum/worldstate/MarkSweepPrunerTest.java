@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class MarkSweepPrunerTest {
+  private static final int ACCOUNT_COUNT = 20;
+
+  private final InMemoryKeyValueStorage worldStateKeyValueStorage = new InMemoryKeyValueStorage();
+  private final WorldStateStorage worldStateStorage =
+      new WorldStateKeyValueStorage(worldStateKeyValueStorage);
+  private final WorldStatePreimageStorage preimageStorage =
+      new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage());
+  private final MarkSweepPruner pruner =
+      new MarkSweepPruner(
+          worldStateStorage, new InMemoryKeyValueStorage(), new NoOpMetricsSystem(), 1_000_000);
+
+  @Test
+  public void sweepRemovesNodesNotReachableFromMarkedState() {
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(worldStateStorage, preimageStorage);
+    updateAccounts(worldState, 1);
+    final Hash oldRoot = worldState.rootHash();
+    updateAccounts(worldState, 2);
+    final Hash markedRoot = worldState.rootHash();
+    final int keysBeforePruning = worldStateKeyValueStorage.keySet().size();
+
+    pruner.prepare();
+    pruner.mark(markedRoot);
+    pruner.sweep();
+
+    assertThat(worldStateKeyValueStorage.keySet().size()).isLessThan(keysBeforePruning);
+    assertThat(worldStateStorage.getAccountStateTrieNode(oldRoot)).isEmpty();
+    assertAccountsUpdated(markedRoot, 2);
+  }
+
+  @Test
+  public void sweepRetainsNodesAddedAfterPrepare() {
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(worldStateStorage, preimageStorage);
+    updateAccounts(worldState, 1);
+    final Hash markedRoot = worldState.rootHash();
+
+    pruner.prepare();
+    pruner.mark(markedRoot);
+    updateAccounts(worldState, 2);
+    final Hash newRoot = worldState.rootHash();
+    pruner.sweep();
+
+    assertAccountsUpdated(markedRoot, 1);
+    assertAccountsUpdated(newRoot, 2);
+  }
+
+  private void updateAccounts(final MutableWorldState worldState, final int round) {
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < ACCOUNT_COUNT; i++) {
+      final MutableAccount account = updater.getOrCreate(Address.fromHexString("0x" + i));
+      account.setBalance(Wei.of(round));
+      account.setCode(BytesValue.of(round, i));
+      account.setStorageValue(UInt256.of(i), UInt256.of(round));
+    }
+    updater.commit();
+    worldState.persist();
+  }
+
+  private void assertAccountsUpdated(final Hash rootHash, final int round) {
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(rootHash, worldStateStorage, preimageStorage);
+    for (int i = 0; i < ACCOUNT_COUNT; i++) {
+      final Account account = worldState.get(Address.fromHexString("0x" + i));
+      assertThat(account.getBalance()).isEqualTo(Wei.of(round));
+      assertThat(account.getCode()).isEqualTo(BytesValue.of(round, i));
+      assertThat(account.getStorageValue(UInt256.of(i))).isEqualTo(UInt256.of(round));
+    }
+  }
+}
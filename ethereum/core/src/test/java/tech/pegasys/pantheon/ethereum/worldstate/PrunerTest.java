@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class PrunerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block genesisBlock = gen.genesisBlock();
+  private final MutableBlockchain blockchain =
+      InMemoryStorageProvider.createInMemoryBlockchain(genesisBlock);
+  private final MarkSweepPruner markSweepPruner = mock(MarkSweepPruner.class);
+  private final ExecutorService executorService = mock(ExecutorService.class);
+  private final List<Runnable> pendingTasks = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    doAnswer(invocation -> pendingTasks.add(invocation.getArgument(0)))
+        .when(executorService)
+        .execute(any());
+  }
+
+  @Test
+  public void shouldMarkCorrectBlockAndSweep() {
+    startPruner(2, 1);
+
+    final Block block1 = appendBlockWithParent(genesisBlock);
+    final Block block2 = appendBlockWithParent(block1);
+    runPendingTasks();
+    appendBlockWithParent(block2);
+    runPendingTasks();
+
+    final InOrder inOrder = inOrder(markSweepPruner);
+    inOrder.verify(markSweepPruner).prepare();
+    inOrder.verify(markSweepPruner).mark(block1.getHeader().getStateRoot());
+    inOrder.verify(markSweepPruner).sweep();
+  }
+
+  @Test
+  public void shouldOnlySweepAfterBlocksRetainedAreAdded() {
+    startPruner(3, 1);
+
+    Block block = genesisBlock;
+    for (int i = 0; i < 3; i++) {
+      block = appendBlockWithParent(block);
+      runPendingTasks();
+    }
+    verify(markSweepPruner).mark(any());
+    verify(markSweepPruner, never()).sweep();
+
+    appendBlockWithParent(block);
+    runPendingTasks();
+    verify(markSweepPruner).sweep();
+  }
+
+  @Test
+  public void shouldRestartWhenMarkedBlockIsReorganisedOutDuringMark() {
+    startPruner(2, 1);
+
+    final Block block1 = appendBlockWithParent(genesisBlock);
+    appendBlockWithParent(block1);
+    // Switch to a fork before the marking task gets to run
+    Block forkBlock =
+        appendBlockWithParent(
+            genesisBlock, blockchain.getChainHead().getTotalDifficulty().plus(1L));
+    runPendingTasks();
+    verify(markSweepPruner).mark(block1.getHeader().getStateRoot());
+
+    forkBlock = appendBlockWithParent(forkBlock);
+    forkBlock = appendBlockWithParent(forkBlock);
+    runPendingTasks();
+    verify(markSweepPruner).cleanup();
+    verify(markSweepPruner, never()).sweep();
+
+    appendBlockWithParent(forkBlock);
+    verify(markSweepPruner, times(2)).prepare();
+  }
+
+  @Test
+  public void shouldRestartWhenMarkIsCancelled() {
+    doThrow(new CancellationException()).when(markSweepPruner).mark(any());
+    startPruner(2, 1);
+
+    final Block block1 = appendBlockWithParent(genesisBlock);
+    final Block block2 = appendBlockWithParent(block1);
+    runPendingTasks();
+    verify(markSweepPruner).cleanup();
+
+    appendBlockWithParent(block2);
+    verify(markSweepPruner, times(2)).prepare();
+    verify(markSweepPruner, never()).sweep();
+  }
+
+  private void startPruner(final int blocksRetained, final int blockConfirmations) {
+    new Pruner(
+            markSweepPruner,
+            blockchain,
+            executorService,
+            new PruningConfiguration(blocksRetained, blockConfirmations, 1))
+        .start();
+  }
+
+  private Block appendBlockWithParent(final Block parent) {
+    return appendBlock(gen.nextBlockOptions(parent));
+  }
+
+  private Block appendBlockWithParent(final Block parent, final UInt256 difficulty) {
+    return appendBlock(gen.nextBlockOptions(parent).setDifficulty(difficulty));
+  }
+
+  private Block appendBlock(final BlockOptions options) {
+    final Block block = gen.block(options);
+    blockchain.appendBlock(block, gen.receipts(block));
+    return block;
+  }
+
+  private void runPendingTasks() {
+    final List<Runnable> tasks = new ArrayList<>(pendingTasks);
+    pendingTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockHeadersMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares serving header and body requests by decoding and re-encoding stored blocks against
+ * splicing the stored RLP into the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EthServerBenchmark {
+
+  private static final int HEADERS_PER_REQUEST = 192;
+  private static final int BODIES_PER_REQUEST = 128;
+
+  private MutableBlockchain blockchain;
+  private List<Hash> bodyHashes;
+  private MessageData getHeaders;
+  private MessageData getBodies;
+
+  @Setup
+  public void createBlockchain() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final Block genesis = gen.genesisBlock();
+    blockchain = createInMemoryBlockchain(genesis);
+    bodyHashes = new ArrayList<>();
+    for (final Block block : gen.blockSequence(genesis, HEADERS_PER_REQUEST)) {
+      blockchain.appendBlock(block, gen.receipts(block));
+      if (bodyHashes.size() < BODIES_PER_REQUEST) {
+        bodyHashes.add(block.getHash());
+      }
+    }
+    getHeaders = GetBlockHeadersMessage.create(1, HEADERS_PER_REQUEST, 0, false);
+    getBodies = GetBlockBodiesMessage.create(bodyHashes);
+  }
+
+  @Benchmark
+  public MessageData headersFromRlp() {
+    return EthServer.constructGetHeadersResponse(blockchain, getHeaders, HEADERS_PER_REQUEST);
+  }
+
+  @Benchmark
+  public MessageData headersFromDecodedBlocks() {
+    final List<BlockHeader> headers = new ArrayList<>(HEADERS_PER_REQUEST);
+    for (int number = 1; number <= HEADERS_PER_REQUEST; number++) {
+      blockchain.getBlockHeader(number).ifPresent(headers::add);
+    }
+    return BlockHeadersMessage.create(headers);
+  }
+
+  @Benchmark
+  public MessageData bodiesFromRlp() {
+    return EthServer.constructGetBodiesResponse(blockchain, getBodies, BODIES_PER_REQUEST);
+  }
+
+  @Benchmark
+  public MessageData bodiesFromDecodedBlocks() {
+    final List<BlockBody> bodies = new ArrayList<>(BODIES_PER_REQUEST);
+    for (final Hash hash : bodyHashes) {
+      blockchain.getBlockBody(hash).ifPresent(bodies::add);
+    }
+    return BlockBodiesMessage.create(bodies);
+  }
+}
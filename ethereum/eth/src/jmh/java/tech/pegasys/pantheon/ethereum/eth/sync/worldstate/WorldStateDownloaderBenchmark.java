@@ -47,8 +47,10 @@ import java.util.concurrent.CompletableFuture;
 import com.google.common.io.Files;
 import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -57,6 +59,18 @@ import org.openjdk.jmh.annotations.TearDown;
 @State(Scope.Thread)
 public class WorldStateDownloaderBenchmark {
 
+  /** Orders the in-memory portion of the pending request queue. */
+  public enum QueueOrder {
+    BREADTH_FIRST,
+    DEEPEST_FIRST
+  }
+
+  @Param({"BREADTH_FIRST", "DEEPEST_FIRST"})
+  public QueueOrder queueOrder;
+
+  @Param({"10000"})
+  public int taskCacheSize;
+
   private final BlockDataGenerator dataGen = new BlockDataGenerator();
   private Path tempDir;
   private BlockHeader blockHeader;
@@ -69,6 +83,18 @@ public class WorldStateDownloaderBenchmark {
   private StorageProvider storageProvider;
   private EthProtocolManager ethProtocolManager;
 
+  /** Reports the largest number of pending requests seen in each iteration. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PendingRequests {
+    public long peakPendingRequests;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      peakPendingRequests = 0;
+    }
+  }
+
   @Setup(Level.Invocation)
   public void setUpUnchangedState() throws Exception {
     final SynchronizerConfiguration syncConfig =
@@ -94,13 +120,14 @@ public class WorldStateDownloaderBenchmark {
             metricsSystem);
     worldStateStorage = storageProvider.createWorldStateStorage();
 
+    final FlatFileTaskCollection<NodeDataRequest> flatFileTaskCollection =
+        new FlatFileTaskCollection<>(
+            tempDir.resolve("fastsync"), NodeDataRequest::serialize, NodeDataRequest::deserialize);
     pendingRequests =
-        new CachingTaskCollection<>(
-            new FlatFileTaskCollection<>(
-                tempDir.resolve("fastsync"),
-                NodeDataRequest::serialize,
-                NodeDataRequest::deserialize),
-            0);
+        queueOrder == QueueOrder.DEEPEST_FIRST
+            ? new CachingTaskCollection<>(
+                flatFileTaskCollection, taskCacheSize, NodeDataRequest.DEEPEST_FIRST)
+            : new CachingTaskCollection<>(flatFileTaskCollection, taskCacheSize);
     worldStateDownloader =
         new WorldStateDownloader(
             ethContext,
@@ -135,12 +162,18 @@ public class WorldStateDownloaderBenchmark {
   }
 
   @Benchmark
-  public Optional<BytesValue> downloadWorldState() {
+  public Optional<BytesValue> downloadWorldState(final PendingRequests pending) {
     final CompletableFuture<Void> result = worldStateDownloader.run(blockHeader);
     if (result.isDone()) {
       throw new IllegalStateException("World state download was already complete");
     }
-    peer.respondWhileOtherThreadsWork(responder, () -> !result.isDone());
+    peer.respondWhileOtherThreadsWork(
+        responder,
+        () -> {
+          pending.peakPendingRequests =
+              Math.max(pending.peakPendingRequests, pendingRequests.size());
+          return !result.isDone();
+        });
     result.getNow(null);
     final Optional<BytesValue> rootData = worldStateStorage.getNodeData(blockHeader.getStateRoot());
     if (!rootData.isPresent()) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions.TransactionSelectionResult;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the pending transaction pool at capacity, where every add also evicts a transaction,
+ * with several threads adding transactions for different senders and one thread selecting
+ * transactions for a block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PendingTransactionsBenchmark {
+
+  private static final int TRANSACTIONS_PER_SENDER = 10;
+  private static final int TRANSACTIONS_PER_BLOCK = 500;
+  private static final Signature SIGNATURE =
+      Signature.create(BigInteger.ONE, BigInteger.ONE, (byte) 0);
+
+  @Param({"100000"})
+  private int poolSize;
+
+  private PendingTransactions pendingTransactions;
+
+  @Setup(Level.Iteration)
+  public void fillPool() {
+    pendingTransactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            poolSize,
+            Clock.systemUTC(),
+            new NoOpMetricsSystem());
+    final Sender sender = new Sender();
+    for (int i = 0; i < poolSize; i++) {
+      pendingTransactions.addRemoteTransaction(sender.nextTransaction());
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Sender {
+    private static final AtomicInteger SENDERS = new AtomicInteger();
+    private Address address;
+    private long nonce;
+
+    public Sender() {
+      nextSender();
+    }
+
+    private void nextSender() {
+      address = Address.fromHexString(String.format("0x%040x", SENDERS.incrementAndGet()));
+      nonce = 0;
+    }
+
+    Transaction nextTransaction() {
+      if (nonce == TRANSACTIONS_PER_SENDER) {
+        nextSender();
+      }
+      return Transaction.builder()
+          .nonce(nonce++)
+          .gasPrice(Wei.of(1))
+          .gasLimit(21_000)
+          .to(Address.ZERO)
+          .value(Wei.ZERO)
+          .payload(BytesValue.EMPTY)
+          .sender(address)
+          .signature(SIGNATURE)
+          .build();
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean addAndEvict(final Sender sender) {
+    return pendingTransactions.addRemoteTransaction(sender.nextTransaction());
+  }
+
+  @Benchmark
+  @Group("addWhileSelecting")
+  @GroupThreads(3)
+  public boolean addDuringSelection(final Sender sender) {
+    return pendingTransactions.addRemoteTransaction(sender.nextTransaction());
+  }
+
+  @Benchmark
+  @Group("addWhileSelecting")
+  @GroupThreads(1)
+  public int selectBlock() {
+    final int[] selected = new int[1];
+    pendingTransactions.selectTransactions(
+        transaction ->
+            ++selected[0] < TRANSACTIONS_PER_BLOCK
+                ? TransactionSelectionResult.CONTINUE
+                : TransactionSelectionResult.COMPLETE_OPERATION);
+    return selected[0];
+  }
+}
@@ -90,7 +90,13 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     this.blockBroadcaster = new BlockBroadcaster(ethContext);
 
     // Set up request handlers
-    new EthServer(blockchain, worldStateArchive, ethMessages, ethereumWireProtocolConfiguration);
+    new EthServer(
+        blockchain,
+        worldStateArchive,
+        ethMessages,
+        ethereumWireProtocolConfiguration,
+        scheduler,
+        metricsSystem);
   }
 
   public EthProtocolManager(
@@ -49,12 +49,14 @@ public class EthScheduler {
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
   private static final int TX_WORKER_CAPACITY = 1000000;
+  private static final int DEFAULT_SERVER_WORKER_COUNT = 2;
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
   protected final ExecutorService txWorkerExecutor;
   protected final ExecutorService servicesExecutor;
   protected final ExecutorService computationExecutor;
+  protected final ExecutorService serverExecutor;
 
   private final Collection<CompletableFuture<?>> serviceFutures = new ConcurrentLinkedDeque<>();
 
@@ -63,7 +65,27 @@ public class EthScheduler {
       final int txWorkerCount,
       final int computationWorkerCount,
       final MetricsSystem metricsSystem) {
-    this(syncWorkerCount, txWorkerCount, TX_WORKER_CAPACITY, computationWorkerCount, metricsSystem);
+    this(
+        syncWorkerCount,
+        txWorkerCount,
+        computationWorkerCount,
+        DEFAULT_SERVER_WORKER_COUNT,
+        metricsSystem);
+  }
+
+  public EthScheduler(
+      final int syncWorkerCount,
+      final int txWorkerCount,
+      final int computationWorkerCount,
+      final int serverWorkerCount,
+      final MetricsSystem metricsSystem) {
+    this(
+        syncWorkerCount,
+        txWorkerCount,
+        TX_WORKER_CAPACITY,
+        computationWorkerCount,
+        serverWorkerCount,
+        metricsSystem);
   }
 
   public EthScheduler(
@@ -71,6 +93,7 @@ public class EthScheduler {
       final int txWorkerCount,
       final int txWorkerQueueSize,
       final int computationWorkerCount,
+      final int serverWorkerCount,
       final MetricsSystem metricsSystem) {
     this(
         newFixedThreadPool(
@@ -85,7 +108,9 @@ public class EthScheduler {
         newFixedThreadPool(
             EthScheduler.class.getSimpleName() + "-Computation",
             computationWorkerCount,
-            metricsSystem));
+            metricsSystem),
+        newFixedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Server", serverWorkerCount, metricsSystem));
   }
 
   protected EthScheduler(
@@ -93,12 +118,14 @@ public class EthScheduler {
       final ScheduledExecutorService scheduler,
       final ExecutorService txWorkerExecutor,
       final ExecutorService servicesExecutor,
-      final ExecutorService computationExecutor) {
+      final ExecutorService computationExecutor,
+      final ExecutorService serverExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
     this.computationExecutor = computationExecutor;
+    this.serverExecutor = serverExecutor;
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -124,6 +151,16 @@ public class EthScheduler {
     txWorkerExecutor.execute(command);
   }
 
+  /**
+   * Runs work serving requests from peers, which is kept apart from the sync and transaction
+   * workers so that serving peers cannot starve our own processing.
+   *
+   * @param command the work to run
+   */
+  public void scheduleServerTask(final Runnable command) {
+    serverExecutor.execute(command);
+  }
+
   public <T> CompletableFuture<T> scheduleServiceTask(final EthTask<T> task) {
     final CompletableFuture<T> serviceFuture = task.runAsync(servicesExecutor);
     serviceFutures.add(serviceFuture);
@@ -218,6 +255,7 @@ public class EthScheduler {
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
       computationExecutor.shutdownNow();
+      serverExecutor.shutdownNow();
       shutdown.countDown();
     } else {
       LOG.trace("Attempted to stop already stopped " + getClass().getSimpleName());
@@ -246,6 +284,9 @@ public class EthScheduler {
       LOG.error(
           "{} computation executor did not shutdown cleanly.", this.getClass().getSimpleName());
     }
+    if (!serverExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} server executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
     LOG.trace("{} stopped.", this.getClass().getSimpleName());
   }
 
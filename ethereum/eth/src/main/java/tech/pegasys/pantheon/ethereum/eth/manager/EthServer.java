@@ -13,10 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
@@ -33,6 +31,7 @@ import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
@@ -40,7 +39,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -52,16 +54,29 @@ class EthServer {
   private final WorldStateArchive worldStateArchive;
   private final EthMessages ethMessages;
   private final EthProtocolConfiguration ethereumWireProtocolConfiguration;
+  private final FairRequestExecutor requestExecutor;
 
   EthServer(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final EthMessages ethMessages,
-      final EthProtocolConfiguration ethereumWireProtocolConfiguration) {
+      final EthProtocolConfiguration ethereumWireProtocolConfiguration,
+      final EthScheduler scheduler,
+      final MetricsSystem metricsSystem) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.ethMessages = ethMessages;
     this.ethereumWireProtocolConfiguration = ethereumWireProtocolConfiguration;
+    this.requestExecutor =
+        new FairRequestExecutor(
+            scheduler,
+            ImmutableMap.<Integer, String>builder()
+                .put(EthPV62.GET_BLOCK_HEADERS, "get_block_headers")
+                .put(EthPV62.GET_BLOCK_BODIES, "get_block_bodies")
+                .put(EthPV63.GET_RECEIPTS, "get_receipts")
+                .put(EthPV63.GET_NODE_DATA, "get_node_data")
+                .build(),
+            metricsSystem);
     this.setupListeners();
   }
 
@@ -73,65 +88,76 @@ class EthServer {
   }
 
   private void handleGetBlockHeaders(final EthMessage message) {
-    LOG.trace("Responding to GET_BLOCK_HEADERS request");
-    try {
-      final MessageData response =
-          constructGetHeadersResponse(
-              blockchain,
-              message.getData(),
-              ethereumWireProtocolConfiguration.getMaxGetBlockHeaders());
-      message.getPeer().send(response);
-    } catch (final RLPException e) {
-      message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
-    } catch (final PeerNotConnected peerNotConnected) {
-      // Peer disconnected before we could respond - nothing to do
-    }
+    LOG.trace("Queueing GET_BLOCK_HEADERS request");
+    serve(
+        message,
+        data ->
+            constructGetHeadersResponse(
+                blockchain, data, ethereumWireProtocolConfiguration.getMaxGetBlockHeaders()),
+        () -> BlockHeadersMessage.createFromRlp(Collections.emptyList()));
   }
 
   private void handleGetBlockBodies(final EthMessage message) {
-    LOG.trace("Responding to GET_BLOCK_BODIES request");
-    try {
-      final MessageData response =
-          constructGetBodiesResponse(
-              blockchain,
-              message.getData(),
-              ethereumWireProtocolConfiguration.getMaxGetBlockBodies());
-      message.getPeer().send(response);
-    } catch (final RLPException e) {
-      message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
-    } catch (final PeerNotConnected peerNotConnected) {
-      // Peer disconnected before we could respond - nothing to do
-    }
+    LOG.trace("Queueing GET_BLOCK_BODIES request");
+    serve(
+        message,
+        data ->
+            constructGetBodiesResponse(
+                blockchain, data, ethereumWireProtocolConfiguration.getMaxGetBlockBodies()),
+        () -> BlockBodiesMessage.createFromRlp(Collections.emptyList()));
   }
 
   private void handleGetReceipts(final EthMessage message) {
-    LOG.trace("Responding to GET_RECEIPTS request");
-    try {
-      final MessageData response =
-          constructGetReceiptsResponse(
-              blockchain, message.getData(), ethereumWireProtocolConfiguration.getMaxGetReceipts());
-      message.getPeer().send(response);
-    } catch (final RLPException e) {
-      message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
-    } catch (final PeerNotConnected peerNotConnected) {
-      // Peer disconnected before we could respond - nothing to do
-    }
+    LOG.trace("Queueing GET_RECEIPTS request");
+    serve(
+        message,
+        data ->
+            constructGetReceiptsResponse(
+                blockchain, data, ethereumWireProtocolConfiguration.getMaxGetReceipts()),
+        () -> ReceiptsMessage.createFromRlp(Collections.emptyList()));
   }
 
   private void handleGetNodeData(final EthMessage message) {
-    LOG.trace("Responding to GET_NODE_DATA request");
+    LOG.trace("Queueing GET_NODE_DATA request");
+    serve(
+        message,
+        data ->
+            constructGetNodeDataResponse(
+                worldStateArchive, data, ethereumWireProtocolConfiguration.getMaxGetNodeData()),
+        () -> NodeDataMessage.create(Collections.emptyList()));
+  }
+
+  private void serve(
+      final EthMessage message,
+      final Function<MessageData, MessageData> constructResponse,
+      final Supplier<MessageData> emptyResponse) {
+    final boolean accepted =
+        requestExecutor.submit(
+            message.getPeer(),
+            message.getData().getCode(),
+            () -> respond(message, constructResponse));
+    if (!accepted) {
+      // Answer right away so the peer doesn't wait for a response that will never come.
+      try {
+        message.getPeer().send(emptyResponse.get());
+      } catch (final PeerNotConnected peerNotConnected) {
+        // Peer disconnected before we could respond - nothing to do
+      }
+    }
+  }
+
+  private int respond(
+      final EthMessage message, final Function<MessageData, MessageData> constructResponse) {
     try {
-      final MessageData response =
-          constructGetNodeDataResponse(
-              worldStateArchive,
-              message.getData(),
-              ethereumWireProtocolConfiguration.getMaxGetNodeData());
+      final MessageData response = constructResponse.apply(message.getData());
       message.getPeer().send(response);
+      return response.getSize();
     } catch (final RLPException e) {
       message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
     } catch (final PeerNotConnected peerNotConnected) {
       // Peer disconnected before we could respond - nothing to do
     }
+    return 0;
   }
 
   static MessageData constructGetHeadersResponse(
@@ -141,26 +167,27 @@ class EthServer {
     final int skip = getHeaders.skip();
     final int maxHeaders = Math.min(requestLimit, getHeaders.maxHeaders());
     final boolean reversed = getHeaders.reverse();
-    final BlockHeader firstHeader;
+    final long firstNumber;
+    final BytesValue firstHeader;
     if (hash.isPresent()) {
-      final Hash startHash = hash.get();
-      firstHeader = blockchain.getBlockHeader(startHash).orElse(null);
+      firstHeader = blockchain.getBlockHeaderRlp(hash.get()).orElse(null);
+      firstNumber = firstHeader == null ? -1L : BlockHeader.readBlockNumber(firstHeader);
     } else {
-      final long firstNumber = getHeaders.blockNumber().getAsLong();
-      firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
+      firstNumber = getHeaders.blockNumber().getAsLong();
+      firstHeader = blockchain.getBlockHeaderRlp(firstNumber).orElse(null);
     }
-    final Collection<BlockHeader> resp;
+    final Collection<BytesValue> resp;
     if (firstHeader == null) {
       resp = Collections.emptyList();
     } else {
       resp = Lists.newArrayList(firstHeader);
       final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
       for (int i = 1; i < maxHeaders; i++) {
-        final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+        final long blockNumber = firstNumber + i * numberDelta;
         if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
           break;
         }
-        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        final Optional<BytesValue> maybeHeader = blockchain.getBlockHeaderRlp(blockNumber);
         if (maybeHeader.isPresent()) {
           resp.add(maybeHeader.get());
         } else {
@@ -168,7 +195,7 @@ class EthServer {
         }
       }
     }
-    return BlockHeadersMessage.create(resp);
+    return BlockHeadersMessage.createFromRlp(resp);
   }
 
   static MessageData constructGetBodiesResponse(
@@ -176,20 +203,20 @@ class EthServer {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
-    final Collection<BlockBody> bodies = new ArrayList<>();
+    final Collection<BytesValue> bodies = new ArrayList<>();
     int count = 0;
     for (final Hash hash : hashes) {
       if (count >= requestLimit) {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
+      final Optional<BytesValue> maybeBody = blockchain.getBlockBodyRlp(hash);
       if (!maybeBody.isPresent()) {
         continue;
       }
       bodies.add(maybeBody.get());
     }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createFromRlp(bodies);
   }
 
   static MessageData constructGetReceiptsResponse(
@@ -197,20 +224,20 @@ class EthServer {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
 
-    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+    final List<BytesValue> receipts = new ArrayList<>();
     int count = 0;
     for (final Hash hash : hashes) {
       if (count >= requestLimit) {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
+      final Optional<BytesValue> maybeReceipts = blockchain.getTxReceiptsRlp(hash);
       if (!maybeReceipts.isPresent()) {
         continue;
       }
       receipts.add(maybeReceipts.get());
     }
-    return ReceiptsMessage.create(receipts);
+    return ReceiptsMessage.createFromRlp(receipts);
   }
 
   static MessageData constructGetNodeDataResponse(
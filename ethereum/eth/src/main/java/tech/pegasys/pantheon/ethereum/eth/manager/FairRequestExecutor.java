@@ -0,0 +1,303 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves requests from peers on the {@link EthScheduler} server workers instead of the network
+ * thread that delivered them.
+ *
+ * <p>Requests are queued per peer and peers with queued requests take turns, so a few peers sending
+ * expensive requests cannot starve the others. Each peer also has a budget of service time and
+ * response bytes which refills every second. Requests from a peer that has spent its budget are
+ * deferred until it refills, and requests from a peer that already has too many queued are
+ * rejected.
+ *
+ * <p>A peer's requests are served one at a time and in the order they arrived, since eth/63
+ * responses carry no request IDs and are matched to requests by their order.
+ */
+class FairRequestExecutor {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_MAX_QUEUED_REQUESTS_PER_PEER = 32;
+  static final Duration DEFAULT_SERVICE_TIME_PER_SECOND = Duration.ofMillis(250);
+  static final long DEFAULT_RESPONSE_BYTES_PER_SECOND = 8 * 1024 * 1024;
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final EthScheduler scheduler;
+  private final int maxQueuedRequestsPerPeer;
+  private final long serviceNanosPerSecond;
+  private final long responseBytesPerSecond;
+  private final LongSupplier nanoTime;
+
+  private final Map<EthPeer, PeerQueue> queuesByPeer = new HashMap<>();
+  private final Deque<PeerQueue> readyQueues = new ArrayDeque<>();
+  private boolean retryScheduled;
+
+  private final Map<Integer, String> messageNames;
+  private final Map<Integer, AtomicInteger> queueLengths;
+  private final LabelledMetric<OperationTimer> serviceTimer;
+  private final LabelledMetric<Counter> rejectedCounter;
+  private final Counter deferredCounter;
+
+  FairRequestExecutor(
+      final EthScheduler scheduler,
+      final Map<Integer, String> messageNames,
+      final MetricsSystem metricsSystem) {
+    this(
+        scheduler,
+        messageNames,
+        DEFAULT_MAX_QUEUED_REQUESTS_PER_PEER,
+        DEFAULT_SERVICE_TIME_PER_SECOND,
+        DEFAULT_RESPONSE_BYTES_PER_SECOND,
+        System::nanoTime,
+        metricsSystem);
+  }
+
+  FairRequestExecutor(
+      final EthScheduler scheduler,
+      final Map<Integer, String> messageNames,
+      final int maxQueuedRequestsPerPeer,
+      final Duration serviceTimePerSecond,
+      final long responseBytesPerSecond,
+      final LongSupplier nanoTime,
+      final MetricsSystem metricsSystem) {
+    this.scheduler = scheduler;
+    this.messageNames = ImmutableMap.copyOf(messageNames);
+    this.maxQueuedRequestsPerPeer = maxQueuedRequestsPerPeer;
+    this.serviceNanosPerSecond = serviceTimePerSecond.toNanos();
+    this.responseBytesPerSecond = responseBytesPerSecond;
+    this.nanoTime = nanoTime;
+
+    final ImmutableMap.Builder<Integer, AtomicInteger> queueLengths = ImmutableMap.builder();
+    messageNames.forEach(
+        (code, name) -> {
+          final AtomicInteger queueLength = new AtomicInteger();
+          queueLengths.put(code, queueLength);
+          metricsSystem.createIntegerGauge(
+              PantheonMetricCategory.NETWORK,
+              "eth_server_" + name + "_queue_length_current",
+              "Current number of " + name + " requests waiting to be served",
+              queueLength::get);
+        });
+    this.queueLengths = queueLengths.build();
+    serviceTimer =
+        metricsSystem.createLabelledTimer(
+            PantheonMetricCategory.NETWORK,
+            "eth_server_service_time_seconds",
+            "Time spent serving requests from peers",
+            "message");
+    rejectedCounter =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.NETWORK,
+            "eth_server_rejected_requests_total",
+            "Number of requests rejected because the peer had too many requests queued",
+            "message");
+    deferredCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.NETWORK,
+            "eth_server_deferred_requests_total",
+            "Number of times serving was deferred because every waiting peer exceeded its budget");
+  }
+
+  /**
+   * Queues a request to be served.
+   *
+   * @param peer the peer that sent the request
+   * @param messageCode the message code of the request
+   * @param request serves the request and returns the size of the response in bytes
+   * @return false if the request was rejected because the peer already has too many queued
+   */
+  boolean submit(final EthPeer peer, final int messageCode, final IntSupplier request) {
+    checkArgument(messageNames.containsKey(messageCode), "Unknown message %s", messageCode);
+    synchronized (this) {
+      queuesByPeer.values().removeIf(queue -> queue.isIdle() && queue.peer.isDisconnected());
+      final PeerQueue queue =
+          queuesByPeer.computeIfAbsent(peer, p -> new PeerQueue(p, nanoTime.getAsLong()));
+      if (queue.requests.size() >= maxQueuedRequestsPerPeer) {
+        LOG.debug("Rejecting {} request from {}", messageNames.get(messageCode), peer);
+        rejectedCounter.labels(messageNames.get(messageCode)).inc();
+        return false;
+      }
+      if (queue.isIdle()) {
+        readyQueues.add(queue);
+      }
+      queue.requests.add(new QueuedRequest(messageCode, request));
+      queueLengths.get(messageCode).incrementAndGet();
+    }
+    scheduler.scheduleServerTask(this::serveNext);
+    return true;
+  }
+
+  private void serveNext() {
+    final PeerQueue queue;
+    final QueuedRequest request;
+    synchronized (this) {
+      queue = nextServableQueue();
+      if (queue == null) {
+        return;
+      }
+      request = queue.requests.poll();
+      // The queue is only ready again once this request has been served.
+      queue.inFlight = true;
+      queueLengths.get(request.messageCode).decrementAndGet();
+    }
+
+    final long start = nanoTime.getAsLong();
+    int responseSize = 0;
+    try (final OperationTimer.TimingContext ignored =
+        serviceTimer.labels(messageNames.get(request.messageCode)).startTimer()) {
+      responseSize = request.request.getAsInt();
+    } finally {
+      final long end = nanoTime.getAsLong();
+      final boolean moreQueued;
+      synchronized (this) {
+        queue.charge(end, end - start, responseSize);
+        queue.inFlight = false;
+        moreQueued = !queue.isEmpty();
+        if (moreQueued) {
+          readyQueues.add(queue);
+        }
+      }
+      if (moreQueued) {
+        scheduler.scheduleServerTask(this::serveNext);
+      }
+    }
+  }
+
+  private void retryDeferred() {
+    synchronized (this) {
+      retryScheduled = false;
+    }
+    serveNext();
+  }
+
+  // Must be called while holding the lock. Each call to serveNext serves at most one request, so
+  // when every waiting peer is over budget this call is retried once the first budget refills.
+  // Only one retry is pending at a time, however many serveNext calls find nothing to serve.
+  private PeerQueue nextServableQueue() {
+    final long now = nanoTime.getAsLong();
+    long shortestWait = Long.MAX_VALUE;
+    for (int i = readyQueues.size(); i > 0; i--) {
+      final PeerQueue queue = readyQueues.poll();
+      if (queue.peer.isDisconnected()) {
+        queue.requests.forEach(r -> queueLengths.get(r.messageCode).decrementAndGet());
+        queue.requests.clear();
+        queuesByPeer.remove(queue.peer);
+        continue;
+      }
+      final long wait = queue.nanosUntilWithinBudget(now);
+      if (wait == 0) {
+        return queue;
+      }
+      readyQueues.add(queue);
+      shortestWait = Math.min(shortestWait, wait);
+    }
+    if (!readyQueues.isEmpty() && !retryScheduled) {
+      retryScheduled = true;
+      deferredCounter.inc();
+      scheduler.scheduleFutureTask(
+          () -> scheduler.scheduleServerTask(this::retryDeferred),
+          Duration.ofNanos(shortestWait));
+    }
+    return null;
+  }
+
+  private class PeerQueue {
+    private final EthPeer peer;
+    private final Deque<QueuedRequest> requests = new ArrayDeque<>();
+    private long serviceNanosAvailable = serviceNanosPerSecond;
+    private long responseBytesAvailable = responseBytesPerSecond;
+    private long lastRefill;
+    private boolean inFlight;
+
+    private PeerQueue(final EthPeer peer, final long now) {
+      this.peer = peer;
+      this.lastRefill = now;
+    }
+
+    private boolean isEmpty() {
+      return requests.isEmpty();
+    }
+
+    // Neither waiting in readyQueues nor having a request served.
+    private boolean isIdle() {
+      return requests.isEmpty() && !inFlight;
+    }
+
+    private long nanosUntilWithinBudget(final long now) {
+      refill(now);
+      return Math.max(
+          nanosToRefill(serviceNanosAvailable, serviceNanosPerSecond),
+          nanosToRefill(responseBytesAvailable, responseBytesPerSecond));
+    }
+
+    private void charge(final long now, final long serviceNanos, final int responseBytes) {
+      refill(now);
+      serviceNanosAvailable -= serviceNanos;
+      responseBytesAvailable -= responseBytes;
+    }
+
+    private void refill(final long now) {
+      final double elapsedSeconds = (double) (now - lastRefill) / NANOS_PER_SECOND;
+      lastRefill = now;
+      serviceNanosAvailable =
+          refilled(serviceNanosAvailable, serviceNanosPerSecond, elapsedSeconds);
+      responseBytesAvailable =
+          refilled(responseBytesAvailable, responseBytesPerSecond, elapsedSeconds);
+    }
+
+    private long refilled(final long available, final long perSecond, final double seconds) {
+      return (long) Math.min(perSecond, available + perSecond * seconds);
+    }
+
+    private long nanosToRefill(final long available, final long perSecond) {
+      if (available > 0) {
+        return 0;
+      }
+      return (long) Math.ceil((1 - available) * (double) NANOS_PER_SECOND / perSecond);
+    }
+  }
+
+  private static class QueuedRequest {
+    private final int messageCode;
+    private final IntSupplier request;
+
+    private QueuedRequest(final int messageCode, final IntSupplier request) {
+      this.messageCode = messageCode;
+      this.request = request;
+    }
+  }
+}
@@ -46,6 +46,21 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from already RLP encoded bodies, such as those read from storage, without
+   * decoding or validating them.
+   *
+   * @param rlpBodies the RLP encoding of each body
+   * @return the message
+   */
+  public static BlockBodiesMessage createFromRlp(final Iterable<BytesValue> rlpBodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    rlpBodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
@@ -53,6 +53,21 @@ public final class BlockHeadersMessage extends AbstractMessageData {
     return new BlockHeadersMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from already RLP encoded headers, such as those read from storage, without
+   * decoding or validating them.
+   *
+   * @param rlpHeaders the RLP encoding of each header
+   * @return the message
+   */
+  public static BlockHeadersMessage createFromRlp(final Iterable<BytesValue> rlpHeaders) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    rlpHeaders.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockHeadersMessage(tmp.encoded());
+  }
+
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
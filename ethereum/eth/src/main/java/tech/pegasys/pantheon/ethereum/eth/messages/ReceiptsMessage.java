@@ -17,7 +17,9 @@ import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
@@ -25,6 +27,9 @@ import java.util.List;
 
 public final class ReceiptsMessage extends AbstractMessageData {
 
+  // State root or status, cumulative gas used, logs bloom and logs.
+  private static final int RECEIPT_FIELD_COUNT = 4;
+
   public static ReceiptsMessage readFrom(final MessageData message) {
     if (message instanceof ReceiptsMessage) {
       return (ReceiptsMessage) message;
@@ -50,6 +55,45 @@ public final class ReceiptsMessage extends AbstractMessageData {
     return new ReceiptsMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from the receipts of each block as they are stored, without decoding the
+   * receipts. Stored receipts may carry a revert reason, which is not part of the wire format and
+   * is dropped.
+   *
+   * @param rlpReceiptSets the RLP encoded list of receipts of each block
+   * @return the message
+   */
+  public static ReceiptsMessage createFromRlp(final Iterable<BytesValue> rlpReceiptSets) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    for (final BytesValue rlpReceiptSet : rlpReceiptSets) {
+      final RLPInput input = RLP.input(rlpReceiptSet);
+      tmp.startList();
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        writeReceiptWithoutRevertReason(input.readAsRlp(), tmp);
+      }
+      input.leaveList();
+      tmp.endList();
+    }
+    tmp.endList();
+    return new ReceiptsMessage(tmp.encoded());
+  }
+
+  private static void writeReceiptWithoutRevertReason(
+      final RLPInput receipt, final RLPOutput out) {
+    final BytesValue raw = receipt.raw();
+    if (receipt.enterList() <= RECEIPT_FIELD_COUNT) {
+      out.writeRLPUnsafe(raw);
+      return;
+    }
+    out.startList();
+    for (int i = 0; i < RECEIPT_FIELD_COUNT; i++) {
+      out.writeRLPUnsafe(receipt.readAsRlp().raw());
+    }
+    out.endList();
+  }
+
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
@@ -42,6 +42,7 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_DOWNLOADER_PARALLELISM = 4;
   public static final int DEFAULT_TRANSACTIONS_PARALLELISM = 2;
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
+  public static final int DEFAULT_SERVER_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
       CachingTaskCollection.DEFAULT_CACHE_SIZE;
 
@@ -69,6 +70,7 @@ public class SynchronizerConfiguration {
   private final int downloaderParallelism;
   private final int transactionsParallelism;
   private final int computationParallelism;
+  private final int serverParallelism;
   private final int maxTrailingPeers;
   private final long worldStateMinMillisBeforeStalling;
 
@@ -91,6 +93,7 @@ public class SynchronizerConfiguration {
       final int downloaderParallelism,
       final int transactionsParallelism,
       final int computationParallelism,
+      final int serverParallelism,
       final int maxTrailingPeers) {
     this.fastSyncPivotDistance = fastSyncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
@@ -110,6 +113,7 @@ public class SynchronizerConfiguration {
     this.downloaderParallelism = downloaderParallelism;
     this.transactionsParallelism = transactionsParallelism;
     this.computationParallelism = computationParallelism;
+    this.serverParallelism = serverParallelism;
     this.maxTrailingPeers = maxTrailingPeers;
   }
 
@@ -178,6 +182,15 @@ public class SynchronizerConfiguration {
     return computationParallelism;
   }
 
+  /**
+   * The number of threads serving requests from peers.
+   *
+   * @return the number of server threads
+   */
+  public int getServerParallelism() {
+    return serverParallelism;
+  }
+
   /**
    * The rate at which blocks should be fully validated during fast sync. At a rate of 1f, all
    * blocks are fully validated. At rates less than 1f, a subset of blocks will undergo light-weight
@@ -233,6 +246,7 @@ public class SynchronizerConfiguration {
     private int downloaderParallelism = DEFAULT_DOWNLOADER_PARALLELISM;
     private int transactionsParallelism = DEFAULT_TRANSACTIONS_PARALLELISM;
     private int computationParallelism = DEFAULT_COMPUTATION_PARALLELISM;
+    private int serverParallelism = DEFAULT_SERVER_PARALLELISM;
     private int fastSyncPivotDistance = DEFAULT_PIVOT_DISTANCE_FROM_HEAD;
     private float fastSyncFullValidationRate = DEFAULT_FULL_VALIDATION_RATE;
     private int worldStateHashCountPerRequest = DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST;
@@ -312,6 +326,11 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder serverParallelism(final int serverParallelism) {
+      this.serverParallelism = serverParallelism;
+      return this;
+    }
+
     public Builder fastSyncMinimumPeerCount(final int fastSyncMinimumPeerCount) {
       this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
       return this;
@@ -368,6 +387,7 @@ public class SynchronizerConfiguration {
           downloaderParallelism,
           transactionsParallelism,
           computationParallelism,
+          serverParallelism,
           maxTrailingPeers);
     }
   }
@@ -125,7 +125,8 @@ public class FastDownloaderFactory {
         new CachingTaskCollection<>(
             new FlatFileTaskCollection<>(
                 dataDirectory, NodeDataRequest::serialize, NodeDataRequest::deserialize),
-            worldStateTaskCacheSize);
+            worldStateTaskCacheSize,
+            NodeDataRequest.DEEPEST_FIRST);
 
     metricsSystem.createLongGauge(
         PantheonMetricCategory.SYNCHRONIZER,
@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.services.pipeline.Pipeline;
 import tech.pegasys.pantheon.services.pipeline.PipelineBuilder;
 
+import java.util.List;
 import java.util.Optional;
 
 public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFactory {
@@ -86,7 +87,8 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
             protocolSchedule, protocolContext, detachedValidationPolicy);
     final DownloadBodiesStep<C> downloadBodiesStep =
         new DownloadBodiesStep<>(protocolSchedule, ethContext, metricsSystem);
-    final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final ExtractTxSignaturesStep extractTxSignaturesStep =
+        new ExtractTxSignaturesStep(ethContext.getScheduler(), metricsSystem);
     final FullImportBlockStep<C> importBlockStep =
         new FullImportBlockStep<>(protocolSchedule, protocolContext);
 
@@ -104,7 +106,9 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
-        .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
+        .thenFlatMap("flattenBlocks", List::stream, singleHeaderBufferSize)
+        .thenProcessAsyncOrdered(
+            "extractTxSignatures", extractTxSignaturesStep, syncConfig.getComputationParallelism())
         .andFinishWith("importBlock", importBlockStep);
   }
 
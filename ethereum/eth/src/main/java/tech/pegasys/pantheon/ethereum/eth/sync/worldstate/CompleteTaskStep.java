@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.metrics.RunnableCounter;
@@ -32,6 +33,7 @@ public class CompleteTaskStep {
   private final WorldStateStorage worldStateStorage;
   private final RunnableCounter completedRequestsCounter;
   private final Counter retriedRequestsCounter;
+  private final LabelledMetric<Counter> completedRequestsByDepth;
   private final LongSupplier worldStatePendingRequestsCurrentSupplier;
   private final DecimalFormat doubleFormatter = new DecimalFormat("#.##");
   private double estimatedWorldStateCompletion;
@@ -55,6 +57,12 @@ public class CompleteTaskStep {
             PantheonMetricCategory.SYNCHRONIZER,
             "world_state_retried_requests_total",
             "Total number of node data requests repeated as part of fast sync world state download");
+    completedRequestsByDepth =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.SYNCHRONIZER,
+            "world_state_completed_requests_by_depth_total",
+            "Total number of node data requests completed as part of fast sync world state download, by trie depth",
+            "depth");
   }
 
   public void markAsCompleteOrFailed(
@@ -64,6 +72,7 @@ public class CompleteTaskStep {
     if (task.getData().getData() != null) {
       enqueueChildren(task, header, downloadState);
       completedRequestsCounter.inc();
+      completedRequestsByDepth.labels(Integer.toString(task.getData().getDepth())).inc();
       task.markCompleted();
       downloadState.checkCompletion(worldStateStorage, header);
     } else {
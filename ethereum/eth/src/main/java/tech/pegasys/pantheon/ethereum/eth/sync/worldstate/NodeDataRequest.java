@@ -21,14 +21,23 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public abstract class NodeDataRequest {
+  /**
+   * Orders requests so the deepest nodes are downloaded first. Completing subtrees before starting
+   * on their siblings keeps the number of pending requests small.
+   */
+  public static final Comparator<NodeDataRequest> DEEPEST_FIRST =
+      Comparator.comparingInt(NodeDataRequest::getDepth).reversed();
+
   private final RequestType requestType;
   private final Hash hash;
   private BytesValue data;
   private boolean requiresPersisting = true;
+  private int depth = 0;
 
   protected NodeDataRequest(final RequestType requestType, final Hash hash) {
     this.requestType = requestType;
@@ -56,6 +65,8 @@ public abstract class NodeDataRequest {
     in.enterList();
     final RequestType requestType = RequestType.fromValue(in.readByte());
     final Hash hash = Hash.wrap(in.readBytes32());
+    // Requests queued by earlier versions do not include their depth
+    final int depth = in.isEndOfCurrentList() ? 0 : in.readIntScalar();
     in.leaveList();
 
     final NodeDataRequest deserialized;
@@ -75,13 +86,14 @@ public abstract class NodeDataRequest {
                 + NodeDataRequest.class.getSimpleName());
     }
 
-    return deserialized;
+    return deserialized.setDepth(depth);
   }
 
   private void writeTo(final RLPOutput out) {
     out.startList();
     out.writeByte(requestType.getValue());
     out.writeBytesValue(hash);
+    out.writeIntScalar(depth);
     out.endList();
   }
 
@@ -102,6 +114,16 @@ public abstract class NodeDataRequest {
     return this;
   }
 
+  /** @return The number of requests between this node and the root of the world state. */
+  public int getDepth() {
+    return depth;
+  }
+
+  public NodeDataRequest setDepth(final int depth) {
+    this.depth = depth;
+    return this;
+  }
+
   public NodeDataRequest setRequiresPersisting(final boolean requiresPersisting) {
     this.requiresPersisting = requiresPersisting;
     return this;
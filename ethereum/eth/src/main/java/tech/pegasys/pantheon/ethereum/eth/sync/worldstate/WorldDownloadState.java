@@ -17,6 +17,8 @@ import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.manager.task.EthTask;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage.Updater;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
 import tech.pegasys.pantheon.services.tasks.Task;
 import tech.pegasys.pantheon.util.ExceptionUtils;
@@ -38,6 +40,7 @@ class WorldDownloadState {
 
   private final boolean downloadWasResumed;
   private final CachingTaskCollection<NodeDataRequest> pendingRequests;
+  private final LabelledMetric<Counter> enqueuedRequestsByDepth;
   private final int maxRequestsWithoutProgress;
   private final Clock clock;
   private final Set<EthTask<?>> outstandingRequests =
@@ -53,6 +56,7 @@ class WorldDownloadState {
 
   public WorldDownloadState(
       final CachingTaskCollection<NodeDataRequest> pendingRequests,
+      final LabelledMetric<Counter> enqueuedRequestsByDepth,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final Clock clock) {
@@ -60,6 +64,7 @@ class WorldDownloadState {
     this.timestampOfLastProgress = clock.millis();
     this.downloadWasResumed = !pendingRequests.isEmpty();
     this.pendingRequests = pendingRequests;
+    this.enqueuedRequestsByDepth = enqueuedRequestsByDepth;
     this.maxRequestsWithoutProgress = maxRequestsWithoutProgress;
     this.clock = clock;
     this.internalFuture = new CompletableFuture<>();
@@ -121,18 +126,23 @@ class WorldDownloadState {
 
   public synchronized void enqueueRequest(final NodeDataRequest request) {
     if (!internalFuture.isDone()) {
-      pendingRequests.add(request);
+      addPendingRequest(request);
       notifyAll();
     }
   }
 
   public synchronized void enqueueRequests(final Stream<NodeDataRequest> requests) {
     if (!internalFuture.isDone()) {
-      requests.forEach(pendingRequests::add);
+      requests.forEach(this::addPendingRequest);
       notifyAll();
     }
   }
 
+  private void addPendingRequest(final NodeDataRequest request) {
+    pendingRequests.add(request);
+    enqueuedRequestsByDepth.labels(Integer.toString(request.getDepth())).inc();
+  }
+
   public synchronized Task<NodeDataRequest> dequeueRequestBlocking() {
     while (!internalFuture.isDone()) {
       final Task<NodeDataRequest> task = pendingRequests.remove();
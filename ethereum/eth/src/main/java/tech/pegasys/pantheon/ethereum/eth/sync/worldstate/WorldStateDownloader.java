@@ -16,6 +16,8 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
@@ -42,6 +44,7 @@ public class WorldStateDownloader {
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
   private final WorldStateStorage worldStateStorage;
+  private final LabelledMetric<Counter> enqueuedRequestsByDepth;
 
   private final AtomicReference<WorldDownloadState> downloadState = new AtomicReference<>();
 
@@ -76,6 +79,13 @@ public class WorldStateDownloader {
         "world_state_inflight_requests_current",
         "Number of in progress requests for world state data",
         downloadStateValue(WorldDownloadState::getOutstandingTaskCount));
+
+    enqueuedRequestsByDepth =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.SYNCHRONIZER,
+            "world_state_enqueued_requests_by_depth_total",
+            "Total number of node data requests queued as part of fast sync world state download, by trie depth",
+            "depth");
   }
 
   private IntSupplier downloadStateValue(final Function<WorldDownloadState, Integer> getter) {
@@ -113,7 +123,11 @@ public class WorldStateDownloader {
 
       final WorldDownloadState newDownloadState =
           new WorldDownloadState(
-              taskCollection, maxNodeRequestsWithoutProgress, minMillisBeforeStalling, clock);
+              taskCollection,
+              enqueuedRequestsByDepth,
+              maxNodeRequestsWithoutProgress,
+              minMillisBeforeStalling,
+              clock);
       this.downloadState.set(newDownloadState);
 
       if (!newDownloadState.downloadWasResumed()) {
@@ -30,38 +30,50 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Striped;
+
 /**
  * Holds the current set of pending transactions with the ability to iterate them based on priority
  * for mining or look-up by hash.
  *
- * <p>This class is safe for use across multiple threads.
+ * <p>This class is safe for use across multiple threads. Changes to the transactions of a sender
+ * hold a lock striped by sender address, so transactions from different senders can be added and
+ * removed concurrently, while a pool-wide lock lets block creation see a consistent view of the
+ * pool.
  */
 public class PendingTransactions {
 
+  private static final int SENDER_LOCK_STRIPES = 64;
+
   private final int maxTransactionRetentionHours;
   private final Clock clock;
 
   private final Map<Hash, TransactionInfo> pendingTransactions = new ConcurrentHashMap<>();
-  private final SortedSet<TransactionInfo> prioritizedTransactions =
-      new TreeSet<>(
+  private final TransactionPriorityHeap prioritizedTransactions =
+      new TransactionPriorityHeap(
           comparing(TransactionInfo::isReceivedFromLocalSource)
-              .thenComparing(TransactionInfo::getSequence)
-              .reversed());
+              .thenComparing(TransactionInfo::getSequence));
   private final Map<Address, SortedMap<Long, TransactionInfo>> transactionsBySender =
-      new HashMap<>();
+      new ConcurrentHashMap<>();
+  private final Striped<Lock> senderLocks = Striped.lock(SENDER_LOCK_STRIPES);
+  private final ReadWriteLock poolLock = new ReentrantReadWriteLock();
 
   private final Subscribers<PendingTransactionListener> listeners = Subscribers.create();
 
@@ -144,22 +156,42 @@ public class PendingTransactions {
     doRemoveTransaction(transaction, true);
   }
 
-  private void doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
-    synchronized (pendingTransactions) {
-      final TransactionInfo removedTransactionInfo = pendingTransactions.remove(transaction.hash());
-      if (removedTransactionInfo != null) {
-        prioritizedTransactions.remove(removedTransactionInfo);
-        Optional.ofNullable(transactionsBySender.get(transaction.getSender()))
-            .ifPresent(
-                transactionsForSender -> {
-                  transactionsForSender.remove(transaction.getNonce());
-                  if (transactionsForSender.isEmpty()) {
-                    transactionsBySender.remove(transaction.getSender());
-                  }
-                });
-        incrementTransactionRemovedCounter(
-            removedTransactionInfo.isReceivedFromLocalSource(), addedToBlock);
+  private boolean doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
+    return withSenderLock(
+        transaction.getSender(),
+        () -> {
+          final TransactionInfo removedTransactionInfo =
+              pendingTransactions.remove(transaction.hash());
+          if (removedTransactionInfo != null) {
+            prioritizedTransactions.remove(removedTransactionInfo);
+            Optional.ofNullable(transactionsBySender.get(transaction.getSender()))
+                .ifPresent(
+                    transactionsForSender -> {
+                      transactionsForSender.remove(transaction.getNonce(), removedTransactionInfo);
+                      if (transactionsForSender.isEmpty()) {
+                        transactionsBySender.remove(transaction.getSender());
+                      }
+                    });
+            incrementTransactionRemovedCounter(
+                removedTransactionInfo.isReceivedFromLocalSource(), addedToBlock);
+          }
+          return removedTransactionInfo != null;
+        });
+  }
+
+  private <T> T withSenderLock(final Address sender, final Supplier<T> action) {
+    final Lock readLock = poolLock.readLock();
+    final Lock senderLock = senderLocks.get(sender);
+    readLock.lock();
+    try {
+      senderLock.lock();
+      try {
+        return action.get();
+      } finally {
+        senderLock.unlock();
       }
+    } finally {
+      readLock.unlock();
     }
   }
 
@@ -171,68 +203,133 @@ public class PendingTransactions {
   }
 
   /*
-   * The BlockTransaction selection process (part of block mining) requires synchronised access to
-   * all pendingTransactions - this allows it to iterate over the available transactions without
-   * releasing the lock in between items.
-   *
+   * The BlockTransaction selection process (part of block mining) works from a copy of the
+   * priority order, taken under the pool-wide lock. The transactions of each sender are only
+   * copied, under that sender's lock, when the selector first reaches one of them. The selector
+   * executes transactions without holding any lock so the pool can keep accepting transactions,
+   * and the transactions it rejects are removed afterwards in one batch.
    */
   public void selectTransactions(final TransactionSelector selector) {
-    synchronized (pendingTransactions) {
-      final List<Transaction> transactionsToRemove = new ArrayList<>();
-      final Map<Address, AccountTransactionOrder> accountTransactions = new HashMap<>();
-      for (final TransactionInfo transactionInfo : prioritizedTransactions) {
-        final AccountTransactionOrder accountTransactionOrder =
-            accountTransactions.computeIfAbsent(
-                transactionInfo.getSender(), this::createSenderTransactionOrder);
-
-        for (final Transaction transactionToProcess :
-            accountTransactionOrder.transactionsToProcess(transactionInfo.getTransaction())) {
-          final TransactionSelectionResult result =
-              selector.evaluateTransaction(transactionToProcess);
-          switch (result) {
-            case DELETE_TRANSACTION_AND_CONTINUE:
-              transactionsToRemove.add(transactionToProcess);
-              break;
-            case CONTINUE:
-              break;
-            case COMPLETE_OPERATION:
-              transactionsToRemove.forEach(this::removeTransaction);
-              return;
-            default:
-              throw new RuntimeException("Illegal value for TransactionSelectionResult.");
-          }
+    final Iterator<TransactionInfo> transactionsInPriorityOrder;
+    final Lock writeLock = poolLock.writeLock();
+    writeLock.lock();
+    try {
+      transactionsInPriorityOrder = prioritizedTransactions.inPriorityOrder();
+    } finally {
+      writeLock.unlock();
+    }
+
+    final List<Transaction> transactionsToRemove =
+        evaluateTransactions(selector, transactionsInPriorityOrder);
+    removeTransactions(transactionsToRemove);
+  }
+
+  private List<Transaction> evaluateTransactions(
+      final TransactionSelector selector,
+      final Iterator<TransactionInfo> transactionsInPriorityOrder) {
+    final List<Transaction> transactionsToRemove = new ArrayList<>();
+    final Map<Address, Set<Transaction>> transactionsBySenderSnapshot = new HashMap<>();
+    final Map<Address, AccountTransactionOrder> accountTransactions = new HashMap<>();
+    while (transactionsInPriorityOrder.hasNext()) {
+      final TransactionInfo transactionInfo = transactionsInPriorityOrder.next();
+      final Address sender = transactionInfo.getSender();
+      final Set<Transaction> transactionsForSender =
+          transactionsBySenderSnapshot.computeIfAbsent(sender, this::snapshotTransactionsForSender);
+      // Skip transactions removed or replaced since the priority order was copied.
+      if (!transactionsForSender.contains(transactionInfo.getTransaction())) {
+        continue;
+      }
+      final AccountTransactionOrder accountTransactionOrder =
+          accountTransactions.computeIfAbsent(
+              sender, key -> new AccountTransactionOrder(transactionsForSender.stream()));
+
+      for (final Transaction transactionToProcess :
+          accountTransactionOrder.transactionsToProcess(transactionInfo.getTransaction())) {
+        final TransactionSelectionResult result =
+            selector.evaluateTransaction(transactionToProcess);
+        switch (result) {
+          case DELETE_TRANSACTION_AND_CONTINUE:
+            transactionsToRemove.add(transactionToProcess);
+            break;
+          case CONTINUE:
+            break;
+          case COMPLETE_OPERATION:
+            return transactionsToRemove;
+          default:
+            throw new RuntimeException("Illegal value for TransactionSelectionResult.");
         }
       }
-      transactionsToRemove.forEach(this::removeTransaction);
     }
+    return transactionsToRemove;
   }
 
-  private AccountTransactionOrder createSenderTransactionOrder(final Address address) {
-    return new AccountTransactionOrder(
-        transactionsBySender.get(address).values().stream().map(TransactionInfo::getTransaction));
+  private Set<Transaction> snapshotTransactionsForSender(final Address sender) {
+    return withSenderLock(
+        sender,
+        () -> {
+          final SortedMap<Long, TransactionInfo> transactionsForSender =
+              transactionsBySender.get(sender);
+          if (transactionsForSender == null) {
+            return ImmutableSet.of();
+          }
+          return transactionsForSender.values().stream()
+              .map(TransactionInfo::getTransaction)
+              .collect(ImmutableSet.toImmutableSet());
+        });
   }
 
-  private boolean addTransaction(final TransactionInfo transactionInfo) {
-    Optional<Transaction> droppedTransaction = Optional.empty();
-    synchronized (pendingTransactions) {
-      if (pendingTransactions.containsKey(transactionInfo.getHash())) {
-        return false;
+  private void removeTransactions(final List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return;
+    }
+    // Transactions may have been removed from the pool while the selector was running
+    final List<Transaction> removedTransactions = new ArrayList<>();
+    final Lock writeLock = poolLock.writeLock();
+    writeLock.lock();
+    try {
+      for (final Transaction transaction : transactions) {
+        if (doRemoveTransaction(transaction, false)) {
+          removedTransactions.add(transaction);
+        }
       }
+    } finally {
+      writeLock.unlock();
+    }
+    removedTransactions.forEach(this::notifyTransactionDropped);
+  }
 
-      if (!addTransactionForSenderAndNonce(transactionInfo)) {
-        return false;
-      }
-      prioritizedTransactions.add(transactionInfo);
-      pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
+  private boolean addTransaction(final TransactionInfo transactionInfo) {
+    final boolean added =
+        withSenderLock(
+            transactionInfo.getSender(),
+            () -> {
+              if (pendingTransactions.containsKey(transactionInfo.getHash())) {
+                return false;
+              }
+
+              if (!addTransactionForSenderAndNonce(transactionInfo)) {
+                return false;
+              }
+              prioritizedTransactions.add(transactionInfo);
+              pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
+              return true;
+            });
+    if (!added) {
+      return false;
+    }
 
-      if (pendingTransactions.size() > maxPendingTransactions) {
-        final TransactionInfo toRemove = prioritizedTransactions.last();
-        doRemoveTransaction(toRemove.getTransaction(), false);
-        droppedTransaction = Optional.of(toRemove.getTransaction());
+    // Evict outside the sender lock as the evicted transaction may belong to another sender.
+    final List<Transaction> droppedTransactions = new ArrayList<>();
+    Optional<TransactionInfo> toRemove;
+    while ((toRemove = prioritizedTransactions.pollIfLargerThan(maxPendingTransactions))
+        .isPresent()) {
+      final Transaction transaction = toRemove.get().getTransaction();
+      if (doRemoveTransaction(transaction, false)) {
+        droppedTransactions.add(transaction);
       }
     }
     notifyTransactionAdded(transactionInfo.getTransaction());
-    droppedTransaction.ifPresent(this::notifyTransactionDropped);
+    droppedTransactions.forEach(this::notifyTransactionDropped);
     return true;
   }
 
@@ -298,14 +395,16 @@ public class PendingTransactions {
   }
 
   public OptionalLong getNextNonceForSender(final Address sender) {
-    synchronized (pendingTransactions) {
-      final SortedMap<Long, TransactionInfo> transactionsForSender =
-          transactionsBySender.get(sender);
-      if (transactionsForSender == null) {
-        return OptionalLong.empty();
-      }
-      return OptionalLong.of(transactionsForSender.lastKey() + 1);
-    }
+    return withSenderLock(
+        sender,
+        () -> {
+          final SortedMap<Long, TransactionInfo> transactionsForSender =
+              transactionsBySender.get(sender);
+          if (transactionsForSender == null) {
+            return OptionalLong.empty();
+          }
+          return OptionalLong.of(transactionsForSender.lastKey() + 1);
+        });
   }
 
   /**
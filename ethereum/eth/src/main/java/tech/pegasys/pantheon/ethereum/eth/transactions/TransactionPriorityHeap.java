@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * A binary heap of pending transactions ordered so that the transaction to evict first is at the
+ * root. Each transaction's position in the heap is tracked so that arbitrary transactions can be
+ * removed in O(log n) time when they are mined, replaced or dropped.
+ *
+ * <p>This class is safe for use across multiple threads.
+ */
+class TransactionPriorityHeap {
+
+  private final Comparator<TransactionInfo> evictionOrder;
+  private final Map<TransactionInfo, Integer> positions = new IdentityHashMap<>();
+  private TransactionInfo[] heap = new TransactionInfo[16];
+  private int size = 0;
+
+  /**
+   * Creates a new heap.
+   *
+   * @param evictionOrder Orders transactions so that the first to be evicted sorts lowest.
+   */
+  TransactionPriorityHeap(final Comparator<TransactionInfo> evictionOrder) {
+    this.evictionOrder = evictionOrder;
+  }
+
+  synchronized void add(final TransactionInfo transactionInfo) {
+    if (positions.containsKey(transactionInfo)) {
+      return;
+    }
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, size * 2);
+    }
+    heap[size] = transactionInfo;
+    positions.put(transactionInfo, size);
+    siftUp(size++);
+  }
+
+  synchronized boolean remove(final TransactionInfo transactionInfo) {
+    final Integer position = positions.remove(transactionInfo);
+    if (position == null) {
+      return false;
+    }
+    final TransactionInfo last = heap[--size];
+    heap[size] = null;
+    if (position < size) {
+      heap[position] = last;
+      positions.put(last, position);
+      siftDown(siftUp(position));
+    }
+    return true;
+  }
+
+  /**
+   * Removes and returns the transaction to evict first if the heap holds more than {@code
+   * maxSize} transactions.
+   *
+   * @param maxSize The number of transactions the heap may hold without evicting any.
+   * @return the lowest priority transaction, or empty if no transaction needs evicting.
+   */
+  synchronized Optional<TransactionInfo> pollIfLargerThan(final long maxSize) {
+    if (size <= maxSize) {
+      return Optional.empty();
+    }
+    final TransactionInfo first = heap[0];
+    remove(first);
+    return Optional.of(first);
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the transactions currently in the heap, highest priority (last to be evicted) first.
+   * Only copying the heap's contents happens up front. The copy is ordered as the iterator is
+   * consumed, so a caller that stops early does not pay to order the remaining transactions.
+   *
+   * @return an iterator over a copy of the heap's contents in priority order.
+   */
+  Iterator<TransactionInfo> inPriorityOrder() {
+    final TransactionInfo[] contents;
+    synchronized (this) {
+      contents = Arrays.copyOf(heap, size);
+    }
+    return new PriorityOrderIterator(contents, evictionOrder.reversed());
+  }
+
+  private int siftUp(final int start) {
+    int position = start;
+    final TransactionInfo transactionInfo = heap[position];
+    while (position > 0) {
+      final int parent = (position - 1) >>> 1;
+      if (evictionOrder.compare(transactionInfo, heap[parent]) >= 0) {
+        break;
+      }
+      move(heap[parent], position);
+      position = parent;
+    }
+    move(transactionInfo, position);
+    return position;
+  }
+
+  private void siftDown(final int start) {
+    int position = start;
+    final TransactionInfo transactionInfo = heap[position];
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && evictionOrder.compare(heap[child + 1], heap[child]) < 0) {
+        child++;
+      }
+      if (evictionOrder.compare(heap[child], transactionInfo) >= 0) {
+        break;
+      }
+      move(heap[child], position);
+      position = child;
+    }
+    move(transactionInfo, position);
+  }
+
+  private void move(final TransactionInfo transactionInfo, final int position) {
+    heap[position] = transactionInfo;
+    positions.put(transactionInfo, position);
+  }
+
+  /**
+   * Drains a private copy of the heap in priority order. The copy is rearranged into a heap with
+   * the highest priority transaction at its root when first used, which takes linear time, and
+   * each further transaction then costs O(log n) to take.
+   */
+  private static class PriorityOrderIterator implements Iterator<TransactionInfo> {
+
+    private final TransactionInfo[] heap;
+    private final Comparator<TransactionInfo> priorityOrder;
+    private int size;
+    private boolean heapified = false;
+
+    PriorityOrderIterator(
+        final TransactionInfo[] contents, final Comparator<TransactionInfo> priorityOrder) {
+      this.heap = contents;
+      this.priorityOrder = priorityOrder;
+      this.size = contents.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return size > 0;
+    }
+
+    @Override
+    public TransactionInfo next() {
+      if (size == 0) {
+        throw new NoSuchElementException();
+      }
+      if (!heapified) {
+        for (int position = (size >>> 1) - 1; position >= 0; position--) {
+          siftDown(position);
+        }
+        heapified = true;
+      }
+      final TransactionInfo first = heap[0];
+      heap[0] = heap[--size];
+      heap[size] = null;
+      if (size > 0) {
+        siftDown(0);
+      }
+      return first;
+    }
+
+    private void siftDown(final int start) {
+      int position = start;
+      final TransactionInfo transactionInfo = heap[position];
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && priorityOrder.compare(heap[child + 1], heap[child]) < 0) {
+          child++;
+        }
+        if (priorityOrder.compare(heap[child], transactionInfo) >= 0) {
+          break;
+        }
+        heap[position] = heap[child];
+        position = child;
+      }
+      heap[position] = transactionInfo;
+    }
+  }
+}
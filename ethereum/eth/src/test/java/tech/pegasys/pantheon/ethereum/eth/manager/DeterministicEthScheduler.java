@@ -36,6 +36,7 @@ public class DeterministicEthScheduler extends EthScheduler {
         new MockScheduledExecutor(),
         new MockExecutorService(),
         new MockExecutorService(),
+        new MockExecutorService(),
         new MockExecutorService());
 
     this.timeoutPolicy = timeoutPolicy;
@@ -45,7 +46,8 @@ public class DeterministicEthScheduler extends EthScheduler {
             (MockExecutorService) this.scheduler,
             (MockExecutorService) this.txWorkerExecutor,
             (MockExecutorService) this.servicesExecutor,
-            (MockExecutorService) this.computationExecutor);
+            (MockExecutorService) this.computationExecutor,
+            (MockExecutorService) this.serverExecutor);
   }
 
   // Test utility for running pending futures
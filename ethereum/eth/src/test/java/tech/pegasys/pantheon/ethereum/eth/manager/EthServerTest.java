@@ -13,8 +13,11 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,7 +26,9 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Optional;
@@ -43,11 +48,17 @@ public class EthServerTest {
   private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
   private final EthPeer ethPeer = mock(EthPeer.class);
   private final EthMessages ethMessages = new EthMessages();
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
 
   @Before
   public void setUp() {
     new EthServer(
-        blockchain, worldStateArchive, ethMessages, new EthProtocolConfiguration(2, 2, 2, 2));
+        blockchain,
+        worldStateArchive,
+        ethMessages,
+        new EthProtocolConfiguration(2, 2, 2, 2),
+        scheduler,
+        new NoOpMetricsSystem());
   }
 
   @Test
@@ -89,4 +100,18 @@ public class EthServerTest {
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
   }
+
+  @Test
+  public void shouldSendEmptyResponseWhenRequestIsRejected() throws Exception {
+    scheduler.disableAutoRun();
+    final MessageData request = GetNodeDataMessage.create(singletonList(HASH1));
+    for (int i = 0; i < FairRequestExecutor.DEFAULT_MAX_QUEUED_REQUESTS_PER_PEER; i++) {
+      ethMessages.dispatch(new EthMessage(ethPeer, request));
+    }
+    verify(ethPeer, never()).send(any());
+
+    ethMessages.dispatch(new EthMessage(ethPeer, request));
+
+    verify(ethPeer).send(NodeDataMessage.create(emptyList()));
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FairRequestExecutorTest {
+
+  private static final int MAX_QUEUED_REQUESTS = 3;
+  private static final long RESPONSE_BYTES_PER_SECOND = 100;
+
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final List<String> served = new ArrayList<>();
+  private final EthPeer peerA = mock(EthPeer.class);
+  private final EthPeer peerB = mock(EthPeer.class);
+  private FairRequestExecutor executor;
+
+  @Before
+  public void setUp() {
+    scheduler.disableAutoRun();
+    executor =
+        new FairRequestExecutor(
+            scheduler,
+            Collections.singletonMap(EthPV62.GET_BLOCK_HEADERS, "get_block_headers"),
+            MAX_QUEUED_REQUESTS,
+            Duration.ofSeconds(1),
+            RESPONSE_BYTES_PER_SECOND,
+            nanoTime::get,
+            new NoOpMetricsSystem());
+  }
+
+  @Test
+  public void shouldServePeersInTurn() {
+    submit(peerA, "a1", 1);
+    submit(peerA, "a2", 1);
+    submit(peerA, "a3", 1);
+    submit(peerB, "b1", 1);
+
+    scheduler.runPendingFutures();
+
+    assertThat(served).containsExactly("a1", "b1", "a2", "a3");
+  }
+
+  @Test
+  public void shouldServeRequestsFromOnePeerOneAtATime() {
+    executor.submit(
+        peerA,
+        EthPV62.GET_BLOCK_HEADERS,
+        () -> {
+          served.add("a1");
+          // Run the other server tasks while a1 is being served, as another server thread would
+          scheduler.runPendingFutures();
+          served.add("a1 done");
+          return 1;
+        });
+    submit(peerA, "a2", 1);
+    submit(peerB, "b1", 1);
+
+    scheduler.runPendingFutures();
+    scheduler.runPendingFutures();
+
+    assertThat(served).containsExactly("a1", "b1", "a1 done", "a2");
+  }
+
+  @Test
+  public void shouldRejectRequestsWhenPeerHasTooManyQueued() {
+    for (int i = 0; i < MAX_QUEUED_REQUESTS; i++) {
+      assertThat(submit(peerA, "a" + i, 1)).isTrue();
+    }
+    assertThat(submit(peerA, "rejected", 1)).isFalse();
+    assertThat(submit(peerB, "b1", 1)).isTrue();
+
+    scheduler.runPendingFutures();
+
+    assertThat(served).containsExactly("a0", "b1", "a1", "a2");
+  }
+
+  @Test
+  public void shouldDeferPeerThatExceededItsBudget() {
+    submit(peerA, "a1", (int) RESPONSE_BYTES_PER_SECOND * 2);
+    scheduler.runPendingFutures();
+
+    submit(peerA, "a2", 1);
+    submit(peerB, "b1", 1);
+    scheduler.runPendingFutures();
+    assertThat(served).containsExactly("a1", "b1");
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    scheduler.runPendingFutures();
+    scheduler.runPendingFutures();
+    assertThat(served).containsExactly("a1", "b1", "a2");
+  }
+
+  @Test
+  public void shouldScheduleOneRetryWhileEveryPeerIsOverBudget() {
+    submit(peerA, "a1", (int) RESPONSE_BYTES_PER_SECOND * 2);
+    scheduler.runPendingFutures();
+
+    submit(peerA, "a2", 1);
+    submit(peerA, "a3", 1);
+    scheduler.runPendingFutures();
+    assertThat(served).containsExactly("a1");
+    assertThat(scheduler.mockScheduledExecutor().getPendingFuturesCount()).isEqualTo(1);
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    scheduler.runPendingFutures();
+    scheduler.runPendingFutures();
+    scheduler.runPendingFutures();
+    assertThat(served).containsExactly("a1", "a2", "a3");
+  }
+
+  @Test
+  public void shouldDropRequestsFromDisconnectedPeers() {
+    submit(peerA, "a1", 1);
+    submit(peerB, "b1", 1);
+    when(peerA.isDisconnected()).thenReturn(true);
+
+    scheduler.runPendingFutures();
+
+    assertThat(served).containsExactly("b1");
+  }
+
+  private boolean submit(final EthPeer peer, final String name, final int responseSize) {
+    final IntSupplier request =
+        () -> {
+          served.add(name);
+          return responseSize;
+        };
+    return executor.submit(peer, EthPV62.GET_BLOCK_HEADERS, request);
+  }
+}
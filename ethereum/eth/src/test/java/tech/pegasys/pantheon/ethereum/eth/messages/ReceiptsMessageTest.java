@@ -16,10 +16,15 @@ import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
@@ -54,4 +59,25 @@ public final class ReceiptsMessageTest {
     }
     Assertions.assertThat(readData.hasNext()).isFalse();
   }
+
+  @Test
+  public void createFromRlpDropsStoredRevertReasons() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+    receipts.add(Arrays.asList(gen.receipt(), gen.receipt(BytesValue.fromHexString("0x01"))));
+    receipts.add(Collections.emptyList());
+    receipts.add(Collections.singletonList(gen.receipt(BytesValue.fromHexString("0x0203"))));
+
+    final List<BytesValue> storedReceipts =
+        receipts.stream()
+            .map(
+                receiptSet ->
+                    RLP.encode(
+                        out ->
+                            out.writeList(receiptSet, TransactionReceipt::writeToWithRevertReason)))
+            .collect(Collectors.toList());
+
+    Assertions.assertThat(ReceiptsMessage.createFromRlp(storedReceipts).getData())
+        .isEqualTo(ReceiptsMessage.create(receipts).getData());
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
+import tech.pegasys.pantheon.metrics.StubMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExtractTxSignaturesStepTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final ExtractTxSignaturesStep step =
+      new ExtractTxSignaturesStep(scheduler, metricsSystem);
+
+  @Before
+  public void setUp() {
+    scheduler.disableAutoRun();
+  }
+
+  @Test
+  public void shouldRecoverSendersOnComputationThreads() {
+    final Block block =
+        gen.block(
+            BlockOptions.create()
+                .addTransaction(gen.transaction(), gen.transaction(), gen.transaction()));
+
+    final CompletableFuture<Block> result = step.apply(block);
+    assertThat(result).isNotDone();
+
+    scheduler.runPendingFutures();
+    assertThat(result).isCompletedWithValue(block);
+    assertThat(metricsSystem.getCounterValue("chain_download_senders_recovered_total"))
+        .isEqualTo(3);
+  }
+
+  @Test
+  public void shouldCompleteImmediatelyForBlocksWithoutTransactions() {
+    final Block block = gen.block(BlockOptions.create().addTransaction());
+
+    assertThat(step.apply(block)).isCompletedWithValue(block);
+    assertThat(scheduler.getPendingFuturesCount()).isZero();
+  }
+}
@@ -69,6 +69,9 @@ public class CompleteTaskStepTest {
     assertThat(streamCaptor.getValue())
         .usingRecursiveFieldByFieldElementComparator()
         .containsExactlyInAnyOrderElementsOf(() -> task.getData().getChildRequests().iterator());
+    assertThat(task.getData().getChildRequests())
+        .extracting(NodeDataRequest::getDepth)
+        .containsOnly(task.getData().getDepth() + 1);
 
     verify(downloadState).checkCompletion(worldStateStorage, blockHeader);
   }
@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.task.EthTask;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
 import tech.pegasys.pantheon.services.tasks.InMemoryTaskQueue;
@@ -57,7 +58,11 @@ public class WorldDownloadStateTest {
   private final TestClock clock = new TestClock();
   private final WorldDownloadState downloadState =
       new WorldDownloadState(
-          pendingRequests, MAX_REQUESTS_WITHOUT_PROGRESS, MIN_MILLIS_BEFORE_STALLING, clock);
+          pendingRequests,
+          NoOpMetricsSystem.NO_OP_LABELLED_1_COUNTER,
+          MAX_REQUESTS_WITHOUT_PROGRESS,
+          MIN_MILLIS_BEFORE_STALLING,
+          clock);
 
   private final CompletableFuture<Void> future = downloadState.getDownloadFuture();
 
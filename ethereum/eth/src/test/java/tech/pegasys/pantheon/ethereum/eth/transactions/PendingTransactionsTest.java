@@ -32,6 +32,10 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.Lists;
 import org.junit.Test;
@@ -260,6 +264,70 @@ public class PendingTransactionsTest {
     assertThat(transactions.size()).isZero();
   }
 
+  @Test
+  public void shouldAcceptTransactionsWhileSelectorIsRunning() throws Exception {
+    transactions.addRemoteTransaction(transaction1);
+    final Transaction transaction3 = transactionWithNonceAndSender(1, KEYS2);
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final List<Transaction> parsedTransactions = Lists.newArrayList();
+      transactions.selectTransactions(
+          transaction -> {
+            parsedTransactions.add(transaction);
+            try {
+              assertThat(
+                      executor
+                          .submit(() -> transactions.addRemoteTransaction(transaction3))
+                          .get(5, TimeUnit.SECONDS))
+                  .isTrue();
+            } catch (final Exception e) {
+              throw new AssertionError(e);
+            }
+            return TransactionSelectionResult.CONTINUE;
+          });
+
+      // Selection works from a snapshot so doesn't see the transaction added while it ran
+      assertThat(parsedTransactions).containsExactly(transaction1);
+      assertThat(transactions.containsTransaction(transaction3.hash())).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldNotSelectTransactionsRemovedWhileSelectorIsRunning() {
+    final Transaction transaction1 = transactionWithNonceAndSender(0, KEYS1);
+    final Transaction transaction2 = transactionWithNonceAndSender(0, KEYS2);
+    transactions.addRemoteTransaction(transaction1);
+    transactions.addRemoteTransaction(transaction2);
+
+    final List<Transaction> parsedTransactions = Lists.newArrayList();
+    transactions.selectTransactions(
+        transaction -> {
+          parsedTransactions.add(transaction);
+          transactions.transactionAddedToBlock(transaction1);
+          return TransactionSelectionResult.CONTINUE;
+        });
+
+    assertThat(parsedTransactions).containsExactly(transaction2);
+  }
+
+  @Test
+  public void shouldNotNotifyDroppedListenerForInvalidTransactionAlreadyRemoved() {
+    transactions.addRemoteTransaction(transaction1);
+    transactions.addTransactionDroppedListener(droppedListener);
+
+    transactions.selectTransactions(
+        transaction -> {
+          transactions.transactionAddedToBlock(transaction);
+          return TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE;
+        });
+
+    assertThat(transactions.size()).isZero();
+    verifyZeroInteractions(droppedListener);
+  }
+
   @Test
   public void shouldReturnEmptyOptionalAsMaximumNonceWhenNoTransactionsPresent() {
     assertThat(transactions.getNextNonceForSender(SENDER1)).isEmpty();
@@ -421,6 +489,45 @@ public class PendingTransactionsTest {
     assertThat(transactions.getTransactionByHash(t.hash())).isEmpty();
   }
 
+  @Test
+  public void shouldAddTransactionsFromDifferentSendersConcurrently() throws Exception {
+    final int senderCount = 8;
+    final int transactionsPerSender = 50;
+    final int maxTransactions = senderCount * transactionsPerSender / 2;
+    final PendingTransactions transactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            maxTransactions,
+            clock,
+            metricsSystem);
+    final ExecutorService executor = Executors.newFixedThreadPool(senderCount);
+    try {
+      final List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < senderCount; i++) {
+        final KeyPair keys = KeyPair.generate();
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int nonce = 0; nonce < transactionsPerSender; nonce++) {
+                    transactions.addRemoteTransaction(
+                        new TransactionTestFixture().nonce(nonce).createTransaction(keys));
+                  }
+                }));
+      }
+      for (final Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(transactions.size()).isEqualTo(maxTransactions);
+    assertThat(metricsSystem.getCounterValue(ADDED_COUNTER, REMOTE))
+        .isEqualTo(senderCount * transactionsPerSender);
+    assertThat(metricsSystem.getCounterValue(REMOVED_COUNTER, REMOTE, DROPPED))
+        .isEqualTo(senderCount * transactionsPerSender - maxTransactions);
+  }
+
   private Transaction createTransaction(final int transactionNumber) {
     return new TransactionTestFixture()
         .value(Wei.of(transactionNumber))
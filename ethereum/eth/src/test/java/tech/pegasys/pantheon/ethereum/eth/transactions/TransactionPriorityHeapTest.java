@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import static java.util.Comparator.comparing;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+public class TransactionPriorityHeapTest {
+
+  private static final Comparator<TransactionInfo> EVICTION_ORDER =
+      comparing(TransactionInfo::isReceivedFromLocalSource)
+          .thenComparing(TransactionInfo::getSequence);
+  private static final Transaction TRANSACTION =
+      new TransactionTestFixture().createTransaction(KeyPair.generate());
+
+  private final TransactionPriorityHeap heap = new TransactionPriorityHeap(EVICTION_ORDER);
+
+  @Test
+  public void shouldPollInEvictionOrder() {
+    final List<TransactionInfo> transactions = createTransactions(100);
+    final List<TransactionInfo> shuffled = new ArrayList<>(transactions);
+    Collections.shuffle(shuffled, new Random(1));
+    shuffled.forEach(heap::add);
+
+    transactions.sort(EVICTION_ORDER);
+    for (final TransactionInfo expected : transactions) {
+      assertThat(heap.pollIfLargerThan(0)).contains(expected);
+    }
+    assertThat(heap.pollIfLargerThan(0)).isEmpty();
+    assertThat(heap.size()).isZero();
+  }
+
+  @Test
+  public void shouldOnlyPollWhenLargerThanMaxSize() {
+    final List<TransactionInfo> transactions = createTransactions(3);
+    transactions.forEach(heap::add);
+
+    assertThat(heap.pollIfLargerThan(3)).isEmpty();
+    assertThat(heap.pollIfLargerThan(2)).contains(transactions.get(1));
+    assertThat(heap.pollIfLargerThan(2)).isEmpty();
+    assertThat(heap.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRemoveArbitraryTransactions() {
+    final List<TransactionInfo> transactions = createTransactions(100);
+    transactions.forEach(heap::add);
+
+    final Random random = new Random(2);
+    final List<TransactionInfo> remaining = new ArrayList<>(transactions);
+    for (int i = 0; i < 50; i++) {
+      final TransactionInfo toRemove = remaining.remove(random.nextInt(remaining.size()));
+      assertThat(heap.remove(toRemove)).isTrue();
+      assertThat(heap.remove(toRemove)).isFalse();
+    }
+
+    remaining.sort(EVICTION_ORDER);
+    assertThat(heap.size()).isEqualTo(remaining.size());
+    for (final TransactionInfo expected : remaining) {
+      assertThat(heap.pollIfLargerThan(0)).contains(expected);
+    }
+  }
+
+  @Test
+  public void shouldListTransactionsInPriorityOrder() {
+    final List<TransactionInfo> transactions = createTransactions(20);
+    transactions.forEach(heap::add);
+
+    transactions.sort(EVICTION_ORDER.reversed());
+    assertThat(ImmutableList.copyOf(heap.inPriorityOrder()))
+        .containsExactlyElementsOf(transactions);
+    assertThat(heap.size()).isEqualTo(transactions.size());
+  }
+
+  @Test
+  public void shouldIterateCopyOfHeapWhileItChanges() {
+    final List<TransactionInfo> transactions = createTransactions(20);
+    final List<TransactionInfo> shuffled = new ArrayList<>(transactions);
+    Collections.shuffle(shuffled, new Random(3));
+    shuffled.forEach(heap::add);
+
+    transactions.sort(EVICTION_ORDER.reversed());
+    final Iterator<TransactionInfo> inPriorityOrder = heap.inPriorityOrder();
+    assertThat(inPriorityOrder.next()).isSameAs(transactions.get(0));
+    transactions.forEach(heap::remove);
+    assertThat(heap.size()).isZero();
+
+    final List<TransactionInfo> remaining = new ArrayList<>();
+    inPriorityOrder.forEachRemaining(remaining::add);
+    assertThat(remaining).containsExactlyElementsOf(transactions.subList(1, transactions.size()));
+    assertThatThrownBy(inPriorityOrder::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateAdd() {
+    final TransactionInfo transactionInfo = createTransactions(1).get(0);
+    heap.add(transactionInfo);
+    heap.add(transactionInfo);
+
+    assertThat(heap.size()).isEqualTo(1);
+    assertThat(heap.pollIfLargerThan(0)).isEqualTo(Optional.of(transactionInfo));
+    assertThat(heap.pollIfLargerThan(0)).isEmpty();
+  }
+
+  private List<TransactionInfo> createTransactions(final int count) {
+    final List<TransactionInfo> transactions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      transactions.add(new TransactionInfo(TRANSACTION, i % 3 == 0, Instant.EPOCH));
+    }
+    return transactions;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares encoding a JSON-RPC response to a pretty-printed string with streaming compact JSON
+ * into a response buffer, for responses of increasing size shaped like {@code eth_getLogs}
+ * results. Run with the GC profiler to compare allocation as well as latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonRpcResponseEncodingBenchmark {
+
+  @Param({"1", "100", "10000"})
+  public int logCount;
+
+  private JsonRpcResponse response;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    final List<Map<String, Object>> logs = new ArrayList<>(logCount);
+    for (int i = 0; i < logCount; i++) {
+      final Map<String, Object> log = new LinkedHashMap<>();
+      log.put("logIndex", "0x" + Integer.toHexString(i));
+      log.put("removed", false);
+      log.put("blockNumber", "0x1b4");
+      log.put("blockHash", randomBytes32(random).toString());
+      log.put("transactionHash", randomBytes32(random).toString());
+      log.put("transactionIndex", "0x0");
+      log.put("address", randomBytes(random, 20).toString());
+      log.put("data", randomBytes(random, 128).toString());
+      log.put(
+          "topics",
+          Arrays.asList(randomBytes32(random).toString(), randomBytes32(random).toString()));
+      logs.add(log);
+    }
+    response = new JsonRpcSuccessResponse(1, logs);
+  }
+
+  @Benchmark
+  public Buffer prettyPrintedString() {
+    return Buffer.buffer(Json.encodePrettily(response));
+  }
+
+  @Benchmark
+  public Buffer compactBuffer() {
+    return JsonRpcHttpService.encode(response);
+  }
+
+  private static Bytes32 randomBytes32(final Random random) {
+    return Bytes32.wrap(randomBytes(random, Bytes32.SIZE));
+  }
+
+  private static BytesValue randomBytes(final Random random, final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return BytesValue.wrap(bytes);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Writes an HTTP response body from a worker thread. Bodies that fit in a single chunk are sent
+ * with a content length as usual, while larger bodies switch the response to chunked encoding and
+ * are sent as they are written, blocking the writer whenever the connection can't keep up so that
+ * only about one chunk is ever held in memory.
+ *
+ * <p>Nothing is sent until the first chunk fills up, so the status and headers of the response can
+ * still be changed until {@link #isCommitted()} returns true. Closing the stream doesn't end the
+ * response; call {@link #end()} once the whole body has been written.
+ */
+class ChunkedResponseOutputStream extends OutputStream {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final HttpServerResponse response;
+  private ByteBuf chunk = Unpooled.buffer();
+  private boolean committed = false;
+
+  ChunkedResponseOutputStream(final HttpServerResponse response) {
+    this.response = response;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    chunk.writeByte(b);
+    sendIfFull();
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    chunk.writeBytes(b, off, len);
+    sendIfFull();
+  }
+
+  boolean isCommitted() {
+    return committed;
+  }
+
+  void end() throws IOException {
+    if (!committed) {
+      response.end(Buffer.buffer(chunk));
+      return;
+    }
+    if (chunk.readableBytes() > 0) {
+      sendChunk();
+    }
+    response.end();
+  }
+
+  private void sendIfFull() throws IOException {
+    if (chunk.readableBytes() >= CHUNK_SIZE) {
+      sendChunk();
+    }
+  }
+
+  private void sendChunk() throws IOException {
+    if (!committed) {
+      response.setChunked(true);
+      committed = true;
+    }
+    awaitWritable();
+    response.write(Buffer.buffer(chunk));
+    chunk = Unpooled.buffer();
+  }
+
+  private void awaitWritable() throws IOException {
+    if (!response.writeQueueFull()) {
+      return;
+    }
+    final CompletableFuture<Void> writable = new CompletableFuture<>();
+    response.drainHandler(v -> writable.complete(null));
+    response.closeHandler(
+        v -> writable.completeExceptionally(new IOException("Connection closed")));
+    // The queue may have drained, or the connection closed, before the handlers were registered
+    if (response.closed()) {
+      throw new IOException("Connection closed");
+    }
+    if (!response.writeQueueFull()) {
+      return;
+    }
+    try {
+      writable.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to write response");
+    } catch (final ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+}
@@ -29,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResp
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcNoResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcUnauthorizedResponse;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -38,6 +39,8 @@ import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.nat.upnp.UpnpNatManager;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.nio.file.Path;
@@ -47,22 +50,27 @@ import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerResponse;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -78,7 +86,6 @@ public class JsonRpcHttpService {
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
   private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
-  private static final String EMPTY_RESPONSE = "";
 
   private final Vertx vertx;
   private final JsonRpcConfiguration config;
@@ -333,61 +340,108 @@ public class JsonRpcHttpService {
       handleJsonRpcUnauthorizedError(routingContext, null, JsonRpcError.UNAUTHORIZED);
     } else {
       // Parse json
+      final JsonNode json;
       try {
-        final String json = routingContext.getBodyAsString().trim();
-        if (!json.isEmpty() && json.charAt(0) == '{') {
-          AuthenticationUtils.getUser(
-              authenticationService,
-              token,
-              user -> {
-                handleJsonSingleRequest(routingContext, new JsonObject(json), user);
-              });
-        } else {
-          final JsonArray array = new JsonArray(json);
-          if (array.size() < 1) {
-            handleJsonRpcError(routingContext, null, JsonRpcError.INVALID_REQUEST);
-            return;
-          }
-          AuthenticationUtils.getUser(
-              authenticationService,
-              token,
-              user -> {
-                handleJsonBatchRequest(routingContext, array, user);
-              });
+        json = parse(routingContext.getBody());
+      } catch (final IOException ex) {
+        handleJsonRpcError(routingContext, null, JsonRpcError.PARSE_ERROR);
+        return;
+      }
+      if (json != null && json.isObject()) {
+        AuthenticationUtils.getUser(
+            authenticationService,
+            token,
+            user -> {
+              handleJsonSingleRequest(routingContext, json, user);
+            });
+      } else if (json != null && json.isArray()) {
+        if (json.size() < 1) {
+          handleJsonRpcError(routingContext, null, JsonRpcError.INVALID_REQUEST);
+          return;
         }
-      } catch (final DecodeException ex) {
+        AuthenticationUtils.getUser(
+            authenticationService,
+            token,
+            user -> {
+              handleJsonBatchRequest(routingContext, json, user);
+            });
+      } else {
         handleJsonRpcError(routingContext, null, JsonRpcError.PARSE_ERROR);
       }
     }
   }
 
+  /**
+   * Reads the request body straight from the underlying bytes into a tree, which requests are then
+   * bound from without being re-encoded.
+   */
+  private static JsonNode parse(final Buffer body) throws IOException {
+    try (final ByteBufInputStream in = new ByteBufInputStream(body.getByteBuf())) {
+      return Json.mapper.readTree(in);
+    }
+  }
+
+  /**
+   * Writes compact JSON directly into the buffer that is handed to the response, rather than
+   * building an intermediate string.
+   */
+  @VisibleForTesting
+  static Buffer encode(final Object value) {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try (final OutputStream out = new ByteBufOutputStream(byteBuf)) {
+      Json.mapper.writeValue(out, value);
+    } catch (final IOException e) {
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+    return Buffer.buffer(byteBuf);
+  }
+
   // Facilitate remote health-checks in AWS, inter alia.
   private void handleEmptyRequest(final RoutingContext routingContext) {
     routingContext.response().setStatusCode(201).end();
   }
 
   private void handleJsonSingleRequest(
-      final RoutingContext routingContext, final JsonObject request, final Optional<User> user) {
+      final RoutingContext routingContext, final JsonNode request, final Optional<User> user) {
     final HttpServerResponse response = routingContext.response();
+    final ChunkedResponseOutputStream out = new ChunkedResponseOutputStream(response);
+    // Serialise on the worker too, as some results (e.g. debug traces) do their work when written
     vertx.executeBlocking(
         future -> {
           final JsonRpcResponse jsonRpcResponse = process(request, user);
-          future.complete(jsonRpcResponse);
+          response.setStatusCode(status(jsonRpcResponse).code());
+          response.putHeader("Content-Type", APPLICATION_JSON);
+          try {
+            serialise(jsonRpcResponse, out);
+            out.end();
+          } catch (final IOException | RuntimeException e) {
+            LOG.error("Error writing JSON-RPC response", e);
+            if (out.isCommitted()) {
+              // Part of the body has already been sent so the status can no longer be changed
+              response.close();
+            } else {
+              handleJsonRpcError(
+                  routingContext, responseId(jsonRpcResponse), JsonRpcError.INTERNAL_ERROR);
+            }
+          }
+          future.complete();
         },
         false,
         (res) -> {
           if (res.failed()) {
+            LOG.error("Error processing JSON-RPC request", res.cause());
             response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
-            return;
           }
-
-          final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
-          response.setStatusCode(status(jsonRpcResponse).code());
-          response.putHeader("Content-Type", APPLICATION_JSON);
-          response.end(serialise(jsonRpcResponse));
         });
   }
 
+  // Only success responses are written lazily, so only they can fail part way through
+  private static Object responseId(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse
+        ? ((JsonRpcSuccessResponse) response).getId()
+        : null;
+  }
+
   private HttpResponseStatus status(final JsonRpcResponse response) {
 
     switch (response.getType()) {
@@ -402,29 +456,26 @@ public class JsonRpcHttpService {
     }
   }
 
-  private String serialise(final JsonRpcResponse response) {
-
-    if (response.getType() == JsonRpcResponseType.NONE) {
-      return EMPTY_RESPONSE;
+  private void serialise(final JsonRpcResponse response, final OutputStream out)
+      throws IOException {
+    if (response.getType() != JsonRpcResponseType.NONE) {
+      Json.mapper.writeValue(out, response);
     }
-
-    return Json.encodePrettily(response);
   }
 
   @SuppressWarnings("rawtypes")
   private void handleJsonBatchRequest(
-      final RoutingContext routingContext, final JsonArray jsonArray, final Optional<User> user) {
+      final RoutingContext routingContext, final JsonNode jsonArray, final Optional<User> user) {
     // Interpret json as rpc request
     final List<Future> responses =
-        jsonArray.stream()
+        stream(jsonArray)
             .map(
-                obj -> {
-                  if (!(obj instanceof JsonObject)) {
+                req -> {
+                  if (!req.isObject()) {
                     return Future.succeededFuture(
                         errorResponse(null, JsonRpcError.INVALID_REQUEST));
                   }
 
-                  final JsonObject req = (JsonObject) obj;
                   final Future<JsonRpcResponse> fut = Future.future();
                   vertx.executeBlocking(
                       future -> future.complete(process(req, user)),
@@ -450,27 +501,69 @@ public class JsonRpcHttpService {
                     .end();
                 return;
               }
-              final JsonRpcResponse[] completed =
-                  res.result().list().stream()
-                      .map(JsonRpcResponse.class::cast)
-                      .filter(this::isNonEmptyResponses)
-                      .toArray(JsonRpcResponse[]::new);
-
-              routingContext.response().end(Json.encode(completed));
+              writeBatchResponse(routingContext, res.result().list());
             });
   }
 
+  /**
+   * Writes the responses to a batch one after another on a worker, streaming them through the same
+   * writer as single responses, as some results (e.g. debug traces) do their work when written.
+   * Empty responses are left out of the batch.
+   */
+  private void writeBatchResponse(
+      final RoutingContext routingContext, final List<JsonRpcResponse> jsonRpcResponses) {
+    final HttpServerResponse response = routingContext.response();
+    final ChunkedResponseOutputStream out = new ChunkedResponseOutputStream(response);
+    vertx.executeBlocking(
+        future -> {
+          try {
+            out.write('[');
+            boolean first = true;
+            for (final JsonRpcResponse jsonRpcResponse : jsonRpcResponses) {
+              if (!isNonEmptyResponses(jsonRpcResponse)) {
+                continue;
+              }
+              if (!first) {
+                out.write(',');
+              }
+              first = false;
+              serialise(jsonRpcResponse, out);
+            }
+            out.write(']');
+            out.end();
+          } catch (final IOException | RuntimeException e) {
+            LOG.error("Error writing JSON-RPC batch response", e);
+            if (out.isCommitted()) {
+              // Part of the body has already been sent so the status can no longer be changed
+              response.close();
+            } else {
+              handleJsonRpcError(routingContext, null, JsonRpcError.INTERNAL_ERROR);
+            }
+          }
+          future.complete();
+        },
+        false,
+        (res) -> {
+          if (res.failed()) {
+            LOG.error("Error processing JSON-RPC batch request", res.cause());
+            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+          }
+        });
+  }
+
   private boolean isNonEmptyResponses(final JsonRpcResponse result) {
     return result.getType() != JsonRpcResponseType.NONE;
   }
 
-  private JsonRpcResponse process(final JsonObject requestJson, final Optional<User> user) {
+  private JsonRpcResponse process(final JsonNode requestJson, final Optional<User> user) {
     final JsonRpcRequest request;
     Object id = null;
     try {
-      id = new JsonRpcRequestId(requestJson.getValue("id")).getValue();
-      request = requestJson.mapTo(JsonRpcRequest.class);
-    } catch (final IllegalArgumentException exception) {
+      final JsonNode idJson = requestJson.get("id");
+      final Object rawId = idJson == null ? null : Json.mapper.treeToValue(idJson, Object.class);
+      id = new JsonRpcRequestId(rawId).getValue();
+      request = Json.mapper.treeToValue(requestJson, JsonRpcRequest.class);
+    } catch (final IllegalArgumentException | JsonProcessingException exception) {
       return errorResponse(id, JsonRpcError.INVALID_REQUEST);
     }
     // Handle notifications
@@ -512,7 +605,7 @@ public class JsonRpcHttpService {
     routingContext
         .response()
         .setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
-        .end(Json.encode(new JsonRpcErrorResponse(id, error)));
+        .end(encode(new JsonRpcErrorResponse(id, error)));
   }
 
   private void handleJsonRpcUnauthorizedError(
@@ -520,7 +613,7 @@ public class JsonRpcHttpService {
     routingContext
         .response()
         .setStatusCode(HttpResponseStatus.UNAUTHORIZED.code())
-        .end(Json.encode(new JsonRpcErrorResponse(id, error)));
+        .end(encode(new JsonRpcErrorResponse(id, error)));
   }
 
   private JsonRpcResponse errorResponse(final Object id, final JsonRpcError error) {
@@ -15,21 +15,68 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TopicsParameter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 public class LogsQuery {
 
   private final List<Address> queryAddresses;
   private final List<List<LogTopic>> queryTopics;
+  private final List<List<int[]>> bloomCriteria;
 
   private LogsQuery(final List<Address> addresses, final List<List<LogTopic>> topics) {
     this.queryAddresses = addresses;
     this.queryTopics = topics;
+    this.bloomCriteria = bloomCriteria(addresses, topics);
+  }
+
+  private static List<List<int[]>> bloomCriteria(
+      final List<Address> addresses, final List<List<LogTopic>> topics) {
+    final ImmutableList.Builder<List<int[]>> criteria = ImmutableList.builder();
+    if (!addresses.isEmpty()) {
+      criteria.add(
+          addresses.stream().map(LogsBloomFilter::bitIndexes).collect(Collectors.toList()));
+    }
+    for (final List<LogTopic> alternatives : topics) {
+      // A wildcard matches any log, so a position containing one can't exclude a block.
+      if (alternatives.stream().noneMatch(topic -> topic == null)) {
+        criteria.add(
+            alternatives.stream().map(LogsBloomFilter::bitIndexes).collect(Collectors.toList()));
+      }
+    }
+    return criteria.build();
+  }
+
+  /**
+   * The logs bloom bits a block must have set to possibly contain a matching log. For every
+   * criterion, all the bits of at least one of its alternatives must be set.
+   *
+   * @return the bloom bit indexes, grouped by criterion and then by alternative.
+   */
+  public List<List<int[]>> getBloomCriteria() {
+    return bloomCriteria;
+  }
+
+  /**
+   * Checks a block's logs bloom against this query.
+   *
+   * @param bloom The logs bloom from a block header.
+   * @return false if the block definitely contains no matching logs, otherwise true.
+   */
+  public boolean couldMatch(final LogsBloomFilter bloom) {
+    for (final List<int[]> criterion : bloomCriteria) {
+      if (criterion.stream().noneMatch(bloom::couldContain)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public boolean matches(final Log log) {
@@ -19,21 +19,17 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.RpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceBlockResult;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collection;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -78,13 +74,10 @@ public class DebugTraceBlock implements JsonRpcMethod {
             .orElse(TraceOptions.DEFAULT);
 
     if (this.blockchain.blockByHash(block.getHeader().getParentHash()).isPresent()) {
-      final Collection<DebugTraceTransactionResult> results =
-          blockTracer
-              .trace(block, new DebugOperationTracer(traceOptions))
-              .map(BlockTrace::getTransactionTraces)
-              .map(DebugTraceTransactionResult::of)
-              .orElse(null);
-      return new JsonRpcSuccessResponse(request.getId(), results);
+      return new JsonRpcSuccessResponse(
+          request.getId(),
+          new StreamingDebugTraceBlockResult(
+              listener -> blockTracer.trace(block, traceOptions, listener)));
     } else {
       return new JsonRpcErrorResponse(request.getId(), JsonRpcError.PARENT_BLOCK_NOT_FOUND);
     }
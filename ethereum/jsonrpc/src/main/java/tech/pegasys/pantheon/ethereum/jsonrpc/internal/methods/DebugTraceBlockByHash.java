@@ -18,14 +18,10 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.RpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
-
-import java.util.Collection;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceBlockResult;
 
 public class DebugTraceBlockByHash implements JsonRpcMethod {
 
@@ -51,12 +47,9 @@ public class DebugTraceBlockByHash implements JsonRpcMethod {
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
-    final Collection<DebugTraceTransactionResult> results =
-        blockTracer
-            .trace(blockHash, new DebugOperationTracer(traceOptions))
-            .map(BlockTrace::getTransactionTraces)
-            .map(DebugTraceTransactionResult::of)
-            .orElse(null);
-    return new JsonRpcSuccessResponse(request.getId(), results);
+    return new JsonRpcSuccessResponse(
+        request.getId(),
+        new StreamingDebugTraceBlockResult(
+            listener -> blockTracer.trace(blockHash, traceOptions, listener)));
   }
 }
@@ -19,11 +19,9 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceBlockResult;
 
 import java.util.Optional;
 
@@ -63,12 +61,10 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
             .orElse(TraceOptions.DEFAULT);
 
     return blockHash
-        .flatMap(
+        .map(
             hash ->
-                blockTracer
-                    .trace(hash, new DebugOperationTracer(traceOptions))
-                    .map(BlockTrace::getTransactionTraces)
-                    .map(DebugTraceTransactionResult::of))
+                new StreamingDebugTraceBlockResult(
+                    listener -> blockTracer.trace(hash, traceOptions, listener)))
         .orElse(null);
   }
 }
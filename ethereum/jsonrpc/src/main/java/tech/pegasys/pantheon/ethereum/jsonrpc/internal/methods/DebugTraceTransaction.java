@@ -23,8 +23,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceTransactionResult;
 
 import java.util.Optional;
 
@@ -59,26 +58,14 @@ public class DebugTraceTransaction implements JsonRpcMethod {
               .optional(request.getParams(), 1, TransactionTraceParams.class)
               .map(TransactionTraceParams::traceOptions)
               .orElse(TraceOptions.DEFAULT);
-      final DebugTraceTransactionResult debugTraceTransactionResult =
-          debugTraceTransactionResult(hash, transactionWithMetadata.get(), traceOptions);
-
-      return new JsonRpcSuccessResponse(request.getId(), debugTraceTransactionResult);
+      final Hash blockHash = transactionWithMetadata.get().getBlockHash();
+      return new JsonRpcSuccessResponse(
+          request.getId(),
+          new StreamingDebugTraceTransactionResult(
+              listener ->
+                  transactionTracer.traceTransaction(blockHash, hash, traceOptions, listener)));
     } else {
       return new JsonRpcSuccessResponse(request.getId(), null);
     }
   }
-
-  private DebugTraceTransactionResult debugTraceTransactionResult(
-      final Hash hash,
-      final TransactionWithMetadata transactionWithMetadata,
-      final TraceOptions traceOptions) {
-    final Hash blockHash = transactionWithMetadata.getBlockHash();
-
-    final DebugOperationTracer execTracer = new DebugOperationTracer(traceOptions);
-
-    return transactionTracer
-        .traceTransaction(blockHash, hash, execTracer)
-        .map(DebugTraceTransactionResult::new)
-        .orElse(null);
-  }
 }
@@ -14,11 +14,13 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockReplay.TransactionAction;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
+import java.util.Collections;
 import java.util.Optional;
 
 /** Used to produce debug traces of blocks */
@@ -30,17 +32,26 @@ public class BlockTracer {
     this.blockReplay = blockReplay;
   }
 
-  public Optional<BlockTrace> trace(final Hash blockHash, final DebugOperationTracer tracer) {
-    return Optional.of(blockReplay.block(blockHash, prepareReplayAction(tracer)));
+  /**
+   * Replays each transaction in the block with its own tracer, passing the frames to {@code
+   * listener} as they are produced. The transaction traces in the returned block trace contain no
+   * frames.
+   */
+  public Optional<BlockTrace> trace(
+      final Hash blockHash, final TraceOptions options, final TransactionTraceListener listener) {
+    return Optional.ofNullable(
+        blockReplay.block(blockHash, prepareReplayAction(options, listener)));
   }
 
-  public Optional<BlockTrace> trace(final Block block, final DebugOperationTracer tracer) {
-    return Optional.of(blockReplay.block(block, prepareReplayAction(tracer)));
+  public Optional<BlockTrace> trace(
+      final Block block, final TraceOptions options, final TransactionTraceListener listener) {
+    return Optional.ofNullable(blockReplay.block(block, prepareReplayAction(options, listener)));
   }
 
   private TransactionAction<TransactionTrace> prepareReplayAction(
-      final DebugOperationTracer tracer) {
+      final TraceOptions options, final TransactionTraceListener listener) {
     return (transaction, header, blockchain, mutableWorldState, transactionProcessor) -> {
+      listener.onTransactionStarted(transaction);
       final TransactionProcessor.Result result =
           transactionProcessor.processTransaction(
               blockchain,
@@ -48,10 +59,13 @@ public class BlockTracer {
               header,
               transaction,
               header.getCoinbase(),
-              tracer,
+              new DebugOperationTracer(options, listener::onTraceFrame),
               new BlockHashLookup(header, blockchain),
               false);
-      return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+      final TransactionTrace transactionTrace =
+          new TransactionTrace(transaction, result, Collections.emptyList());
+      listener.onTransactionCompleted(transactionTrace);
+      return transactionTrace;
     };
   }
 }
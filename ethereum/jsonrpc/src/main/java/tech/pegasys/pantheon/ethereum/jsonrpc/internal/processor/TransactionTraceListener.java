@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+
+/**
+ * Receives a transaction trace piece by piece as the transaction is replayed, rather than as a
+ * single {@link TransactionTrace} holding every frame.
+ */
+public interface TransactionTraceListener {
+
+  void onTransactionStarted(Transaction transaction);
+
+  void onTraceFrame(TraceFrame traceFrame);
+
+  /**
+   * Called once the transaction has been replayed.
+   *
+   * @param transactionTrace the result of the transaction, without any trace frames
+   */
+  void onTransactionCompleted(TransactionTrace transactionTrace);
+}
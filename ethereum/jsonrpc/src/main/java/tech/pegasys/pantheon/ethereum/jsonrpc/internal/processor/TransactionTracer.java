@@ -13,10 +13,12 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
+import java.util.Collections;
 import java.util.Optional;
 
 /** Used to produce debug traces of transactions */
@@ -47,4 +49,35 @@ public class TransactionTracer {
           return new TransactionTrace(transaction, result, tracer.getTraceFrames());
         });
   }
+
+  /**
+   * Traces a transaction, passing each frame to {@code listener} as it executes instead of
+   * collecting them in the returned trace.
+   */
+  public Optional<TransactionTrace> traceTransaction(
+      final Hash blockHash,
+      final Hash transactionHash,
+      final TraceOptions options,
+      final TransactionTraceListener listener) {
+    return blockReplay.beforeTransactionInBlock(
+        blockHash,
+        transactionHash,
+        (transaction, header, blockchain, mutableWorldState, transactionProcessor) -> {
+          listener.onTransactionStarted(transaction);
+          final Result result =
+              transactionProcessor.processTransaction(
+                  blockchain,
+                  mutableWorldState.updater(),
+                  header,
+                  transaction,
+                  header.getCoinbase(),
+                  new DebugOperationTracer(options, listener::onTraceFrame),
+                  new BlockHashLookup(header, blockchain),
+                  false);
+          final TransactionTrace transactionTrace =
+              new TransactionTrace(transaction, result, Collections.emptyList());
+          listener.onTransactionCompleted(transactionTrace);
+          return transactionTrace;
+        });
+  }
 }
@@ -33,6 +33,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -44,10 +45,19 @@ public class BlockchainQueries {
 
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
+  private final Optional<BloomBitsIndex> bloomBitsIndex;
 
   public BlockchainQueries(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
+    this(blockchain, worldStateArchive, Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<BloomBitsIndex> bloomBitsIndex) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
+    this.bloomBitsIndex = bloomBitsIndex;
   }
 
   public Blockchain getBlockchain() {
@@ -485,26 +495,51 @@ public class BlockchainQueries {
     if (fromBlockNumber > toBlockNumber || toBlockNumber > headBlockNumber()) {
       return Lists.newArrayList();
     }
-    List<LogWithMetadata> matchingLogs = Lists.newArrayList();
-    for (long blockNumber = fromBlockNumber; blockNumber <= toBlockNumber; blockNumber++) {
-      final Hash blockhash = blockchain.getBlockHashByNumber(blockNumber).get();
-      final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
-      final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-      final List<Transaction> transaction =
-          blockchain.getBlockBody(blockhash).get().getTransactions();
-      matchingLogs =
-          generateLogWithMetadata(
-              receipts,
-              blockNumber,
-              query,
-              blockhash,
-              matchingLogs,
-              transaction,
-              logHasBeenRemoved);
+    final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
+    final List<List<int[]>> bloomCriteria = query.getBloomCriteria();
+    long blockNumber = fromBlockNumber;
+    while (blockNumber <= toBlockNumber) {
+      final long section = blockNumber / BloomBitsIndex.SECTION_SIZE;
+      final long sectionStart = section * BloomBitsIndex.SECTION_SIZE;
+      final long rangeEnd = Math.min(toBlockNumber, sectionStart + BloomBitsIndex.SECTION_SIZE - 1);
+      final Optional<BitSet> candidates =
+          bloomCriteria.isEmpty()
+              ? Optional.empty()
+              : bloomBitsIndex.flatMap(index -> index.findCandidates(section, bloomCriteria));
+      if (candidates.isPresent()) {
+        final BitSet blocks = candidates.get();
+        for (int offset = blocks.nextSetBit((int) (blockNumber - sectionStart));
+            offset >= 0 && sectionStart + offset <= rangeEnd;
+            offset = blocks.nextSetBit(offset + 1)) {
+          final Hash blockhash = blockchain.getBlockHashByNumber(sectionStart + offset).get();
+          addMatchingLogs(sectionStart + offset, blockhash, query, matchingLogs);
+        }
+      } else {
+        for (long number = blockNumber; number <= rangeEnd; number++) {
+          final BlockHeader header = blockchain.getBlockHeader(number).get();
+          if (query.couldMatch(header.getLogsBloom())) {
+            addMatchingLogs(number, header.getHash(), query, matchingLogs);
+          }
+        }
+      }
+      blockNumber = rangeEnd + 1;
     }
     return matchingLogs;
   }
 
+  private void addMatchingLogs(
+      final long blockNumber,
+      final Hash blockhash,
+      final LogsQuery query,
+      final List<LogWithMetadata> matchingLogs) {
+    final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
+    final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
+    final List<Transaction> transaction =
+        blockchain.getBlockBody(blockhash).get().getTransactions();
+    generateLogWithMetadata(
+        receipts, blockNumber, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
+  }
+
   public List<LogWithMetadata> matchingLogs(final Hash blockhash, final LogsQuery query) {
     final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
     Optional<BlockHeader> blockHeader = blockchain.getBlockHeader(blockhash);
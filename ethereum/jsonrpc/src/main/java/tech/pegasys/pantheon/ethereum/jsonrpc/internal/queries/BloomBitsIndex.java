@@ -0,0 +1,303 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Transposes the logs blooms of the canonical chain into per-bit vectors so that log queries over
+ * long block ranges only read the few bloom bits they are interested in.
+ *
+ * <p>The chain is split into sections of {@link #SECTION_SIZE} blocks. Each section is stored in
+ * its own file holding the hash of the section's last block followed by one vector per bloom bit,
+ * where bit {@code i} of vector {@code b} is set if block {@code i} of the section has bloom bit
+ * {@code b} set. Sections are only indexed once they are {@code confirmations} blocks behind the
+ * chain head, and are rebuilt if a chain reorg replaces their last block.
+ */
+public class BloomBitsIndex {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int SECTION_SIZE = 4096;
+  public static final long DEFAULT_CONFIRMATIONS = 256;
+  private static final int BLOOM_BITS = LogsBloomFilter.BYTE_SIZE * 8;
+  private static final int VECTOR_SIZE = SECTION_SIZE / 8;
+  private static final int HEADER_SIZE = Bytes32.SIZE;
+
+  private final Blockchain blockchain;
+  private final Path directory;
+  private final ExecutorService executorService;
+  private final long confirmations;
+  private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+  private final AtomicBoolean reorgSeen = new AtomicBoolean(false);
+  private volatile long indexedSections = 0;
+  private long blockAddedObserverId;
+
+  public BloomBitsIndex(
+      final Blockchain blockchain,
+      final Path directory,
+      final ExecutorService executorService,
+      final long confirmations) {
+    this.blockchain = blockchain;
+    this.directory = directory;
+    this.executorService = executorService;
+    this.confirmations = confirmations;
+  }
+
+  public void start() {
+    LOG.info("Starting bloom bits index in {}", directory);
+    try {
+      Files.createDirectories(directory);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    blockAddedObserverId = blockchain.observeBlockAdded((event, chain) -> handleNewBlock(event));
+    scheduleUpdate();
+  }
+
+  public void stop() {
+    LOG.info("Stopping bloom bits index");
+    blockchain.removeObserver(blockAddedObserverId);
+    executorService.shutdownNow();
+    try {
+      executorService.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the number of the first block which isn't covered by the index.
+   *
+   * @return the block number up to which (exclusive) the index can be queried.
+   */
+  public long getIndexedBlockCount() {
+    return indexedSections * SECTION_SIZE;
+  }
+
+  /**
+   * Finds the blocks of a section whose logs bloom has the bits required by {@code criteria} set.
+   *
+   * @param section The section to search.
+   * @param criteria The bloom bits to search for, as given by {@link
+   *     tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsQuery#getBloomCriteria()}.
+   * @return the offsets within the section of the candidate blocks, or empty if the section can't
+   *     be searched using the index.
+   */
+  public Optional<BitSet> findCandidates(final long section, final List<List<int[]>> criteria) {
+    if (section >= indexedSections) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(sectionFile(section))) {
+      if (!isCanonical(channel, section)) {
+        return Optional.empty();
+      }
+      BitSet candidates = null;
+      for (final List<int[]> criterion : criteria) {
+        final BitSet matches = new BitSet(SECTION_SIZE);
+        for (final int[] bitIndexes : criterion) {
+          final BitSet alternative = readVector(channel, bitIndexes[0]);
+          for (int i = 1; i < bitIndexes.length; i++) {
+            alternative.and(readVector(channel, bitIndexes[i]));
+          }
+          matches.or(alternative);
+        }
+        if (candidates == null) {
+          candidates = matches;
+        } else {
+          candidates.and(matches);
+        }
+        if (candidates.isEmpty()) {
+          break;
+        }
+      }
+      if (candidates == null) {
+        candidates = new BitSet(SECTION_SIZE);
+        candidates.set(0, SECTION_SIZE);
+      }
+      return Optional.of(candidates);
+    } catch (final IOException e) {
+      // The section may have been invalidated by a reorg since we checked.
+      LOG.debug("Unable to read bloom bits for section {}", section, e);
+      return Optional.empty();
+    }
+  }
+
+  private BitSet readVector(final FileChannel channel, final int bitIndex) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(VECTOR_SIZE);
+    readFully(channel, buffer, HEADER_SIZE + (long) bitIndex * VECTOR_SIZE);
+    buffer.flip();
+    return BitSet.valueOf(buffer);
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (event.getEventType() == EventType.CHAIN_REORG) {
+      reorgSeen.set(true);
+    }
+    if (event.isNewCanonicalHead()) {
+      scheduleUpdate();
+    }
+  }
+
+  private void scheduleUpdate() {
+    if (updateScheduled.compareAndSet(false, true)) {
+      executorService.execute(this::update);
+    }
+  }
+
+  @VisibleForTesting
+  void update() {
+    updateScheduled.set(false);
+    try {
+      if (reorgSeen.getAndSet(false)) {
+        while (indexedSections > 0 && !isValid(indexedSections - 1)) {
+          LOG.debug("Bloom bits section {} was reorged out, rebuilding", indexedSections - 1);
+          indexedSections--;
+        }
+      }
+      while (!Thread.currentThread().isInterrupted() && isComplete(indexedSections)) {
+        if (!isValid(indexedSections) && !buildSection(indexedSections)) {
+          break;
+        }
+        indexedSections++;
+      }
+    } catch (final IOException | UncheckedIOException e) {
+      LOG.error("Failed to update bloom bits index", e);
+    }
+  }
+
+  private boolean isComplete(final long section) {
+    final long lastBlock = (section + 1) * SECTION_SIZE - 1;
+    return lastBlock + confirmations <= blockchain.getChainHeadBlockNumber();
+  }
+
+  private boolean isValid(final long section) throws IOException {
+    final Path file = sectionFile(section);
+    if (!Files.exists(file)) {
+      return false;
+    }
+    try (final FileChannel channel = FileChannel.open(file)) {
+      return isCanonical(channel, section);
+    }
+  }
+
+  private boolean isCanonical(final FileChannel channel, final long section) throws IOException {
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(channel, header, 0);
+    final Hash lastBlockHash = Hash.wrap(Bytes32.wrap(header.array()));
+    return blockchain
+        .getBlockHashByNumber((section + 1) * SECTION_SIZE - 1)
+        .map(lastBlockHash::equals)
+        .orElse(false);
+  }
+
+  private boolean buildSection(final long section) throws IOException {
+    final byte[][] vectors = new byte[BLOOM_BITS][VECTOR_SIZE];
+    final long firstBlock = section * SECTION_SIZE;
+    Hash lastBlockHash = null;
+    for (int offset = 0; offset < SECTION_SIZE; offset++) {
+      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(firstBlock + offset);
+      if (!maybeHeader.isPresent()) {
+        // Retried when the next block is added
+        LOG.debug(
+            "Block {} is not available, stopped indexing bloom bits section {}",
+            firstBlock + offset,
+            section);
+        return false;
+      }
+      final BlockHeader header = maybeHeader.get();
+      final BytesValue bloom = header.getLogsBloom().getBytes();
+      for (int byteIndex = 0; byteIndex < LogsBloomFilter.BYTE_SIZE; byteIndex++) {
+        final int bloomByte = bloom.get(byteIndex) & 0xFF;
+        if (bloomByte == 0) {
+          continue;
+        }
+        final int bitBase = (LogsBloomFilter.BYTE_SIZE - 1 - byteIndex) * 8;
+        for (int bit = 0; bit < 8; bit++) {
+          if ((bloomByte & (1 << bit)) != 0) {
+            vectors[bitBase + bit][offset / 8] |= (byte) (1 << (offset % 8));
+          }
+        }
+      }
+      lastBlockHash = header.getHash();
+    }
+
+    final Path file = sectionFile(section);
+    final Path tempFile = directory.resolve(file.getFileName() + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(
+            tempFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(channel, ByteBuffer.wrap(lastBlockHash.extractArray()));
+      for (final byte[] vector : vectors) {
+        writeFully(channel, ByteBuffer.wrap(vector));
+      }
+      channel.force(false);
+    }
+    Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    LOG.debug("Indexed bloom bits for blocks {} to {}", firstBlock, firstBlock + SECTION_SIZE - 1);
+    return true;
+  }
+
+  private Path sectionFile(final long section) {
+    return directory.resolve(String.format("section-%08d.bits", section));
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long at)
+      throws IOException {
+    long position = at;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of bloom bits file");
+      }
+      position += read;
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
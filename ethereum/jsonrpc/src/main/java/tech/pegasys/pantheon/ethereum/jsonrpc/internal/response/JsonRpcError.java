@@ -62,6 +62,7 @@ public enum JsonRpcError {
 
   // Debug failures
   PARENT_BLOCK_NOT_FOUND(-32000, "Parent block not found"),
+  RESULT_TOO_LARGE(-32000, "Result is too large to send over WebSockets, use HTTP instead"),
 
   // Permissioning/Account whitelist errors
   ACCOUNT_WHITELIST_NOT_ENABLED(-32000, "Account whitelisting has not been enabled"),
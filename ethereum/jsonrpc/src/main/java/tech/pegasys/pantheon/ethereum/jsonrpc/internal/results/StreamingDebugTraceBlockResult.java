@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A debug_traceBlock result which replays the block when it is serialized, writing an array with
+ * one streamed transaction trace per transaction. Serializes to {@code null} if the block can't be
+ * replayed.
+ *
+ * @see StreamingDebugTraceTransactionResult
+ */
+public class StreamingDebugTraceBlockResult implements StreamingResult {
+
+  private final Function<TransactionTraceListener, Optional<BlockTrace>> tracer;
+
+  /**
+   * @param tracer replays the block, reporting the progress of each transaction to the given
+   *     listener
+   */
+  public StreamingDebugTraceBlockResult(
+      final Function<TransactionTraceListener, Optional<BlockTrace>> tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider provider)
+      throws IOException {
+    final ArrayWriter writer = new ArrayWriter(generator, provider);
+    final Optional<BlockTrace> blockTrace;
+    try {
+      blockTrace = tracer.apply(writer);
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+    if (blockTrace.isPresent()) {
+      writer.startArrayIfRequired();
+      generator.writeEndArray();
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider provider,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, provider);
+  }
+
+  /**
+   * Only opens the array once the first transaction starts so nothing has been written if the
+   * block turns out not to be replayable.
+   */
+  private static class ArrayWriter extends TransactionTraceJsonWriter {
+
+    private final JsonGenerator generator;
+    private boolean arrayStarted = false;
+
+    ArrayWriter(final JsonGenerator generator, final SerializerProvider provider) {
+      super(generator, provider);
+      this.generator = generator;
+    }
+
+    void startArrayIfRequired() throws IOException {
+      if (!arrayStarted) {
+        generator.writeStartArray();
+        arrayStarted = true;
+      }
+    }
+
+    @Override
+    public void onTransactionStarted(final Transaction transaction) {
+      try {
+        startArrayIfRequired();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      super.onTransactionStarted(transaction);
+    }
+  }
+}
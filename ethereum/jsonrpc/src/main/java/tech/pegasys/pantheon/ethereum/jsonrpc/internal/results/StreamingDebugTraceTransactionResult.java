@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A debug_traceTransaction result which replays the transaction when it is serialized, writing each
+ * struct log as soon as its operation executes so the trace is never held in memory. Serializes to
+ * {@code null} if the transaction can't be replayed.
+ */
+public class StreamingDebugTraceTransactionResult implements StreamingResult {
+
+  private final Function<TransactionTraceListener, Optional<TransactionTrace>> tracer;
+
+  /**
+   * @param tracer replays the transaction, reporting its progress to the given listener
+   */
+  public StreamingDebugTraceTransactionResult(
+      final Function<TransactionTraceListener, Optional<TransactionTrace>> tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider provider)
+      throws IOException {
+    final Optional<TransactionTrace> transactionTrace;
+    try {
+      transactionTrace = tracer.apply(new TransactionTraceJsonWriter(generator, provider));
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+    if (!transactionTrace.isPresent()) {
+      generator.writeNull();
+    }
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider provider,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, provider);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Writes a transaction trace in the same format as {@link DebugTraceTransactionResult} while the
+ * transaction is replayed. The struct logs come first since the gas used and the return value
+ * aren't known until the transaction completes.
+ *
+ * <p>Any {@link IOException} from the generator is rethrown wrapped in an {@link
+ * UncheckedIOException}.
+ */
+class TransactionTraceJsonWriter implements TransactionTraceListener {
+
+  private final JsonGenerator generator;
+  private final SerializerProvider provider;
+
+  TransactionTraceJsonWriter(final JsonGenerator generator, final SerializerProvider provider) {
+    this.generator = generator;
+    this.provider = provider;
+  }
+
+  @Override
+  public void onTransactionStarted(final Transaction transaction) {
+    try {
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("structLogs");
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void onTraceFrame(final TraceFrame traceFrame) {
+    try {
+      provider.defaultSerializeValue(
+          DebugTraceTransactionResult.createStructLog(traceFrame), generator);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void onTransactionCompleted(final TransactionTrace transactionTrace) {
+    try {
+      generator.writeEndArray();
+      generator.writeNumberField("gas", transactionTrace.getGas());
+      generator.writeBooleanField("failed", !transactionTrace.getResult().isSuccessful());
+      generator.writeStringField(
+          "returnValue", transactionTrace.getResult().getOutput().toString().substring(2));
+      generator.writeEndObject();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -17,15 +17,22 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationUtils
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcUnauthorizedResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketRpcRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
 import io.vertx.ext.auth.User;
 import org.apache.logging.log4j.LogManager;
@@ -34,6 +41,7 @@ import org.apache.logging.log4j.Logger;
 public class WebSocketRequestHandler {
 
   private static final Logger LOG = LogManager.getLogger();
+  @VisibleForTesting static final int MAX_STREAMED_RESULT_SIZE = 16 * 1024 * 1024;
 
   private final Vertx vertx;
   private final Map<String, JsonRpcMethod> methods;
@@ -53,40 +61,11 @@ public class WebSocketRequestHandler {
       final Buffer buffer,
       final Optional<User> user) {
     vertx.executeBlocking(
-        future -> {
-          final WebSocketRpcRequest request;
-          try {
-            request = buffer.toJsonObject().mapTo(WebSocketRpcRequest.class);
-          } catch (final IllegalArgumentException | DecodeException e) {
-            LOG.debug("Error mapping json to WebSocketRpcRequest", e);
-            future.complete(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST));
-            return;
-          }
-
-          if (!methods.containsKey(request.getMethod())) {
-            future.complete(
-                new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND));
-            LOG.debug("Can't find method {}", request.getMethod());
-            return;
-          }
-          final JsonRpcMethod method = methods.get(request.getMethod());
-          try {
-            LOG.debug("WS-RPC request -> {}", request.getMethod());
-            request.setConnectionId(id);
-            if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
-              future.complete(method.response(request));
-            } else {
-              future.complete(
-                  new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED));
-            }
-          } catch (final Exception e) {
-            LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
-            future.complete(new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR));
-          }
-        },
+        // Encode on the worker too, as some results (e.g. debug traces) do their work when written
+        future -> future.complete(encode(process(authenticationService, id, buffer, user))),
         result -> {
           if (result.succeeded()) {
-            replyToClient(id, Json.encodeToBuffer(result.result()));
+            replyToClient(id, (Buffer) result.result());
           } else {
             replyToClient(
                 id,
@@ -95,7 +74,97 @@ public class WebSocketRequestHandler {
         });
   }
 
+  /**
+   * A response is sent as a single message, so streamed results are encoded in memory like any
+   * other but are abandoned once they grow past {@link #MAX_STREAMED_RESULT_SIZE}.
+   */
+  private Buffer encode(final JsonRpcResponse response) {
+    if (!(response instanceof JsonRpcSuccessResponse)
+        || !(((JsonRpcSuccessResponse) response).getResult() instanceof StreamingResult)) {
+      return Json.encodeToBuffer(response);
+    }
+    final BoundedBufferOutputStream out = new BoundedBufferOutputStream(MAX_STREAMED_RESULT_SIZE);
+    try {
+      Json.mapper.writeValue(out, response);
+    } catch (final IOException e) {
+      if (out.isFull()) {
+        LOG.debug("Streamed result exceeded {} bytes", MAX_STREAMED_RESULT_SIZE);
+        return Json.encodeToBuffer(
+            new JsonRpcErrorResponse(
+                ((JsonRpcSuccessResponse) response).getId(), JsonRpcError.RESULT_TOO_LARGE));
+      }
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+    return out.buffer;
+  }
+
+  private JsonRpcResponse process(
+      final Optional<AuthenticationService> authenticationService,
+      final String id,
+      final Buffer buffer,
+      final Optional<User> user) {
+    final WebSocketRpcRequest request;
+    try {
+      request = buffer.toJsonObject().mapTo(WebSocketRpcRequest.class);
+    } catch (final IllegalArgumentException | DecodeException e) {
+      LOG.debug("Error mapping json to WebSocketRpcRequest", e);
+      return new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST);
+    }
+
+    if (!methods.containsKey(request.getMethod())) {
+      LOG.debug("Can't find method {}", request.getMethod());
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND);
+    }
+    final JsonRpcMethod method = methods.get(request.getMethod());
+    try {
+      LOG.debug("WS-RPC request -> {}", request.getMethod());
+      request.setConnectionId(id);
+      if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
+        return method.response(request);
+      } else {
+        return new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED);
+      }
+    } catch (final Exception e) {
+      LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR);
+    }
+  }
+
   private void replyToClient(final String id, final Buffer request) {
     vertx.eventBus().send(id, request.toString());
   }
+
+  private static class BoundedBufferOutputStream extends OutputStream {
+
+    private final Buffer buffer = Buffer.buffer();
+    private final int maxSize;
+    private boolean full = false;
+
+    private BoundedBufferOutputStream(final int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    boolean isFull() {
+      return full;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      ensureCapacity(1);
+      buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      ensureCapacity(len);
+      buffer.appendBytes(b, off, len);
+    }
+
+    private void ensureCapacity(final int length) throws IOException {
+      if (buffer.length() + length > maxSize) {
+        full = true;
+        throw new IOException("Result exceeded " + maxSize + " bytes");
+      }
+    }
+  }
 }
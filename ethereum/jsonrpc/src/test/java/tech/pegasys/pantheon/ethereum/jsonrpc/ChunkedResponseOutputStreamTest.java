@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ChunkedResponseOutputStreamTest {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final AtomicBoolean writeQueueFull = new AtomicBoolean(false);
+  private final AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+  private final AtomicReference<Handler<Void>> closeHandler = new AtomicReference<>();
+  private final ChunkedResponseOutputStream out = new ChunkedResponseOutputStream(response);
+
+  @Before
+  public void setUp() {
+    // Changed while the writer is waiting on another thread, so not stubbed directly
+    when(response.writeQueueFull()).thenAnswer(invocation -> writeQueueFull.get());
+    when(response.drainHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              drainHandler.set(invocation.getArgument(0));
+              return response;
+            });
+    when(response.closeHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              closeHandler.set(invocation.getArgument(0));
+              return response;
+            });
+  }
+
+  @Test
+  public void shouldSendSmallBodyInOnePiece() throws IOException {
+    out.write(new byte[] {1, 2, 3});
+    assertThat(out.isCommitted()).isFalse();
+
+    out.end();
+
+    final ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(body.capture());
+    assertThat(body.getValue().getBytes()).isEqualTo(new byte[] {1, 2, 3});
+    verify(response, never()).setChunked(true);
+    verify(response, never()).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldSwitchToChunkedEncodingOnceBodyExceedsOneChunk() throws IOException {
+    out.write(new byte[CHUNK_SIZE - 1]);
+    assertThat(out.isCommitted()).isFalse();
+    verify(response, never()).write(any(Buffer.class));
+
+    out.write(new byte[2]);
+    assertThat(out.isCommitted()).isTrue();
+    verify(response).setChunked(true);
+
+    out.write(new byte[10]);
+    out.end();
+
+    final ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    verify(response, times(2)).write(chunks.capture());
+    assertThat(chunks.getAllValues().get(0).length()).isEqualTo(CHUNK_SIZE + 1);
+    assertThat(chunks.getAllValues().get(1).length()).isEqualTo(10);
+    verify(response).end();
+  }
+
+  @Test
+  public void shouldWaitForDrainWhenWriteQueueIsFull() throws Exception {
+    writeQueueFull.set(true);
+
+    final CompletableFuture<Void> written =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                out.write(new byte[CHUNK_SIZE]);
+              } catch (final IOException e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    while (drainHandler.get() == null) {
+      Thread.sleep(10);
+    }
+    assertThat(written).isNotDone();
+    verify(response, never()).write(any(Buffer.class));
+
+    writeQueueFull.set(false);
+    drainHandler.get().handle(null);
+    written.get(5, TimeUnit.SECONDS);
+
+    verify(response).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldFailWhenConnectionClosesWhileWaitingToWrite() throws Exception {
+    out.write(new byte[CHUNK_SIZE]);
+    verify(response).write(any(Buffer.class));
+    writeQueueFull.set(true);
+
+    final CompletableFuture<Void> written =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                out.write(new byte[CHUNK_SIZE]);
+              } catch (final IOException e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    while (closeHandler.get() == null) {
+      Thread.sleep(10);
+    }
+    closeHandler.get().handle(null);
+
+    assertThatThrownBy(() -> written.get(5, TimeUnit.SECONDS))
+        .hasRootCauseInstanceOf(IOException.class)
+        .hasStackTraceContaining("Connection closed");
+    verify(response).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldFailWhenConnectionIsAlreadyClosed() throws IOException {
+    out.write(new byte[CHUNK_SIZE]);
+    writeQueueFull.set(true);
+    when(response.closed()).thenReturn(true);
+
+    assertThatThrownBy(() -> out.write(new byte[CHUNK_SIZE]))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Connection closed");
+  }
+}
@@ -41,6 +41,8 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockWithMetadata
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
@@ -53,6 +55,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -67,6 +70,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.base.Strings;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
@@ -331,6 +338,18 @@ public class JsonRpcHttpServiceTest {
     }
   }
 
+  @Test
+  public void responseIsCompactJson() throws Exception {
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"net_version\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      assertThat(resp.body().string())
+          .isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"" + CHAIN_ID + "\"}");
+    }
+  }
+
   @Test
   public void ethAccountsSuccessful() throws Exception {
     final String id = "123";
@@ -1491,6 +1510,74 @@ public class JsonRpcHttpServiceTest {
     }
   }
 
+  @Test
+  public void failureWhileWritingResultReturnsInternalError() throws Exception {
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(new JsonRpcSuccessResponse("666", new FailingResult()));
+    doReturn(jsonRpcMethod).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":\"666\",\"method\":\"foo\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(400);
+      final JsonObject json = new JsonObject(resp.body().string());
+      final JsonRpcError expectedError = JsonRpcError.INTERNAL_ERROR;
+      testHelper.assertValidJsonRpcError(
+          json, "666", expectedError.getCode(), expectedError.getMessage());
+    }
+  }
+
+  @Test
+  public void batchRequestWithLargeStreamedResult() throws Exception {
+    final int resultLength = 100 * 1024;
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(new JsonRpcSuccessResponse("111", new LargeResult(resultLength)));
+    doReturn(jsonRpcMethod).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(
+            JSON,
+            "[{\"jsonrpc\":\"2.0\",\"id\":\"000\",\"method\":\"web3_clientVersion\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"111\",\"method\":\"foo\"}]");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(2);
+      testHelper.assertValidJsonRpcResult(json.getJsonObject(0), "000");
+      testHelper.assertValidJsonRpcResult(json.getJsonObject(1), "111");
+      assertThat(json.getJsonObject(1).getString("result")).hasSize(resultLength);
+    }
+  }
+
+  @Test
+  public void failureWhileWritingBatchResultReturnsInternalError() throws Exception {
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(new JsonRpcSuccessResponse("111", new FailingResult()));
+    doReturn(jsonRpcMethod).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(
+            JSON,
+            "[{\"jsonrpc\":\"2.0\",\"id\":\"000\",\"method\":\"web3_clientVersion\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":\"111\",\"method\":\"foo\"}]");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(400);
+      final JsonObject json = new JsonObject(resp.body().string());
+      final JsonRpcError expectedError = JsonRpcError.INTERNAL_ERROR;
+      testHelper.assertValidJsonRpcError(
+          json, null, expectedError.getCode(), expectedError.getMessage());
+    }
+  }
+
   @Test
   public void exceptionallyHandleJsonBatchRequest() throws Exception {
     final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
@@ -2065,4 +2152,44 @@ public class JsonRpcHttpServiceTest {
   private Request buildGetRequest(final String path) {
     return new Request.Builder().get().url(baseUrl + path).build();
   }
+
+  /** A result which, like a debug trace, does its work and fails while being written. */
+  private static class FailingResult implements StreamingResult {
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers) {
+      throw new IllegalStateException("Unable to replay transaction");
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer) {
+      serialize(gen, serializers);
+    }
+  }
+
+  /** A result which, like a debug trace, is too large to buffer and is written as it is produced. */
+  private static class LargeResult implements StreamingResult {
+    private final int length;
+
+    private LargeResult(final int length) {
+      this.length = length;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers)
+        throws IOException {
+      gen.writeString(Strings.repeat("a", length));
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator gen,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+  }
 }
@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
@@ -414,4 +415,55 @@ public class LogsQueryTest {
 
     assertThat(query.matches(log)).isTrue();
   }
+
+  @Test
+  public void couldMatchBloomContainingAddressAndTopic() {
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+    final LogsBloomFilter bloom = LogsBloomFilter.empty();
+    bloom.insertLog(new Log(address, BytesValue.EMPTY, Lists.newArrayList(topic)));
+
+    final LogsQuery query =
+        new LogsQuery.Builder()
+            .address(address)
+            .topics(Lists.<List<LogTopic>>newArrayList(Lists.newArrayList(topic)))
+            .build();
+
+    assertThat(query.couldMatch(bloom)).isTrue();
+    assertThat(query.couldMatch(LogsBloomFilter.empty())).isFalse();
+  }
+
+  @Test
+  public void couldMatchIgnoresWildcardTopics() {
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+    final LogsBloomFilter bloom = LogsBloomFilter.empty();
+    bloom.insertLog(new Log(address, BytesValue.EMPTY, Lists.newArrayList()));
+
+    final LogsQuery query =
+        new LogsQuery.Builder()
+            .topics(Lists.<List<LogTopic>>newArrayList(Lists.newArrayList(topic, null)))
+            .build();
+
+    assertThat(query.getBloomCriteria()).isEmpty();
+    assertThat(query.couldMatch(bloom)).isTrue();
+  }
+
+  @Test
+  public void couldMatchRequiresOneAlternativePerPosition() {
+    final Address address1 = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final Address address2 = Address.fromHexString("0x2222222222222222222222222222222222222222");
+    final Address address3 = Address.fromHexString("0x3333333333333333333333333333333333333333");
+    final LogsBloomFilter bloom = LogsBloomFilter.empty();
+    bloom.insertLog(new Log(address2, BytesValue.EMPTY, Lists.newArrayList()));
+
+    assertThat(new LogsQuery.Builder().addresses(address1, address2).build().couldMatch(bloom))
+        .isTrue();
+    assertThat(new LogsQuery.Builder().addresses(address1, address3).build().couldMatch(bloom))
+        .isFalse();
+  }
 }
@@ -13,10 +13,12 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceTestUtil.replay;
 
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
@@ -27,19 +29,23 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 public class DebugTraceBlockByHashTest {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private final JsonRpcParameter parameters = new JsonRpcParameter();
   private final BlockTracer blockTracer = mock(BlockTracer.class);
   private final DebugTraceBlockByHash debugTraceBlockByHash =
@@ -84,11 +90,26 @@ public class DebugTraceBlockByHashTest {
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
-    when(blockTracer.trace(eq(blockHash), any())).thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(eq(blockHash), any(), any()))
+        .thenAnswer(invocation -> replay(blockTrace, invocation.getArgument(2)));
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final JsonNode result = MAPPER.valueToTree(response.getResult());
     assertEquals(2, result.size());
+    assertEquals(
+        MAPPER.valueToTree(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())),
+        result);
+  }
+
+  @Test
+  public void shouldReturnNullWhenBlockCannotBeReplayed() {
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlockByHash", params);
+    when(blockTracer.trace(eq(blockHash), any(), any())).thenReturn(Optional.empty());
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
+    assertTrue(MAPPER.valueToTree(response.getResult()).isNull());
   }
 }
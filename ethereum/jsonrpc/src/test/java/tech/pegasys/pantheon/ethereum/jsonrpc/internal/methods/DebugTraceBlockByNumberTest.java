@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceTestUtil.replay;
 
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
@@ -36,14 +37,16 @@ import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 public class DebugTraceBlockByNumberTest {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private final JsonRpcParameter parameters = new JsonRpcParameter();
   private final BlockchainQueries blockchain = mock(BlockchainQueries.class);
   private final BlockTracer blockTracer = mock(BlockTracer.class);
@@ -91,18 +94,13 @@ public class DebugTraceBlockByNumberTest {
     when(transaction1Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(blockchain.getBlockHashByNumber(blockNumber)).thenReturn(Optional.of(blockHash));
-    when(blockTracer.trace(eq(blockHash), any())).thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(eq(blockHash), any(), any()))
+        .thenAnswer(invocation -> replay(blockTrace, invocation.getArgument(2)));
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByNumber.response(request);
-    final Collection<DebugTraceTransactionResult> result = getResult(response);
-    assertThat(result)
-        .usingFieldByFieldElementComparator()
-        .isEqualTo(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces()));
-  }
-
-  @SuppressWarnings("unchecked")
-  private Collection<DebugTraceTransactionResult> getResult(final JsonRpcSuccessResponse response) {
-    return (Collection<DebugTraceTransactionResult>) response.getResult();
+    assertThat(MAPPER.valueToTree(response.getResult()))
+        .isEqualTo(
+            MAPPER.valueToTree(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())));
   }
 }
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceTestUtil.replay;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
@@ -33,21 +34,25 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 public class DebugTraceBlockTest {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private final JsonRpcParameter parameters = new JsonRpcParameter();
   private final BlockTracer blockTracer = mock(BlockTracer.class);
   private final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
@@ -103,7 +108,8 @@ public class DebugTraceBlockTest {
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
-    when(blockTracer.trace(Mockito.eq(block), any())).thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(Mockito.eq(block), any(), any()))
+        .thenAnswer(invocation -> replay(blockTrace, invocation.getArgument(2)));
 
     when(blockchainQueries.blockByHash(parentBlock.getHash()))
         .thenReturn(
@@ -117,8 +123,13 @@ public class DebugTraceBlockTest {
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlock.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final JsonNode result = MAPPER.valueToTree(response.getResult());
     assertEquals(2, result.size());
+    assertEquals(
+        MAPPER.valueToTree(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())),
+        result);
+    assertEquals(45, result.get(0).get("structLogs").get(0).get("gas").asLong());
+    assertEquals("1234", result.get(1).get("returnValue").asText());
   }
 
   @Test
@@ -14,7 +14,9 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceListener;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
@@ -44,10 +47,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 public class DebugTraceTransactionTest {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private final JsonRpcParameter parameters = new JsonRpcParameter();
   private final BlockchainQueries blockchain = mock(BlockchainQueries.class);
   private final TransactionTracer transactionTracer = mock(TransactionTracer.class);
@@ -98,17 +105,48 @@ public class DebugTraceTransactionTest {
     when(blockchain.headBlockNumber()).thenReturn(12L);
     when(blockchain.transactionByHash(transactionHash))
         .thenReturn(Optional.of(transactionWithMetadata));
-    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any()))
-        .thenReturn(Optional.of(transactionTrace));
+    when(transactionTracer.traceTransaction(
+            eq(blockHash),
+            eq(transactionHash),
+            argThat(options -> !options.isStorageEnabled()),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              final TransactionTraceListener listener = invocation.getArgument(3);
+              listener.onTransactionStarted(transaction);
+              traceFrames.forEach(listener::onTraceFrame);
+              listener.onTransactionCompleted(
+                  new TransactionTrace(transaction, result, Collections.emptyList()));
+              return Optional.of(transactionTrace);
+            });
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
+    final JsonNode transactionResult = MAPPER.valueToTree(response.getResult());
+
+    assertEquals(73, transactionResult.get("gas").asLong());
+    assertEquals("1234", transactionResult.get("returnValue").asText());
+    assertEquals(
+        MAPPER.valueToTree(Collections.singletonList(new StructLog(traceFrame))),
+        transactionResult.get("structLogs"));
+    assertEquals(
+        MAPPER.valueToTree(new DebugTraceTransactionResult(transactionTrace)), transactionResult);
+  }
+
+  @Test
+  public void shouldReturnNullWhenTransactionCannotBeReplayed() {
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 12L, blockHash, 2);
+    final Object[] params = new Object[] {transactionHash};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceTransaction", params);
+    when(blockchain.transactionByHash(transactionHash))
+        .thenReturn(Optional.of(transactionWithMetadata));
+    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any(), any()))
+        .thenReturn(Optional.empty());
+
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
-    final DebugTraceTransactionResult transactionResult =
-        (DebugTraceTransactionResult) response.getResult();
 
-    assertEquals(73, transactionResult.getGas());
-    assertEquals("1234", transactionResult.getReturnValue());
-    final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
-    assertEquals(expectedStructLogs, transactionResult.getStructLogs());
+    assertTrue(MAPPER.valueToTree(response.getResult()).isNull());
   }
 
   @Test
@@ -140,7 +178,7 @@ public class DebugTraceTransactionTest {
     when(blockHeader.getNumber()).thenReturn(12L);
     when(blockchain.headBlockNumber()).thenReturn(12L);
     when(blockchain.transactionByHash(transactionHash)).thenReturn(Optional.empty());
-    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any()))
+    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any(), any()))
         .thenReturn(Optional.of(transactionTrace));
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import java.util.Optional;
+
+public class TransactionTraceTestUtil {
+
+  /**
+   * Reports a recorded transaction trace to a listener as if the transaction were being replayed.
+   *
+   * @param transactionTrace the trace to report
+   * @param listener the listener to report it to
+   * @return {@code transactionTrace}, as returned by {@link TransactionTracer}
+   */
+  public static Optional<TransactionTrace> replay(
+      final TransactionTrace transactionTrace, final TransactionTraceListener listener) {
+    listener.onTransactionStarted(transactionTrace.getTransaction());
+    transactionTrace.getTraceFrames().forEach(listener::onTraceFrame);
+    listener.onTransactionCompleted(transactionTrace);
+    return Optional.of(transactionTrace);
+  }
+
+  /**
+   * Reports each recorded transaction trace in a block to a listener as if the block were being
+   * replayed.
+   *
+   * @param blockTrace the traces to report
+   * @param listener the listener to report them to
+   * @return {@code blockTrace}, as returned by {@link BlockTracer}
+   */
+  public static Optional<BlockTrace> replay(
+      final BlockTrace blockTrace, final TransactionTraceListener listener) {
+    blockTrace.getTransactionTraces().forEach(trace -> replay(trace, listener));
+    return Optional.of(blockTrace);
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsQuery;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BloomBitsIndexTest {
+
+  private static final long CONFIRMATIONS = 10;
+  private static final Address ADDRESS =
+      Address.fromHexString("0x1111111111111111111111111111111111111111");
+  private static final LogTopic TOPIC =
+      LogTopic.fromHexString("0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final Map<Long, BlockHeader> headers = new HashMap<>();
+  private BloomBitsIndex index;
+
+  @Before
+  public void setUp() throws IOException {
+    for (long number = 0; number < BloomBitsIndex.SECTION_SIZE; number++) {
+      final LogsBloomFilter bloom = LogsBloomFilter.empty();
+      if (number == 7 || number == 300) {
+        bloom.insertLog(new Log(ADDRESS, BytesValue.EMPTY, Collections.emptyList()));
+      }
+      if (number == 300 || number == 4000) {
+        bloom.insertLog(
+            new Log(Address.ZERO, BytesValue.EMPTY, Collections.singletonList(TOPIC)));
+      }
+      headers.put(
+          number, new BlockHeaderTestFixture().number(number).logsBloom(bloom).buildHeader());
+    }
+    when(blockchain.getBlockHeader(anyLong()))
+        .thenAnswer(invocation -> Optional.ofNullable(headers.get(invocation.getArgument(0))));
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(
+            invocation ->
+                Optional.ofNullable(headers.get(invocation.getArgument(0)))
+                    .map(BlockHeader::getHash));
+
+    index =
+        new BloomBitsIndex(
+            blockchain,
+            folder.newFolder().toPath(),
+            MoreExecutors.newDirectExecutorService(),
+            CONFIRMATIONS);
+  }
+
+  @Test
+  public void doesNotIndexUnconfirmedSection() {
+    when(blockchain.getChainHeadBlockNumber())
+        .thenReturn(BloomBitsIndex.SECTION_SIZE + CONFIRMATIONS - 2);
+    index.update();
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(0);
+    assertThat(index.findCandidates(0, criteria(new LogsQuery.Builder().address(ADDRESS))))
+        .isEmpty();
+  }
+
+  @Test
+  public void findsBlocksMatchingAllCriteria() {
+    when(blockchain.getChainHeadBlockNumber())
+        .thenReturn(BloomBitsIndex.SECTION_SIZE + CONFIRMATIONS - 1);
+    index.update();
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(BloomBitsIndex.SECTION_SIZE);
+    assertThat(index.findCandidates(0, criteria(new LogsQuery.Builder().address(ADDRESS))))
+        .contains(bits(7, 300));
+    assertThat(index.findCandidates(0, criteria(topicQuery()))).contains(bits(300, 4000));
+    assertThat(index.findCandidates(0, criteria(topicQuery().address(ADDRESS))))
+        .contains(bits(300));
+  }
+
+  @Test
+  public void ignoresSectionWhoseLastBlockIsNoLongerCanonical() {
+    when(blockchain.getChainHeadBlockNumber())
+        .thenReturn(BloomBitsIndex.SECTION_SIZE + CONFIRMATIONS - 1);
+    index.update();
+
+    when(blockchain.getBlockHashByNumber(BloomBitsIndex.SECTION_SIZE - 1))
+        .thenReturn(Optional.of(Hash.ZERO));
+
+    assertThat(index.findCandidates(0, criteria(new LogsQuery.Builder().address(ADDRESS))))
+        .isEmpty();
+  }
+
+  @Test
+  public void stopsIndexingWhenBlockHeaderIsMissing() {
+    when(blockchain.getChainHeadBlockNumber())
+        .thenReturn(BloomBitsIndex.SECTION_SIZE + CONFIRMATIONS - 1);
+    final BlockHeader missingHeader = headers.remove(300L);
+    index.update();
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(0);
+
+    headers.put(300L, missingHeader);
+    index.update();
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(BloomBitsIndex.SECTION_SIZE);
+  }
+
+  private LogsQuery.Builder topicQuery() {
+    return new LogsQuery.Builder()
+        .topics(Collections.singletonList(Collections.singletonList(TOPIC)));
+  }
+
+  private List<List<int[]>> criteria(final LogsQuery.Builder query) {
+    return query.build().getBloomCriteria();
+  }
+
+  private BitSet bits(final int... offsets) {
+    final BitSet bits = new BitSet();
+    for (final int offset : offsets) {
+      bits.set(offset);
+    }
+    return bits;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceTestUtil.replay;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockTrace;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class StreamingDebugTraceBlockResultTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void shouldSerializeTheSameAsDebugTraceTransactionResults() {
+    final BlockTrace blockTrace =
+        new BlockTrace(
+            asList(
+                StreamingDebugTraceTransactionResultTest.transactionTrace(),
+                StreamingDebugTraceTransactionResultTest.transactionTrace()));
+    final StreamingDebugTraceBlockResult result =
+        new StreamingDebugTraceBlockResult(listener -> replay(blockTrace, listener));
+
+    assertThat(MAPPER.<JsonNode>valueToTree(result))
+        .isEqualTo(
+            MAPPER.valueToTree(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())));
+  }
+
+  @Test
+  public void shouldSerializeBlockWithoutTransactionsToEmptyArray() throws Exception {
+    final BlockTrace blockTrace = new BlockTrace(Collections.emptyList());
+    final StreamingDebugTraceBlockResult result =
+        new StreamingDebugTraceBlockResult(listener -> replay(blockTrace, listener));
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("[]");
+  }
+
+  @Test
+  public void shouldSerializeToNullWhenBlockCannotBeReplayed() throws Exception {
+    final StreamingDebugTraceBlockResult result =
+        new StreamingDebugTraceBlockResult(listener -> Optional.empty());
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("null");
+  }
+}
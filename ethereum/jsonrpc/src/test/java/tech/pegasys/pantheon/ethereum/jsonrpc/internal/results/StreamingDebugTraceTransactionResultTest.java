@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceTestUtil.replay;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class StreamingDebugTraceTransactionResultTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final TransactionTrace transactionTrace = transactionTrace();
+
+  @Test
+  public void shouldSerializeTheSameAsDebugTraceTransactionResult() {
+    final StreamingDebugTraceTransactionResult result =
+        new StreamingDebugTraceTransactionResult(listener -> replay(transactionTrace, listener));
+
+    assertThat(MAPPER.<JsonNode>valueToTree(result))
+        .isEqualTo(MAPPER.valueToTree(new DebugTraceTransactionResult(transactionTrace)));
+  }
+
+  @Test
+  public void shouldWriteStructLogsBeforeTheTransactionResult() throws Exception {
+    final StreamingDebugTraceTransactionResult result =
+        new StreamingDebugTraceTransactionResult(listener -> replay(transactionTrace, listener));
+
+    assertThat(MAPPER.writeValueAsString(result))
+        .startsWith("{\"structLogs\":[{\"pc\":1,")
+        .endsWith("],\"gas\":79000,\"failed\":true,\"returnValue\":\"1234\"}");
+  }
+
+  @Test
+  public void shouldSerializeToNullWhenTransactionCannotBeReplayed() throws Exception {
+    final StreamingDebugTraceTransactionResult result =
+        new StreamingDebugTraceTransactionResult(listener -> Optional.empty());
+
+    assertThat(MAPPER.writeValueAsString(result)).isEqualTo("null");
+  }
+
+  @Test
+  public void shouldRethrowFailureToWriteTrace() {
+    final StreamingDebugTraceTransactionResult result =
+        new StreamingDebugTraceTransactionResult(listener -> replay(transactionTrace, listener));
+    final OutputStream closedStream =
+        new OutputStream() {
+          @Override
+          public void write(final int b) throws IOException {
+            throw new IOException("Connection closed");
+          }
+        };
+
+    assertThatThrownBy(() -> MAPPER.writeValue(closedStream, result))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Connection closed");
+  }
+
+  static TransactionTrace transactionTrace() {
+    final Transaction transaction = mock(Transaction.class);
+    final Result result = mock(Result.class);
+    when(transaction.getGasLimit()).thenReturn(100_000L);
+    when(result.getGasRemaining()).thenReturn(21_000L);
+    when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
+    when(result.isSuccessful()).thenReturn(false);
+    return new TransactionTrace(
+        transaction,
+        result,
+        asList(
+            traceFrame(1, "PUSH1", EnumSet.noneOf(ExceptionalHaltReason.class)),
+            traceFrame(3, "JUMP", EnumSet.of(ExceptionalHaltReason.INVALID_JUMP_DESTINATION))));
+  }
+
+  private static TraceFrame traceFrame(
+      final int pc, final String opcode, final EnumSet<ExceptionalHaltReason> haltReasons) {
+    return new TraceFrame(
+        pc,
+        opcode,
+        Gas.of(79_000),
+        Optional.of(Gas.of(3)),
+        0,
+        haltReasons,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty());
+  }
+}
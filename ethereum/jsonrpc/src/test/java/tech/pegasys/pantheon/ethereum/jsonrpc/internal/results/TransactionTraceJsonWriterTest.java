@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class TransactionTraceJsonWriterTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final TransactionTrace transactionTrace =
+      StreamingDebugTraceTransactionResultTest.transactionTrace();
+
+  @Test
+  public void shouldWriteEachFrameAsItIsReported() throws Exception {
+    final StringWriter out = new StringWriter();
+    final JsonGenerator generator = MAPPER.getFactory().createGenerator(out);
+    final TransactionTraceJsonWriter writer =
+        new TransactionTraceJsonWriter(generator, MAPPER.getSerializerProviderInstance());
+
+    final TraceFrame firstFrame = transactionTrace.getTraceFrames().get(0);
+    writer.onTransactionStarted(transactionTrace.getTransaction());
+    writer.onTraceFrame(firstFrame);
+    generator.flush();
+    assertThat(out.toString())
+        .isEqualTo("{\"structLogs\":[" + MAPPER.writeValueAsString(new StructLog(firstFrame)));
+
+    writer.onTraceFrame(transactionTrace.getTraceFrames().get(1));
+    writer.onTransactionCompleted(transactionTrace);
+    generator.flush();
+    assertThat(MAPPER.readTree(out.toString()))
+        .isEqualTo(
+            MAPPER.readTree(
+                MAPPER.writeValueAsString(new DebugTraceTransactionResult(transactionTrace))));
+  }
+
+  @Test
+  public void shouldWrapGeneratorFailures() throws Exception {
+    final JsonGenerator generator = mock(JsonGenerator.class);
+    final IOException failure = new IOException("Connection closed");
+    doThrow(failure).when(generator).writeStartObject();
+    final TransactionTraceJsonWriter writer =
+        new TransactionTraceJsonWriter(generator, MAPPER.getSerializerProviderInstance());
+
+    assertThatThrownBy(() -> writer.onTransactionStarted(transactionTrace.getTransaction()))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCause(failure);
+  }
+}
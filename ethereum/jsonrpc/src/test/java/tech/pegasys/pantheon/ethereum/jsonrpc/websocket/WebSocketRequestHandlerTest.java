@@ -22,12 +22,18 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketRpcRequest;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.base.Strings;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.Json;
@@ -186,4 +192,75 @@ public class WebSocketRequestHandlerTest {
 
     async.awaitSuccess(WebSocketRequestHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
   }
+
+  @Test
+  public void smallStreamedResultShouldBeDelivered(final TestContext context) {
+    final Async async = context.async();
+
+    final JsonObject requestJson = new JsonObject().put("id", 1).put("method", "eth_x");
+    final JsonRpcRequest expectedRequest = requestJson.mapTo(WebSocketRpcRequest.class);
+    when(jsonRpcMethodMock.response(eq(expectedRequest)))
+        .thenReturn(new JsonRpcSuccessResponse(1, streamedResult(1)));
+
+    final String websocketId = UUID.randomUUID().toString();
+
+    vertx
+        .eventBus()
+        .consumer(websocketId)
+        .handler(
+            msg -> {
+              context.assertEquals(Json.encode(new JsonRpcSuccessResponse(1, "a")), msg.body());
+              async.complete();
+            })
+        .completionHandler(v -> handler.handle(websocketId, Buffer.buffer(requestJson.toString())));
+
+    async.awaitSuccess(WebSocketRequestHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void oversizedStreamedResultShouldRespondResultTooLarge(final TestContext context) {
+    final Async async = context.async();
+
+    final JsonObject requestJson = new JsonObject().put("id", 1).put("method", "eth_x");
+    final JsonRpcRequest expectedRequest = requestJson.mapTo(WebSocketRpcRequest.class);
+    when(jsonRpcMethodMock.response(eq(expectedRequest)))
+        .thenReturn(
+            new JsonRpcSuccessResponse(
+                1, streamedResult(WebSocketRequestHandler.MAX_STREAMED_RESULT_SIZE)));
+    final JsonRpcErrorResponse expectedResponse =
+        new JsonRpcErrorResponse(1, JsonRpcError.RESULT_TOO_LARGE);
+
+    final String websocketId = UUID.randomUUID().toString();
+
+    vertx
+        .eventBus()
+        .consumer(websocketId)
+        .handler(
+            msg -> {
+              context.assertEquals(Json.encode(expectedResponse), msg.body());
+              async.complete();
+            })
+        .completionHandler(v -> handler.handle(websocketId, Buffer.buffer(requestJson.toString())));
+
+    async.awaitSuccess(WebSocketRequestHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  private StreamingResult streamedResult(final int length) {
+    return new StreamingResult() {
+      @Override
+      public void serialize(final JsonGenerator generator, final SerializerProvider provider)
+          throws IOException {
+        generator.writeString(Strings.repeat("a", length));
+      }
+
+      @Override
+      public void serializeWithType(
+          final JsonGenerator generator,
+          final SerializerProvider provider,
+          final TypeSerializer typeSerializer)
+          throws IOException {
+        serialize(generator, provider);
+      }
+    };
+  }
 }
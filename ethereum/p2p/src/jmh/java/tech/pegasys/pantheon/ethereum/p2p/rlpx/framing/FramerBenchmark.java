@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
+
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures RLPx framing and deframing throughput by message size, between a sending and a
+ * receiving framer whose secrets mirror each other.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FramerBenchmark {
+
+  @Param({"64", "1024", "16384", "1048576"})
+  public int messageSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  private MessageData message;
+  private Framer framingOnly;
+  private Framer sender;
+  private Framer receiver;
+  private ByteBuf output;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    final byte[] token = new byte[32];
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    random.nextBytes(token);
+
+    final byte[] data = new byte[messageSize];
+    random.nextBytes(data);
+    message = new RawMessage(0x10, BytesValue.wrap(data));
+
+    framingOnly = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    sender = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    receiver = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    if (compression) {
+      framingOnly.enableCompression();
+      sender.enableCompression();
+      receiver.enableCompression();
+    }
+    output = PooledByteBufAllocator.DEFAULT.heapBuffer();
+  }
+
+  @TearDown
+  public void tearDown() {
+    output.release();
+  }
+
+  @Benchmark
+  public int frame() {
+    output.clear();
+    framingOnly.frame(message, output);
+    return output.readableBytes();
+  }
+
+  @Benchmark
+  public MessageData frameAndDeframe() {
+    output.clear();
+    sender.frame(message, output);
+    return receiver.deframe(output);
+  }
+}
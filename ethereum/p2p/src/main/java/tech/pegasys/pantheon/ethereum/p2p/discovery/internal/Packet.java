@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.crypto.SECP256K1;
 import tech.pegasys.pantheon.crypto.SECP256K1.PublicKey;
 import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.PeerDiscoveryPacketDecodingException;
+import tech.pegasys.pantheon.ethereum.rlp.ByteBufRLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
@@ -32,6 +33,8 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Optional;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 
 public class Packet {
@@ -110,7 +113,9 @@ public class Packet {
     final PacketType.Deserializer<?> deserializer = packetType.getDeserializer();
     final PacketData packetData;
     try {
-      packetData = deserializer.deserialize(RLP.input(message, PACKET_DATA_INDEX));
+      final ByteBuf packetDataBytes =
+          message.getByteBuf().slice(PACKET_DATA_INDEX, message.length() - PACKET_DATA_INDEX);
+      packetData = deserializer.deserialize(new ByteBufRLPInput(packetDataBytes, false, false));
     } catch (final RLPException e) {
       throw new PeerDiscoveryPacketDecodingException("Malformed packet of type: " + packetType, e);
     }
@@ -123,26 +128,13 @@ public class Packet {
     final BytesValueRLPOutput encodedData = new BytesValueRLPOutput();
     data.writeTo(encodedData);
 
-    final Buffer buffer =
-        Buffer.buffer(hash.size() + encodedSignature.size() + 1 + encodedData.encodedSize());
+    final int size = hash.size() + encodedSignature.size() + 1 + encodedData.encodedSize();
+    final ByteBuf buffer = Unpooled.buffer(size, size);
     hash.appendTo(buffer);
     encodedSignature.appendTo(buffer);
-    buffer.appendByte(type.getValue());
-    appendEncoded(encodedData, buffer);
-    return buffer;
-  }
-
-  protected void appendEncoded(final BytesValueRLPOutput encoded, final Buffer buffer) {
-    final int size = encoded.encodedSize();
-    if (size == 0) {
-      return;
-    }
-
-    // We want to append to the buffer, and Buffer always grows to accommodate anything writing,
-    // so we write the last byte we know we'll need to make it resize accordingly.
-    final int start = buffer.length();
-    buffer.setByte(start + size - 1, (byte) 0);
-    encoded.writeEncoded(MutableBytesValue.wrapBuffer(buffer, start, size));
+    buffer.writeByte(type.getValue());
+    encodedData.writeEncoded(buffer);
+    return Buffer.buffer(buffer);
   }
 
   @SuppressWarnings("unchecked")
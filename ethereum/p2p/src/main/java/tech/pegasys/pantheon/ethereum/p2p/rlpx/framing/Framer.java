@@ -13,26 +13,24 @@
 package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
-import static io.netty.buffer.Unpooled.wrappedBuffer;
-import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
-import org.bouncycastle.crypto.BlockCipher;
-import org.bouncycastle.crypto.StreamCipher;
-import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.SICBlockCipher;
-import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
 
 /**
  * This component is responsible for reading and composing RLPx protocol frames, conformant to the
@@ -41,6 +39,11 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
  * <p>These frames are encrypted and authenticated using the secrets generated during the
  * cryptographic handshake ({@link tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.Handshaker}.
  *
+ * <p>Frames are ciphered with the JDK's AES implementation, whose block operations are intrinsified
+ * to hardware AES instructions where the CPU supports them. Frame payloads are ciphered in place,
+ * and headers and MACs are processed in scratch arrays owned by the framer, so that framing and
+ * deframing only allocate the arrays holding message data.
+ *
  * <p>This component is well-versed in TCP streaming complexities: it is capable of processing
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
@@ -68,9 +71,16 @@ public class Framer {
 
   private final HandshakeSecrets secrets;
   private static final SnappyCompressor compressor = new SnappyCompressor();
-  private final StreamCipher encryptor;
-  private final StreamCipher decryptor;
-  private final BlockCipher macEncryptor;
+  private final Cipher encryptor;
+  private final Cipher decryptor;
+  private final Cipher macEncryptor;
+
+  // Scratch space for the header and MAC computations; guarded by the monitor of this framer.
+  private final byte[] inboundHeader = new byte[LENGTH_HEADER_DATA];
+  private final byte[] outboundHeader = new byte[LENGTH_HEADER_DATA];
+  private final byte[] macSeed = new byte[LENGTH_MAC];
+  private final byte[] mac = new byte[Bytes32.SIZE];
+
   private boolean headerProcessed;
   private int frameSize;
   private boolean compressionEnabled = false;
@@ -83,17 +93,21 @@ public class Framer {
   public Framer(final HandshakeSecrets secrets) {
     this.secrets = secrets;
 
-    final KeyParameter aesKey = new KeyParameter(secrets.getAesSecret());
-    final KeyParameter macKey = new KeyParameter(secrets.getMacSecret());
+    final SecretKeySpec aesKey = new SecretKeySpec(secrets.getAesSecret(), "AES");
+    final SecretKeySpec macKey = new SecretKeySpec(secrets.getMacSecret(), "AES");
 
-    encryptor = new SICBlockCipher(new AESEngine());
-    encryptor.init(true, new ParametersWithIV(aesKey, IV));
+    try {
+      encryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      encryptor.init(Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(IV));
 
-    decryptor = new SICBlockCipher(new AESEngine());
-    decryptor.init(false, new ParametersWithIV(aesKey, IV));
+      decryptor = Cipher.getInstance("AES/CTR/NoPadding");
+      decryptor.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(IV));
 
-    macEncryptor = new AESEngine();
-    macEncryptor.init(true, macKey);
+      macEncryptor = Cipher.getInstance("AES/ECB/NoPadding");
+      macEncryptor.init(Cipher.ENCRYPT_MODE, macKey);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("AES ciphers are not available", e);
+    }
   }
 
   public void enableCompression() {
@@ -173,50 +187,41 @@ public class Framer {
           LENGTH_FULL_HEADER, encryptedHeader.readableBytes());
     }
 
-    // Decrypt the header.
-    final byte[] hCipher = new byte[LENGTH_HEADER_DATA];
-    final byte[] hMac = new byte[LENGTH_MAC];
-    encryptedHeader.readBytes(hCipher).readBytes(hMac);
+    final byte[] h = inboundHeader;
+    final int index = encryptedHeader.readerIndex();
+    encryptedHeader.getBytes(index, h);
 
     // Header MAC validation.
-    byte[] expectedMac = new byte[16];
-    macEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
-    expectedMac = secrets.updateIngress(xor(expectedMac, hCipher)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(hMac, expectedMac);
+    updateIngressMac(secrets.snapshotIngressMac(mac), h);
+    validateMac(encryptedHeader, index + LENGTH_HEADER_DATA);
 
     // Perform the header decryption.
-    decryptor.processBytes(hCipher, 0, hCipher.length, hCipher, 0);
-    final ByteBuf h = wrappedBuffer(hCipher);
+    cipherInPlace(decryptor, h, 0, LENGTH_HEADER_DATA);
 
     // Read the frame length.
-    final byte[] length = new byte[3];
-    h.readBytes(length);
-    int frameSize = length[0] & 0xff;
-    frameSize = (frameSize << 8) + (length[1] & 0xff);
-    frameSize = (frameSize << 8) + (length[2] & 0xff);
+    int frameSize = h[0] & 0xff;
+    frameSize = (frameSize << 8) + (h[1] & 0xff);
+    frameSize = (frameSize << 8) + (h[2] & 0xff);
 
     // Discard the header data (RLP): being set to fixed value 0xc28080 (list of two null
     // elements) by other clients.
-    final int headerDataLength = RLP.calculateSize(BytesValue.wrapBuffer(h.nioBuffer()));
-    if (h.readableBytes() < headerDataLength) {
+    final int remaining = LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE;
+    final int headerDataLength =
+        RLP.calculateSize(BytesValue.wrap(h, LENGTH_FRAME_SIZE, remaining));
+    if (remaining < headerDataLength) {
       throw error(
           "Expected at least %d readable bytes while processing header, remaining: %s",
-          headerDataLength, h.readableBytes());
+          headerDataLength, remaining);
     }
-    h.skipBytes(headerDataLength);
 
     // Discard padding in header (= zero-fill to 16-byte boundary).
-    h.skipBytes(padding16(LENGTH_FRAME_SIZE + headerDataLength));
-
-    if (h.readableBytes() != 0) {
+    final int unread =
+        remaining - headerDataLength - padding16(LENGTH_FRAME_SIZE + headerDataLength);
+    if (unread != 0) {
       throw error(
-          "Expected no more readable bytes while processing header, remaining: %s",
-          h.readableBytes());
+          "Expected no more readable bytes while processing header, remaining: %s", unread);
     }
 
-    h.discardReadBytes();
     return frameSize;
   }
 
@@ -236,21 +241,18 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    // The ciphertext is copied once, into the array that ends up holding the message data.
+    final int length = frameSize + pad;
+    final byte[] frameData = new byte[length];
+    f.getBytes(f.readerIndex(), frameData);
 
     // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
-    final byte[] fMacSeedEnc = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(fMac, expectedMac);
+    secrets.updateIngress(frameData, 0, length).snapshotIngressMac(mac);
+    updateIngressMac(mac, mac);
+    validateMac(f, f.readerIndex() + length);
 
     // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
+    cipherInPlace(decryptor, frameData, 0, length);
 
     // Read the id.
     final BytesValue idbv = RLP.decodeOne(BytesValue.of(frameData[0]));
@@ -258,28 +260,80 @@ public class Framer {
 
     // Write message data to ByteBuf, decompressing as necessary
     final BytesValue data;
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final int uncompressedLength =
+          compressor.uncompressedLength(frameData, LENGTH_MESSAGE_ID, messageLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
-      final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+      final byte[] decompressedMessageData = new byte[uncompressedLength];
+      compressor.decompress(
+          frameData, LENGTH_MESSAGE_ID, messageLength, decompressedMessageData, 0);
       data = BytesValue.wrap(decompressedMessageData);
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = BytesValue.wrap(frameData, 1, messageLength);
+      data = BytesValue.wrap(frameData, LENGTH_MESSAGE_ID, messageLength);
     }
 
     return new RawMessage(id, data);
   }
 
-  private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
+  /**
+   * Compares the first {@link #LENGTH_MAC} bytes of the expected MAC computed in {@link #mac}
+   * against the MAC received at {@code index} in {@code buf}.
+   */
+  private void validateMac(final ByteBuf buf, final int index) {
+    int diff = 0;
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      diff |= mac[i] ^ buf.getByte(index + i);
+    }
+    if (diff != 0) {
       throw error(
           "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+          hexDump(mac, 0, LENGTH_MAC), hexDump(buf, index, LENGTH_MAC));
+    }
+  }
+
+  /**
+   * Advances the ingress MAC by encrypting the first block of {@code currentMac} with the MAC
+   * secret, XOR-ing it with the first block of {@code seed} and feeding the result into the MAC.
+   * The updated MAC is left in {@link #mac}.
+   */
+  private void updateIngressMac(final byte[] currentMac, final byte[] seed) {
+    computeMacSeed(currentMac, seed);
+    secrets.updateIngress(macSeed, 0, LENGTH_MAC).snapshotIngressMac(mac);
+  }
+
+  /** As {@link #updateIngressMac(byte[], byte[])}, for the egress MAC. */
+  private void updateEgressMac(final byte[] currentMac, final byte[] seed) {
+    computeMacSeed(currentMac, seed);
+    secrets.updateEgress(macSeed, 0, LENGTH_MAC).snapshotEgressMac(mac);
+  }
+
+  private void computeMacSeed(final byte[] currentMac, final byte[] seed) {
+    cipher(macEncryptor, currentMac, 0, LENGTH_MAC, macSeed, 0);
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      macSeed[i] ^= seed[i];
+    }
+  }
+
+  private static void cipherInPlace(
+      final Cipher cipher, final byte[] bytes, final int offset, final int length) {
+    cipher(cipher, bytes, offset, length, bytes, offset);
+  }
+
+  private static void cipher(
+      final Cipher cipher,
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    try {
+      final int processed = cipher.update(input, inputOffset, length, output, outputOffset);
+      assert processed == length;
+    } catch (final ShortBufferException e) {
+      throw new FramingException("Insufficient room for cipher output", e);
     }
   }
 
@@ -293,13 +347,21 @@ public class Framer {
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
     if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().getArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), BytesValue.wrap(compressed)), output);
+      // Compress the message straight into the frame buffer.
+      final byte[] data = message.getData().getArrayUnsafe();
+      final ByteBuf frame =
+          allocateFrame(output, LENGTH_MESSAGE_ID + compressor.maxCompressedLength(data.length));
+      try {
+        frame.writeByte(messageId(message));
+        final int compressedLength =
+            compressor.compress(
+                data, 0, data.length, frame.array(), frame.arrayOffset() + frame.writerIndex());
+        frame.writerIndex(frame.writerIndex() + compressedLength);
+        writeFrame(frame, output);
+      } finally {
+        frame.release();
+      }
     } else {
       frameMessage(message, output);
     }
@@ -307,45 +369,67 @@ public class Framer {
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
-    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
+    final ByteBuf frame = allocateFrame(buf, LENGTH_MESSAGE_ID + message.getSize());
+    try {
+      frame.writeByte(messageId(message));
+      message.getData().appendTo(frame);
+      writeFrame(frame, buf);
+    } finally {
+      frame.release();
+    }
+  }
+
+  /**
+   * Allocates a buffer for the frame data of a message, from the allocator of the output buffer so
+   * that frame buffers are pooled along with it. The frame is encrypted in place, so the buffer is
+   * always array-backed.
+   */
+  private static ByteBuf allocateFrame(final ByteBuf output, final int maxFrameSize) {
+    final int capacity = maxFrameSize + padding16(maxFrameSize);
+    final ByteBuf frame = output.alloc().heapBuffer(capacity, capacity);
+    Preconditions.checkState(frame.hasArray(), "Frame buffers must be array-backed");
+    return frame;
+  }
 
+  private static byte messageId(final MessageData message) {
     final byte id = (byte) message.getCode();
+    final BytesValue bv = id == 0 ? RLP.NULL : RLP.encodeOne(BytesValue.of(id));
+    assert bv.size() == 1;
+    return bv.get(0);
+  }
+
+  /**
+   * Writes the header and the frame for the frame data held in the readable bytes of {@code frame},
+   * which is zero-padded to a 16-byte boundary and encrypted in place.
+   */
+  private void writeFrame(final ByteBuf frame, final ByteBuf buf) {
+    final int frameSize = frame.readableBytes();
+    frame.writeZero(padding16(frameSize));
 
     // Generate the header data.
-    final byte[] h = new byte[LENGTH_HEADER_DATA];
+    final byte[] h = outboundHeader;
     h[0] = (byte) ((frameSize >> 16) & 0xff);
     h[1] = (byte) ((frameSize >> 8) & 0xff);
     h[2] = (byte) (frameSize & 0xff);
     System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
-    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
+    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length, (byte) 0x00);
+    cipherInPlace(encryptor, h, 0, LENGTH_HEADER_DATA);
 
     // Generate the header MAC.
-    byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
-    macEncryptor.processBlock(hMac, 0, hMac, 0);
-    hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    updateEgressMac(secrets.snapshotEgressMac(mac), h);
+    buf.writeBytes(h).writeBytes(mac, 0, LENGTH_MAC);
 
     // Encrypt payload.
-    final byte[] f = new byte[frameSize + pad];
-
-    final BytesValue bv = id == 0 ? RLP.NULL : RLP.encodeOne(BytesValue.of(id));
-    assert bv.size() == 1;
-    f[0] = bv.get(0);
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 0, 1);
-    encryptor.processBytes(f, 0, f.length, f, 0);
+    final byte[] f = frame.array();
+    final int offset = frame.arrayOffset() + frame.readerIndex();
+    final int length = frame.readableBytes();
+    cipherInPlace(encryptor, f, offset, length);
 
     // Calculate the frame MAC.
-    final byte[] fMacSeed = Arrays.copyOf(secrets.updateEgress(f).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+    secrets.updateEgress(f, offset, length).snapshotEgressMac(mac);
+    updateEgressMac(mac, mac);
 
-    buf.writeBytes(f).writeBytes(fMac);
+    buf.writeBytes(frame).writeBytes(mac, 0, LENGTH_MAC);
   }
 
   private static int padding16(final int size) {
@@ -34,6 +34,35 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Compresses a range of {@code input} into {@code output}, which must have room for at least
+   * {@link #maxCompressedLength(int)} bytes from {@code outputOffset}.
+   *
+   * @param input The array holding the data to compress.
+   * @param inputOffset The offset of the data to compress in {@code input}.
+   * @param length The length of the data to compress.
+   * @param output The array to write the compressed data to.
+   * @param outputOffset The offset in {@code output} at which to write the compressed data.
+   * @return The length of the compressed data.
+   */
+  public int compress(
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(input, "input data must not be null");
+    try {
+      return Snappy.compress(input, inputOffset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  public int maxCompressedLength(final int uncompressedLength) {
+    return Snappy.maxCompressedLength(uncompressedLength);
+  }
+
   public byte[] decompress(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -43,6 +72,31 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompresses a range of {@code input} into {@code output}, which must have room for at least
+   * {@link #uncompressedLength(byte[], int, int)} bytes from {@code outputOffset}.
+   *
+   * @param input The array holding the data to decompress.
+   * @param inputOffset The offset of the data to decompress in {@code input}.
+   * @param length The length of the data to decompress.
+   * @param output The array to write the decompressed data to.
+   * @param outputOffset The offset in {@code output} at which to write the decompressed data.
+   * @return The length of the decompressed data.
+   */
+  public int decompress(
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(input, "input data must not be null");
+    try {
+      return Snappy.uncompress(input, inputOffset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -51,4 +105,13 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
@@ -44,8 +44,10 @@ public class HandshakeSecrets {
   private final byte[] aesSecret;
   private final byte[] macSecret;
   private final byte[] token;
-  private final KeccakDigest egressMac = new KeccakDigest(Bytes32.SIZE * 8);
-  private final KeccakDigest ingressMac = new KeccakDigest(Bytes32.SIZE * 8);
+  private final MacDigest egressMac = new MacDigest();
+  private final MacDigest ingressMac = new MacDigest();
+  // Finalised in place of the MACs when taking snapshots into a caller-provided array.
+  private final MacDigest snapshotScratch = new MacDigest();
 
   /**
    * Creates an instance with empty MACs.
@@ -71,7 +73,19 @@ public class HandshakeSecrets {
    * @return Returns this instance for fluent chaining.
    */
   public HandshakeSecrets updateEgress(final byte[] bytes) {
-    egressMac.update(bytes, 0, bytes.length);
+    return updateEgress(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Updates the egress mac with a range of the provided bytes.
+   *
+   * @param bytes The array holding the bytes of the outgoing message.
+   * @param offset The offset in {@code bytes} at which the outgoing message starts.
+   * @param length The length of the outgoing message.
+   * @return Returns this instance for fluent chaining.
+   */
+  public HandshakeSecrets updateEgress(final byte[] bytes, final int offset, final int length) {
+    egressMac.update(bytes, offset, length);
     return this;
   }
 
@@ -82,7 +96,19 @@ public class HandshakeSecrets {
    * @return Returns this instance for fluent chaining.
    */
   public HandshakeSecrets updateIngress(final byte[] bytes) {
-    ingressMac.update(bytes, 0, bytes.length);
+    return updateIngress(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Updates the ingress mac with a range of the provided bytes.
+   *
+   * @param bytes The array holding the bytes of the incoming message.
+   * @param offset The offset in {@code bytes} at which the incoming message starts.
+   * @param length The length of the incoming message.
+   * @return Returns this instance for fluent chaining.
+   */
+  public HandshakeSecrets updateIngress(final byte[] bytes, final int offset, final int length) {
+    ingressMac.update(bytes, offset, length);
     return this;
   }
 
@@ -131,6 +157,30 @@ public class HandshakeSecrets {
     return snapshot(ingressMac);
   }
 
+  /**
+   * Writes a snapshot of the current egress MAC into {@code out}, without finalising the underlying
+   * digest or allocating. Callers must not take snapshots concurrently.
+   *
+   * @param out The array to write the 32-byte snapshot to.
+   * @return The {@code out} array.
+   */
+  public byte[] snapshotEgressMac(final byte[] out) {
+    egressMac.snapshotInto(snapshotScratch, out);
+    return out;
+  }
+
+  /**
+   * Writes a snapshot of the current ingress MAC into {@code out}, without finalising the
+   * underlying digest or allocating. Callers must not take snapshots concurrently.
+   *
+   * @param out The array to write the 32-byte snapshot to.
+   * @return The {@code out} array.
+   */
+  public byte[] snapshotIngressMac(final byte[] out) {
+    ingressMac.snapshotInto(snapshotScratch, out);
+    return out;
+  }
+
   /**
    * TODO: It's not wise to print secrets. Maybe print only the first and last 8 bytes (ellipsize
    * the middle). That might be enough for testing.
@@ -157,6 +207,24 @@ public class HandshakeSecrets {
     return out;
   }
 
+  /** A Keccak-256 digest whose state can be copied into a reusable scratch digest. */
+  private static final class MacDigest extends KeccakDigest {
+
+    private MacDigest() {
+      super(Bytes32.SIZE * 8);
+    }
+
+    private void snapshotInto(final MacDigest scratch, final byte[] out) {
+      System.arraycopy(state, 0, scratch.state, 0, state.length);
+      System.arraycopy(dataQueue, 0, scratch.dataQueue, 0, dataQueue.length);
+      scratch.rate = rate;
+      scratch.bitsInQueue = bitsInQueue;
+      scratch.fixedOutputLength = fixedOutputLength;
+      scratch.squeezing = squeezing;
+      scratch.doFinal(out, 0);
+    }
+  }
+
   @SuppressWarnings("EqualsWhichDoesntCheckParameterClass") // checked in delegated method
   @Override
   public boolean equals(final Object obj) {
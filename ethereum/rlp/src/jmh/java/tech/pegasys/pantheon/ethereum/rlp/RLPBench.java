@@ -18,13 +18,20 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 
+/**
+ * Compares encoding to and decoding from {@link BytesValue} with encoding to and decoding from
+ * pooled Netty buffers. Run with {@code -prof gc} to compare allocation rates.
+ */
 @State(Scope.Benchmark)
 public class RLPBench {
 
@@ -60,11 +67,19 @@ public class RLPBench {
 
   volatile Object toEncode;
   volatile BytesValue toDecode;
+  volatile ByteBuf toDecodeBuffer;
 
   @Setup(Level.Trial)
   public void prepare() {
     toEncode = generate(depth, width, size);
     toDecode = RLPTestUtil.encode(toEncode);
+    toDecodeBuffer = PooledByteBufAllocator.DEFAULT.directBuffer(toDecode.size());
+    toDecode.appendTo(toDecodeBuffer);
+  }
+
+  @TearDown(Level.Trial)
+  public void release() {
+    toDecodeBuffer.release();
   }
 
   @Benchmark
@@ -76,4 +91,20 @@ public class RLPBench {
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  @Benchmark
+  public int getBenchmarkByteBufEncoding() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    RLPTestUtil.encode(toEncode, out);
+    final ByteBuf encoded = PooledByteBufAllocator.DEFAULT.buffer(out.encodedSize());
+    out.writeEncoded(encoded);
+    final int encodedSize = encoded.readableBytes();
+    encoded.release();
+    return encodedSize;
+  }
+
+  @Benchmark
+  public Object getBenchmarkByteBufDecoding() {
+    return RLPTestUtil.decode(new ByteBufRLPInput(toDecodeBuffer, false));
+  }
 }
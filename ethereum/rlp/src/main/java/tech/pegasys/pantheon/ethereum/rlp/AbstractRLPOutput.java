@@ -26,6 +26,8 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+
 abstract class AbstractRLPOutput implements RLPOutput {
   /*
    * The algorithm implemented works as follows:
@@ -190,4 +192,36 @@ abstract class AbstractRLPOutput implements RLPOutput {
         mutableBytesValue.size(),
         offset);
   }
+
+  /**
+   * Write the rlp encoded value to the provided {@link ByteBuf}, starting at its writer index.
+   *
+   * <p>The buffer is grown once to fit {@link #encodedSize()} bytes, after which every value is
+   * written straight into it without any intermediate copy.
+   *
+   * @param buffer the buffer to which the rlp-data will be written
+   */
+  public void writeEncoded(final ByteBuf buffer) {
+    final int size = encodedSize();
+    buffer.ensureWritable(size);
+    final int start = buffer.writerIndex();
+
+    int listIdx = 0;
+    for (int i = 0; i < values.size(); i++) {
+      final BytesValue value = values.get(i);
+      if (value == LIST_MARKER) {
+        writeListHeader(payloadSizes[++listIdx], buffer);
+      } else if (rlpEncoded.get(i)) {
+        value.appendTo(buffer);
+      } else {
+        writeElement(value, buffer);
+      }
+    }
+
+    checkState(
+        buffer.writerIndex() - start == size,
+        "Expected RLP encoding to be of size %s but was of size %s.",
+        size,
+        buffer.writerIndex() - start);
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.math.BigInteger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data from the readable bytes of a Netty {@link
+ * ByteBuf}.
+ *
+ * <p>Data is read in place: scalars are decoded straight from the buffer and the values returned
+ * by this input are views over the buffer rather than copies. The buffer must therefore be neither
+ * modified nor released while this input, or any value read from it, is in use. Values that need
+ * to outlive the buffer should be copied (see {@link BytesValue#copy()}). The reader index of the
+ * buffer is left untouched.
+ */
+public class ByteBufRLPInput extends AbstractRLPInput {
+
+  // The buffer holding the RLP encoded data, and the index at which that data starts.
+  private final ByteBuf buffer;
+  private final int start;
+
+  public ByteBufRLPInput(final ByteBuf buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufRLPInput(
+      final ByteBuf buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    this.buffer = buffer;
+    this.start = buffer.readerIndex();
+    init(buffer.readableBytes(), shouldFitExactly);
+  }
+
+  private int index(final long offset) {
+    return start + Math.toIntExact(offset);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return buffer.getByte(index(offset));
+  }
+
+  @Override
+  protected BytesValue inputSlice(final long offset, final int length) {
+    return MutableBytesValue.wrapBuffer(buffer, index(offset), length);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(inputSlice(offset, Bytes32.SIZE));
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return ByteBufUtil.hexDump(buffer, index(offset), length);
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return BytesValues.asUnsignedBigInteger(inputSlice(offset, length));
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    return buffer.getInt(index(offset));
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    return buffer.getLong(index(offset));
+  }
+
+  @Override
+  public BytesValue raw() {
+    return MutableBytesValue.wrapBuffer(buffer, start, Math.toIntExact(size));
+  }
+}
@@ -15,6 +15,8 @@ package tech.pegasys.pantheon.ethereum.rlp;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Helper static methods to facilitate RLP encoding <b>within this package</b>. Neither this class
  * nor any of its method are meant to be exposed publicly, they are too low level.
@@ -87,6 +89,43 @@ class RLPEncodingHelpers {
     return writeLongMetadata(0xf7, payloadSize, dest, destOffset);
   }
 
+  /** Writes the result of encoding the provided value at the writer index of the buffer. */
+  static void writeElement(final BytesValue value, final ByteBuf dest) {
+    final int size = value.size();
+    if (isSingleRLPByte(value)) {
+      dest.writeByte(value.get(0));
+      return;
+    }
+
+    if (isShortElement(value)) {
+      dest.writeByte(0x80 + size);
+    } else {
+      writeLongMetadata(0xb7, size, dest);
+    }
+    value.appendTo(dest);
+  }
+
+  /**
+   * Writes the encoded header of a list provided its encoded payload size at the writer index of
+   * the buffer.
+   */
+  static void writeListHeader(final int payloadSize, final ByteBuf dest) {
+    if (isShortList(payloadSize)) {
+      dest.writeByte(0xc0 + payloadSize);
+      return;
+    }
+
+    writeLongMetadata(0xf7, payloadSize, dest);
+  }
+
+  private static void writeLongMetadata(final int baseCode, final int size, final ByteBuf dest) {
+    final int sizeLength = sizeLength(size);
+    dest.writeByte(baseCode + sizeLength);
+    for (int i = sizeLength - 1; i >= 0; i--) {
+      dest.writeByte(size >> (8 * i));
+    }
+  }
+
   private static int writeLongMetadata(
       final int baseCode, final int size, final MutableBytesValue dest, final int destOffset) {
     final int sizeLength = sizeLength(size);
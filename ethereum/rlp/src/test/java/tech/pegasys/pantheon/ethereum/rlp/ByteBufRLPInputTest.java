@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.ethereum.rlp.util.RLPTestUtil;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+public class ByteBufRLPInputTest {
+
+  private static ByteBuf bufferWithPrefix(final BytesValue encoded) {
+    final ByteBuf buffer = Unpooled.buffer();
+    buffer.writeBytes(new byte[] {1, 2, 3});
+    buffer.skipBytes(3);
+    buffer.writeBytes(encoded.extractArray());
+    return buffer;
+  }
+
+  @Test
+  public void decodesLikeBytesValueInput() {
+    for (int seed = 0; seed < 100; seed++) {
+      final BytesValue encoded = RLPTestUtil.randomRLPValue(seed).encoded();
+      final ByteBuf buffer = bufferWithPrefix(encoded);
+
+      assertThat(RLPTestUtil.decode(new ByteBufRLPInput(buffer, false)))
+          .isEqualTo(RLPTestUtil.decode(encoded));
+      assertThat(new ByteBufRLPInput(buffer, false).raw()).isEqualTo(encoded);
+      assertThat(buffer.readerIndex()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  public void readsScalarsInPlace() {
+    final Bytes32 bytes32 = Bytes32.fromHexString("0x" + "ab".repeat(32));
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeLongScalar(123456789L);
+    out.writeBytesValue(bytes32);
+    out.writeLong(-5L);
+    out.writeIntScalar(7);
+    out.endList();
+
+    final RLPInput in = new ByteBufRLPInput(bufferWithPrefix(out.encoded()), false);
+    in.enterList();
+    assertThat(in.readLongScalar()).isEqualTo(123456789L);
+    assertThat(in.readBytes32()).isEqualTo(bytes32);
+    assertThat(in.readLong()).isEqualTo(-5L);
+    assertThat(in.readIntScalar()).isEqualTo(7);
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void rejectsTrailingDataWhenStrict() {
+    final ByteBuf buffer = bufferWithPrefix(BytesValue.fromHexString("0xc2808001"));
+    assertThatThrownBy(() -> new ByteBufRLPInput(buffer, false)).isInstanceOf(RLPException.class);
+    assertThat(new ByteBufRLPInput(buffer, false, false).raw())
+        .isEqualTo(BytesValue.fromHexString("0xc28080"));
+  }
+}
@@ -14,8 +14,11 @@ package tech.pegasys.pantheon.ethereum.rlp;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import tech.pegasys.pantheon.ethereum.rlp.util.RLPTestUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
 public class BytesValueRLPOutputTest {
@@ -30,6 +33,12 @@ public class BytesValueRLPOutputTest {
     return sb.toString();
   }
 
+  private static BytesValue readableBytes(final ByteBuf buffer) {
+    final byte[] bytes = new byte[buffer.readableBytes()];
+    buffer.getBytes(buffer.readerIndex(), bytes);
+    return BytesValue.wrap(bytes);
+  }
+
   @Test
   public void empty() {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
@@ -315,4 +324,37 @@ public class BytesValueRLPOutputTest {
     // so 0xc0 + size then payloads
     assertThat(out.encoded()).isEqualTo(h("0xc52cc203123b"));
   }
+
+  @Test
+  public void writeEncodedMatchesEncoded() {
+    for (int seed = 0; seed < 100; seed++) {
+      final BytesValueRLPOutput out = RLPTestUtil.randomRLPValue(seed);
+      final ByteBuf buffer = Unpooled.buffer(1);
+      out.writeEncoded(buffer);
+      assertThat(readableBytes(buffer)).isEqualTo(out.encoded());
+    }
+  }
+
+  @Test
+  public void writeEncodedAppendsToExistingContent() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeLongScalar(1024);
+    out.writeRLPUnsafe(RLP.encodeOne(BytesValue.of(1, 2, 3)));
+    out.writeBytesValue(BytesValue.wrap(new byte[60]));
+    out.endList();
+
+    final ByteBuf buffer = Unpooled.buffer(1);
+    buffer.writeByte(0x42);
+    out.writeEncoded(buffer);
+
+    assertThat(readableBytes(buffer)).isEqualTo(BytesValue.of(0x42).concat(out.encoded()));
+  }
+
+  @Test
+  public void writeEncodedOfEmptyOutputWritesNothing() {
+    final ByteBuf buffer = Unpooled.buffer();
+    new BytesValueRLPOutput().writeEncoded(buffer);
+    assertThat(buffer.readableBytes()).isZero();
+  }
 }
@@ -41,7 +41,15 @@ public class RLPTestUtil {
     return decode(RLP.input(value));
   }
 
-  private static Object decode(final RLPInput in) {
+  /**
+   * Recursively decodes the RLP value of the provided input. Byte strings are assumed to be
+   * non-scalar (leading zeros are allowed).
+   *
+   * @param in The input to decode.
+   * @return The output of decoding {@code in}, see {@link #decode(BytesValue)}.
+   * @throws RLPException if the input is not a properly formed RLP encoding.
+   */
+  public static Object decode(final RLPInput in) {
     if (!in.nextIsList()) {
       return in.readBytesValue();
     }
@@ -69,7 +77,14 @@ public class RLPTestUtil {
     return out.encoded();
   }
 
-  private static void encode(final Object obj, final RLPOutput out) {
+  /**
+   * Recursively writes an object consisting of recursive lists of {@link BytesValue} to the
+   * provided output, see {@link #encode(Object)}.
+   *
+   * @param obj The object to write.
+   * @param out The output to write {@code obj} to.
+   */
+  public static void encode(final Object obj, final RLPOutput out) {
     if (obj instanceof BytesValue) {
       out.writeBytesValue((BytesValue) obj);
     } else if (obj instanceof List) {
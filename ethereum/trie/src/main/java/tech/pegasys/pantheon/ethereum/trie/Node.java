@@ -55,5 +55,8 @@ public interface Node<V> {
   /** @return True if the node needs to be persisted. */
   boolean isDirty();
 
+  /** Releases any data loaded from storage so it can be garbage collected. */
+  default void unload() {}
+
   String print();
 }
@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -82,4 +83,9 @@ public class SimpleMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
   public Map<Bytes32, V> entriesFrom(final Bytes32 startKeyHash, final int limit) {
     return StorageEntriesCollector.collectEntries(root, startKeyHash, limit);
   }
+
+  @Override
+  public void visitAll(final Consumer<Node<V>> visitor) {
+    root.accept(new AllNodesVisitor<>(visitor));
+  }
 }
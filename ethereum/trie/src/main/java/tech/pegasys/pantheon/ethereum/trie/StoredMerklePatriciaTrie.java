@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -109,6 +110,11 @@ public class StoredMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
     return StorageEntriesCollector.collectEntries(root, startKeyHash, limit);
   }
 
+  @Override
+  public void visitAll(final Consumer<Node<V>> visitor) {
+    root.accept(new AllNodesVisitor<>(visitor));
+  }
+
   @Override
   public Bytes32 getRootHash() {
     return root.getHash();
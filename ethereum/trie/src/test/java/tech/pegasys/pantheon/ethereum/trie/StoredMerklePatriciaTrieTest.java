@@ -21,8 +21,13 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -373,6 +378,31 @@ public class StoredMerklePatriciaTrieTest {
     assertThat(trie.get(key3)).isEqualTo(Optional.of("value3"));
   }
 
+  @Test
+  public void visitAllVisitsEveryStoredNode() {
+    trie.put(BytesValue.of(1, 5, 8, 9), "value1");
+    trie.put(BytesValue.of(1, 6, 1, 2), "value2");
+    trie.put(BytesValue.of(1, 6, 1, 3), "value3");
+    trie.commit(merkleStorage::put);
+    merkleStorage.commit();
+
+    final Set<Bytes32> visitedHashes = new HashSet<>();
+    final List<String> visitedValues = new ArrayList<>();
+    trie.visitAll(
+        node -> {
+          if (node.isReferencedByHash()) {
+            visitedHashes.add(node.getHash());
+          }
+          node.getValue().ifPresent(visitedValues::add);
+        });
+
+    assertThat(visitedHashes)
+        .containsExactlyInAnyOrderElementsOf(
+            ((InMemoryKeyValueStorage) keyValueStore)
+                .keySet().stream().map(Bytes32::wrap).collect(Collectors.toSet()));
+    assertThat(visitedValues).containsExactlyInAnyOrder("value1", "value2", "value3");
+  }
+
   @Test
   public void shouldRetrieveStoredExtensionWithInlinedChild() {
     final KeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
@@ -25,6 +25,7 @@ public enum PantheonMetricCategory implements MetricCategory {
   NETWORK("network"),
   PEERS("peers"),
   PERMISSIONING("permissioning"),
+  PRUNER("pruner"),
   KVSTORE_ROCKSDB("rocksdb"),
   KVSTORE_ROCKSDB_STATS("rocksdb", false),
   RPC("rpc"),
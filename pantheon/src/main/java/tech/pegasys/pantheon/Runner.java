@@ -15,6 +15,7 @@ package tech.pegasys.pantheon;
 import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.ethereum.graphql.GraphQLHttpService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcHttpService;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BloomBitsIndex;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketService;
 import tech.pegasys.pantheon.ethereum.p2p.network.NetworkRunner;
 import tech.pegasys.pantheon.ethereum.p2p.peers.EnodeURL;
@@ -48,6 +49,7 @@ public class Runner implements AutoCloseable {
   private final Optional<GraphQLHttpService> graphQLHttp;
   private final Optional<WebSocketService> websocketRpc;
   private final Optional<MetricsService> metrics;
+  private final Optional<BloomBitsIndex> bloomBitsIndex;
 
   private final PantheonController<?> pantheonController;
   private final Path dataDir;
@@ -60,6 +62,7 @@ public class Runner implements AutoCloseable {
       final Optional<GraphQLHttpService> graphQLHttp,
       final Optional<WebSocketService> websocketRpc,
       final Optional<MetricsService> metrics,
+      final Optional<BloomBitsIndex> bloomBitsIndex,
       final PantheonController<?> pantheonController,
       final Path dataDir) {
     this.vertx = vertx;
@@ -69,6 +72,7 @@ public class Runner implements AutoCloseable {
     this.jsonRpc = jsonRpc;
     this.websocketRpc = websocketRpc;
     this.metrics = metrics;
+    this.bloomBitsIndex = bloomBitsIndex;
     this.pantheonController = pantheonController;
     this.dataDir = dataDir;
   }
@@ -80,6 +84,7 @@ public class Runner implements AutoCloseable {
         natManager.get().start();
       }
       networkRunner.start();
+      bloomBitsIndex.ifPresent(BloomBitsIndex::start);
       if (networkRunner.getNetwork().isP2pEnabled()) {
         pantheonController.getSynchronizer().start();
       }
@@ -125,6 +130,7 @@ public class Runner implements AutoCloseable {
       graphQLHttp.ifPresent(service -> waitForServiceToStop("graphQLHttp", service.stop()));
       websocketRpc.ifPresent(service -> waitForServiceToStop("websocketRpc", service.stop()));
       metrics.ifPresent(service -> waitForServiceToStop("metrics", service.stop()));
+      bloomBitsIndex.ifPresent(BloomBitsIndex::stop);
 
       if (natManager.isPresent()) {
         natManager.get().stop();
@@ -38,6 +38,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BloomBitsIndex;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketRequestHandler;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketService;
@@ -92,15 +93,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.GraphQL;
 import io.vertx.core.Vertx;
 
 public class RunnerBuilder {
 
+  private static final String BLOOM_BITS_INDEX_DIRECTORY = "bloombits";
+
   private Vertx vertx;
   private PantheonController<?> pantheonController;
 
@@ -124,6 +129,7 @@ public class RunnerBuilder {
   private MetricsSystem metricsSystem;
   private Optional<PermissioningConfiguration> permissioningConfiguration = Optional.empty();
   private Collection<EnodeURL> staticNodes = Collections.emptyList();
+  private boolean bloomBitsIndexEnabled = false;
 
   public RunnerBuilder vertx(final Vertx vertx) {
     this.vertx = vertx;
@@ -214,6 +220,11 @@ public class RunnerBuilder {
     return this;
   }
 
+  public RunnerBuilder bloomBitsIndexEnabled(final boolean bloomBitsIndexEnabled) {
+    this.bloomBitsIndexEnabled = bloomBitsIndexEnabled;
+    return this;
+  }
+
   public RunnerBuilder bannedNodeIds(final Collection<BytesValue> bannedNodeIds) {
     this.bannedNodeIds.addAll(bannedNodeIds);
     return this;
@@ -335,7 +346,15 @@ public class RunnerBuilder {
     final MiningCoordinator miningCoordinator = pantheonController.getMiningCoordinator();
 
     final PrivacyParameters privacyParameters = pantheonController.getPrivacyParameters();
-    final FilterManager filterManager = createFilterManager(vertx, context, transactionPool);
+    final Optional<BloomBitsIndex> bloomBitsIndex =
+        bloomBitsIndexEnabled
+            ? Optional.of(createBloomBitsIndex(context.getBlockchain()))
+            : Optional.empty();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(
+            context.getBlockchain(), context.getWorldStateArchive(), bloomBitsIndex);
+    final FilterManager filterManager =
+        createFilterManager(vertx, blockchainQueries, transactionPool);
 
     final P2PNetwork peerNetwork = networkRunner.getNetwork();
 
@@ -359,7 +378,7 @@ public class RunnerBuilder {
     if (jsonRpcConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> jsonRpcMethods =
           jsonRpcMethods(
-              context,
+              blockchainQueries,
               protocolSchedule,
               pantheonController,
               peerNetwork,
@@ -417,7 +436,7 @@ public class RunnerBuilder {
     if (webSocketConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> webSocketsJsonRpcMethods =
           jsonRpcMethods(
-              context,
+              blockchainQueries,
               protocolSchedule,
               pantheonController,
               peerNetwork,
@@ -465,6 +484,7 @@ public class RunnerBuilder {
         graphQLHttpService,
         webSocketService,
         metricsService,
+        bloomBitsIndex,
         pantheonController,
         dataDir);
   }
@@ -534,11 +554,26 @@ public class RunnerBuilder {
     return fixedNodes;
   }
 
+  private BloomBitsIndex createBloomBitsIndex(final Blockchain blockchain) {
+    return new BloomBitsIndex(
+        blockchain,
+        dataDir.resolve(BLOOM_BITS_INDEX_DIRECTORY),
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("BloomBitsIndex-%d")
+                .build()),
+        BloomBitsIndex.DEFAULT_CONFIRMATIONS);
+  }
+
   private FilterManager createFilterManager(
-      final Vertx vertx, final ProtocolContext<?> context, final TransactionPool transactionPool) {
+      final Vertx vertx,
+      final BlockchainQueries blockchainQueries,
+      final TransactionPool transactionPool) {
     final FilterManager filterManager =
         new FilterManager(
-            new BlockchainQueries(context.getBlockchain(), context.getWorldStateArchive()),
+            blockchainQueries,
             transactionPool,
             new FilterIdGenerator(),
             new FilterRepository());
@@ -547,7 +582,7 @@ public class RunnerBuilder {
   }
 
   private Map<String, JsonRpcMethod> jsonRpcMethods(
-      final ProtocolContext<?> context,
+      final BlockchainQueries blockchainQueries,
       final ProtocolSchedule<?> protocolSchedule,
       final PantheonController<?> pantheonController,
       final P2PNetwork network,
@@ -571,18 +606,17 @@ public class RunnerBuilder {
                 ethNetworkConfig.getNetworkId(),
                 pantheonController.getGenesisConfigOptions(),
                 network,
-                context.getBlockchain(),
-                context.getWorldStateArchive(),
+                blockchainQueries,
                 synchronizer,
-                transactionPool,
                 protocolSchedule,
+                filterManager,
+                transactionPool,
                 miningCoordinator,
                 metricsSystem,
                 supportedCapabilities,
-                jsonRpcApis,
-                filterManager,
                 accountWhitelistController,
                 nodeWhitelistController,
+                jsonRpcApis,
                 privacyParameters,
                 jsonRpcConfiguration,
                 webSocketConfiguration,
@@ -42,6 +42,7 @@ import tech.pegasys.pantheon.cli.custom.RpcAuthFileValidator;
 import tech.pegasys.pantheon.cli.error.PantheonExceptionHandler;
 import tech.pegasys.pantheon.cli.options.EthProtocolOptions;
 import tech.pegasys.pantheon.cli.options.NetworkingOptions;
+import tech.pegasys.pantheon.cli.options.PruningOptions;
 import tech.pegasys.pantheon.cli.options.RocksDBOptions;
 import tech.pegasys.pantheon.cli.options.SynchronizerOptions;
 import tech.pegasys.pantheon.cli.options.TransactionPoolOptions;
@@ -75,6 +76,8 @@ import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfigurat
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfigurationBuilder;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateNodeCache;
+import tech.pegasys.pantheon.ethereum.worldstate.StorageTrieExecutor;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
@@ -160,6 +163,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   final SynchronizerOptions synchronizerOptions = SynchronizerOptions.create();
   final EthProtocolOptions ethProtocolOptions = EthProtocolOptions.create();
   final RocksDBOptions rocksDBOptions = RocksDBOptions.create();
+  final PruningOptions pruningOptions = PruningOptions.create();
   final TransactionPoolOptions transactionPoolOptions = TransactionPoolOptions.create();
   private final RunnerBuilder runnerBuilder;
   private final PantheonController.Builder controllerBuilderFactory;
@@ -542,6 +546,21 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final BytesValue extraData = DEFAULT_EXTRA_DATA;
 
+  @Option(
+      hidden = true,
+      names = {"--miner-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description = "Number of threads the miner searches nonces on (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer minerThreads = 1;
+
+  @Option(
+      hidden = true,
+      names = {"--miner-full-dataset-enabled"},
+      description =
+          "Mine against the full EthHash dataset, generated once per epoch into the data directory, instead of deriving dataset items from the cache (default: ${DEFAULT-VALUE})")
+  private final Boolean isMinerFullDatasetEnabled = false;
+
   @Option(
       names = {"--permissions-nodes-config-file-enabled"},
       description = "Enable node level permissions (default: ${DEFAULT-VALUE})")
@@ -586,6 +605,38 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           "Enable passing the revert reason back through TransactionReceipts (default: ${DEFAULT-VALUE})")
   private final Boolean isRevertReasonEnabled = false;
 
+  @Option(
+      hidden = true,
+      names = {"--pruning-enabled"},
+      description =
+          "Enable pruning of world state no longer needed by recent blocks. Requires a new database (default: ${DEFAULT-VALUE})")
+  private final Boolean isPruningEnabled = false;
+
+  @Option(
+      hidden = true,
+      names = {"--world-state-node-cache-size"},
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "Maximum size in bytes of the world state trie node cache, 0 to disable (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long worldStateNodeCacheSize = WorldStateNodeCache.DEFAULT_CACHE_SIZE_BYTES;
+
+  @Option(
+      hidden = true,
+      names = {"--storage-trie-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of threads used to commit account storage tries in parallel when persisting world state (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer storageTrieThreads = StorageTrieExecutor.DEFAULT_PARALLELISM;
+
+  @Option(
+      hidden = true,
+      names = {"--bloom-bits-index-enabled"},
+      description =
+          "Maintain an on-disk index of block logs blooms to speed up log queries over long block ranges (default: ${DEFAULT-VALUE})")
+  private final Boolean isBloomBitsIndexEnabled = false;
+
   @Option(
       names = {"--privacy-url"},
       description = "The URL on which the enclave is running")
@@ -715,17 +766,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     // Add unstable options
     UnstableOptionsSubCommand.createUnstableOptions(
         commandLine,
-        ImmutableMap.of(
-            "P2P Network",
-            networkingOptions,
-            "Synchronizer",
-            synchronizerOptions,
-            "RocksDB",
-            rocksDBOptions,
-            "Ethereum Wire Protocol",
-            ethProtocolOptions,
-            "TransactionPool",
-            transactionPoolOptions));
+        ImmutableMap.<String, Object>builder()
+            .put("P2P Network", networkingOptions)
+            .put("Synchronizer", synchronizerOptions)
+            .put("RocksDB", rocksDBOptions)
+            .put("Pruning", pruningOptions)
+            .put("Ethereum Wire Protocol", ethProtocolOptions)
+            .put("TransactionPool", transactionPoolOptions)
+            .build());
     return this;
   }
 
@@ -819,6 +867,23 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           "Unable to mine without a valid coinbase. Either disable mining (remove --miner-enabled)"
               + "or specify the beneficiary of mining (via --miner-coinbase <Address>)");
     }
+
+    if (minerThreads < 1) {
+      throw new ParameterException(
+          this.commandLine, "--miner-threads must be at least 1, but was " + minerThreads);
+    }
+
+    if (worldStateNodeCacheSize < 0) {
+      throw new ParameterException(
+          this.commandLine,
+          "--world-state-node-cache-size must not be negative, but was " + worldStateNodeCacheSize);
+    }
+
+    if (storageTrieThreads < 1) {
+      throw new ParameterException(
+          this.commandLine,
+          "--storage-trie-threads must be at least 1, but was " + storageTrieThreads);
+    }
     return this;
   }
 
@@ -885,6 +950,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .privacyParameters(privacyParameters())
           .clock(Clock.systemUTC())
           .isRevertReasonEnabled(isRevertReasonEnabled)
+          .isPruningEnabled(isPruningEnabled)
+          .pruningConfiguration(pruningOptions.toDomainObject())
+          .worldStateNodeCacheSize(worldStateNodeCacheSize)
+          .storageTrieThreads(storageTrieThreads)
+          .minerThreads(minerThreads)
+          .minerFullDatasetEnabled(isMinerFullDatasetEnabled)
           .build();
     } catch (final InvalidConfigurationException e) {
       throw new ExecutionException(this.commandLine, e.getMessage());
@@ -1144,7 +1215,11 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   }
 
   private RocksDbConfiguration buildRocksDbConfiguration() {
-    return rocksDBOptions.toDomainObject().databaseDir(dataDir().resolve(DATABASE_PATH)).build();
+    return rocksDBOptions
+        .toDomainObject()
+        .databaseDir(dataDir().resolve(DATABASE_PATH))
+        .useColumns(isPruningEnabled)
+        .build();
   }
 
   private TransactionPoolConfiguration buildTransactionPoolConfiguration() {
@@ -1195,6 +1270,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             .jsonRpcConfiguration(jsonRpcConfiguration)
             .webSocketConfiguration(webSocketConfiguration)
             .dataDir(dataDir())
+            .bloomBitsIndexEnabled(isBloomBitsIndexEnabled)
             .bannedNodeIds(bannedNodeIds)
             .metricsSystem(metricsSystem)
             .metricsConfiguration(metricsConfiguration)
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.worldstate.PruningConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class PruningOptions implements CLIOptions<PruningConfiguration> {
+  private static final String BLOCKS_RETAINED_FLAG = "--Xpruning-blocks-retained";
+  private static final String BLOCK_CONFIRMATIONS_FLAG = "--Xpruning-block-confirmations";
+  private static final String SWEEP_RATE_FLAG = "--Xpruning-sweep-rate";
+
+  @CommandLine.Option(
+      names = {BLOCKS_RETAINED_FLAG},
+      hidden = true,
+      defaultValue = "1024",
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of recent blocks for which to keep entire world state (default: ${DEFAULT-VALUE})")
+  int blocksRetained;
+
+  @CommandLine.Option(
+      names = {BLOCK_CONFIRMATIONS_FLAG},
+      hidden = true,
+      defaultValue = "10",
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of confirmations on a block before marking its world state (default: ${DEFAULT-VALUE})")
+  int blockConfirmations;
+
+  @CommandLine.Option(
+      names = {SWEEP_RATE_FLAG},
+      hidden = true,
+      defaultValue = "10000",
+      paramLabel = "<INTEGER>",
+      description =
+          "Maximum number of world state nodes removed per second while pruning (default: ${DEFAULT-VALUE})")
+  int sweepRate;
+
+  private PruningOptions() {}
+
+  public static PruningOptions create() {
+    return new PruningOptions();
+  }
+
+  public static PruningOptions fromConfig(final PruningConfiguration config) {
+    final PruningOptions options = create();
+    options.blocksRetained = config.getBlocksRetained();
+    options.blockConfirmations = config.getBlockConfirmations();
+    options.sweepRate = config.getSweepRate();
+    return options;
+  }
+
+  @Override
+  public PruningConfiguration toDomainObject() {
+    return new PruningConfiguration(blocksRetained, blockConfirmations, sweepRate);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        BLOCKS_RETAINED_FLAG,
+        OptionParser.format(blocksRetained),
+        BLOCK_CONFIRMATIONS_FLAG,
+        OptionParser.format(blockConfirmations),
+        SWEEP_RATE_FLAG,
+        OptionParser.format(sweepRate));
+  }
+}
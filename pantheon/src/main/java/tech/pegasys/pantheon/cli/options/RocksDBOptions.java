@@ -25,6 +25,10 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
   private static final String MAX_BACKGROUND_COMPACTIONS_FLAG =
       "--Xrocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG = "--Xrocksdb-background-thread-count";
+  private static final String BLOOM_FILTER_BITS_PER_KEY_FLAG =
+      "--Xrocksdb-bloom-filter-bits-per-key";
+  private static final String PARTITIONED_INDEX_ENABLED_FLAG =
+      "--Xrocksdb-partitioned-index-enabled";
 
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -58,6 +62,25 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
       description = "Number of RocksDB background threads (default: ${DEFAULT-VALUE})")
   int backgroundThreadCount;
 
+  @CommandLine.Option(
+      names = {BLOOM_FILTER_BITS_PER_KEY_FLAG},
+      hidden = true,
+      defaultValue = "10",
+      paramLabel = "<INTEGER>",
+      description =
+          "Bits per key of the RocksDB bloom filters, 0 to disable them (default: ${DEFAULT-VALUE})")
+  int bloomFilterBitsPerKey;
+
+  @CommandLine.Option(
+      names = {PARTITIONED_INDEX_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Partition RocksDB indexes, and load index and filter blocks through the block cache, which should be enlarged with --Xrocksdb-cache-capacity to hold them (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  boolean partitionedIndex;
+
   private RocksDBOptions() {}
 
   public static RocksDBOptions create() {
@@ -70,6 +93,8 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
     options.cacheCapacity = config.getCacheCapacity();
     options.maxBackgroundCompactions = config.getMaxBackgroundCompactions();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
+    options.bloomFilterBitsPerKey = config.getTableConfiguration().getBloomFilterBitsPerKey();
+    options.partitionedIndex = config.getTableConfiguration().isPartitionedIndex();
     return options;
   }
 
@@ -79,7 +104,9 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
         .maxOpenFiles(maxOpenFiles)
         .cacheCapacity(cacheCapacity)
         .maxBackgroundCompactions(maxBackgroundCompactions)
-        .backgroundThreadCount(backgroundThreadCount);
+        .backgroundThreadCount(backgroundThreadCount)
+        .bloomFilterBitsPerKey(bloomFilterBitsPerKey)
+        .partitionedIndex(partitionedIndex);
   }
 
   @Override
@@ -92,6 +119,10 @@ public class RocksDBOptions implements CLIOptions<RocksDbConfiguration.Builder>
         MAX_BACKGROUND_COMPACTIONS_FLAG,
         OptionParser.format(maxBackgroundCompactions),
         BACKGROUND_THREAD_COUNT_FLAG,
-        OptionParser.format(backgroundThreadCount));
+        OptionParser.format(backgroundThreadCount),
+        BLOOM_FILTER_BITS_PER_KEY_FLAG,
+        OptionParser.format(bloomFilterBitsPerKey),
+        PARTITIONED_INDEX_ENABLED_FLAG,
+        Boolean.toString(partitionedIndex));
   }
 }
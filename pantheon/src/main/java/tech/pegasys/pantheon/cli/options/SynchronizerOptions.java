@@ -40,6 +40,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-transactions-parallelism";
   private static final String COMPUTATION_PARALLELISM_FLAG =
       "--Xsynchronizer-computation-parallelism";
+  private static final String SERVER_PARALLELISM_FLAG = "--Xsynchronizer-server-parallelism";
   private static final String PIVOT_DISTANCE_FROM_HEAD_FLAG =
       "--Xsynchronizer-fast-sync-pivot-distance";
   private static final String FULL_VALIDATION_RATE_FLAG =
@@ -142,6 +143,14 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
           "Number of threads to make available for bulk hash computations during downloads (default: # of processors)")
   private int computationParallelism = Runtime.getRuntime().availableProcessors();
 
+  @CommandLine.Option(
+      names = SERVER_PARALLELISM_FLAG,
+      hidden = true,
+      defaultValue = "2",
+      paramLabel = "<INTEGER>",
+      description = "Number of threads serving requests from peers (default: ${DEFAULT-VALUE})")
+  private int serverParallelism = SynchronizerConfiguration.DEFAULT_SERVER_PARALLELISM;
+
   @CommandLine.Option(
       names = PIVOT_DISTANCE_FROM_HEAD_FLAG,
       hidden = true,
@@ -227,6 +236,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.downloaderParallelism = config.getDownloaderParallelism();
     options.transactionsParallelism = config.getTransactionsParallelism();
     options.computationParallelism = config.getComputationParallelism();
+    options.serverParallelism = config.getServerParallelism();
     options.fastSyncPivotDistance = config.getFastSyncPivotDistance();
     options.fastSyncFullValidationRate = config.getFastSyncFullValidationRate();
     options.worldStateHashCountPerRequest = config.getWorldStateHashCountPerRequest();
@@ -249,6 +259,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.downloaderParallelism(downloaderParallelism);
     builder.transactionsParallelism(transactionsParallelism);
     builder.computationParallelism(computationParallelism);
+    builder.serverParallelism(serverParallelism);
     builder.fastSyncPivotDistance(fastSyncPivotDistance);
     builder.fastSyncFullValidationRate(fastSyncFullValidationRate);
     builder.worldStateHashCountPerRequest(worldStateHashCountPerRequest);
@@ -280,6 +291,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         OptionParser.format(transactionsParallelism),
         COMPUTATION_PARALLELISM_FLAG,
         OptionParser.format(computationParallelism),
+        SERVER_PARALLELISM_FLAG,
+        OptionParser.format(serverParallelism),
         PIVOT_DISTANCE_FROM_HEAD_FLAG,
         OptionParser.format(fastSyncPivotDistance),
         FULL_VALIDATION_RATE_FLAG,
@@ -25,6 +25,7 @@ import tech.pegasys.pantheon.consensus.common.BlockInterface;
 import tech.pegasys.pantheon.consensus.common.EpochManager;
 import tech.pegasys.pantheon.consensus.common.VoteProposer;
 import tech.pegasys.pantheon.consensus.common.VoteTallyCache;
+import tech.pegasys.pantheon.consensus.common.VoteTallyCheckpointStorage;
 import tech.pegasys.pantheon.consensus.common.VoteTallyUpdater;
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.blockcreation.MiningCoordinator;
@@ -141,7 +142,8 @@ public class CliquePantheonControllerBuilder extends PantheonControllerBuilder<C
             blockchain,
             new VoteTallyUpdater(epochManager, blockInterface),
             epochManager,
-            blockInterface),
+            blockInterface,
+            new VoteTallyCheckpointStorage(storageProvider.createConsensusStorage())),
         new VoteProposer(),
         epochManager);
   }
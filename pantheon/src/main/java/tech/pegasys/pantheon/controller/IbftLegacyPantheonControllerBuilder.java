@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.consensus.common.BlockInterface;
 import tech.pegasys.pantheon.consensus.common.EpochManager;
 import tech.pegasys.pantheon.consensus.common.VoteProposer;
 import tech.pegasys.pantheon.consensus.common.VoteTallyCache;
+import tech.pegasys.pantheon.consensus.common.VoteTallyCheckpointStorage;
 import tech.pegasys.pantheon.consensus.common.VoteTallyUpdater;
 import tech.pegasys.pantheon.consensus.ibft.IbftContext;
 import tech.pegasys.pantheon.consensus.ibftlegacy.IbftLegacyBlockInterface;
@@ -78,7 +79,8 @@ public class IbftLegacyPantheonControllerBuilder extends PantheonControllerBuild
             blockchain,
             new VoteTallyUpdater(epochManager, blockInterface),
             epochManager,
-            blockInterface);
+            blockInterface,
+            new VoteTallyCheckpointStorage(storageProvider.createConsensusStorage()));
 
     final VoteProposer voteProposer = new VoteProposer();
     return new IbftContext(voteTallyCache, voteProposer);
@@ -102,11 +104,9 @@ public class IbftLegacyPantheonControllerBuilder extends PantheonControllerBuild
         protocolContext.getWorldStateArchive(),
         networkId,
         fastSyncEnabled,
-        syncConfig.getDownloaderParallelism(),
-        syncConfig.getTransactionsParallelism(),
-        syncConfig.getComputationParallelism(),
+        createEthScheduler(),
+        ethereumWireProtocolConfiguration,
         clock,
-        metricsSystem,
-        ethereumWireProtocolConfiguration);
+        metricsSystem);
   }
 }
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.consensus.common.BlockInterface;
 import tech.pegasys.pantheon.consensus.common.EpochManager;
 import tech.pegasys.pantheon.consensus.common.VoteProposer;
 import tech.pegasys.pantheon.consensus.common.VoteTallyCache;
+import tech.pegasys.pantheon.consensus.common.VoteTallyCheckpointStorage;
 import tech.pegasys.pantheon.consensus.common.VoteTallyUpdater;
 import tech.pegasys.pantheon.consensus.ibft.BlockTimer;
 import tech.pegasys.pantheon.consensus.ibft.EthSynchronizerUpdater;
@@ -233,7 +234,8 @@ public class IbftPantheonControllerBuilder extends PantheonControllerBuilder<Ibf
             blockchain,
             new VoteTallyUpdater(epochManager, new IbftBlockInterface()),
             epochManager,
-            new IbftBlockInterface()),
+            new IbftBlockInterface(),
+            new VoteTallyCheckpointStorage(storageProvider.createConsensusStorage())),
         new VoteProposer());
   }
 }
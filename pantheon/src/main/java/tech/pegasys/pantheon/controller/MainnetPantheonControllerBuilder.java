@@ -22,11 +22,15 @@ import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 
+import java.nio.file.Path;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +40,14 @@ import org.apache.logging.log4j.Logger;
 
 public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<Void> {
   private static final Logger LOG = LogManager.getLogger();
+  private static final String ETHASH_DIRECTORY = "ethash";
+
+  @Override
+  protected void prepForBuild() {
+    final Path cacheDirectory = dataDirectory.resolve(ETHASH_DIRECTORY);
+    EthHashCacheFactory.shared().addCacheDirectory(cacheDirectory);
+    addShutdownAction(() -> EthHashCacheFactory.shared().removeCacheDirectory(cacheDirectory));
+  }
 
   @Override
   protected MiningCoordinator createMiningCoordinator(
@@ -46,6 +58,10 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
       final SyncState syncState,
       final EthProtocolManager ethProtocolManager) {
     final ExecutorService minerThreadPool = Executors.newCachedThreadPool();
+    final EthHasher ethHasher =
+        minerFullDatasetEnabled
+            ? new EthHasher.Full(dataDirectory.resolve(ETHASH_DIRECTORY))
+            : new EthHasher.Light();
     final EthHashMinerExecutor executor =
         new EthHashMinerExecutor(
             protocolContext,
@@ -56,11 +72,19 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
             new DefaultBlockScheduler(
                 MainnetBlockHeaderValidator.MINIMUM_SECONDS_SINCE_PARENT,
                 MainnetBlockHeaderValidator.TIMESTAMP_TOLERANCE_S,
-                clock));
+                clock),
+            ethHasher,
+            minerThreads,
+            metricsSystem);
 
     final EthHashMiningCoordinator miningCoordinator =
         new EthHashMiningCoordinator(protocolContext.getBlockchain(), executor, syncState);
     miningCoordinator.addMinedBlockObserver(ethProtocolManager);
+    metricsSystem.createLongGauge(
+        PantheonMetricCategory.BLOCKCHAIN,
+        "miner_hashes_per_second",
+        "Hash rate of the miner over its current or last mining operation",
+        () -> miningCoordinator.hashesPerSecond().orElse(0L));
     if (miningParameters.isMiningEnabled()) {
       miningCoordinator.enable();
     }
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.controller;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static tech.pegasys.pantheon.controller.KeyPairUtil.loadKeyPair;
 
 import tech.pegasys.pantheon.config.GenesisConfigFile;
@@ -30,6 +31,7 @@ import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.peervalidation.DaoForkPeerValidator;
 import tech.pegasys.pantheon.ethereum.eth.peervalidation.PeerValidatorRunner;
 import tech.pegasys.pantheon.ethereum.eth.sync.DefaultSynchronizer;
@@ -44,7 +46,14 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateNodeCache;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
+import tech.pegasys.pantheon.ethereum.worldstate.MarkSweepPruner;
+import tech.pegasys.pantheon.ethereum.worldstate.Pruner;
+import tech.pegasys.pantheon.ethereum.worldstate.PruningConfiguration;
+import tech.pegasys.pantheon.ethereum.worldstate.StorageTrieExecutor;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateReadCache;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 
@@ -56,7 +65,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.OptionalLong;
+import java.util.concurrent.Executors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -76,7 +87,13 @@ public abstract class PantheonControllerBuilder<C> {
   protected Clock clock;
   protected KeyPair nodeKeys;
   protected boolean isRevertReasonEnabled;
-  private StorageProvider storageProvider;
+  protected boolean isPruningEnabled;
+  protected PruningConfiguration pruningConfiguration;
+  protected long worldStateNodeCacheSize = WorldStateNodeCache.DEFAULT_CACHE_SIZE_BYTES;
+  protected int storageTrieThreads = StorageTrieExecutor.DEFAULT_PARALLELISM;
+  protected int minerThreads = 1;
+  protected boolean minerFullDatasetEnabled = false;
+  protected StorageProvider storageProvider;
   private final List<Runnable> shutdownActions = new ArrayList<>();
   private RocksDbConfiguration rocksDbConfiguration;
 
@@ -160,6 +177,38 @@ public abstract class PantheonControllerBuilder<C> {
     return this;
   }
 
+  public PantheonControllerBuilder<C> isPruningEnabled(final boolean isPruningEnabled) {
+    this.isPruningEnabled = isPruningEnabled;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> pruningConfiguration(
+      final PruningConfiguration pruningConfiguration) {
+    this.pruningConfiguration = pruningConfiguration;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> worldStateNodeCacheSize(final long worldStateNodeCacheSize) {
+    this.worldStateNodeCacheSize = worldStateNodeCacheSize;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> storageTrieThreads(final int storageTrieThreads) {
+    this.storageTrieThreads = storageTrieThreads;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> minerThreads(final int minerThreads) {
+    this.minerThreads = minerThreads;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> minerFullDatasetEnabled(
+      final boolean minerFullDatasetEnabled) {
+    this.minerFullDatasetEnabled = minerFullDatasetEnabled;
+    return this;
+  }
+
   public PantheonController<C> build() throws IOException {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -181,24 +230,38 @@ public abstract class PantheonControllerBuilder<C> {
     privacyParameters.setSigningKeyPair(nodeKeys);
 
     if (storageProvider == null && rocksDbConfiguration != null) {
-      storageProvider = RocksDbStorageProvider.create(rocksDbConfiguration, metricsSystem);
+      storageProvider =
+          RocksDbStorageProvider.create(
+              rocksDbConfiguration,
+              metricsSystem,
+              RocksDbStorageProvider.DEFAULT_WORLD_STATE_PREIMAGE_CACHE_SIZE,
+              worldStateNodeCacheSize);
     }
 
     prepForBuild();
 
     final ProtocolSchedule<C> protocolSchedule = createProtocolSchedule();
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
+    final StorageTrieExecutor storageTrieExecutor = StorageTrieExecutor.create(storageTrieThreads);
+    addShutdownAction(storageTrieExecutor::shutdown);
     final ProtocolContext<C> protocolContext =
         ProtocolContext.init(
             storageProvider,
             genesisState,
             protocolSchedule,
             metricsSystem,
+            storageTrieExecutor,
             this::createConsensusContext);
     validateContext(protocolContext);
+    CodeCache.getInstance().registerMetrics(metricsSystem);
+    WorldStateReadCache.registerMetrics(metricsSystem);
 
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
 
+    if (isPruningEnabled) {
+      createPruner(protocolContext);
+    }
+
     final boolean fastSyncEnabled = syncConfig.getSyncMode().equals(SyncMode.FAST);
     ethProtocolManager = createEthProtocolManager(protocolContext, fastSyncEnabled);
     final SyncState syncState =
@@ -276,6 +339,32 @@ public abstract class PantheonControllerBuilder<C> {
         });
   }
 
+  private void createPruner(final ProtocolContext<C> protocolContext) {
+    checkNotNull(pruningConfiguration, "Missing pruning configuration");
+    checkState(
+        storageProvider.isWorldStateIterable(),
+        "Cannot enable pruning with a storage provider that cannot iterate over the world state");
+    final MarkSweepPruner markSweepPruner =
+        new MarkSweepPruner(
+            protocolContext.getWorldStateArchive().getWorldStateStorage(),
+            storageProvider.createPruningStorage(),
+            metricsSystem,
+            pruningConfiguration.getSweepRate());
+    final Pruner pruner =
+        new Pruner(
+            markSweepPruner,
+            protocolContext.getBlockchain(),
+            Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setPriority(Thread.MIN_PRIORITY)
+                    .setNameFormat("StatePruning-%d")
+                    .build()),
+            pruningConfiguration);
+    pruner.start();
+    addShutdownAction(pruner::stop);
+  }
+
   protected void prepForBuild() {}
 
   protected JsonRpcMethodFactory createAdditionalJsonRpcMethodFactory(
@@ -314,11 +403,18 @@ public abstract class PantheonControllerBuilder<C> {
         protocolContext.getWorldStateArchive(),
         networkId,
         fastSyncEnabled,
+        createEthScheduler(),
+        ethereumWireProtocolConfiguration,
+        clock,
+        metricsSystem);
+  }
+
+  protected EthScheduler createEthScheduler() {
+    return new EthScheduler(
         syncConfig.getDownloaderParallelism(),
         syncConfig.getTransactionsParallelism(),
         syncConfig.getComputationParallelism(),
-        clock,
-        metricsSystem,
-        ethereumWireProtocolConfiguration);
+        syncConfig.getServerParallelism(),
+        metricsSystem);
   }
 }
@@ -50,9 +50,12 @@ import tech.pegasys.pantheon.ethereum.p2p.peers.EnodeURL;
 import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateNodeCache;
+import tech.pegasys.pantheon.ethereum.worldstate.StorageTrieExecutor;
 import tech.pegasys.pantheon.metrics.StandardMetricCategory;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.nat.NatMethod;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.number.Fraction;
 import tech.pegasys.pantheon.util.number.Percentage;
@@ -1492,6 +1495,122 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void pruningEnabledOptionUsesColumnarStorage() {
+    parseCommand("--pruning-enabled");
+
+    final ArgumentCaptor<RocksDbConfiguration> rocksDbConfigArg =
+        ArgumentCaptor.forClass(RocksDbConfiguration.class);
+    verify(mockControllerBuilder).isPruningEnabled(eq(true));
+    verify(mockControllerBuilder).rocksDbConfiguration(rocksDbConfigArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(rocksDbConfigArg.getValue().useColumns()).isTrue();
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void bloomBitsIndexEnabledOptionMustBeUsed() {
+    parseCommand("--bloom-bits-index-enabled");
+
+    verify(mockRunnerBuilder).bloomBitsIndexEnabled(eq(true));
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void worldStateNodeCacheSizeOptionMustBeUsed() {
+    parseCommand("--world-state-node-cache-size", "1048576");
+
+    verify(mockControllerBuilder).worldStateNodeCacheSize(eq(1048576L));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void worldStateNodeCacheSizeDefaultMustBeUsed() {
+    parseCommand();
+
+    verify(mockControllerBuilder)
+        .worldStateNodeCacheSize(eq(WorldStateNodeCache.DEFAULT_CACHE_SIZE_BYTES));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void negativeWorldStateNodeCacheSizeMustError() {
+    parseCommand("--world-state-node-cache-size", "-1");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandErrorOutput.toString())
+        .contains("--world-state-node-cache-size must not be negative, but was -1");
+    assertThat(commandOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void storageTrieThreadsOptionMustBeUsed() {
+    parseCommand("--storage-trie-threads", "3");
+
+    verify(mockControllerBuilder).storageTrieThreads(eq(3));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void storageTrieThreadsDefaultMustBeUsed() {
+    parseCommand();
+
+    verify(mockControllerBuilder).storageTrieThreads(eq(StorageTrieExecutor.DEFAULT_PARALLELISM));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void storageTrieThreadsBelowOneMustError() {
+    parseCommand("--storage-trie-threads", "0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandErrorOutput.toString())
+        .contains("--storage-trie-threads must be at least 1, but was 0");
+    assertThat(commandOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void minerThreadsAndFullDatasetOptionsMustBeUsed() {
+    parseCommand("--miner-threads", "4", "--miner-full-dataset-enabled");
+
+    verify(mockControllerBuilder).minerThreads(eq(4));
+    verify(mockControllerBuilder).minerFullDatasetEnabled(eq(true));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void minerThreadsBelowOneMustError() {
+    parseCommand("--miner-threads", "0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandErrorOutput.toString())
+        .contains("--miner-threads must be at least 1, but was 0");
+    assertThat(commandOutput.toString()).isEmpty();
+  }
+
   @Test
   public void fastSyncOptionsRequiresFastSyncModeToBeSet() {
     parseCommand("--fast-sync-min-peers", "5");
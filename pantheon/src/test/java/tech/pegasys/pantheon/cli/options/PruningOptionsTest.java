@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.cli.options;
+
+import tech.pegasys.pantheon.ethereum.worldstate.PruningConfiguration;
+
+public class PruningOptionsTest
+    extends AbstractCLIOptionsTest<PruningConfiguration, PruningOptions> {
+
+  @Override
+  PruningConfiguration createDefaultDomainObject() {
+    return PruningConfiguration.getDefault();
+  }
+
+  @Override
+  PruningConfiguration createCustomizedDomainObject() {
+    return new PruningConfiguration(
+        PruningConfiguration.DEFAULT_BLOCKS_RETAINED + 1,
+        PruningConfiguration.DEFAULT_BLOCK_CONFIRMATIONS + 1,
+        PruningConfiguration.DEFAULT_SWEEP_RATE + 1);
+  }
+
+  @Override
+  PruningOptions optionsFromDomainObject(final PruningConfiguration domainObject) {
+    return PruningOptions.fromConfig(domainObject);
+  }
+
+  @Override
+  PruningOptions getOptionsFromPantheonCommand(final TestPantheonCommand command) {
+    return command.getPruningOptions();
+  }
+}
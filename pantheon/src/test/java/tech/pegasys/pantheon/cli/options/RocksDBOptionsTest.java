@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.cli.options;
 
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbTableConfiguration;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,7 +32,9 @@ public class RocksDBOptionsTest
         .maxOpenFiles(RocksDbConfiguration.DEFAULT_MAX_OPEN_FILES + 1)
         .cacheCapacity(RocksDbConfiguration.DEFAULT_CACHE_CAPACITY + 1)
         .maxBackgroundCompactions(RocksDbConfiguration.DEFAULT_MAX_BACKGROUND_COMPACTIONS + 1)
-        .backgroundThreadCount(RocksDbConfiguration.DEFAULT_BACKGROUND_THREAD_COUNT + 1);
+        .backgroundThreadCount(RocksDbConfiguration.DEFAULT_BACKGROUND_THREAD_COUNT + 1)
+        .bloomFilterBitsPerKey(RocksDbTableConfiguration.DEFAULT_BLOOM_FILTER_BITS_PER_KEY + 1)
+        .partitionedIndex(!RocksDbTableConfiguration.DEFAULT_PARTITIONED_INDEX);
   }
 
   @Override
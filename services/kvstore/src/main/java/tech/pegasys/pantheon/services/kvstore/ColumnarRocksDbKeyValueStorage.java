@@ -26,11 +26,12 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -71,15 +72,21 @@ public class ColumnarRocksDbKeyValueStorage
       final MetricsSystem metricsSystem) {
     RocksDbUtil.loadNativeLibrary();
     try {
+      final LRUCache blockCache = new LRUCache(rocksDbConfiguration.getCacheCapacity());
       final List<ColumnFamilyDescriptor> columnDescriptors =
           segments.stream()
-              .map(segment -> new ColumnFamilyDescriptor(segment.getId()))
+              .map(
+                  segment ->
+                      new ColumnFamilyDescriptor(
+                          segment.getId(),
+                          columnFamilyOptions(
+                              rocksDbConfiguration.getTableConfiguration(segment.getName()),
+                              blockCache)))
               .collect(Collectors.toList());
       columnDescriptors.add(
           new ColumnFamilyDescriptor(
               DEFAULT_COLUMN.getBytes(StandardCharsets.UTF_8),
-              new ColumnFamilyOptions()
-                  .setTableFormatConfig(createBlockBasedTableConfig(rocksDbConfiguration))));
+              columnFamilyOptions(rocksDbConfiguration.getTableConfiguration(), blockCache)));
 
       final Statistics stats = new Statistics();
       options =
@@ -125,9 +132,10 @@ public class ColumnarRocksDbKeyValueStorage
     }
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDbConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
+  private static ColumnFamilyOptions columnFamilyOptions(
+      final RocksDbTableConfiguration tableConfiguration, final Cache blockCache) {
+    return new ColumnFamilyOptions()
+        .setTableFormatConfig(tableConfiguration.createBlockBasedTableConfig(blockCache));
   }
 
   @Override
@@ -175,6 +183,12 @@ public class ColumnarRocksDbKeyValueStorage
     return removedNodeCounter;
   }
 
+  @Override
+  public Stream<BytesValue> streamKeys(final ColumnFamilyHandle segmentHandle) {
+    throwIfClosed();
+    return RocksDbKeyIterator.create(db.newIterator(segmentHandle)).toStream();
+  }
+
   @Override
   public void clear(final ColumnFamilyHandle segmentHandle) {
     try (final RocksIterator rocksIterator = db.newIterator(segmentHandle)) {
@@ -24,6 +24,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class InMemoryKeyValueStorage implements KeyValueStorage {
 
@@ -72,13 +73,24 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     return 0;
   }
 
+  @Override
+  public Stream<BytesValue> streamKeys() {
+    return keySet().stream();
+  }
+
   @Override
   public Transaction startTransaction() {
     return new InMemoryTransaction();
   }
 
   public Set<BytesValue> keySet() {
-    return Collections.unmodifiableSet(new HashSet<>(hashValueStore.keySet()));
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return Collections.unmodifiableSet(new HashSet<>(hashValueStore.keySet()));
+    } finally {
+      lock.unlock();
+    }
   }
 
   private class InMemoryTransaction extends AbstractTransaction {
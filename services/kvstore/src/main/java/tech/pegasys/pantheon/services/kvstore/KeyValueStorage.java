@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.io.Closeable;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /** Service provided by pantheon to facilitate persistent data storage. */
 public interface KeyValueStorage extends Closeable {
@@ -37,6 +38,14 @@ public interface KeyValueStorage extends Closeable {
 
   long removeUnless(Predicate<BytesValue> inUseCheck);
 
+  /**
+   * Streams every key currently held in storage. The stream must be closed once it is no longer
+   * needed so that any resources backing it are released.
+   *
+   * @return A stream of all keys in storage.
+   */
+  Stream<BytesValue> streamKeys() throws StorageException;
+
   /**
    * Begins a transaction. Returns a transaction object that can be updated and committed.
    *
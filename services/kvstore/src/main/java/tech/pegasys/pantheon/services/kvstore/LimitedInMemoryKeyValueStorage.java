@@ -23,6 +23,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -82,6 +83,17 @@ public class LimitedInMemoryKeyValueStorage implements KeyValueStorage {
     return 0;
   }
 
+  @Override
+  public Stream<BytesValue> streamKeys() {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return new HashSet<>(storage.asMap().keySet()).stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Transaction startTransaction() {
     return new InMemoryTransaction();
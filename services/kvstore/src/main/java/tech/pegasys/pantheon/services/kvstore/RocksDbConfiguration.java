@@ -15,6 +15,10 @@ package tech.pegasys.pantheon.services.kvstore;
 import tech.pegasys.pantheon.services.util.RocksDbUtil;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
 
 public class RocksDbConfiguration {
   public static final int DEFAULT_MAX_OPEN_FILES = 1024;
@@ -29,6 +33,8 @@ public class RocksDbConfiguration {
   private final int backgroundThreadCount;
   private final boolean useColumns;
   private final long cacheCapacity;
+  private final RocksDbTableConfiguration tableConfiguration;
+  private final Map<String, RocksDbTableConfiguration> segmentTableConfigurations;
 
   private RocksDbConfiguration(
       final Path databaseDir,
@@ -37,6 +43,8 @@ public class RocksDbConfiguration {
       final int backgroundThreadCount,
       final boolean useColumns,
       final long cacheCapacity,
+      final RocksDbTableConfiguration tableConfiguration,
+      final Map<String, RocksDbTableConfiguration> segmentTableConfigurations,
       final String label) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
@@ -45,6 +53,8 @@ public class RocksDbConfiguration {
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
+    this.tableConfiguration = tableConfiguration;
+    this.segmentTableConfigurations = ImmutableMap.copyOf(segmentTableConfigurations);
     this.label = label;
   }
 
@@ -72,6 +82,20 @@ public class RocksDbConfiguration {
     return cacheCapacity;
   }
 
+  public RocksDbTableConfiguration getTableConfiguration() {
+    return tableConfiguration;
+  }
+
+  /**
+   * Returns the table options for a column family, which default to those of the database.
+   *
+   * @param segmentName the name of the segment stored in the column family
+   * @return the table options for the segment
+   */
+  public RocksDbTableConfiguration getTableConfiguration(final String segmentName) {
+    return segmentTableConfigurations.getOrDefault(segmentName, tableConfiguration);
+  }
+
   public String getLabel() {
     return label;
   }
@@ -90,6 +114,9 @@ public class RocksDbConfiguration {
     int maxBackgroundCompactions = DEFAULT_MAX_BACKGROUND_COMPACTIONS;
     int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
     boolean useColumns = false;
+    int bloomFilterBitsPerKey = RocksDbTableConfiguration.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+    boolean partitionedIndex = RocksDbTableConfiguration.DEFAULT_PARTITIONED_INDEX;
+    final Map<String, RocksDbTableConfiguration> segmentTableConfigurations = new HashMap<>();
 
     private Builder() {}
 
@@ -128,6 +155,22 @@ public class RocksDbConfiguration {
       return this;
     }
 
+    public Builder bloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+      this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+      return this;
+    }
+
+    public Builder partitionedIndex(final boolean partitionedIndex) {
+      this.partitionedIndex = partitionedIndex;
+      return this;
+    }
+
+    public Builder segmentTableConfiguration(
+        final String segmentName, final RocksDbTableConfiguration tableConfiguration) {
+      segmentTableConfigurations.put(segmentName, tableConfiguration);
+      return this;
+    }
+
     public RocksDbConfiguration build() {
       return new RocksDbConfiguration(
           databaseDir,
@@ -136,6 +179,8 @@ public class RocksDbConfiguration {
           backgroundThreadCount,
           useColumns,
           cacheCapacity,
+          new RocksDbTableConfiguration(bloomFilterBitsPerKey, partitionedIndex),
+          segmentTableConfigurations,
           label);
     }
   }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.StorageException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+/** Iterates over the keys of a RocksDB database or column, releasing the iterator when closed. */
+class RocksDbKeyIterator implements Iterator<BytesValue>, AutoCloseable {
+
+  private final RocksIterator rocksIterator;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private RocksDbKeyIterator(final RocksIterator rocksIterator) {
+    this.rocksIterator = rocksIterator;
+  }
+
+  static RocksDbKeyIterator create(final RocksIterator rocksIterator) {
+    rocksIterator.seekToFirst();
+    return new RocksDbKeyIterator(rocksIterator);
+  }
+
+  @Override
+  public boolean hasNext() {
+    assertOpen();
+    return rocksIterator.isValid();
+  }
+
+  @Override
+  public BytesValue next() {
+    assertOpen();
+    try {
+      rocksIterator.status();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final byte[] key = rocksIterator.key();
+    rocksIterator.next();
+    return BytesValue.wrap(key);
+  }
+
+  Stream<BytesValue> toStream() {
+    assertOpen();
+    final Spliterator<BytesValue> spliterator =
+        Spliterators.spliteratorUnknownSize(
+            this,
+            Spliterator.IMMUTABLE
+                | Spliterator.DISTINCT
+                | Spliterator.NONNULL
+                | Spliterator.ORDERED);
+
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  private void assertOpen() {
+    checkState(!closed.get(), "Attempt to read from a closed RocksDbKeyIterator.");
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      rocksIterator.close();
+    }
+  }
+}
@@ -21,10 +21,10 @@ import java.io.Closeable;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
@@ -59,7 +59,11 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
           new Options()
               .setCreateIfMissing(true)
               .setMaxOpenFiles(rocksDbConfiguration.getMaxOpenFiles())
-              .setTableFormatConfig(createBlockBasedTableConfig(rocksDbConfiguration))
+              .setTableFormatConfig(
+                  rocksDbConfiguration
+                      .getTableConfiguration()
+                      .createBlockBasedTableConfig(
+                          new LRUCache(rocksDbConfiguration.getCacheCapacity())))
               .setMaxBackgroundCompactions(rocksDbConfiguration.getMaxBackgroundCompactions())
               .setStatistics(stats);
       options.getEnv().setBackgroundThreads(rocksDbConfiguration.getBackgroundThreadCount());
@@ -131,6 +135,12 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     return removedNodeCounter;
   }
 
+  @Override
+  public Stream<BytesValue> streamKeys() throws StorageException {
+    throwIfClosed();
+    return RocksDbKeyIterator.create(db.newIterator()).toStream();
+  }
+
   @Override
   public Transaction startTransaction() throws StorageException {
     throwIfClosed();
@@ -138,11 +148,6 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     return new RocksDbTransaction(db.beginTransaction(options), options);
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDbConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
-  }
-
   private void throwIfClosed() {
     if (closed.get()) {
       LOG.error("Attempting to use a closed RocksDbKeyValueStorage");
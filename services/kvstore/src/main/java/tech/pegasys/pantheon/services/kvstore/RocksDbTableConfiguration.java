@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.IndexType;
+
+/** Options for the block based SST tables of a RocksDB database or column family. */
+public class RocksDbTableConfiguration {
+  public static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  public static final boolean DEFAULT_PARTITIONED_INDEX = false;
+
+  private final int bloomFilterBitsPerKey;
+  private final boolean partitionedIndex;
+
+  /**
+   * Creates a new table configuration.
+   *
+   * @param bloomFilterBitsPerKey Bits per key of the bloom filter added to each table, or 0 for no
+   *     filter.
+   * @param partitionedIndex Whether to split the index of each table into partitions, and load
+   *     index and filter blocks through the block cache as needed rather than hold them in memory
+   *     for every open table. Filters are not partitioned, so whole filter blocks then compete
+   *     with data blocks for the block cache and its capacity should be raised to match.
+   */
+  public RocksDbTableConfiguration(
+      final int bloomFilterBitsPerKey, final boolean partitionedIndex) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.partitionedIndex = partitionedIndex;
+  }
+
+  public static RocksDbTableConfiguration createDefault() {
+    return new RocksDbTableConfiguration(
+        DEFAULT_BLOOM_FILTER_BITS_PER_KEY, DEFAULT_PARTITIONED_INDEX);
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean isPartitionedIndex() {
+    return partitionedIndex;
+  }
+
+  BlockBasedTableConfig createBlockBasedTableConfig(final Cache blockCache) {
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig().setBlockCache(blockCache);
+    if (bloomFilterBitsPerKey > 0) {
+      // Full filters rather than block based ones so a point lookup needs a single filter probe.
+      tableConfig.setFilter(new BloomFilter(bloomFilterBitsPerKey, false));
+    }
+    if (partitionedIndex) {
+      tableConfig
+          .setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setCacheIndexAndFilterBlocks(true)
+          .setPinL0FilterAndIndexBlocksInCache(true);
+    }
+    return tableConfig;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RocksDbTableConfiguration that = (RocksDbTableConfiguration) o;
+    return bloomFilterBitsPerKey == that.bloomFilterBitsPerKey
+        && partitionedIndex == that.partitionedIndex;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(bloomFilterBitsPerKey, partitionedIndex);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("bloomFilterBitsPerKey", bloomFilterBitsPerKey)
+        .add("partitionedIndex", partitionedIndex)
+        .toString();
+  }
+}
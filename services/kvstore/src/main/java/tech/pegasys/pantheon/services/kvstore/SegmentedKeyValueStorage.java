@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.io.Closeable;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Service provided by pantheon to facilitate persistent data storage.
@@ -49,6 +50,15 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
 
   long removeUnless(S segmentHandle, Predicate<BytesValue> inUseCheck);
 
+  /**
+   * Streams every key currently held in the given segment. The stream must be closed once it is no
+   * longer needed so that any resources backing it are released.
+   *
+   * @param segmentHandle the segment to stream keys from
+   * @return A stream of all keys in the segment.
+   */
+  Stream<BytesValue> streamKeys(S segmentHandle);
+
   void clear(S segmentHandle);
 
   class StorageException extends RuntimeException {
@@ -22,8 +22,11 @@ import tech.pegasys.pantheon.util.bytes.BytesValues;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -273,6 +276,19 @@ public abstract class AbstractKeyValueStorageTest {
     tx.rollback();
   }
 
+  @Test
+  public void streamKeys() throws Exception {
+    final KeyValueStorage store = createStore();
+    final Transaction tx = store.startTransaction();
+    final Set<BytesValue> keys = Set.of(BytesValue.of(1), BytesValue.of(2), BytesValue.of(3));
+    keys.forEach(key -> tx.put(key, BytesValue.of(0)));
+    tx.commit();
+
+    try (final Stream<BytesValue> streamedKeys = store.streamKeys()) {
+      assertEquals(keys, streamedKeys.collect(Collectors.toSet()));
+    }
+  }
+
   @Test
   public void twoTransactions() throws Exception {
     final KeyValueStorage store = createStore();
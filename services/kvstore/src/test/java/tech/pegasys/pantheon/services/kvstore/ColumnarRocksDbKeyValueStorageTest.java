@@ -76,6 +76,31 @@ public class ColumnarRocksDbKeyValueStorageTest extends AbstractKeyValueStorageT
     assertEquals(Optional.empty(), store.get(barSegment, BytesValue.of(6)));
   }
 
+  @Test
+  public void canUseDifferentTableConfigurationPerSegment() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store =
+        ColumnarRocksDbKeyValueStorage.create(
+            RocksDbConfiguration.builder()
+                .databaseDir(folder.newFolder().toPath())
+                .segmentTableConfiguration(
+                    TestSegment.BAR.getName(), new RocksDbTableConfiguration(0, false))
+                .build(),
+            Arrays.asList(TestSegment.FOO, TestSegment.BAR),
+            new NoOpMetricsSystem());
+    final ColumnFamilyHandle fooSegment = store.getSegmentIdentifierByName(TestSegment.FOO);
+    final ColumnFamilyHandle barSegment = store.getSegmentIdentifierByName(TestSegment.BAR);
+
+    final Transaction<ColumnFamilyHandle> tx = store.startTransaction();
+    tx.put(fooSegment, BytesValue.of(1), BytesValue.of(1));
+    tx.put(barSegment, BytesValue.of(2), BytesValue.of(2));
+    tx.commit();
+
+    assertEquals(Optional.of(BytesValue.of(1)), store.get(fooSegment, BytesValue.of(1)));
+    assertEquals(Optional.empty(), store.get(fooSegment, BytesValue.of(2)));
+    assertEquals(Optional.empty(), store.get(barSegment, BytesValue.of(1)));
+    assertEquals(Optional.of(BytesValue.of(2)), store.get(barSegment, BytesValue.of(2)));
+  }
+
   public enum TestSegment implements Segment {
     FOO(new byte[] {1}),
     BAR(new byte[] {2});
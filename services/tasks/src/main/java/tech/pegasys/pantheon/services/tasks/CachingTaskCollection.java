@@ -14,7 +14,9 @@ package tech.pegasys.pantheon.services.tasks;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 
@@ -28,15 +30,40 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   /**
    * A cache of tasks to operate on before going to {@link CachingTaskCollection#wrappedCollection}
    */
-  private final Queue<Task<T>> cache = new ArrayDeque<>();
+  private final Queue<Task<T>> cache;
   // Tasks that have been removed, but not marked completed yet
   private final Set<Task<T>> outstandingTasks = new HashSet<>();
 
   private boolean closed = false;
 
   public CachingTaskCollection(final TaskCollection<T> collection, final int maxCacheSize) {
+    this(collection, maxCacheSize, new ArrayDeque<>());
+  }
+
+  /**
+   * Creates a collection whose cached tasks are removed highest priority first, rather than in the
+   * order they were added. Tasks which overflow to the underlying collection are still removed in
+   * that collection's order once the cache is empty.
+   *
+   * @param collection The collection to use when the cache is full.
+   * @param maxCacheSize The maximum number of tasks to hold in memory.
+   * @param priority Orders cached tasks, with the task to remove first sorting lowest.
+   */
+  public CachingTaskCollection(
+      final TaskCollection<T> collection,
+      final int maxCacheSize,
+      final Comparator<? super T> priority) {
+    this(
+        collection,
+        maxCacheSize,
+        new PriorityQueue<Task<T>>(Comparator.comparing(Task::getData, priority)));
+  }
+
+  private CachingTaskCollection(
+      final TaskCollection<T> collection, final int maxCacheSize, final Queue<Task<T>> cache) {
     this.wrappedCollection = collection;
     this.maxCacheSize = maxCacheSize;
+    this.cache = cache;
   }
 
   public CachingTaskCollection(final TaskCollection<T> collection) {
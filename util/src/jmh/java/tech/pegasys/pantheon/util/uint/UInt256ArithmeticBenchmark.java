@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the 256 bits arithmetic behind the MUL, DIV, SDIV, MOD, SMOD, ADDMOD, MULMOD and EXP
+ * opcodes. Run with {@code -prof gc} to check that the operations don't allocate.
+ */
+@State(Scope.Thread)
+public class UInt256ArithmeticBenchmark {
+
+  @Param({"64", "128", "256"})
+  public int operandBits;
+
+  private Bytes32 v1;
+  private Bytes32 v2;
+  private Bytes32 modulo;
+  private Bytes32 exponent;
+  private final MutableBytes32 result = MutableBytes32.create();
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    v1 = UInt256Bytes.of(new BigInteger(operandBits, random).setBit(operandBits - 1));
+    v2 = UInt256Bytes.of(new BigInteger(operandBits / 2, random).setBit(operandBits / 2 - 1));
+    modulo = UInt256Bytes.of(new BigInteger(operandBits, random).setBit(operandBits - 1));
+    exponent = UInt256Bytes.of(new BigInteger(operandBits, random));
+  }
+
+  @Benchmark
+  public Bytes32 mul() {
+    UInt256Bytes.multiply(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 div() {
+    UInt256Bytes.divide(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 sdiv() {
+    Int256Bytes.divide(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 mod() {
+    UInt256Bytes.modulo(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 smod() {
+    Int256Bytes.mod(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 addmod() {
+    UInt256Bytes.addModulo(v1, v2, modulo, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 mulmod() {
+    UInt256Bytes.multiplyModulo(v1, v2, modulo, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 exp() {
+    UInt256Bytes.exponent(v1, exponent, result);
+    return result;
+  }
+}
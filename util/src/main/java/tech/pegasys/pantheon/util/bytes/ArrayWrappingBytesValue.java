@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.security.MessageDigest;
 import java.util.Arrays;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 /** An implementation of {@link BytesValue} backed by a byte array ({@code byte[]}). */
@@ -175,6 +176,11 @@ class ArrayWrappingBytesValue extends AbstractBytesValue {
     buffer.appendBytes(bytes, offset, length);
   }
 
+  @Override
+  public void appendTo(final ByteBuf buffer) {
+    buffer.writeBytes(bytes, offset, length);
+  }
+
   @Override
   public byte[] getArrayUnsafe() {
     return extractOrGetArrayUnsafe();
@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -457,6 +458,18 @@ public interface BytesValue extends Comparable<BytesValue> {
     }
   }
 
+  /**
+   * Writes the bytes of this value to the provided Netty {@link ByteBuf}, at its writer index.
+   *
+   * @param buffer The {@link ByteBuf} to which to write this value.
+   */
+  default void appendTo(final ByteBuf buffer) {
+    buffer.ensureWritable(size());
+    for (int i = 0; i < size(); i++) {
+      buffer.writeByte(get(i));
+    }
+  }
+
   default void copyTo(final byte[] dest, final int srcPos, final int destPos) {
     System.arraycopy(getArrayUnsafe(), srcPos, dest, destPos, size() - srcPos);
   }
@@ -15,6 +15,8 @@ package tech.pegasys.pantheon.util.bytes;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkElementIndex;
 
+import java.security.MessageDigest;
+
 import io.netty.buffer.ByteBuf;
 
 class MutableByteBufWrappingBytesValue extends AbstractBytesValue implements MutableBytesValue {
@@ -85,4 +87,18 @@ class MutableByteBufWrappingBytesValue extends AbstractBytesValue implements Mut
   public BytesValue slice(final int index, final int length) {
     return mutableSlice(index, length);
   }
+
+  @Override
+  public void update(final MessageDigest digest) {
+    if (buffer.hasArray()) {
+      digest.update(buffer.array(), buffer.arrayOffset() + offset, size);
+    } else {
+      digest.update(buffer.nioBuffer(offset, size));
+    }
+  }
+
+  @Override
+  public void appendTo(final ByteBuf destination) {
+    destination.writeBytes(buffer, offset, size);
+  }
 }
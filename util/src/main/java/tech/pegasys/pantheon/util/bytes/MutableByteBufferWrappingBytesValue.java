@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 
 public class MutableByteBufferWrappingBytesValue extends AbstractBytesValue
     implements MutableBytesValue {
@@ -114,6 +115,13 @@ public class MutableByteBufferWrappingBytesValue extends AbstractBytesValue
     return new MutableByteBufferWrappingBytesValue(bytes, offset + index, length);
   }
 
+  @Override
+  public void update(final MessageDigest digest) {
+    final ByteBuffer range = bytes.duplicate();
+    range.limit(offset + size).position(offset);
+    digest.update(range);
+  }
+
   @Override
   public byte[] getArrayUnsafe() {
     if (bytes.hasArray() && offset == 0 && size == bytes.capacity() && bytes.arrayOffset() == 0) {
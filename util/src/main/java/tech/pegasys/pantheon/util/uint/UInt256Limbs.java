@@ -0,0 +1,343 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.util.Arrays;
+
+/**
+ * Arithmetic on 256 bits integers held as little-endian arrays of 32 bits limbs.
+ *
+ * <p>Limbs are 32 bits wide so that the product of two limbs, and the partial remainders of long
+ * division, fit in a Java {@code long}. Each thread reuses its own working arrays, so operations
+ * don't allocate.
+ *
+ * <p>As in {@link UInt256Bytes}, the result of an operation may be the same object as one or more
+ * of the operands: operands are always read in full before the result is written.
+ */
+final class UInt256Limbs {
+
+  private static final int LIMBS = Bytes32.SIZE / 4;
+  private static final long MASK = 0xFFFFFFFFL;
+
+  private static final ThreadLocal<UInt256Limbs> INSTANCE =
+      ThreadLocal.withInitial(UInt256Limbs::new);
+
+  private final int[] a = new int[LIMBS];
+  private final int[] b = new int[LIMBS];
+  private final int[] c = new int[LIMBS];
+  // Products of two 256 bits values, or sums with a carry limb.
+  private final int[] wide = new int[2 * LIMBS];
+  private final int[] product = new int[LIMBS];
+  private final int[] power = new int[LIMBS];
+  private final int[] quotient = new int[2 * LIMBS];
+  private final int[] remainder = new int[LIMBS];
+  // Normalized dividend and divisor used by long division.
+  private final int[] un = new int[2 * LIMBS + 1];
+  private final int[] vn = new int[LIMBS];
+
+  private UInt256Limbs() {}
+
+  static UInt256Limbs get() {
+    return INSTANCE.get();
+  }
+
+  void multiply(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    multiplyLow(a, b, product);
+    store(product, result);
+  }
+
+  void multiply(final Bytes32 v1, final long v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    multiplyLow(a, b, product);
+    store(product, result);
+  }
+
+  void divide(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    divide(a, LIMBS, b);
+    store(quotient, result);
+  }
+
+  void divide(final Bytes32 v1, final long v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    divide(a, LIMBS, b);
+    store(quotient, result);
+  }
+
+  void modulo(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    divide(a, LIMBS, b);
+    store(remainder, result);
+  }
+
+  void modulo(final Bytes32 v1, final long v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    divide(a, LIMBS, b);
+    store(remainder, result);
+  }
+
+  void addModulo(
+      final Bytes32 v1, final Bytes32 v2, final Bytes32 modulo, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    load(modulo, c);
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = (a[i] & MASK) + (b[i] & MASK) + carry;
+      wide[i] = (int) sum;
+      carry = sum >>> 32;
+    }
+    wide[LIMBS] = (int) carry;
+    divide(wide, LIMBS + 1, c);
+    store(remainder, result);
+  }
+
+  void multiplyModulo(
+      final Bytes32 v1, final Bytes32 v2, final Bytes32 modulo, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    load(modulo, c);
+    multiplyFull(a, b, wide);
+    divide(wide, 2 * LIMBS, c);
+    store(remainder, result);
+  }
+
+  void exponent(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    Arrays.fill(power, 0);
+    power[0] = 1;
+    // Square and multiply, from the most significant bit of the exponent.
+    for (int bit = bitLength(b) - 1; bit >= 0; bit--) {
+      multiplyLow(power, power, product);
+      System.arraycopy(product, 0, power, 0, LIMBS);
+      if (((b[bit >>> 5] >>> (bit & 31)) & 1) != 0) {
+        multiplyLow(power, a, product);
+        System.arraycopy(product, 0, power, 0, LIMBS);
+      }
+    }
+    store(power, result);
+  }
+
+  void signedDivide(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    final boolean negativeDividend = a[LIMBS - 1] < 0;
+    final boolean negativeDivisor = b[LIMBS - 1] < 0;
+    if (negativeDividend) {
+      negate(a);
+    }
+    if (negativeDivisor) {
+      negate(b);
+    }
+    divide(a, LIMBS, b);
+    if (negativeDividend != negativeDivisor) {
+      negate(quotient);
+    }
+    store(quotient, result);
+  }
+
+  void signedModulo(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
+    load(v1, a);
+    load(v2, b);
+    final boolean negativeDividend = a[LIMBS - 1] < 0;
+    if (negativeDividend) {
+      negate(a);
+    }
+    if (b[LIMBS - 1] < 0) {
+      negate(b);
+    }
+    divide(a, LIMBS, b);
+    // The result takes the sign of the dividend.
+    if (negativeDividend) {
+      negate(remainder);
+    }
+    store(remainder, result);
+  }
+
+  private static void load(final Bytes32 bytes, final int[] limbs) {
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = bytes.getInt(Bytes32.SIZE - 4 * (i + 1));
+    }
+  }
+
+  private static void load(final long value, final int[] limbs) {
+    Arrays.fill(limbs, 0);
+    limbs[0] = (int) value;
+    limbs[1] = (int) (value >>> 32);
+  }
+
+  private static void store(final int[] limbs, final MutableBytes32 bytes) {
+    for (int i = 0; i < LIMBS; i++) {
+      bytes.setInt(Bytes32.SIZE - 4 * (i + 1), limbs[i]);
+    }
+  }
+
+  private static int significantLimbs(final int[] limbs, final int length) {
+    int n = length;
+    while (n > 0 && limbs[n - 1] == 0) {
+      n--;
+    }
+    return n;
+  }
+
+  private static int bitLength(final int[] limbs) {
+    final int n = significantLimbs(limbs, LIMBS);
+    return n == 0 ? 0 : 32 * n - Integer.numberOfLeadingZeros(limbs[n - 1]);
+  }
+
+  /** Negates the two's complement value held in the first 8 limbs. */
+  private static void negate(final int[] limbs) {
+    long carry = 1;
+    for (int i = 0; i < LIMBS; i++) {
+      final long t = (~limbs[i] & MASK) + carry;
+      limbs[i] = (int) t;
+      carry = t >>> 32;
+    }
+  }
+
+  /** Sets result to the low 256 bits of x * y. The result must not be one of the operands. */
+  private static void multiplyLow(final int[] x, final int[] y, final int[] result) {
+    Arrays.fill(result, 0);
+    for (int i = 0; i < LIMBS; i++) {
+      final long xi = x[i] & MASK;
+      if (xi == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < LIMBS - i; j++) {
+        final long t = xi * (y[j] & MASK) + (result[i + j] & MASK) + carry;
+        result[i + j] = (int) t;
+        carry = t >>> 32;
+      }
+    }
+  }
+
+  /** Sets the 16 limbs of result to x * y. The result must not be one of the operands. */
+  private static void multiplyFull(final int[] x, final int[] y, final int[] result) {
+    Arrays.fill(result, 0);
+    for (int i = 0; i < LIMBS; i++) {
+      final long xi = x[i] & MASK;
+      long carry = 0;
+      for (int j = 0; j < LIMBS; j++) {
+        final long t = xi * (y[j] & MASK) + (result[i + j] & MASK) + carry;
+        result[i + j] = (int) t;
+        carry = t >>> 32;
+      }
+      result[i + LIMBS] = (int) carry;
+    }
+  }
+
+  /**
+   * Divides the first length limbs of u by the 8 limbs of v, setting quotient and remainder. Both
+   * are zero if v is zero, as the EVM requires.
+   *
+   * <p>This is Knuth's algorithm D (The Art of Computer Programming, volume 2, section 4.3.1), as
+   * presented in Hacker's Delight.
+   */
+  private void divide(final int[] u, final int length, final int[] v) {
+    Arrays.fill(quotient, 0);
+    Arrays.fill(remainder, 0);
+    final int n = significantLimbs(v, LIMBS);
+    final int m = significantLimbs(u, length);
+    if (n == 0) {
+      return;
+    }
+    if (m < n) {
+      System.arraycopy(u, 0, remainder, 0, m);
+      return;
+    }
+
+    if (n == 1) {
+      final long divisor = v[0] & MASK;
+      long rem = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        final long dividend = (rem << 32) | (u[j] & MASK);
+        quotient[j] = (int) Long.divideUnsigned(dividend, divisor);
+        rem = Long.remainderUnsigned(dividend, divisor);
+      }
+      remainder[0] = (int) rem;
+      return;
+    }
+
+    // Normalize so that the top limb of the divisor has its high bit set.
+    final int shift = Integer.numberOfLeadingZeros(v[n - 1]);
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (int) (((v[i] & MASK) << shift) | ((v[i - 1] & MASK) >>> (32 - shift)));
+    }
+    vn[0] = v[0] << shift;
+    un[m] = (int) ((u[m - 1] & MASK) >>> (32 - shift));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (int) (((u[i] & MASK) << shift) | ((u[i - 1] & MASK) >>> (32 - shift)));
+    }
+    un[0] = u[0] << shift;
+
+    final long vTop = vn[n - 1] & MASK;
+    final long vNext = vn[n - 2] & MASK;
+    for (int j = m - n; j >= 0; j--) {
+      // Estimate the quotient limb from the top two limbs of the remainder, then correct it.
+      final long dividend = ((un[j + n] & MASK) << 32) | (un[j + n - 1] & MASK);
+      long qhat = Long.divideUnsigned(dividend, vTop);
+      long rhat = Long.remainderUnsigned(dividend, vTop);
+      while (qhat > MASK
+          || Long.compareUnsigned(qhat * vNext, (rhat << 32) | (un[j + n - 2] & MASK)) > 0) {
+        qhat--;
+        rhat += vTop;
+        if (rhat > MASK) {
+          break;
+        }
+      }
+
+      // Multiply and subtract.
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qhat * (vn[i] & MASK);
+        t = (un[i + j] & MASK) - borrow - (p & MASK);
+        un[i + j] = (int) t;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & MASK) - borrow;
+      un[j + n] = (int) t;
+
+      quotient[j] = (int) qhat;
+      if (t < 0) {
+        // The estimate was one too large, so add the divisor back.
+        quotient[j]--;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & MASK) + (vn[i] & MASK) + carry;
+          un[i + j] = (int) t;
+          carry = t >>> 32;
+        }
+        un[j + n] = (int) ((un[j + n] & MASK) + carry);
+      }
+    }
+
+    // Unnormalize the remainder.
+    for (int i = 0; i < n - 1; i++) {
+      remainder[i] = (int) (((un[i] & MASK) >>> shift) | ((un[i + 1] & MASK) << (32 - shift)));
+    }
+    remainder[n - 1] = (int) ((un[n - 1] & MASK) >>> shift);
+  }
+}
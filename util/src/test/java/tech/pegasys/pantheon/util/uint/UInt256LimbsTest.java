@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.Test;
+
+/** Checks the limb based arithmetic against the equivalent {@link BigInteger} operations. */
+public class UInt256LimbsTest {
+
+  private static final int ITERATIONS = 20_000;
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void multiply() {
+    checkBinary(UInt256Bytes::multiply, BigInteger::multiply);
+  }
+
+  @Test
+  public void multiplyByLong() {
+    checkBinaryLong(UInt256Bytes::multiply, BigInteger::multiply);
+  }
+
+  @Test
+  public void divide() {
+    checkBinary(UInt256Bytes::divide, (x, y) -> y.signum() == 0 ? y : x.divide(y));
+  }
+
+  @Test
+  public void divideByLong() {
+    checkBinaryLong(UInt256Bytes::divide, (x, y) -> y.signum() == 0 ? y : x.divide(y));
+  }
+
+  @Test
+  public void modulo() {
+    checkBinary(UInt256Bytes::modulo, (x, y) -> y.signum() == 0 ? y : x.mod(y));
+  }
+
+  @Test
+  public void moduloByLong() {
+    checkBinaryLong(UInt256Bytes::modulo, (x, y) -> y.signum() == 0 ? y : x.mod(y));
+  }
+
+  @Test
+  public void addModulo() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger x = randomValue();
+      final BigInteger y = randomValue();
+      final BigInteger m = randomValue();
+      final MutableBytes32 result = MutableBytes32.create();
+      UInt256Bytes.addModulo(bytes(x), bytes(y), bytes(m), result);
+      final BigInteger expected = m.signum() == 0 ? m : x.add(y).mod(m);
+      assertThat(unsigned(result)).as("(%s + %s) %% %s", x, y, m).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void multiplyModulo() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger x = randomValue();
+      final BigInteger y = randomValue();
+      final BigInteger m = randomValue();
+      final MutableBytes32 result = MutableBytes32.create();
+      UInt256Bytes.multiplyModulo(bytes(x), bytes(y), bytes(m), result);
+      final BigInteger expected = m.signum() == 0 ? m : x.multiply(y).mod(m);
+      assertThat(unsigned(result)).as("(%s * %s) %% %s", x, y, m).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void exponent() {
+    checkBinary(UInt256Bytes::exponent, (x, y) -> x.modPow(y, P256));
+  }
+
+  @Test
+  public void signedDivide() {
+    checkSigned(Int256Bytes::divide, (x, y) -> y.signum() == 0 ? y : x.divide(y));
+  }
+
+  @Test
+  public void signedModulo() {
+    checkSigned(
+        Int256Bytes::mod,
+        (x, y) -> {
+          if (y.signum() == 0) {
+            return y;
+          }
+          final BigInteger absModulo = x.abs().mod(y.abs());
+          return x.signum() < 0 ? absModulo.negate() : absModulo;
+        });
+  }
+
+  @Test
+  public void resultMayBeAnOperand() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger x = randomValue();
+      final BigInteger m = randomValue();
+      final MutableBytes32 value = MutableBytes32.create();
+      bytes(x).copyTo(value);
+      UInt256Bytes.multiplyModulo(value, value, bytes(m), value);
+      final BigInteger expected = m.signum() == 0 ? m : x.multiply(x).mod(m);
+      assertThat(unsigned(value)).as("(%s * %s) %% %s", x, x, m).isEqualTo(expected);
+    }
+  }
+
+  private void checkBinary(
+      final UInt256Bytes.BinaryOp op, final BinaryOperator<BigInteger> expectedOp) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger x = randomValue();
+      final BigInteger y = randomValue();
+      final MutableBytes32 result = MutableBytes32.create();
+      op.applyOp(bytes(x), bytes(y), result);
+      assertThat(unsigned(result)).as("%s, %s", x, y).isEqualTo(expectedOp.apply(x, y).mod(P256));
+    }
+  }
+
+  private void checkBinaryLong(
+      final UInt256Bytes.BinaryLongOp op, final BinaryOperator<BigInteger> expectedOp) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger x = randomValue();
+      final long y = random.nextBoolean() ? random.nextInt(1000) : random.nextLong() >>> 1;
+      final MutableBytes32 result = MutableBytes32.create();
+      op.applyOp(bytes(x), y, result);
+      assertThat(unsigned(result))
+          .as("%s, %s", x, y)
+          .isEqualTo(expectedOp.apply(x, BigInteger.valueOf(y)).mod(P256));
+    }
+  }
+
+  private void checkSigned(
+      final UInt256Bytes.BinaryOp op, final BinaryOperator<BigInteger> expectedOp) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final Bytes32 x = bytes(randomValue());
+      final Bytes32 y = bytes(randomValue());
+      final BigInteger signedX = BytesValues.asSignedBigInteger(x);
+      final BigInteger signedY = BytesValues.asSignedBigInteger(y);
+      final MutableBytes32 result = MutableBytes32.create();
+      op.applyOp(x, y, result);
+      assertThat(unsigned(result))
+          .as("%s, %s", signedX, signedY)
+          .isEqualTo(expectedOp.apply(signedX, signedY).mod(P256));
+    }
+  }
+
+  /** Favours the edge cases of 256 bits arithmetic: small values, powers of two and near 2^256. */
+  private BigInteger randomValue() {
+    switch (random.nextInt(6)) {
+      case 0:
+        return BigInteger.valueOf(random.nextInt(5));
+      case 1:
+        return new BigInteger(random.nextInt(256) + 1, random);
+      case 2:
+        return P256.subtract(BigInteger.valueOf(random.nextInt(3) + 1));
+      case 3:
+        return BigInteger.ONE.shiftLeft(random.nextInt(256));
+      case 4:
+        return new BigInteger(64, random);
+      default:
+        return new BigInteger(256, random);
+    }
+  }
+
+  private static Bytes32 bytes(final BigInteger value) {
+    return UInt256Bytes.of(value);
+  }
+
+  private static BigInteger unsigned(final Bytes32 value) {
+    return BytesValues.asUnsignedBigInteger(value);
+  }
+}